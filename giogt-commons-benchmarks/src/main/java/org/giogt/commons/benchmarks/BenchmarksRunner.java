@@ -0,0 +1,67 @@
+package org.giogt.commons.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmarks uber jar.
+ * <p>
+ * Accepts the same command line options as the standard JMH runner
+ * ({@code org.openjdk.jmh.Main}), but unless a result format or a result
+ * file is specified explicitly, results are written in JSON format to
+ * {@value #DEFAULT_RESULT_FILE}, so that runs of different releases can be
+ * compared with each other (e.g. using a JMH visualizer).
+ * <p>
+ * Example: <pre>{@code
+ *   mvn -pl giogt-commons-benchmarks -am package
+ *   java -jar giogt-commons-benchmarks/target/benchmarks.jar PercentEscaper -p size=16,4096
+ * }</pre>
+ */
+public class BenchmarksRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    // prevent instantiation
+    private BenchmarksRunner() {
+        throw new AssertionError("Class <" + BenchmarksRunner.class + "> cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions commandLineOptions;
+        try {
+            commandLineOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line:");
+            System.err.println(" " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+                .parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            optionsBuilder.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(optionsBuilder.build()).run();
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.giogt.commons.benchmarks;
+
+import org.giogt.commons.core.text.escapers.CharEscapers;
+
+import java.util.Random;
+
+/**
+ * Generates the text payloads used as benchmark inputs.
+ * <p>
+ * Payloads are generated from a fixed seed, so the same type and size
+ * always produce the same string and results of different runs (and of
+ * different releases) can be compared with each other.
+ */
+public class Payloads {
+
+    // payload sizes (in chars) used by the benchmarks, from 16 B to 1 MB
+    // (for ASCII payloads, the size in chars is the same as the size in bytes)
+    public static final String SIZE_16_B = "16";
+    public static final String SIZE_256_B = "256";
+    public static final String SIZE_4_KB = "4096";
+    public static final String SIZE_64_KB = "65536";
+    public static final String SIZE_1_MB = "1048576";
+
+    private static final long SEED = 20180501L;
+
+    private static final String ALPHANUMERIC =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final String ASCII_PUNCTUATION = " -_.~/:;,!*'()";
+
+    // characters escaped by (almost) every escaper (xml, html, uri, java, ...)
+    private static final String SPECIAL_CHARS = "<>&\"'%=?#\\\n\t";
+
+    private static final String LATIN_1_AND_BMP = "àèéìòùß€中文";
+
+    // prevent instantiation
+    private Payloads() {
+        throw new AssertionError("Class <" + Payloads.class + "> cannot be instantiated");
+    }
+
+    /**
+     * The kinds of text the benchmarks are run against.
+     */
+    public enum PayloadType {
+
+        /**
+         * Only alphanumeric chars and common ASCII punctuation: for most of
+         * the escapers, nothing needs to be escaped.
+         */
+        ASCII,
+
+        /**
+         * Mostly alphanumeric chars, with roughly 1 char in 32 that needs to
+         * be escaped.
+         */
+        MOSTLY_SAFE,
+
+        /**
+         * Roughly half of the chars need to be escaped, including non ASCII
+         * chars from the basic multilingual plane.
+         */
+        HEAVILY_ESCAPED,
+
+        /**
+         * Alphanumeric chars mixed with supplementary-plane code points
+         * (encoded as UTF-16 surrogate pairs).
+         */
+        SUPPLEMENTARY
+    }
+
+    /**
+     * Creates a payload of the specified type with exactly the specified
+     * number of chars.
+     */
+    public static String create(PayloadType type, int size) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(size);
+
+        while (sb.length() < size) {
+            switch (type) {
+                case ASCII:
+                    appendRandomChar(sb, random, random.nextInt(8) == 0
+                            ? ASCII_PUNCTUATION
+                            : ALPHANUMERIC);
+                    break;
+                case MOSTLY_SAFE:
+                    appendRandomChar(sb, random, random.nextInt(32) == 0
+                            ? SPECIAL_CHARS
+                            : ALPHANUMERIC);
+                    break;
+                case HEAVILY_ESCAPED:
+                    int bucket = random.nextInt(4);
+                    if (bucket == 0) {
+                        appendRandomChar(sb, random, SPECIAL_CHARS);
+                    } else if (bucket == 1) {
+                        appendRandomChar(sb, random, LATIN_1_AND_BMP);
+                    } else {
+                        appendRandomChar(sb, random, ALPHANUMERIC);
+                    }
+                    break;
+                case SUPPLEMENTARY:
+                    if (random.nextInt(4) == 0 && sb.length() + 2 <= size) {
+                        // U+1F600..U+1F64F (emoticons)
+                        sb.appendCodePoint(0x1F600 + random.nextInt(0x50));
+                    } else {
+                        appendRandomChar(sb, random, ALPHANUMERIC);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported payload type <" + type + ">");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Creates a query string (<tt>k0=v0&amp;k1=v1&amp;...</tt>) of
+     * approximately the specified number of chars, whose values are percent
+     * encoded payloads of the specified type.
+     */
+    public static String createQueryString(PayloadType type, int size) {
+        String values = create(type, size);
+        StringBuilder sb = new StringBuilder(size * 2);
+
+        int valueStart = 0;
+        int key = 0;
+        while (valueStart < values.length()) {
+            int valueEnd = Math.min(valueStart + 24, values.length());
+            // never split a surrogate pair between two values
+            if (valueEnd < values.length() && Character.isLowSurrogate(values.charAt(valueEnd))) {
+                valueEnd++;
+            }
+
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append('k').append(key++ % 64).append('=');
+            sb.append(CharEscapers.uriQueryStringParameterEscaper()
+                    .escape(values.substring(valueStart, valueEnd)));
+            valueStart = valueEnd;
+        }
+
+        return sb.toString();
+    }
+
+    private static void appendRandomChar(StringBuilder sb, Random random, String chars) {
+        sb.append(chars.charAt(random.nextInt(chars.length())));
+    }
+
+}
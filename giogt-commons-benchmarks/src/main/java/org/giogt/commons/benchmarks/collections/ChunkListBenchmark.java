@@ -0,0 +1,82 @@
+package org.giogt.commons.benchmarks.collections;
+
+import org.giogt.commons.core.collections.Chunk;
+import org.giogt.commons.core.collections.ChunkList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks iterating the chunks of a list, copied, as views, and as views
+ * in a reused chunk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkListBenchmark {
+
+    private static final int SIZE = 100_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"ArrayList", "LinkedList"})
+    public String listType;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setUp() {
+        list = listType.equals("ArrayList") ? new ArrayList<>() : new LinkedList<>();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public void copies(Blackhole blackhole) {
+        iterate(new ChunkList<>(list, CHUNK_SIZE), blackhole);
+    }
+
+    @Benchmark
+    public void views(Blackhole blackhole) {
+        iterate(ChunkList.<Integer>builder()
+                .withList(list)
+                .withChunkSize(CHUNK_SIZE)
+                .withViews()
+                .build(), blackhole);
+    }
+
+    @Benchmark
+    public void reusedViews(Blackhole blackhole) {
+        iterate(ChunkList.<Integer>builder()
+                .withList(list)
+                .withChunkSize(CHUNK_SIZE)
+                .withViews()
+                .withReusedChunk()
+                .build(), blackhole);
+    }
+
+    private static void iterate(ChunkList<Integer> chunks, Blackhole blackhole) {
+        for (Chunk<Integer> chunk : chunks) {
+            blackhole.consume(chunk.getChunk());
+            blackhole.consume(chunk.getMaxValue());
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.giogt.commons.benchmarks.collections;
+
+import org.giogt.commons.core.collections.Chunk;
+import org.giogt.commons.core.collections.ChunkList;
+import org.giogt.commons.core.collections.ChunkPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmarks writing chunks to a slow sink (that waits 1 ms per chunk)
+ * after preparing them, sequentially and with a {@link ChunkPipeline}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkPipelineBenchmark {
+
+    private static final int SIZE = 20_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    private ChunkList<Integer> chunks;
+    private ExecutorService prepareExecutor;
+    private ExecutorService writeExecutor;
+
+    @Setup
+    public void setUp() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i);
+        }
+        chunks = new ChunkList<>(list, CHUNK_SIZE);
+        prepareExecutor = Executors.newSingleThreadExecutor();
+        writeExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        prepareExecutor.shutdown();
+        writeExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        for (Chunk<Integer> chunk : chunks) {
+            write(prepare(chunk), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        ChunkPipeline.<Integer, long[]>builder()
+                .withChunks(chunks)
+                .withPreparer(ChunkPipelineBenchmark::prepare)
+                .withWriter(prepared -> write(prepared, blackhole))
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build()
+                .run()
+                .join();
+    }
+
+    private static long[] prepare(Chunk<Integer> chunk) {
+        long[] prepared = new long[chunk.getChunk().size()];
+        for (int i = 0; i < prepared.length; i++) {
+            prepared[i] = chunk.getChunk().get(i) * 31L;
+        }
+        Blackhole.consumeCPU(100_000);
+        return prepared;
+    }
+
+    private static void write(long[] prepared, Blackhole blackhole) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        blackhole.consume(prepared);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.giogt.commons.benchmarks.collections;
+
+import org.giogt.commons.core.collections.Chunk;
+import org.giogt.commons.core.collections.ChunkList;
+import org.giogt.commons.core.collections.DoubleChunk;
+import org.giogt.commons.core.collections.DoubleChunkList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks computing the range (maximum - minimum) of every chunk of a time
+ * series, boxed in a {@link ChunkList} and unboxed in a
+ * {@link DoubleChunkList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveChunkListBenchmark {
+
+    private static final int SIZE = 1_000_000;
+    private static final int CHUNK_SIZE = 1000;
+
+    private double[] array;
+    private List<Double> list;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        array = random.doubles(SIZE).toArray();
+        list = new ArrayList<>(SIZE);
+        for (double value : array) {
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    public double boxed() {
+        double sum = 0;
+        for (Chunk<Double> chunk : new ChunkList<>(list, CHUNK_SIZE)) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (Double value : chunk.getChunk()) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            sum += max - min;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double primitive() {
+        double sum = 0;
+        for (DoubleChunk chunk : new DoubleChunkList(array, CHUNK_SIZE)) {
+            sum += chunk.getMaxValue() - chunk.getMinValue();
+        }
+        return sum;
+    }
+
+}
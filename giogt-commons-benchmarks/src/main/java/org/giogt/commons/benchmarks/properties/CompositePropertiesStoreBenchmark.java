@@ -0,0 +1,98 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.stores.CompositePropertiesStore;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up properties in a {@link CompositePropertiesStore} of
+ * {@code stores} delegates, with and without its merged index.
+ * <p>
+ * Each delegate has 1000 properties, and the looked up keys are found in
+ * the last delegate, the worst case of a lookup that queries the delegates
+ * in order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompositePropertiesStoreBenchmark {
+
+    private static final int ENTRIES = 1000;
+
+    @Param({"2", "5"})
+    public int stores;
+
+    private CompositePropertiesStore compositeStore;
+    private CompositePropertiesStore indexedStore;
+
+    /**
+     * The keys looked up by a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private int next;
+
+        String next(int stores) {
+            next = (next + 7919) % ENTRIES;
+            return key(stores - 1, next);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        CompositePropertiesStore.Builder compositeBuilder = CompositePropertiesStore.builder();
+        CompositePropertiesStore.Builder indexedBuilder = CompositePropertiesStore.builder().withMergedIndex();
+        for (int store = 0; store < stores; store++) {
+            MapPropertiesStore.Builder builder = MapPropertiesStore.builder();
+            for (int i = 0; i < ENTRIES; i++) {
+                builder.addProperty(key(store, i), "value-" + i);
+            }
+            MapPropertiesStore mapStore = builder.build();
+            compositeBuilder.addPropertiesStore(mapStore);
+            indexedBuilder.addPropertiesStore(mapStore);
+        }
+        compositeStore = compositeBuilder.build();
+        indexedStore = indexedBuilder.build();
+    }
+
+    @Benchmark
+    public String getProperty(Keys keys) {
+        return compositeStore.getProperty(keys.next(stores));
+    }
+
+    @Benchmark
+    public String getPropertyWithMergedIndex(Keys keys) {
+        return indexedStore.getProperty(keys.next(stores));
+    }
+
+    @Benchmark
+    public Map<String, String> getProperties() {
+        return compositeStore.getProperties();
+    }
+
+    @Benchmark
+    public Map<String, String> getPropertiesWithMergedIndex() {
+        return indexedStore.getProperties();
+    }
+
+    private static String key(int store, int i) {
+        return "store." + store + ".property." + i;
+    }
+
+}
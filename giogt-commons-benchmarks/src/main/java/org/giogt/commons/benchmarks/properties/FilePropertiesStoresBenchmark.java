@@ -0,0 +1,112 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.stores.FilePropertiesStore;
+import org.giogt.commons.core.properties.stores.MappedFilePropertiesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading a properties file, and looking up one of its
+ * properties, with {@link FilePropertiesStore} and
+ * {@link MappedFilePropertiesStore}.
+ * <p>
+ * The file has {@code entries} properties, with keys like
+ * {@code service.42.endpoint.url} and URL values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilePropertiesStoresBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private Path file;
+    private FilePropertiesStore fileStore;
+    private MappedFilePropertiesStore mappedStore;
+
+    /**
+     * The keys looked up by a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private int next;
+
+        String next(int entries) {
+            next = (next + 7919) % entries;
+            return key(next);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("properties-benchmark", ".properties");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# generated by " + getClass().getSimpleName());
+            writer.newLine();
+            for (int i = 0; i < entries; i++) {
+                writer.write(key(i) + " = https://service-" + i + ".example.com:8443/api/v1/resources?id=" + i);
+                writer.newLine();
+            }
+        }
+        fileStore = loadFileStore();
+        mappedStore = loadMappedStore();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mappedStore = null;
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public FilePropertiesStore loadFileStore() {
+        return FilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .build();
+    }
+
+    @Benchmark
+    public MappedFilePropertiesStore loadMappedStore() {
+        return MappedFilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .build();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getPropertyFileStore(Keys keys) {
+        return fileStore.getProperty(keys.next(entries));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getPropertyMappedStore(Keys keys) {
+        return mappedStore.getProperty(keys.next(entries));
+    }
+
+    private static String key(int i) {
+        return "service." + i + ".endpoint.url";
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.stores.PersistentFilePropertiesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks setting a property of a {@link PersistentFilePropertiesStore},
+ * whose writes are flushed in batches, and storing all the properties to
+ * their file on every change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistentFilePropertiesStoreBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Path directory;
+    private Path file;
+    private PersistentFilePropertiesStore store;
+    private Properties properties;
+    private int counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("persistent-properties-store-benchmark");
+        file = directory.resolve("benchmark.properties");
+
+        properties = new Properties();
+        for (int i = 0; i < size; i++) {
+            properties.setProperty("service.property" + i, "value" + i);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, null);
+        }
+
+        store = PersistentFilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .withFlushDelay(100, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void setProperty() {
+        store.setProperty("service.property" + (counter % size), Integer.toString(counter++));
+    }
+
+    @Benchmark
+    public void storeOnEveryChange() throws IOException {
+        properties.setProperty("service.property" + (counter % size), Integer.toString(counter++));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, null);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.Property;
+import org.giogt.commons.core.properties.binding.PropertiesBinder;
+import org.giogt.commons.core.properties.serializers.PropertyDurationSerializer;
+import org.giogt.commons.core.properties.serializers.PropertyIntegerSerializer;
+import org.giogt.commons.core.properties.serializers.PropertyStringSerializer;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks binding a bean of 8 properties with {@link PropertiesBinder},
+ * and with a binder that looks up the annotated fields and sets them by
+ * reflection on every bind.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertiesBinderBenchmark {
+
+    private PropertiesStore store;
+    private PropertiesBinder binder;
+
+    @Setup
+    public void setUp() {
+        store = MapPropertiesStore.builder()
+                .addProperty("service.name", "orders")
+                .addProperty("service.host", "orders.example.com")
+                .addProperty("service.path", "/api/v1/orders")
+                .addProperty("service.port", "8443")
+                .addProperty("service.maxConnections", "64")
+                .addProperty("service.retries", "3")
+                .addProperty("service.connectTimeout", "PT2S")
+                .addProperty("service.readTimeout", "PT30S")
+                .build();
+        binder = PropertiesBinder.builder().build();
+    }
+
+    @Benchmark
+    public ServiceConfig bind() {
+        return binder.bind(store, ServiceConfig.class);
+    }
+
+    @Benchmark
+    public ServiceConfig bindByReflection() throws IllegalAccessException {
+        ServiceConfig config = new ServiceConfig();
+        for (Field field : ServiceConfig.class.getDeclaredFields()) {
+            Property property = field.getAnnotation(Property.class);
+            if (property == null) {
+                continue;
+            }
+
+            String stringValue = store.getProperty(property.key());
+            MappingContext context = new MappingContext();
+            context.setMappingType(field.getType());
+            Object value;
+            if (field.getType() == String.class) {
+                value = new PropertyStringSerializer().fromString(context, stringValue);
+            } else if (field.getType() == int.class) {
+                value = new PropertyIntegerSerializer().fromString(context, stringValue);
+            } else {
+                value = new PropertyDurationSerializer().fromString(context, stringValue);
+            }
+            field.setAccessible(true);
+            field.set(config, value);
+        }
+        return config;
+    }
+
+    public static class ServiceConfig {
+        @Property(key = "service.name")
+        private String name;
+        @Property(key = "service.host")
+        private String host;
+        @Property(key = "service.path")
+        private String path;
+        @Property(key = "service.port")
+        private int port;
+        @Property(key = "service.maxConnections")
+        private int maxConnections;
+        @Property(key = "service.retries")
+        private int retries;
+        @Property(key = "service.connectTimeout")
+        private Duration connectTimeout;
+        @Property(key = "service.readTimeout")
+        private Duration readTimeout;
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertyHandle;
+import org.giogt.commons.core.properties.serializers.PropertyBigDecimalSerializer;
+import org.giogt.commons.core.properties.serializers.PropertyDurationSerializer;
+import org.giogt.commons.core.properties.serializers.PropertySerializerRegistry;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading a typed property with a {@link PropertyHandle}, and by
+ * converting its string value on every read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyHandleBenchmark {
+
+    private PropertiesStore store;
+    private PropertyHandle<Duration> timeoutHandle;
+    private PropertyHandle<BigDecimal> limitHandle;
+    private PropertyDurationSerializer durationSerializer;
+    private PropertyBigDecimalSerializer bigDecimalSerializer;
+    private MappingContext context;
+
+    @Setup
+    public void setUp() {
+        store = MapPropertiesStore.builder()
+                .addProperty("service.timeout", "PT2.5S")
+                .addProperty("service.limit", "1250.75")
+                .build();
+        PropertySerializerRegistry registry = PropertySerializerRegistry.defaultRegistry();
+        timeoutHandle = registry.handle(store, "service.timeout", Duration.class);
+        limitHandle = registry.handle(store, "service.limit", BigDecimal.class);
+        durationSerializer = new PropertyDurationSerializer();
+        bigDecimalSerializer = new PropertyBigDecimalSerializer();
+        context = new MappingContext();
+    }
+
+    @Benchmark
+    public Duration durationHandle() {
+        return timeoutHandle.get();
+    }
+
+    @Benchmark
+    public Duration durationFromString() {
+        return durationSerializer.fromString(context, store.getProperty("service.timeout"));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalHandle() {
+        return limitHandle.get();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalFromString() {
+        return bigDecimalSerializer.fromString(context, store.getProperty("service.limit"));
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.giogt.commons.benchmarks.properties;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.serializers.PropertyEnumSerializer;
+import org.giogt.commons.core.properties.serializers.PropertyInstantSerializer;
+import org.giogt.commons.core.properties.serializers.PropertyOffsetDateTimeSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting property values with the enum and temporal
+ * serializers, against the plain JDK conversions they used to perform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertySerializersBenchmark {
+
+    private static final String INSTANT = "2021-03-04T05:06:07.890Z";
+    private static final String OFFSET_DATE_TIME = "2021-03-04T05:06:07.890+01:00";
+    private static final String ENUM_CONSTANT = "MILLISECONDS";
+
+    private PropertyEnumSerializer enumSerializer;
+    private PropertyInstantSerializer instantSerializer;
+    private PropertyOffsetDateTimeSerializer offsetDateTimeSerializer;
+    private MappingContext enumContext;
+    private MappingContext context;
+
+    @Setup
+    public void setUp() {
+        enumSerializer = new PropertyEnumSerializer();
+        instantSerializer = new PropertyInstantSerializer();
+        offsetDateTimeSerializer = new PropertyOffsetDateTimeSerializer();
+        enumContext = new MappingContext();
+        enumContext.setMappingType(TimeUnit.class);
+        context = new MappingContext();
+    }
+
+    @Benchmark
+    public Enum enumSerializer() {
+        return enumSerializer.fromString(enumContext, ENUM_CONSTANT);
+    }
+
+    @Benchmark
+    public Enum enumValueOf() {
+        return Enum.valueOf(TimeUnit.class, ENUM_CONSTANT);
+    }
+
+    @Benchmark
+    public Instant instantSerializer() {
+        return instantSerializer.fromString(context, INSTANT);
+    }
+
+    @Benchmark
+    public Instant instantParse() {
+        return Instant.parse(INSTANT);
+    }
+
+    @Benchmark
+    public OffsetDateTime offsetDateTimeSerializer() {
+        return offsetDateTimeSerializer.fromString(context, OFFSET_DATE_TIME);
+    }
+
+    @Benchmark
+    public OffsetDateTime offsetDateTimeParse() {
+        return OffsetDateTime.parse(OFFSET_DATE_TIME);
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.giogt.commons.benchmarks.text;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.core.text.escapers.CharEscapers;
+import org.giogt.commons.core.text.escapers.EscapingWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link org.giogt.commons.core.text.escapers.CharEscaper}
+ * instances provided by {@link CharEscapers}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharEscapersBenchmark {
+
+    // the size of the writes of the writer benchmarks (e.g. a template engine)
+    private static final int WRITE_SIZE = 256;
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_16_B,
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_4_KB,
+            Payloads.SIZE_64_KB,
+            Payloads.SIZE_1_MB})
+    public int size;
+
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        payload = Payloads.create(payloadType, size);
+    }
+
+    @Benchmark
+    public String xmlEscaper() {
+        return CharEscapers.xmlEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String htmlEscaper() {
+        return CharEscapers.htmlEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String asciiHtmlEscaper() {
+        return CharEscapers.asciiHtmlEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String javaStringEscaper() {
+        return CharEscapers.javaStringEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String javascriptEscaper() {
+        return CharEscapers.javascriptEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public StringBuilder xmlEscaperAppendable() throws IOException {
+        StringBuilder sb = new StringBuilder(size);
+        CharEscapers.xmlEscaper().escape(sb).append(payload);
+        return sb;
+    }
+
+    @Benchmark
+    public Writer xmlEscaperAppendableWriter() throws IOException {
+        StringWriter out = new StringWriter(size);
+        Appendable appendable = CharEscapers.xmlEscaper().escape(out);
+        for (int start = 0; start < payload.length(); start += WRITE_SIZE) {
+            appendable.append(payload, start, Math.min(payload.length(), start + WRITE_SIZE));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Writer xmlEscapingWriter() throws IOException {
+        StringWriter out = new StringWriter(size);
+        try (Writer writer = new EscapingWriter(out, CharEscapers.xmlEscaper())) {
+            for (int start = 0; start < payload.length(); start += WRITE_SIZE) {
+                writer.write(payload, start, Math.min(payload.length() - start, WRITE_SIZE));
+            }
+        }
+        return out;
+    }
+
+}
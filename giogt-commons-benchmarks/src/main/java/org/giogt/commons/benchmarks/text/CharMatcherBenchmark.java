@@ -0,0 +1,82 @@
+package org.giogt.commons.benchmarks.text;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.core.text.CharMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the text processing methods of {@link CharMatcher}, comparing
+ * the methods returning a new string with the in-place variants working on
+ * a char array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharMatcherBenchmark {
+
+    private static final CharMatcher SEPARATORS =
+            CharMatcher.anyOf(" \t\r\n,;").or(CharMatcher.inRange('\u2000', '\u200a'));
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_64_KB})
+    public int size;
+
+    private String text;
+    private char[] source;
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        text = Payloads.create(payloadType, size);
+        source = text.toCharArray();
+        chars = new char[source.length];
+    }
+
+    @Benchmark
+    public int countIn() {
+        return SEPARATORS.countIn(text);
+    }
+
+    @Benchmark
+    public String trimAndCollapseFrom() {
+        return SEPARATORS.trimAndCollapseFrom(text, ' ');
+    }
+
+    @Benchmark
+    public int trimAndCollapseFromInPlace() {
+        System.arraycopy(source, 0, chars, 0, source.length);
+        return SEPARATORS.trimAndCollapseFrom(chars, 0, chars.length, ' ');
+    }
+
+    @Benchmark
+    public String removeFrom() {
+        return SEPARATORS.removeFrom(text);
+    }
+
+    @Benchmark
+    public int removeFromInPlace() {
+        System.arraycopy(source, 0, chars, 0, source.length);
+        return SEPARATORS.removeFrom(chars, 0, chars.length);
+    }
+
+}
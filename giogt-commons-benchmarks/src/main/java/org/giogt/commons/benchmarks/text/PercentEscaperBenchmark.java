@@ -0,0 +1,108 @@
+package org.giogt.commons.benchmarks.text;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.core.text.escapers.CharEscapers;
+import org.giogt.commons.core.text.escapers.PercentEscaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the URI escapers (all of them are
+ * {@link org.giogt.commons.core.text.escapers.PercentEscaper} instances)
+ * provided by {@link CharEscapers}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentEscaperBenchmark {
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_16_B,
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_4_KB,
+            Payloads.SIZE_64_KB,
+            Payloads.SIZE_1_MB})
+    public int size;
+
+    private String payload;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+    private ParsePosition position;
+
+    @Setup
+    public void setUp() {
+        payload = Payloads.create(payloadType, size);
+        heapBuffer = ByteBuffer.allocate(8192);
+        directBuffer = ByteBuffer.allocateDirect(8192);
+        position = new ParsePosition(0);
+    }
+
+    @Benchmark
+    public String uriEscaper() {
+        return CharEscapers.uriEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String uriPathEscaper() {
+        return CharEscapers.uriPathEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public String uriQueryStringParameterEscaper() {
+        return CharEscapers.uriQueryStringParameterEscaper().escape(payload);
+    }
+
+    @Benchmark
+    public StringBuilder uriEscaperAppendable() throws IOException {
+        StringBuilder sb = new StringBuilder(size);
+        CharEscapers.uriEscaper().escape(sb).append(payload);
+        return sb;
+    }
+
+    @Benchmark
+    public int uriEscaperHeapByteBuffer() {
+        return escapeToBuffer(heapBuffer);
+    }
+
+    @Benchmark
+    public int uriEscaperDirectByteBuffer() {
+        return escapeToBuffer(directBuffer);
+    }
+
+    /**
+     * Escapes the whole payload into the given buffer, draining it (i.e.
+     * simply clearing it) whenever it is full, as a network writer would do.
+     */
+    private int escapeToBuffer(ByteBuffer buffer) {
+        PercentEscaper escaper = (PercentEscaper) CharEscapers.uriEscaper();
+        int written = 0;
+        position.setIndex(0);
+        while (position.getIndex() < payload.length()) {
+            buffer.clear();
+            written += escaper.escape(payload, position, payload.length(), buffer);
+        }
+        return written;
+    }
+
+}
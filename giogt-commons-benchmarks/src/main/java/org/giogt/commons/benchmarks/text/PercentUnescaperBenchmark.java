@@ -0,0 +1,60 @@
+package org.giogt.commons.benchmarks.text;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.core.text.escapers.CharEscapers;
+import org.giogt.commons.core.text.unescapers.CharUnescapers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link CharUnescapers#uriUnescaper()}.
+ * <p>
+ * The unescaper input is the payload of the requested type, percent encoded
+ * by {@link CharEscapers#uriEscaper(boolean)} (without using "+" for
+ * spaces).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentUnescaperBenchmark {
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_16_B,
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_4_KB,
+            Payloads.SIZE_64_KB,
+            Payloads.SIZE_1_MB})
+    public int size;
+
+    private String escapedPayload;
+
+    @Setup
+    public void setUp() {
+        escapedPayload = CharEscapers.uriEscaper(false)
+                .escape(Payloads.create(payloadType, size));
+    }
+
+    @Benchmark
+    public String uriUnescaper() {
+        return CharUnescapers.uriUnescaper().unescape(escapedPayload);
+    }
+
+}
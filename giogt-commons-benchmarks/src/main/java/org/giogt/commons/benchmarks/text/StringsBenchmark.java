@@ -0,0 +1,102 @@
+package org.giogt.commons.benchmarks.text;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.core.collections.MultivaluedMap;
+import org.giogt.commons.core.text.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the delimited string parsing and the stream reading methods of
+ * {@link Strings}.
+ * <p>
+ * The input of the parsing methods is a query string ({@code k0=v0&k1=v1&...})
+ * whose values are percent encoded payloads of the requested type; the input
+ * of the reading methods is the UTF-8 encoding of a payload of the requested
+ * type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringsBenchmark {
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_16_B,
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_4_KB,
+            Payloads.SIZE_64_KB,
+            Payloads.SIZE_1_MB})
+    public int size;
+
+    private String queryString;
+    private byte[] utf8Bytes;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        queryString = Payloads.createQueryString(payloadType, size);
+        utf8Bytes = Payloads.create(payloadType, size).getBytes(StandardCharsets.UTF_8);
+        file = Files.createTempFile("strings-benchmark", ".txt");
+        Files.write(file, utf8Bytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public MultivaluedMap<String, String> toMultivaluedMap() {
+        return Strings.toMultivaluedMap(queryString, "&", "=", false, false);
+    }
+
+    @Benchmark
+    public Map<String, String> toMap() {
+        return Strings.toMap(queryString, "&", "=", false, false);
+    }
+
+    @Benchmark
+    public List<String> toList() {
+        return Strings.toList(queryString, "&", false);
+    }
+
+    @Benchmark
+    public String fromUTF8Stream() throws IOException {
+        return Strings.fromUTF8Stream(new ByteArrayInputStream(utf8Bytes));
+    }
+
+    @Benchmark
+    public String fromFileChannel() throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return Strings.fromChannel(channel, StandardCharsets.UTF_8);
+        }
+    }
+
+}
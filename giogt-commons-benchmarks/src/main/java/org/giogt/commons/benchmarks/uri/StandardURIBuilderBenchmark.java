@@ -0,0 +1,76 @@
+package org.giogt.commons.benchmarks.uri;
+
+import org.giogt.commons.benchmarks.Payloads;
+import org.giogt.commons.benchmarks.Payloads.PayloadType;
+import org.giogt.commons.uri.URIBuilder;
+import org.giogt.commons.uri.URIs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link org.giogt.commons.uri.StandardURIBuilder}: building the
+ * URI string and setting (i.e. parsing) a raw query string.
+ * <p>
+ * The query string values are percent encoded payloads of the requested
+ * type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StandardURIBuilderBenchmark {
+
+    @Param
+    public PayloadType payloadType;
+
+    @Param({
+            Payloads.SIZE_16_B,
+            Payloads.SIZE_256_B,
+            Payloads.SIZE_4_KB,
+            Payloads.SIZE_64_KB,
+            Payloads.SIZE_1_MB})
+    public int size;
+
+    private String queryString;
+    private URIBuilder<?> uriBuilder;
+
+    @Setup
+    public void setUp() {
+        queryString = Payloads.createQueryString(payloadType, size);
+        uriBuilder = newURIBuilder()
+                .setRawQueryString(queryString);
+    }
+
+    @Benchmark
+    public String buildString() {
+        return uriBuilder.buildString();
+    }
+
+    @Benchmark
+    public URIBuilder<?> setRawQueryString() {
+        return newURIBuilder()
+                .setRawQueryString(queryString);
+    }
+
+    private static URIBuilder<?> newURIBuilder() {
+        return URIs.newURI()
+                .setScheme("https")
+                .setHost("www.example.com")
+                .setPort(8443)
+                .setPath("/api/v1/resources");
+    }
+
+}
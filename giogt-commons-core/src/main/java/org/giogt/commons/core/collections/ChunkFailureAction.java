@@ -0,0 +1,24 @@
+package org.giogt.commons.core.collections;
+
+/**
+ * What a {@link ChunkPipeline} does with a chunk whose preparation or write
+ * failed.
+ */
+public enum ChunkFailureAction {
+
+    /**
+     * Runs the failed step again.
+     */
+    RETRY,
+
+    /**
+     * Drops the chunk and goes on with the next ones.
+     */
+    SKIP,
+
+    /**
+     * Stops the pipeline, that completes with the failure.
+     */
+    FAIL
+
+}
@@ -0,0 +1,22 @@
+package org.giogt.commons.core.collections;
+
+/**
+ * Decides what a {@link ChunkPipeline} does when the preparation or the write
+ * of a chunk fails.
+ *
+ * @param <T>
+ */
+@FunctionalInterface
+public interface ChunkFailureHandler<T> {
+
+    /**
+     * Called on the thread of the failed step, that may wait before
+     * returning (e.g. to back off before a retry).
+     *
+     * @param chunk   the chunk whose step failed
+     * @param failure the exception thrown by the step
+     * @param attempt the number of times the step was run, from 1
+     */
+    ChunkFailureAction onFailure(Chunk<T> chunk, RuntimeException failure, int attempt);
+
+}
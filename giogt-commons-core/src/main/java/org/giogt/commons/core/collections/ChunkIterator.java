@@ -3,25 +3,58 @@ package org.giogt.commons.core.collections;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * An iterator of the chunks of a list, see {@link ChunkList}.
+ * <p>
+ * <p>Lists that do not implement {@link RandomAccess} (e.g.
+ * {@link java.util.LinkedList}) are walked once with a {@link ListIterator},
+ * instead of getting their elements by index: their chunks always hold copies,
+ * as the elements of {@link List#subList(int, int) views} would be found by
+ * walking the list again.
+ *
+ * @param <T>
+ */
 public class ChunkIterator<T> implements Iterator<Chunk<T>> {
 
     private final List<T> list;
     private final int chunkSize;
     private final boolean onlyMinAndMax;
+    private final boolean views;
+    private final boolean reusedChunk;
 
-    private Chunk<T> currentChunk = null;
+    // the elements of lists without random access, positioned at nextIndex
+    private final ListIterator<T> cursor;
+    private int nextIndex = 0;
+    // the chunk returned by every iteration, if reused
+    private Chunk<T> chunk;
 
     public ChunkIterator(List<T> list, int chunkSize) {
         this(list, chunkSize, false);
     }
 
     public ChunkIterator(List<T> list, int chunkSize, boolean onlyMinAndMax) {
-        this.onlyMinAndMax = onlyMinAndMax;
+        this(list, chunkSize, onlyMinAndMax, false, false);
+    }
+
+    /**
+     * @param views       if {@code true}, the chunks are views of the list
+     *                    ({@link List#subList(int, int)}) instead of copies,
+     *                    for random access lists only
+     * @param reusedChunk if {@code true}, every iteration returns the same
+     *                    {@link Chunk} instance, updated
+     */
+    public ChunkIterator(List<T> list, int chunkSize, boolean onlyMinAndMax, boolean views, boolean reusedChunk) {
         checkPreconditions(list, chunkSize);
 
         this.list = list;
         this.chunkSize = chunkSize;
+        this.onlyMinAndMax = onlyMinAndMax;
+        this.views = views;
+        this.reusedChunk = reusedChunk;
+        this.cursor = (list instanceof RandomAccess) ? null : list.listIterator();
     }
 
     void checkPreconditions(List<T> list, int chunkSize) {
@@ -39,15 +72,7 @@ public class ChunkIterator<T> implements Iterator<Chunk<T>> {
 
     @Override
     public boolean hasNext() {
-        if (list.size() == 0) {
-            return false;
-        }
-        if (currentChunk == null) {
-            // first element
-            return true;
-        }
-
-        return currentChunk.getMaxIndex() < (list.size() - 1);
+        return nextIndex < list.size();
     }
 
     @Override
@@ -56,33 +81,69 @@ public class ChunkIterator<T> implements Iterator<Chunk<T>> {
             throw new ArrayIndexOutOfBoundsException("no next elements available");
         }
 
-        int minIndex;
-        int maxIndex;
-        if (currentChunk == null) {
-            // first element
-            minIndex = 0;
-            maxIndex = Math.min(chunkSize - 1, list.size() - 1);
+        int minIndex = nextIndex;
+        int maxIndex = Math.min(minIndex + chunkSize - 1, list.size() - 1);
+        nextIndex = maxIndex + 1;
+
+        Chunk<T> currentChunk = (reusedChunk && chunk != null) ? chunk : new Chunk<>();
+        if (reusedChunk) {
+            chunk = currentChunk;
+        }
+        if (cursor == null) {
+            fill(currentChunk, list, minIndex, maxIndex, onlyMinAndMax, views);
+        } else {
+            nextWithCursor(currentChunk, minIndex, maxIndex);
+        }
+
+        return currentChunk;
+    }
+
+    /**
+     * Sets the indexes, values and elements of the chunk of a random access
+     * list from {@code minIndex} to {@code maxIndex}.
+     */
+    static <T> void fill(
+            Chunk<T> chunk,
+            List<T> list,
+            int minIndex,
+            int maxIndex,
+            boolean onlyMinAndMax,
+            boolean views) {
+
+        chunk.setMinIndex(minIndex);
+        chunk.setMaxIndex(maxIndex);
+        chunk.setMinValue(list.get(minIndex));
+        chunk.setMaxValue(list.get(maxIndex));
+        if (onlyMinAndMax) {
+            chunk.setChunk(null);
+        } else if (views) {
+            chunk.setChunk(list.subList(minIndex, maxIndex + 1));
         } else {
-            // next element
-            minIndex = currentChunk.getMaxIndex() + 1;
-            maxIndex = Math.min(minIndex + chunkSize - 1, list.size() - 1);
+            chunk.setChunk(new ArrayList<>(list.subList(minIndex, maxIndex + 1)));
         }
+    }
 
-        currentChunk = new Chunk<>();
+    private void nextWithCursor(Chunk<T> currentChunk, int minIndex, int maxIndex) {
         currentChunk.setMinIndex(minIndex);
         currentChunk.setMaxIndex(maxIndex);
-        currentChunk.setMinValue(list.get(minIndex));
-        currentChunk.setMaxValue(list.get(maxIndex));
 
-        if (!onlyMinAndMax) {
-            List<T> chunk = new ArrayList<>(maxIndex - minIndex + 1);
-            for (int i = minIndex; i <= maxIndex; i++) {
-                chunk.add(list.get(i));
+        // no views: the elements are taken from the cursor, not from the list
+        List<T> elements = onlyMinAndMax ? null : new ArrayList<>(maxIndex - minIndex + 1);
+
+        T value = cursor.next();
+        currentChunk.setMinValue(value);
+        if (elements != null) {
+            elements.add(value);
+        }
+        for (int i = minIndex + 1; i <= maxIndex; i++) {
+            value = cursor.next();
+            if (elements != null) {
+                elements.add(value);
             }
-            currentChunk.setChunk(chunk);
         }
+        currentChunk.setMaxValue(value);
 
-        return currentChunk;
+        currentChunk.setChunk(elements);
     }
 
     @Override
@@ -1,7 +1,24 @@
 package org.giogt.commons.core.collections;
 
+import org.giogt.commons.core.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A wrapper on {@link List} that allows to iterate it in chunks, according to
@@ -17,6 +34,30 @@ import java.util.List;
  * values are set and the chunk will always be <tt>null</tt>. This can be used
  * for performance reasons when you are not interested in the whole chunk, but
  * only in the minimum and maximum values for every chunk.
+ * <p>
+ * By default every chunk is a new {@link Chunk} holding a copy of its
+ * elements. To iterate large lists without copying them, the chunk list can
+ * be built with:
+ * <ul>
+ * <li><tt>views</tt>: the chunks are {@link List#subList(int, int)} views of
+ * the list, valid while the list is not structurally modified (lists without
+ * {@link java.util.RandomAccess random access} still get copies, as getting
+ * the elements of their views by index is slow);</li>
+ * <li><tt>reusedChunk</tt>: every iteration returns the same {@link Chunk}
+ * instance, updated, so a chunk must not be kept after the next
+ * iteration.</li>
+ * </ul>
+ * Example:
+ * <pre>   {@code
+ *   ChunkList<Row> chunks = ChunkList.<Row>builder()
+ *       .withList(rows)
+ *       .withChunkSize(1000)
+ *       .withViews()
+ *       .withReusedChunk()
+ *       .build();
+ *   for (Chunk<Row> chunk : chunks) {
+ *       insert(chunk.getChunk());
+ *   }}</pre>
  *
  * @param <T>
  */
@@ -25,17 +66,25 @@ public class ChunkList<T> implements Iterable<Chunk<T>> {
     private final List<T> list;
     private final int chunkSize;
     private final boolean onlyMinAndMax;
+    private final boolean views;
+    private final boolean reusedChunk;
 
     public ChunkList(List<T> list, int chunkSize) {
         this(list, chunkSize, false);
     }
 
     public ChunkList(List<T> list, int chunkSize, boolean onlyMinAndMax) {
+        this(list, chunkSize, onlyMinAndMax, false, false);
+    }
+
+    ChunkList(List<T> list, int chunkSize, boolean onlyMinAndMax, boolean views, boolean reusedChunk) {
         checkPreconditions(list, chunkSize);
 
         this.list = list;
         this.chunkSize = chunkSize;
         this.onlyMinAndMax = onlyMinAndMax;
+        this.views = views;
+        this.reusedChunk = reusedChunk;
     }
 
     void checkPreconditions(List<T> list, int chunkSize) {
@@ -59,9 +108,193 @@ public class ChunkList<T> implements Iterable<Chunk<T>> {
         return onlyMinAndMax;
     }
 
+    public boolean isViews() {
+        return views;
+    }
+
+    public boolean isReusedChunk() {
+        return reusedChunk;
+    }
+
     @Override
     public Iterator<Chunk<T>> iterator() {
-        return new ChunkIterator<>(list, chunkSize, onlyMinAndMax);
+        return new ChunkIterator<>(list, chunkSize, onlyMinAndMax, views, reusedChunk);
+    }
+
+    /**
+     * Returns a spliterator of the chunks, that reports
+     * {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+     * {@link Spliterator#ORDERED}. For {@link RandomAccess} lists it splits
+     * on chunk boundaries, in halves, without reading the list; other lists
+     * are split in batches of chunks read by their iterator, and their chunks
+     * are never reused.
+     */
+    @Override
+    public Spliterator<Chunk<T>> spliterator() {
+        int chunkCount = ChunkSpliterator.chunkCount(list.size(), chunkSize);
+        if (list instanceof RandomAccess) {
+            return new ChunkSpliterator<>(list, chunkSize, onlyMinAndMax, views, reusedChunk, 0, chunkCount);
+        }
+        return Spliterators.spliterator(
+                new ChunkIterator<>(list, chunkSize, onlyMinAndMax, views, false),
+                chunkCount,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential stream of the chunks.
+     */
+    public Stream<Chunk<T>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the chunks. If the chunk is reused, each
+     * split of the stream reuses its own chunk.
+     */
+    public Stream<Chunk<T>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Passes every chunk to {@code consumer}, running at most
+     * {@code parallelism} of them at the same time with {@code executor}, in
+     * no particular order. The calling thread reads the chunks and waits while
+     * {@code parallelism} chunks are in flight, so that at most
+     * {@code parallelism} chunks are in memory; chunks are never reused.
+     * <p>
+     * <p>When the consumer fails, no more chunks are submitted: the method
+     * waits for the chunks in flight, then throws the first exception or
+     * error thrown by the consumer.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting to submit a chunk: no more chunks
+     *                              are submitted, and the chunks in flight
+     *                              are waited for
+     */
+    public void forEachChunkParallel(
+            Executor executor,
+            int parallelism,
+            Consumer<? super Chunk<T>> consumer)
+            throws InterruptedException {
+
+        Preconditions.notNull(executor, "executor");
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        Preconditions.notNull(consumer, "consumer");
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            Iterator<Chunk<T>> chunks = new ChunkIterator<>(list, chunkSize, onlyMinAndMax, views, false);
+            while (chunks.hasNext()) {
+                // the permit is taken before the chunk is read, so that the
+                // chunk waiting for it is not in memory too
+                permits.acquire();
+                boolean submitted = false;
+                try {
+                    if (failure.get() != null) {
+                        break;
+                    }
+                    Chunk<T> chunk = chunks.next();
+                    executor.execute(() -> {
+                        try {
+                            consumer.accept(chunk);
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                    submitted = true;
+                } finally {
+                    if (!submitted) {
+                        permits.release();
+                    }
+                }
+            }
+        } finally {
+            // waits for the chunks in flight
+            permits.acquireUninterruptibly(parallelism);
+        }
+
+        Throwable e = failure.get();
+        if (e != null) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Maps every chunk with {@code mapper}, running at most
+     * {@code parallelism} of them at the same time with {@code executor}, and
+     * passes the results to {@code resultConsumer} in chunk order, on the
+     * calling thread. A chunk is not mapped until the result of the chunk
+     * {@code parallelism} places before it has been consumed, so that at most
+     * {@code parallelism} chunks and results are in memory; chunks are never
+     * reused.
+     * <p>
+     * <p>When the mapper fails, no more chunks are submitted: the method
+     * waits for the chunks in flight, then throws the exception of the first
+     * failed chunk, in chunk order.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for a result: no more chunks are
+     *                              submitted, and the chunks in flight are
+     *                              waited for
+     */
+    public <R> void mapChunksParallel(
+            Executor executor,
+            int parallelism,
+            Function<? super Chunk<T>, ? extends R> mapper,
+            Consumer<? super R> resultConsumer)
+            throws InterruptedException {
+
+        Preconditions.notNull(executor, "executor");
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        Preconditions.notNull(mapper, "mapper");
+        Preconditions.notNull(resultConsumer, "resultConsumer");
+
+        Deque<CompletableFuture<R>> results = new ArrayDeque<>();
+        try {
+            Iterator<Chunk<T>> chunks = new ChunkIterator<>(list, chunkSize, onlyMinAndMax, views, false);
+            while (chunks.hasNext()) {
+                if (results.size() == parallelism) {
+                    resultConsumer.accept(result(results.poll()));
+                }
+                Chunk<T> chunk = chunks.next();
+                results.add(CompletableFuture.supplyAsync(() -> mapper.apply(chunk), executor));
+            }
+            while (!results.isEmpty()) {
+                resultConsumer.accept(result(results.poll()));
+            }
+        } finally {
+            // waits for the chunks in flight, after a failure: the first
+            // failure is thrown
+            for (CompletableFuture<R> result : results) {
+                result.handle((value, e) -> null).join();
+            }
+        }
+    }
+
+    private static <R> R result(CompletableFuture<R> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Throws {@code failure} if unchecked, or returns it wrapped in a
+     * {@link CompletionException}.
+     */
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new CompletionException(failure);
     }
 
     @Override
@@ -71,4 +304,46 @@ public class ChunkList<T> implements Iterable<Chunk<T>> {
                 ", chunkSize=" + chunkSize +
                 '}';
     }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+
+        List<T> list;
+        int chunkSize;
+        boolean onlyMinAndMax;
+        boolean views;
+        boolean reusedChunk;
+
+        public Builder<T> withList(List<T> list) {
+            this.list = list;
+            return this;
+        }
+
+        public Builder<T> withChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder<T> withOnlyMinAndMax() {
+            this.onlyMinAndMax = true;
+            return this;
+        }
+
+        public Builder<T> withViews() {
+            this.views = true;
+            return this;
+        }
+
+        public Builder<T> withReusedChunk() {
+            this.reusedChunk = true;
+            return this;
+        }
+
+        public ChunkList<T> build() {
+            return new ChunkList<>(list, chunkSize, onlyMinAndMax, views, reusedChunk);
+        }
+    }
 }
@@ -0,0 +1,356 @@
+package org.giogt.commons.core.collections;
+
+import org.giogt.commons.core.Preconditions;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes chunks to a sink, one at a time and in order, while the next chunks
+ * are read and prepared. Example:
+ * <pre>   {@code
+ *   ChunkPipeline<Row, PreparedBatch> pipeline = ChunkPipeline.<Row, PreparedBatch>builder()
+ *       .withChunks(new ChunkList<>(rows, 1000))
+ *       .withPreparer(chunk -> toBatch(chunk.getChunk()))
+ *       .withWriter(batch -> batch.execute())
+ *       .withWriteExecutor(writeExecutor)
+ *       .withFailureHandler((chunk, e, attempt) ->
+ *           (attempt < 3) ? ChunkFailureAction.RETRY : ChunkFailureAction.FAIL)
+ *       .build();
+ *   pipeline.run().join();}</pre>
+ * <p>
+ * <p>Chunks are read from the source and prepared with the prepare executor,
+ * and written with the write executor, after the previous chunk was written:
+ * while chunk N is written, the following chunks are prepared. At most
+ * <tt>maxInFlightChunks</tt> chunks are read but not written yet, so a slow
+ * writer slows down the reads instead of filling the memory.
+ * <p>
+ * <p>When the preparation or the write of a chunk throws an exception, the
+ * failure handler decides whether the step is run again, the chunk is
+ * skipped, or the pipeline fails. A failed pipeline, like a pipeline that
+ * cannot read its chunks or is cancelled, reads no more chunks and writes
+ * none of the chunks in flight, except the one being written, if any.
+ * <p>
+ * <p>Since a chunk is prepared and written after the next ones are read,
+ * the chunks must be distinct objects: see {@link Builder#withChunks(Iterable)}.
+ *
+ * @param <T> the type of the elements of the chunks
+ * @param <P> the type of the prepared chunks
+ */
+public class ChunkPipeline<T, P> {
+
+    // a prepared chunk that was skipped
+    private static final Object SKIPPED = new Object();
+
+    private final Iterator<Chunk<T>> chunks;
+    private final Function<? super Chunk<T>, ? extends P> preparer;
+    private final Consumer<? super P> writer;
+    private final int maxInFlightChunks;
+    private final Executor prepareExecutor;
+    private final Executor writeExecutor;
+    private final ChunkFailureHandler<T> failureHandler;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // guarded by this
+    private boolean started;
+    private boolean pumping;
+    private boolean pumpRequested;
+    private int inFlightChunks;
+    private Chunk<T> lastChunk;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    ChunkPipeline(
+            Iterator<Chunk<T>> chunks,
+            Function<? super Chunk<T>, ? extends P> preparer,
+            Consumer<? super P> writer,
+            int maxInFlightChunks,
+            Executor prepareExecutor,
+            Executor writeExecutor,
+            ChunkFailureHandler<T> failureHandler) {
+
+        this.chunks = chunks;
+        this.preparer = preparer;
+        this.writer = writer;
+        this.maxInFlightChunks = maxInFlightChunks;
+        this.prepareExecutor = prepareExecutor;
+        this.writeExecutor = writeExecutor;
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Starts the pipeline. The first chunks are read by the calling thread.
+     *
+     * @return a future completed when all the chunks are written or skipped,
+     * or completed exceptionally with the first failure; cancelling it stops
+     * the pipeline
+     * @throws IllegalStateException if the pipeline was already started
+     */
+    public CompletableFuture<Void> run() {
+        synchronized (this) {
+            if (started) {
+                throw new IllegalStateException("chunk pipeline already started");
+            }
+            started = true;
+        }
+        pump();
+        return completion;
+    }
+
+    /**
+     * Pumps the chunks, unless a pump is already running: then that pump
+     * runs again when it is done. Executors that run tasks on the calling
+     * thread complete the writes within the pump, and would otherwise pump
+     * again from there, one nested call per chunk.
+     */
+    private void pump() {
+        synchronized (this) {
+            pumpRequested = true;
+            if (pumping) {
+                return;
+            }
+            pumping = true;
+        }
+
+        for (; ; ) {
+            synchronized (this) {
+                if (!pumpRequested) {
+                    pumping = false;
+                    return;
+                }
+                pumpRequested = false;
+            }
+            pumpChunks();
+        }
+    }
+
+    /**
+     * Reads and submits chunks until <tt>maxInFlightChunks</tt> chunks are in
+     * flight, and completes the pipeline when all the chunks are written.
+     */
+    private synchronized void pumpChunks() {
+        try {
+            while (inFlightChunks < maxInFlightChunks && !completion.isDone() && chunks.hasNext()) {
+                Chunk<T> chunk = chunks.next();
+                if (chunk == lastChunk) {
+                    throw new IllegalArgumentException("chunks must not reuse the same chunk object");
+                }
+                lastChunk = chunk;
+                inFlightChunks++;
+
+                CompletableFuture<Object> prepared = CompletableFuture.supplyAsync(() -> prepare(chunk), prepareExecutor);
+                lastWrite = lastWrite.thenCombineAsync(prepared, (previous, preparedChunk) -> {
+                    write(chunk, preparedChunk);
+                    return null;
+                }, writeExecutor);
+                lastWrite.whenComplete((result, e) -> written(e));
+            }
+
+            if (inFlightChunks == 0 && !chunks.hasNext()) {
+                completion.complete(null);
+            }
+        } catch (RuntimeException e) {
+            // the chunks cannot be read, or submitted
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private void written(Throwable failure) {
+        synchronized (this) {
+            inFlightChunks--;
+        }
+        if (failure != null) {
+            completion.completeExceptionally(
+                    (failure instanceof CompletionException && failure.getCause() != null) ? failure.getCause() : failure);
+        }
+        if (completion.isDone()) {
+            return;
+        }
+
+        try {
+            prepareExecutor.execute(this::pump);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private Object prepare(Chunk<T> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return preparer.apply(chunk);
+            } catch (RuntimeException e) {
+                if (!retry(chunk, e, attempt)) {
+                    return SKIPPED;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(Chunk<T> chunk, Object preparedChunk) {
+        // the pipeline failed or was cancelled since the chunk was read
+        if (preparedChunk == SKIPPED || completion.isDone()) {
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.accept((P) preparedChunk);
+                return;
+            } catch (RuntimeException e) {
+                if (!retry(chunk, e, attempt)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the failed step must be run again, or
+     * {@code false} if the chunk must be skipped; throws {@code failure} if the
+     * pipeline must fail.
+     */
+    private boolean retry(Chunk<T> chunk, RuntimeException failure, int attempt) {
+        if (completion.isDone()) {
+            throw failure;
+        }
+
+        ChunkFailureAction action = failureHandler.onFailure(chunk, failure, attempt);
+        switch (Preconditions.notNull(action, "action")) {
+            case RETRY:
+                return true;
+            case SKIP:
+                return false;
+            default:
+                throw failure;
+        }
+    }
+
+    public static <T, P> Builder<T, P> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T, P> {
+        public static final int DEFAULT_MAX_IN_FLIGHT_CHUNKS = 2;
+
+        Iterator<Chunk<T>> chunks;
+        Function<? super Chunk<T>, ? extends P> preparer;
+        Consumer<? super P> writer;
+        int maxInFlightChunks = DEFAULT_MAX_IN_FLIGHT_CHUNKS;
+        Executor prepareExecutor;
+        Executor writeExecutor;
+        ChunkFailureHandler<T> failureHandler = (chunk, failure, attempt) -> ChunkFailureAction.FAIL;
+
+        /**
+         * Sets the chunks, e.g. a {@link ChunkList}. A chunk list that
+         * {@link ChunkList#isReusedChunk() reuses its chunk} is iterated with
+         * a new chunk per iteration instead, as the chunks read ahead would
+         * otherwise overwrite the ones not written yet.
+         */
+        public Builder<T, P> withChunks(Iterable<Chunk<T>> chunks) {
+            Preconditions.notNull(chunks, "chunks");
+            if (chunks instanceof ChunkList && ((ChunkList<T>) chunks).isReusedChunk()) {
+                ChunkList<T> chunkList = (ChunkList<T>) chunks;
+                this.chunks = new ChunkIterator<>(
+                        chunkList.getList(),
+                        chunkList.getChunkSize(),
+                        chunkList.isOnlyMinAndMax(),
+                        chunkList.isViews(),
+                        false);
+            } else {
+                this.chunks = chunks.iterator();
+            }
+            return this;
+        }
+
+        /**
+         * Sets the chunks, e.g. a {@link ChunkingIterator}. The iterator
+         * must return a new chunk per iteration: the pipeline fails with an
+         * {@link IllegalArgumentException} if it returns the same chunk
+         * twice in a row.
+         */
+        public Builder<T, P> withChunks(Iterator<Chunk<T>> chunks) {
+            this.chunks = Preconditions.notNull(chunks, "chunks");
+            return this;
+        }
+
+        /**
+         * Sets the function that prepares a chunk to be written (e.g.
+         * converts its elements), run with the prepare executor.
+         */
+        public Builder<T, P> withPreparer(Function<? super Chunk<T>, ? extends P> preparer) {
+            this.preparer = preparer;
+            return this;
+        }
+
+        /**
+         * Sets the sink of the prepared chunks, run with the write executor,
+         * for one chunk at a time.
+         */
+        public Builder<T, P> withWriter(Consumer<? super P> writer) {
+            this.writer = writer;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of chunks read but not written yet (2 by
+         * default: one written, one prepared).
+         */
+        public Builder<T, P> withMaxInFlightChunks(int maxInFlightChunks) {
+            Preconditions.checkArgument(maxInFlightChunks > 0, "maxInFlightChunks must be positive");
+            this.maxInFlightChunks = maxInFlightChunks;
+            return this;
+        }
+
+        /**
+         * Sets the executor that reads and prepares the chunks (the common
+         * fork/join pool by default).
+         */
+        public Builder<T, P> withPrepareExecutor(Executor prepareExecutor) {
+            this.prepareExecutor = prepareExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the executor that writes the chunks (the prepare executor by
+         * default). Writers that block should have their own executor.
+         */
+        public Builder<T, P> withWriteExecutor(Executor writeExecutor) {
+            this.writeExecutor = writeExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the handler of the failed preparations and writes (by default,
+         * the pipeline fails).
+         */
+        public Builder<T, P> withFailureHandler(ChunkFailureHandler<T> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        public ChunkPipeline<T, P> build() {
+            Preconditions.notNull(chunks, "chunks");
+            Preconditions.notNull(preparer, "preparer");
+            Preconditions.notNull(writer, "writer");
+            Preconditions.notNull(failureHandler, "failureHandler");
+
+            Executor prepareExecutor = (this.prepareExecutor != null) ? this.prepareExecutor : ForkJoinPool.commonPool();
+            Executor writeExecutor = (this.writeExecutor != null) ? this.writeExecutor : prepareExecutor;
+            return new ChunkPipeline<>(
+                    chunks,
+                    preparer,
+                    writer,
+                    maxInFlightChunks,
+                    prepareExecutor,
+                    writeExecutor,
+                    failureHandler);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.giogt.commons.core.collections;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator of the chunks of a random access list, from chunk
+ * {@code fromChunk} (inclusive) to chunk {@code toChunk} (exclusive). It
+ * splits on chunk boundaries, in halves.
+ *
+ * @param <T>
+ */
+final class ChunkSpliterator<T> implements Spliterator<Chunk<T>> {
+
+    private final List<T> list;
+    private final int size;
+    private final int chunkSize;
+    private final boolean onlyMinAndMax;
+    private final boolean views;
+    private final boolean reusedChunk;
+
+    private int fromChunk;
+    private final int toChunk;
+    // the chunk returned by every advance, if reused
+    private Chunk<T> chunk;
+
+    ChunkSpliterator(
+            List<T> list,
+            int chunkSize,
+            boolean onlyMinAndMax,
+            boolean views,
+            boolean reusedChunk,
+            int fromChunk,
+            int toChunk) {
+
+        this.list = list;
+        this.size = list.size();
+        this.chunkSize = chunkSize;
+        this.onlyMinAndMax = onlyMinAndMax;
+        this.views = views;
+        this.reusedChunk = reusedChunk;
+        this.fromChunk = fromChunk;
+        this.toChunk = toChunk;
+    }
+
+    /**
+     * Returns the number of chunks of a list of {@code size} elements.
+     */
+    static int chunkCount(int size, int chunkSize) {
+        return (size == 0) ? 0 : (size - 1) / chunkSize + 1;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Chunk<T>> action) {
+        if (fromChunk >= toChunk) {
+            return false;
+        }
+        action.accept(chunk(fromChunk++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Chunk<T>> action) {
+        int to = toChunk;
+        for (int i = fromChunk; i < to; i++) {
+            action.accept(chunk(i));
+        }
+        fromChunk = to;
+    }
+
+    private Chunk<T> chunk(int chunkIndex) {
+        Chunk<T> currentChunk = (reusedChunk && chunk != null) ? chunk : new Chunk<>();
+        if (reusedChunk) {
+            chunk = currentChunk;
+        }
+
+        // long arithmetic: the index after the last chunk may overflow
+        int minIndex = (int) ((long) chunkIndex * chunkSize);
+        int maxIndex = (int) Math.min((long) minIndex + chunkSize - 1, size - 1);
+        ChunkIterator.fill(currentChunk, list, minIndex, maxIndex, onlyMinAndMax, views);
+        return currentChunk;
+    }
+
+    @Override
+    public Spliterator<Chunk<T>> trySplit() {
+        int middle = (fromChunk + toChunk) >>> 1;
+        if (middle <= fromChunk) {
+            return null;
+        }
+
+        ChunkSpliterator<T> prefix = new ChunkSpliterator<>(
+                list, chunkSize, onlyMinAndMax, views, reusedChunk, fromChunk, middle);
+        fromChunk = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return toChunk - fromChunk;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+
+}
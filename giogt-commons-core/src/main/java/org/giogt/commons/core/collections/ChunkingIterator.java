@@ -0,0 +1,240 @@
+package org.giogt.commons.core.collections;
+
+import org.giogt.commons.core.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An iterator of the chunks of a source of unknown length (an
+ * {@link Iterator}, a {@link Stream} or a {@link Spliterator}), that reads
+ * the source one chunk at a time: only the elements of the current chunk are
+ * in memory. Example:
+ * <pre>   {@code
+ *   try (Stream<String> lines = Files.lines(file)) {
+ *       ChunkingIterator<String> chunks = ChunkingIterator.<String>builder()
+ *           .withSource(lines)
+ *           .withMaxChunkSize(10_000)
+ *           .withMaxChunkWeight(1 << 20, String::length)
+ *           .build();
+ *       while (chunks.hasNext()) {
+ *           insert(chunks.next().getChunk());
+ *       }
+ *   }}</pre>
+ * <p>
+ * <p>The chunks hold the same metadata as the chunks of a {@link ChunkList}:
+ * the indexes of their first and last elements in the source, those elements
+ * and a list of all their elements. A chunk ends when it has the maximum
+ * number of elements, when the next element would make its weight exceed the
+ * maximum weight (an element heavier than the maximum weight is a chunk on
+ * its own), or when the maximum delay elapsed since its first element was
+ * read. The delay is checked whenever an element is read: a source that
+ * blocks delays the end of the chunk.
+ *
+ * @param <T>
+ */
+public class ChunkingIterator<T> implements Iterator<Chunk<T>> {
+
+    private final Spliterator<T> source;
+    private final int maxChunkSize;
+    private final long maxChunkWeight;
+    private final ToLongFunction<? super T> weigher;
+    private final long maxChunkDelayNanos;
+    private final LongSupplier nanoClock;
+
+    // the index of the next element of the source
+    private int nextIndex = 0;
+    // the element read ahead, if any
+    private T pending;
+    private boolean hasPending;
+    private boolean exhausted;
+
+    ChunkingIterator(
+            Spliterator<T> source,
+            int maxChunkSize,
+            long maxChunkWeight,
+            ToLongFunction<? super T> weigher,
+            long maxChunkDelayNanos,
+            LongSupplier nanoClock) {
+
+        this.source = source;
+        this.maxChunkSize = maxChunkSize;
+        this.maxChunkWeight = maxChunkWeight;
+        this.weigher = weigher;
+        this.maxChunkDelayNanos = maxChunkDelayNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasPending || readAhead();
+    }
+
+    @Override
+    public Chunk<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no next elements available");
+        }
+
+        int minIndex = nextIndex;
+        long startTime = (maxChunkDelayNanos > 0) ? nanoClock.getAsLong() : 0;
+        List<T> elements = new ArrayList<>(Math.min(maxChunkSize, 1024));
+        long weight = 0;
+        do {
+            long elementWeight = (weigher != null) ? weigher.applyAsLong(pending) : 0;
+            if (!elements.isEmpty() && weight + elementWeight > maxChunkWeight) {
+                // the element is the first of the next chunk
+                break;
+            }
+            if (nextIndex == Integer.MAX_VALUE) {
+                throw new IllegalStateException("cannot chunk more than <" + Integer.MAX_VALUE + "> elements");
+            }
+
+            elements.add(pending);
+            pending = null;
+            hasPending = false;
+            nextIndex++;
+            weight += elementWeight;
+
+            if (elements.size() >= maxChunkSize || weight >= maxChunkWeight) {
+                break;
+            }
+            if (maxChunkDelayNanos > 0 && nanoClock.getAsLong() - startTime >= maxChunkDelayNanos) {
+                break;
+            }
+        } while (readAhead());
+
+        Chunk<T> chunk = new Chunk<>();
+        chunk.setMinIndex(minIndex);
+        chunk.setMaxIndex(minIndex + elements.size() - 1);
+        chunk.setMinValue(elements.get(0));
+        chunk.setMaxValue(elements.get(elements.size() - 1));
+        chunk.setChunk(elements);
+        return chunk;
+    }
+
+    private boolean readAhead() {
+        if (exhausted) {
+            return false;
+        }
+        if (source.tryAdvance(this::setPending)) {
+            return true;
+        }
+        exhausted = true;
+        return false;
+    }
+
+    private void setPending(T element) {
+        pending = element;
+        hasPending = true;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining chunks.
+     */
+    public Stream<Chunk<T>> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException(
+                "remove operation not supported by this iterator [" +
+                        this.getClass().getName() + "]");
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+
+        Spliterator<T> source;
+        int maxChunkSize = Integer.MAX_VALUE;
+        long maxChunkWeight = Long.MAX_VALUE;
+        ToLongFunction<? super T> weigher;
+        long maxChunkDelayNanos;
+        LongSupplier nanoClock = System::nanoTime;
+
+        public Builder<T> withSource(Iterator<T> source) {
+            this.source = Spliterators.spliteratorUnknownSize(
+                    Preconditions.notNull(source, "source"), Spliterator.ORDERED);
+            return this;
+        }
+
+        /**
+         * Sets the source of the elements. The stream is not closed by the
+         * iterator.
+         */
+        public Builder<T> withSource(Stream<T> source) {
+            this.source = Preconditions.notNull(source, "source").spliterator();
+            return this;
+        }
+
+        public Builder<T> withSource(Spliterator<T> source) {
+            this.source = Preconditions.notNull(source, "source");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of elements of a chunk.
+         */
+        public Builder<T> withMaxChunkSize(int maxChunkSize) {
+            Preconditions.checkArgument(maxChunkSize > 0, "maxChunkSize must be positive");
+            this.maxChunkSize = maxChunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum weight of a chunk, the sum of the weights of its
+         * elements (e.g. their size in bytes) computed by {@code weigher}.
+         */
+        public Builder<T> withMaxChunkWeight(long maxChunkWeight, ToLongFunction<? super T> weigher) {
+            Preconditions.checkArgument(maxChunkWeight > 0, "maxChunkWeight must be positive");
+            this.maxChunkWeight = maxChunkWeight;
+            this.weigher = Preconditions.notNull(weigher, "weigher");
+            return this;
+        }
+
+        /**
+         * Sets the maximum time between the read of the first element of a
+         * chunk and the end of the chunk.
+         */
+        public Builder<T> withMaxChunkDelay(long maxChunkDelay, TimeUnit unit) {
+            Preconditions.checkArgument(maxChunkDelay > 0, "maxChunkDelay must be positive");
+            this.maxChunkDelayNanos = Preconditions.notNull(unit, "unit").toNanos(maxChunkDelay);
+            return this;
+        }
+
+        Builder<T> withNanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        public ChunkingIterator<T> build() {
+            Preconditions.notNull(source, "source");
+            Preconditions.checkArgument(
+                    maxChunkSize < Integer.MAX_VALUE || weigher != null || maxChunkDelayNanos > 0,
+                    "a maximum chunk size, weight or delay must be set");
+            return new ChunkingIterator<>(
+                    source,
+                    maxChunkSize,
+                    maxChunkWeight,
+                    weigher,
+                    maxChunkDelayNanos,
+                    nanoClock);
+        }
+    }
+
+}
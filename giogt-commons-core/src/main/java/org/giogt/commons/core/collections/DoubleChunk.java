@@ -0,0 +1,123 @@
+package org.giogt.commons.core.collections;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * A chunk of a {@link DoubleChunkList}: a view of <tt>length</tt> elements of
+ * an array from <tt>offset</tt>, with their minimum and maximum values. The
+ * elements are not copied, so changes of the array are visible in the chunk.
+ * <p>
+ * <p>As for {@link Chunk}, two chunks are equal if they have the same
+ * position, minimum and maximum values and elements, not necessarily in the
+ * same array.
+ */
+public class DoubleChunk {
+
+    private final double[] array;
+    private final int offset;
+    private final int length;
+    private final double minValue;
+    private final double maxValue;
+
+    DoubleChunk(double[] array, int offset, int length, double minValue, double maxValue) {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * Returns the array of the chunk list, not a copy of the elements of the
+     * chunk.
+     */
+    public double[] getArray() {
+        return array;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public double getMinValue() {
+        return minValue;
+    }
+
+    public double getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Returns the element of the chunk at {@code index}.
+     *
+     * @throws IndexOutOfBoundsException if the index is not less than the
+     *                                   length of the chunk
+     */
+    public double get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index (" + index + ") must be less than length (" + length + ")");
+        }
+        return array[offset + index];
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOfRange(array, offset, offset + length);
+    }
+
+    public DoubleStream stream() {
+        return Arrays.stream(array, offset, offset + length);
+    }
+
+    /**
+     * Returns a buffer backed by the elements of the chunk.
+     */
+    public DoubleBuffer asBuffer() {
+        return DoubleBuffer.wrap(array, offset, length).slice();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleChunk chunk = (DoubleChunk) o;
+
+        if (offset != chunk.offset) return false;
+        if (length != chunk.length) return false;
+        if (Double.compare(minValue, chunk.minValue) != 0) return false;
+        if (Double.compare(maxValue, chunk.maxValue) != 0) return false;
+        for (int i = 0; i < length; i++) {
+            if (Double.compare(array[offset + i], chunk.array[chunk.offset + i]) != 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = offset;
+        result = 31 * result + length;
+        result = 31 * result + Double.hashCode(minValue);
+        result = 31 * result + Double.hashCode(maxValue);
+        for (int i = offset; i < offset + length; i++) {
+            result = 31 * result + Double.hashCode(array[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleChunk{" +
+                "offset=" + offset +
+                ", length=" + length +
+                ", minValue=" + minValue +
+                ", maxValue=" + maxValue +
+                '}';
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.giogt.commons.core.collections;
+
+import java.nio.DoubleBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A chunk list of an <tt>double</tt> array, that does not box its elements: its
+ * chunks ({@link DoubleChunk}) are views of the array, by offset and length,
+ * with the minimum and maximum values of their elements, computed in a
+ * single pass over them. Like {@link Math#min(double, double)}, a
+ * <tt>NaN</tt> element makes the minimum and maximum of its chunk
+ * <tt>NaN</tt>.
+ */
+public class DoubleChunkList implements Iterable<DoubleChunk> {
+
+    private final double[] array;
+    private final int offset;
+    private final int length;
+    private final int chunkSize;
+
+    public DoubleChunkList(double[] array, int chunkSize) {
+        this(array, 0, (array != null) ? array.length : 0, chunkSize);
+    }
+
+    /**
+     * Creates a chunk list of the <tt>length</tt> elements of {@code array}
+     * from {@code offset}.
+     */
+    public DoubleChunkList(double[] array, int offset, int length, int chunkSize) {
+        checkPreconditions(array, offset, length, chunkSize);
+
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates a chunk list of the remaining elements of {@code buffer}, that
+     * must be backed by an array (direct buffers are not supported).
+     */
+    public static DoubleChunkList of(DoubleBuffer buffer, int chunkSize) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("<buffer> cannot be null");
+        }
+        if (!buffer.hasArray()) {
+            throw new IllegalArgumentException("<buffer> must be backed by an accessible array");
+        }
+        return new DoubleChunkList(
+                buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), chunkSize);
+    }
+
+    void checkPreconditions(double[] array, int offset, int length, int chunkSize) {
+        if (array == null) {
+            throw new IllegalArgumentException("<array> cannot be null");
+        }
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "<offset> (" + offset + ") and <length> (" + length + ") out of array of length <" + array.length + ">");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("<chunkSize> cannot be less than <1>");
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the number of chunks.
+     */
+    public int size() {
+        return (length == 0) ? 0 : (length - 1) / chunkSize + 1;
+    }
+
+    @Override
+    public Iterator<DoubleChunk> iterator() {
+        return new Iterator<DoubleChunk>() {
+            private int nextOffset = offset;
+
+            @Override
+            public boolean hasNext() {
+                return nextOffset < offset + length;
+            }
+
+            @Override
+            public DoubleChunk next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("no next elements available");
+                }
+
+                int chunkOffset = nextOffset;
+                int chunkLength = Math.min(chunkSize, offset + length - chunkOffset);
+                nextOffset += chunkLength;
+                return chunk(chunkOffset, chunkLength);
+            }
+        };
+    }
+
+    private DoubleChunk chunk(int chunkOffset, int chunkLength) {
+        double[] array = this.array;
+        double min = array[chunkOffset];
+        double max = min;
+        for (int i = chunkOffset + 1, end = chunkOffset + chunkLength; i < end; i++) {
+            double value = array[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new DoubleChunk(array, chunkOffset, chunkLength, min, max);
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleChunkList{" +
+                "offset=" + offset +
+                ", length=" + length +
+                ", chunkSize=" + chunkSize +
+                '}';
+    }
+}
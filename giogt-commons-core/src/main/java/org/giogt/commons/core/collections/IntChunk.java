@@ -0,0 +1,123 @@
+package org.giogt.commons.core.collections;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A chunk of an {@link IntChunkList}: a view of <tt>length</tt> elements of
+ * an array from <tt>offset</tt>, with their minimum and maximum values. The
+ * elements are not copied, so changes of the array are visible in the chunk.
+ * <p>
+ * <p>As for {@link Chunk}, two chunks are equal if they have the same
+ * position, minimum and maximum values and elements, not necessarily in the
+ * same array.
+ */
+public class IntChunk {
+
+    private final int[] array;
+    private final int offset;
+    private final int length;
+    private final int minValue;
+    private final int maxValue;
+
+    IntChunk(int[] array, int offset, int length, int minValue, int maxValue) {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * Returns the array of the chunk list, not a copy of the elements of the
+     * chunk.
+     */
+    public int[] getArray() {
+        return array;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getMinValue() {
+        return minValue;
+    }
+
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Returns the element of the chunk at {@code index}.
+     *
+     * @throws IndexOutOfBoundsException if the index is not less than the
+     *                                   length of the chunk
+     */
+    public int get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index (" + index + ") must be less than length (" + length + ")");
+        }
+        return array[offset + index];
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOfRange(array, offset, offset + length);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(array, offset, offset + length);
+    }
+
+    /**
+     * Returns a buffer backed by the elements of the chunk.
+     */
+    public IntBuffer asBuffer() {
+        return IntBuffer.wrap(array, offset, length).slice();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        IntChunk chunk = (IntChunk) o;
+
+        if (offset != chunk.offset) return false;
+        if (length != chunk.length) return false;
+        if (minValue != chunk.minValue) return false;
+        if (maxValue != chunk.maxValue) return false;
+        for (int i = 0; i < length; i++) {
+            if (array[offset + i] != chunk.array[chunk.offset + i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = offset;
+        result = 31 * result + length;
+        result = 31 * result + Integer.hashCode(minValue);
+        result = 31 * result + Integer.hashCode(maxValue);
+        for (int i = offset; i < offset + length; i++) {
+            result = 31 * result + Integer.hashCode(array[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IntChunk{" +
+                "offset=" + offset +
+                ", length=" + length +
+                ", minValue=" + minValue +
+                ", maxValue=" + maxValue +
+                '}';
+    }
+
+}
@@ -0,0 +1,208 @@
+package org.giogt.commons.core.properties;
+
+import org.giogt.commons.core.Preconditions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The properties of a {@link PropertiesStore} that changed on a refresh,
+ * with their values before and after it. Properties that did not change are
+ * not part of the change.
+ * <p>
+ * <p>A property {@linkplain #getAddedKeys() added} by the refresh has a
+ * {@code null} old value, a property {@linkplain #getRemovedKeys() removed}
+ * by the refresh has a {@code null} new value, and a
+ * {@linkplain #getModifiedKeys() modified} property has both.
+ * <p>
+ * <p>Instances are immutable.
+ */
+public final class PropertiesChange {
+
+    private final PropertiesStore source;
+    // same key sets: the changed keys
+    private final Map<String, String> oldValues;
+    private final Map<String, String> newValues;
+
+    private final Set<String> addedKeys;
+    private final Set<String> removedKeys;
+    private final Set<String> modifiedKeys;
+
+    private PropertiesChange(
+            PropertiesStore source,
+            Map<String, String> oldValues,
+            Map<String, String> newValues) {
+
+        this.source = source;
+        this.oldValues = Collections.unmodifiableMap(oldValues);
+        this.newValues = Collections.unmodifiableMap(newValues);
+
+        Set<String> addedKeys = new HashSet<>();
+        Set<String> removedKeys = new HashSet<>();
+        Set<String> modifiedKeys = new HashSet<>();
+        for (Map.Entry<String, String> oldValue : oldValues.entrySet()) {
+            if (oldValue.getValue() == null) {
+                addedKeys.add(oldValue.getKey());
+            } else if (newValues.get(oldValue.getKey()) == null) {
+                removedKeys.add(oldValue.getKey());
+            } else {
+                modifiedKeys.add(oldValue.getKey());
+            }
+        }
+        this.addedKeys = Collections.unmodifiableSet(addedKeys);
+        this.removedKeys = Collections.unmodifiableSet(removedKeys);
+        this.modifiedKeys = Collections.unmodifiableSet(modifiedKeys);
+    }
+
+    /**
+     * Returns the change between two snapshots of the properties of
+     * {@code source}: the returned change is {@linkplain #isEmpty() empty} if
+     * the snapshots contain the same properties.
+     */
+    public static PropertiesChange between(
+            PropertiesStore source,
+            Map<String, String> oldProperties,
+            Map<String, String> newProperties) {
+
+        Preconditions.notNull(oldProperties, "oldProperties");
+        Preconditions.notNull(newProperties, "newProperties");
+
+        Builder builder = builder(source);
+        for (Map.Entry<String, String> property : newProperties.entrySet()) {
+            builder.put(property.getKey(), oldProperties.get(property.getKey()), property.getValue());
+        }
+        for (Map.Entry<String, String> property : oldProperties.entrySet()) {
+            if (!newProperties.containsKey(property.getKey())) {
+                builder.put(property.getKey(), property.getValue(), null);
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(PropertiesStore source) {
+        return new Builder(Preconditions.notNull(source, "source"));
+    }
+
+    /**
+     * Returns the store whose properties changed.
+     */
+    public PropertiesStore getSource() {
+        return source;
+    }
+
+    /**
+     * Returns whether no property changed.
+     */
+    public boolean isEmpty() {
+        return oldValues.isEmpty();
+    }
+
+    /**
+     * Returns the keys of the properties that were added, removed or whose
+     * value changed.
+     */
+    public Set<String> getChangedKeys() {
+        return oldValues.keySet();
+    }
+
+    /**
+     * Returns the keys of the properties that were added.
+     */
+    public Set<String> getAddedKeys() {
+        return addedKeys;
+    }
+
+    /**
+     * Returns the keys of the properties that were removed.
+     */
+    public Set<String> getRemovedKeys() {
+        return removedKeys;
+    }
+
+    /**
+     * Returns the keys of the properties whose value changed.
+     */
+    public Set<String> getModifiedKeys() {
+        return modifiedKeys;
+    }
+
+    /**
+     * Returns the value of a changed property before the change, or
+     * {@code null} if the property was added (or did not change).
+     */
+    public String getOldValue(String key) {
+        return oldValues.get(key);
+    }
+
+    /**
+     * Returns the value of a changed property after the change, or
+     * {@code null} if the property was removed (or did not change).
+     */
+    public String getNewValue(String key) {
+        return newValues.get(key);
+    }
+
+    /**
+     * Returns the part of this change that concerns the properties whose key
+     * starts with {@code keyPrefix}.
+     */
+    public PropertiesChange withKeyPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+        if (keyPrefix.isEmpty()) {
+            return this;
+        }
+
+        Builder builder = builder(source);
+        for (Map.Entry<String, String> oldValue : oldValues.entrySet()) {
+            if (oldValue.getKey().startsWith(keyPrefix)) {
+                builder.put(oldValue.getKey(), oldValue.getValue(), newValues.get(oldValue.getKey()));
+            }
+        }
+        return (builder.oldValues.size() == oldValues.size()) ? this : builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertiesChange{" +
+                "oldValues=" + oldValues +
+                ", newValues=" + newValues +
+                '}';
+    }
+
+    public static class Builder {
+
+        private final PropertiesStore source;
+        private final Map<String, String> oldValues = new HashMap<>();
+        private final Map<String, String> newValues = new HashMap<>();
+
+        Builder(PropertiesStore source) {
+            this.source = source;
+        }
+
+        /**
+         * Adds the change of a property, unless its old and new values are
+         * equal.
+         *
+         * @param oldValue the value before the change, or {@code null} if the
+         *                 property was added
+         * @param newValue the value after the change, or {@code null} if the
+         *                 property was removed
+         */
+        public Builder put(String key, String oldValue, String newValue) {
+            Preconditions.notNull(key, "key");
+            if (!Objects.equals(oldValue, newValue)) {
+                oldValues.put(key, oldValue);
+                newValues.put(key, newValue);
+            }
+            return this;
+        }
+
+        public PropertiesChange build() {
+            return new PropertiesChange(source, new HashMap<>(oldValues), new HashMap<>(newValues));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.giogt.commons.core.properties;
+
+/**
+ * Receives the changes of the properties of a {@link PropertiesStore}.
+ */
+@FunctionalInterface
+public interface PropertiesChangeListener {
+
+    /**
+     * Called after a refresh of a store changed some of its properties,
+     * usually on the thread that refreshed the store: changes are notified
+     * one at a time and in order, so a change made while another one is
+     * being notified is notified after it, by the thread notifying it. No
+     * lock of the store is held, and the store already returns the new
+     * values, when the listener is called.
+     *
+     * @param change the properties that changed; never empty
+     */
+    void propertiesChanged(PropertiesChange change);
+
+}
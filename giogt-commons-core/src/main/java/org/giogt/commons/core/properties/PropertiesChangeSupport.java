@@ -0,0 +1,149 @@
+package org.giogt.commons.core.properties;
+
+import org.giogt.commons.core.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the subscriptions to the changes of a {@link PropertiesStore}, and
+ * notifies them. Meant to be used by store implementations.
+ * <p>
+ * <p>Instances are safe when used concurrently by multiple threads.
+ */
+public final class PropertiesChangeSupport {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(PropertiesChangeSupport.class);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // the changes to notify in order, see queue()
+    private final ArrayDeque<PropertiesChange> queuedChanges = new ArrayDeque<>();
+    // whether a thread is notifying the queued changes, guarded by queuedChanges
+    private boolean firingQueuedChanges;
+
+    /**
+     * Subscribes {@code listener} to the changes of the properties whose key
+     * starts with {@code keyPrefix}.
+     */
+    public PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        Subscription subscription = new Subscription(
+                Preconditions.notNull(keyPrefix, "keyPrefix"),
+                Preconditions.notNull(listener, "listener"));
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Returns whether there is any subscription: stores can skip computing
+     * their changes if there is none.
+     */
+    public boolean hasSubscriptions() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Notifies the subscriptions of {@code change}, on the calling thread.
+     * Each subscription gets the part of the change that concerns its key
+     * prefix, if not empty; exceptions thrown by listeners are logged.
+     */
+    public void fire(PropertiesChange change) {
+        Preconditions.notNull(change, "change");
+        if (change.isEmpty()) {
+            return;
+        }
+
+        // subscriptions often share their prefix
+        Map<String, PropertiesChange> changesByPrefix = new HashMap<>();
+        for (Subscription subscription : subscriptions) {
+            PropertiesChange filteredChange = changesByPrefix.computeIfAbsent(
+                    subscription.keyPrefix, change::withKeyPrefix);
+            if (filteredChange.isEmpty()) {
+                continue;
+            }
+
+            try {
+                subscription.listener.propertiesChanged(filteredChange);
+            } catch (RuntimeException e) {
+                LOGGER.warn("properties change listener <" + subscription.listener + "> failed", e);
+            }
+        }
+    }
+
+    /**
+     * Queues {@code change}, to be notified by {@link #fireQueued()}. Stores
+     * queue their changes while holding the lock that orders them, and fire
+     * them after releasing it: listeners are then called without any lock of
+     * the store, so they can read it, write it or wait for threads that do,
+     * and still get the changes in the order they were queued.
+     */
+    public void queue(PropertiesChange change) {
+        Preconditions.notNull(change, "change");
+        if (change.isEmpty()) {
+            return;
+        }
+
+        synchronized (queuedChanges) {
+            queuedChanges.add(change);
+        }
+    }
+
+    /**
+     * Notifies the subscriptions of the queued changes, one at a time and in
+     * order, as {@link #fire(PropertiesChange)} does. If another thread is
+     * already notifying them (or a listener changes the store while being
+     * notified), that thread notifies the new changes too, after the ones
+     * queued before them, and this method returns immediately.
+     */
+    public void fireQueued() {
+        synchronized (queuedChanges) {
+            if (firingQueuedChanges || queuedChanges.isEmpty()) {
+                return;
+            }
+            firingQueuedChanges = true;
+        }
+
+        boolean drained = false;
+        try {
+            while (true) {
+                PropertiesChange change;
+                synchronized (queuedChanges) {
+                    change = queuedChanges.poll();
+                    if (change == null) {
+                        firingQueuedChanges = false;
+                        drained = true;
+                        return;
+                    }
+                }
+                fire(change);
+            }
+        } finally {
+            if (!drained) {
+                // an error escaped a listener: let the next call go on
+                synchronized (queuedChanges) {
+                    firingQueuedChanges = false;
+                }
+            }
+        }
+    }
+
+    private final class Subscription implements PropertiesSubscription {
+        final String keyPrefix;
+        final PropertiesChangeListener listener;
+
+        Subscription(String keyPrefix, PropertiesChangeListener listener) {
+            this.keyPrefix = keyPrefix;
+            this.listener = listener;
+        }
+
+        @Override
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+    }
+
+}
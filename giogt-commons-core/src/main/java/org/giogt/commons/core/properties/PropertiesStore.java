@@ -1,5 +1,9 @@
 package org.giogt.commons.core.properties;
 
+import org.giogt.commons.core.Preconditions;
+
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 public interface PropertiesStore {
@@ -19,10 +23,79 @@ public interface PropertiesStore {
      */
     Map<String, String> getProperties();
 
+    /**
+     * Returns the properties with the specified keys, as returned by
+     * {@link #getProperty(String)}: missing properties are not in the
+     * returned map.
+     * <p>
+     * <p>Stores backed by a snapshot of their properties look all the keys up
+     * in the same snapshot.
+     */
+    default Map<String, String> getProperties(Collection<String> keys) {
+        Preconditions.notNull(keys, "keys");
+
+        Map<String, String> propertiesMap = new HashMap<>();
+        for (String key : keys) {
+            String value = getProperty(key);
+            if (value != null) {
+                propertiesMap.put(key, value);
+            }
+        }
+        return propertiesMap;
+    }
+
+    /**
+     * Returns the properties of {@link #getProperties()} whose key starts with
+     * {@code keyPrefix}.
+     * <p>
+     * <p>This implementation filters all the properties: stores that index
+     * their keys find the properties in time proportional to their number.
+     */
+    default Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+
+        Map<String, String> propertiesMap = new HashMap<>();
+        for (Map.Entry<String, String> property : getProperties().entrySet()) {
+            if (property.getKey().startsWith(keyPrefix)) {
+                propertiesMap.put(property.getKey(), property.getValue());
+            }
+        }
+        return propertiesMap;
+    }
+
     void setProperty(String key, String value);
 
     boolean isReadOnly();
 
     void refresh();
 
+    /**
+     * Subscribes {@code listener} to the changes of the properties whose key
+     * starts with {@code keyPrefix}: the listener is notified once per
+     * refresh that changed any of them (or per change of a writable store),
+     * with the changed properties only.
+     * <p>
+     * <p>This implementation never notifies the listener, for stores that do
+     * not detect the changes of their properties.
+     *
+     * @param keyPrefix the prefix of the keys of the properties of interest,
+     *                  or an empty string for all the properties
+     * @return the subscription, that can be used to cancel it
+     */
+    default PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+        Preconditions.notNull(listener, "listener");
+        return () -> {
+        };
+    }
+
+    /**
+     * Subscribes {@code listener} to the changes of all the properties.
+     *
+     * @see #subscribe(String, PropertiesChangeListener)
+     */
+    default PropertiesSubscription subscribe(PropertiesChangeListener listener) {
+        return subscribe("", listener);
+    }
+
 }
@@ -0,0 +1,15 @@
+package org.giogt.commons.core.properties;
+
+/**
+ * The subscription of a {@link PropertiesChangeListener} to the changes of a
+ * {@link PropertiesStore}.
+ */
+public interface PropertiesSubscription {
+
+    /**
+     * Stops notifying the listener of the changes of the store. Does nothing
+     * if the subscription is already cancelled.
+     */
+    void cancel();
+
+}
@@ -0,0 +1,22 @@
+package org.giogt.commons.core.properties;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation to give an enum constant alternative property values, besides
+ * its name.
+ */
+@Target({FIELD})
+@Retention(RUNTIME)
+public @interface PropertyAlias {
+
+    /**
+     * The alternative property values of the enum constant.
+     */
+    String[] value();
+
+}
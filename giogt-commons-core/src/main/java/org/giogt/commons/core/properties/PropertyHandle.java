@@ -0,0 +1,111 @@
+package org.giogt.commons.core.properties;
+
+import org.giogt.commons.core.Preconditions;
+
+/**
+ * A typed accessor of a property of a {@link PropertiesStore}, that caches
+ * the value converted from the string value of the property.
+ * <p>
+ * <p>{@link #get()} looks up the string value in the store every time, but
+ * converts it with the serializer only when it differs from the previous
+ * one, i.e. after a refresh or a write that changed the property: stores
+ * return the same string instance while a property is unchanged, so the
+ * check is usually an identity comparison.
+ * <p>
+ * <p>Instances are safe when used concurrently by multiple threads, and are
+ * meant to be created once and kept (e.g. in a field), usually with
+ * {@code PropertySerializerRegistry.handle(PropertiesStore, String, Class)}.
+ */
+public final class PropertyHandle<T> {
+
+    private final PropertiesStore propertiesStore;
+    private final String key;
+    private final PropertySerializer<T> serializer;
+    private final MappingContext context;
+    private final T defaultValue;
+
+    private volatile CachedValue<T> cachedValue;
+
+    /**
+     * Returns a handle of the property of {@code propertiesStore} with the
+     * specified key, that converts its value to {@code type} with
+     * {@code serializer}, and whose value is {@code defaultValue} (possibly
+     * null) when the property is missing.
+     */
+    public static <T> PropertyHandle<T> of(
+            PropertiesStore propertiesStore,
+            String key,
+            Class<T> type,
+            PropertySerializer<T> serializer,
+            T defaultValue) {
+
+        return new PropertyHandle<>(
+                Preconditions.notNull(propertiesStore, "propertiesStore"),
+                Preconditions.notNull(key, "key"),
+                Preconditions.notNull(type, "type"),
+                Preconditions.notNull(serializer, "serializer"),
+                defaultValue);
+    }
+
+    private PropertyHandle(
+            PropertiesStore propertiesStore,
+            String key,
+            Class<T> type,
+            PropertySerializer<T> serializer,
+            T defaultValue) {
+
+        this.propertiesStore = propertiesStore;
+        this.key = key;
+        this.serializer = serializer;
+        this.context = new MappingContext();
+        this.context.setMappingType(type);
+        this.defaultValue = defaultValue;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the value of the property, or the default value of the handle
+     * if the property is missing.
+     *
+     * @throws PropertySerializationException if the string value of the
+     *                                        property cannot be converted
+     */
+    public T get() throws PropertySerializationException {
+        String stringValue = propertiesStore.getProperty(key);
+        if (stringValue == null) {
+            return defaultValue;
+        }
+
+        CachedValue<T> cachedValue = this.cachedValue;
+        if (cachedValue != null &&
+                (cachedValue.stringValue == stringValue || cachedValue.stringValue.equals(stringValue))) {
+            return cachedValue.value;
+        }
+
+        T value = serializer.fromString(context, stringValue);
+        this.cachedValue = new CachedValue<>(stringValue, value);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyHandle{" +
+                "key='" + key + '\'' +
+                ", type=" + context.getMappingType() +
+                '}';
+    }
+
+    private static final class CachedValue<T> {
+        final String stringValue;
+        final T value;
+
+        CachedValue(String stringValue, T value) {
+            this.stringValue = stringValue;
+            this.value = value;
+        }
+    }
+
+}
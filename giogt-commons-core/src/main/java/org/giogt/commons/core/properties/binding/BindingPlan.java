@@ -0,0 +1,203 @@
+package org.giogt.commons.core.properties.binding;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.Property;
+import org.giogt.commons.core.properties.PropertySerializationException;
+import org.giogt.commons.core.properties.PropertySerializer;
+import org.giogt.commons.core.properties.exceptions.CannotBindPropertiesException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * How to bind the properties of a store to a bean class: its constructor and
+ * the bindings of its {@link Property} annotated fields, including those
+ * declared by its superclasses. Compiled once per bean class, by reflection;
+ * binding a bean then only invokes method handles.
+ */
+final class BindingPlan {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+    // null if the bean class cannot be instantiated without arguments
+    private final MethodHandle constructor;
+    private final FieldBinding[] fieldBindings;
+
+    private BindingPlan(Class<?> beanClass, MethodHandle constructor, FieldBinding[] fieldBindings) {
+        this.beanClass = beanClass;
+        this.constructor = constructor;
+        this.fieldBindings = fieldBindings;
+    }
+
+    /**
+     * Compiles the binding plan of {@code beanClass}, with the serializers
+     * returned by {@code serializers} for the types of its fields (or null,
+     * if a type is not supported).
+     */
+    static BindingPlan compile(
+            Class<?> beanClass,
+            Function<Class<?>, PropertySerializer<?>> serializers)
+            throws CannotBindPropertiesException {
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<FieldBinding> fieldBindings = new ArrayList<>();
+        for (Class<?> currentClass = beanClass; currentClass != null; currentClass = currentClass.getSuperclass()) {
+            for (Field field : currentClass.getDeclaredFields()) {
+                Property property = field.getAnnotation(Property.class);
+                if (property != null) {
+                    fieldBindings.add(FieldBinding.compile(lookup, field, property, serializers));
+                }
+            }
+        }
+
+        return new BindingPlan(
+                beanClass,
+                compileConstructor(lookup, beanClass),
+                fieldBindings.toArray(new FieldBinding[0]));
+    }
+
+    private static MethodHandle compileConstructor(MethodHandles.Lookup lookup, Class<?> beanClass) {
+        if (beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers())) {
+            return null;
+        }
+
+        try {
+            Constructor<?> constructor = beanClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new CannotBindPropertiesException("cannot access constructor of bean class <" +
+                    beanClass.getName() + ">",
+                    e);
+        }
+    }
+
+    Object newBean() throws CannotBindPropertiesException {
+        if (constructor == null) {
+            throw new CannotBindPropertiesException("bean class <" + beanClass.getName() +
+                    "> has no constructor without arguments");
+        }
+
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CannotBindPropertiesException("cannot create bean of class <" + beanClass.getName() + ">", e);
+        }
+    }
+
+    void bind(PropertiesStore propertiesStore, Object bean) throws CannotBindPropertiesException {
+        for (FieldBinding fieldBinding : fieldBindings) {
+            fieldBinding.bind(propertiesStore, bean);
+        }
+    }
+
+    private static final class FieldBinding {
+        private final String fieldName;
+        private final String key;
+        // null if the property has no default value
+        private final String defaultValue;
+        private final PropertySerializer<Object> serializer;
+        private final MappingContext context;
+        private final MethodHandle setter;
+
+        private FieldBinding(
+                String fieldName,
+                String key,
+                String defaultValue,
+                PropertySerializer<Object> serializer,
+                MappingContext context,
+                MethodHandle setter) {
+
+            this.fieldName = fieldName;
+            this.key = key;
+            this.defaultValue = defaultValue;
+            this.serializer = serializer;
+            this.context = context;
+            this.setter = setter;
+        }
+
+        @SuppressWarnings("unchecked")
+        static FieldBinding compile(
+                MethodHandles.Lookup lookup,
+                Field field,
+                Property property,
+                Function<Class<?>, PropertySerializer<?>> serializers)
+                throws CannotBindPropertiesException {
+
+            String fieldName = field.getDeclaringClass().getName() + "." + field.getName();
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                throw new CannotBindPropertiesException("property field <" + fieldName +
+                        "> must not be static or final");
+            }
+
+            PropertySerializer<?> serializer = serializers.apply(field.getType());
+            if (serializer == null) {
+                throw new CannotBindPropertiesException("no property serializer for type <" +
+                        field.getType().getName() + "> of property field <" + fieldName + ">");
+            }
+
+            MethodHandle setter;
+            try {
+                field.setAccessible(true);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | SecurityException e) {
+                throw new CannotBindPropertiesException("cannot access property field <" + fieldName + ">", e);
+            }
+
+            MappingContext context = new MappingContext();
+            context.setMappingType(field.getType());
+
+            return new FieldBinding(
+                    fieldName,
+                    property.key().isEmpty() ? field.getName() : property.key(),
+                    property.defaultValue().isEmpty() ? null : property.defaultValue(),
+                    (PropertySerializer<Object>) serializer,
+                    context,
+                    setter);
+        }
+
+        void bind(PropertiesStore propertiesStore, Object bean) throws CannotBindPropertiesException {
+            String stringValue = propertiesStore.getProperty(key);
+            if (stringValue == null) {
+                stringValue = defaultValue;
+                if (stringValue == null) {
+                    return;
+                }
+            }
+
+            Object value;
+            try {
+                value = serializer.fromString(context, stringValue);
+            } catch (PropertySerializationException e) {
+                throw new CannotBindPropertiesException("cannot bind property <" + key +
+                        "> to field <" + fieldName + ">",
+                        e);
+            }
+
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new CannotBindPropertiesException("cannot set property <" + key +
+                        "> to field <" + fieldName + ">",
+                        e);
+            }
+        }
+    }
+
+}
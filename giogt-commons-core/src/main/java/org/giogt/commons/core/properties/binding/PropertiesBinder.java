@@ -0,0 +1,88 @@
+package org.giogt.commons.core.properties.binding;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.Property;
+import org.giogt.commons.core.properties.exceptions.CannotBindPropertiesException;
+import org.giogt.commons.core.properties.serializers.PropertySerializerRegistry;
+
+/**
+ * Binds the properties of a {@link PropertiesStore} to the fields of beans
+ * annotated with {@link Property}.
+ * <p>
+ * <p>The key of a field is the key of its annotation, or the name of the
+ * field; its value is converted by the serializer of the type of the field
+ * in a {@link PropertySerializerRegistry} (by default, the
+ * {@link PropertySerializerRegistry#defaultRegistry() default registry}).
+ * A field whose property is missing and has no default value keeps its value.
+ * <p>
+ * <p>The first time a bean class is bound, the binder compiles its binding
+ * plan: the serializers, keys and default values of its fields, and method
+ * handles that create the bean and set its fields. The plan is cached, so
+ * binding another bean of the same class involves no reflection.
+ * <p>
+ * <p>Instances are safe when used concurrently by multiple threads.
+ */
+public class PropertiesBinder {
+
+    private final PropertySerializerRegistry serializerRegistry;
+
+    private final ClassValue<BindingPlan> bindingPlans = new ClassValue<BindingPlan>() {
+        @Override
+        protected BindingPlan computeValue(Class<?> beanClass) {
+            return BindingPlan.compile(beanClass, serializerRegistry::getSerializer);
+        }
+    };
+
+    PropertiesBinder(PropertySerializerRegistry serializerRegistry) {
+        this.serializerRegistry = serializerRegistry;
+    }
+
+    /**
+     * Creates a bean of {@code beanClass}, with its constructor without
+     * arguments, and binds the properties of {@code propertiesStore} to it.
+     */
+    public <T> T bind(PropertiesStore propertiesStore, Class<T> beanClass) throws CannotBindPropertiesException {
+        Preconditions.notNull(propertiesStore, "propertiesStore");
+        Preconditions.notNull(beanClass, "beanClass");
+
+        BindingPlan bindingPlan = bindingPlans.get(beanClass);
+        T bean = beanClass.cast(bindingPlan.newBean());
+        bindingPlan.bind(propertiesStore, bean);
+        return bean;
+    }
+
+    /**
+     * Binds the properties of {@code propertiesStore} to {@code bean}, e.g.
+     * again after the store is refreshed.
+     */
+    public <T> T bindTo(PropertiesStore propertiesStore, T bean) throws CannotBindPropertiesException {
+        Preconditions.notNull(propertiesStore, "propertiesStore");
+        Preconditions.notNull(bean, "bean");
+
+        bindingPlans.get(bean.getClass()).bind(propertiesStore, bean);
+        return bean;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        PropertySerializerRegistry serializerRegistry;
+
+        public Builder withSerializerRegistry(PropertySerializerRegistry serializerRegistry) {
+            this.serializerRegistry = serializerRegistry;
+            return this;
+        }
+
+        public PropertiesBinder build() {
+            if (serializerRegistry == null) {
+                serializerRegistry = PropertySerializerRegistry.defaultRegistry();
+            }
+            return new PropertiesBinder(serializerRegistry);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.giogt.commons.core.properties.exceptions;
+
+
+public class CannotBindPropertiesException extends PropertiesStoreException {
+    private static final long serialVersionUID = 1L;
+
+    public CannotBindPropertiesException() {
+    }
+
+    public CannotBindPropertiesException(String message) {
+        super(message);
+    }
+
+    public CannotBindPropertiesException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public CannotBindPropertiesException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,21 @@
+package org.giogt.commons.core.properties.exceptions;
+
+
+public class CannotWatchPropertiesFileException extends PropertiesStoreException {
+    private static final long serialVersionUID = 1L;
+
+    public CannotWatchPropertiesFileException() {
+    }
+
+    public CannotWatchPropertiesFileException(String message) {
+        super(message);
+    }
+
+    public CannotWatchPropertiesFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public CannotWatchPropertiesFileException(Throwable cause) {
+        super(cause);
+    }
+}
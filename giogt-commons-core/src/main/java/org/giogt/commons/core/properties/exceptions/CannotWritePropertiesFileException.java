@@ -0,0 +1,21 @@
+package org.giogt.commons.core.properties.exceptions;
+
+
+public class CannotWritePropertiesFileException extends PropertiesStoreException {
+    private static final long serialVersionUID = 1L;
+
+    public CannotWritePropertiesFileException() {
+    }
+
+    public CannotWritePropertiesFileException(String message) {
+        super(message);
+    }
+
+    public CannotWritePropertiesFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public CannotWritePropertiesFileException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -4,8 +4,14 @@ import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.util.Date;
 
+/**
+ * Serializes dates as the ISO-8601 representation of their instant, e.g.
+ * {@code 2021-03-04T05:06:07.890Z}.
+ */
 public class PropertyDateSerializer implements PropertySerializer<Date> {
 
     @Override
@@ -21,24 +27,17 @@ public class PropertyDateSerializer implements PropertySerializer<Date> {
         if (stringValue == null) {
             return null;
         }
-//        DateTime dateTime = fromStringToDateTime(stringValue);
-//        return dateTime.toDate();
 
-        throw new UnsupportedOperationException("Not yet implemented!");
+        try {
+            Instant value = TemporalFormats.parseInstant(stringValue);
+            return Date.from((value != null) ? value : Instant.parse(stringValue));
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new PropertySerializationException(
+                    "cannot parse property value <" + stringValue + "> to date",
+                    e);
+        }
     }
 
-//    DateTime fromStringToDateTime(String stringValue) {
-//        DateTime value;
-//        try {
-//            value = DateTime.parse(stringValue);
-//        } catch (UnsupportedOperationException | IllegalArgumentException e) {
-//            throw new PropertySerializationException(
-//                    "cannot parse property value <" + stringValue + "> to date time",
-//                    e);
-//        }
-//        return value;
-//    }
-
     @Override
     public String toString(
             MappingContext context,
@@ -47,10 +46,8 @@ public class PropertyDateSerializer implements PropertySerializer<Date> {
         if (value == null) {
             return null;
         }
-//        DateTime dateTime = new DateTime(value);
-//        return dateTime.toString();
 
-        throw new UnsupportedOperationException("Not yet implemented!");
+        return value.toInstant().toString();
     }
 
 }
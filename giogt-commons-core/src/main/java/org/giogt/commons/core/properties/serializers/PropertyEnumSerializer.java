@@ -1,11 +1,32 @@
 package org.giogt.commons.core.properties.serializers;
 
 import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertyAlias;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serializes the constants of the enum given by
+ * {@link MappingContext#getMappingType()}.
+ * <p>
+ * <p>A property value is converted to the constant with that name, or
+ * {@link Enum#toString() string representation}, or {@link PropertyAlias
+ * alias}; otherwise, to the constant with any of them equal to the value
+ * ignoring case. The values of the constants of each enum are indexed once.
+ */
 public class PropertyEnumSerializer implements PropertySerializer<Enum> {
 
+    private static final ClassValue<EnumConstants> ENUM_CONSTANTS = new ClassValue<EnumConstants>() {
+        @Override
+        protected EnumConstants computeValue(Class<?> enumType) {
+            return new EnumConstants(enumType);
+        }
+    };
+
     @Override
     public Class<? extends Enum> handledType() {
         return Enum.class;
@@ -21,24 +42,40 @@ public class PropertyEnumSerializer implements PropertySerializer<Enum> {
             return null;
         }
 
-        Class<? extends Enum> enumType = getEnumType(context);
-
-        try {
-            return Enum.valueOf(enumType, stringValue);
-        } catch (IllegalArgumentException e) {
+        Class<?> enumType = getEnumType(context);
+        Enum<?> value = ENUM_CONSTANTS.get(enumType).find(stringValue);
+        if (value == null) {
             throw new PropertySerializationException(
                     "cannot convert string property value to <" + enumType + ">: " +
                             "value = " + stringValue);
         }
+        return value;
     }
 
-    private Class<? extends Enum> getEnumType(MappingContext context) {
-        if (!Enum.class.isAssignableFrom(context.getMappingType())) {
+    /**
+     * Returns the constant of {@code enumType} that {@code stringValue}
+     * converts to, or null if there is none.
+     */
+    public <E extends Enum<E>> E find(Class<E> enumType, String stringValue) {
+        if (stringValue == null) {
+            return null;
+        }
+        return enumType.cast(ENUM_CONSTANTS.get(enumType).find(stringValue));
+    }
+
+    private Class<?> getEnumType(MappingContext context) {
+        Class<?> mappingType = context.getMappingType();
+        if (mappingType == null || !Enum.class.isAssignableFrom(mappingType) || mappingType == Enum.class) {
             throw new PropertySerializationException("unexpected requested type <" +
-                    context.getMappingType() +
+                    mappingType +
                     "> (a Java enumeration was expected)");
         }
-        return (Class<? extends Enum>) context.getMappingType();
+
+        // the class of a constant with a body is a subclass of its enum
+        while (!mappingType.isEnum()) {
+            mappingType = mappingType.getSuperclass();
+        }
+        return mappingType;
     }
 
     @Override
@@ -53,4 +90,55 @@ public class PropertyEnumSerializer implements PropertySerializer<Enum> {
 
         return String.valueOf(value);
     }
+
+    private static final class EnumConstants {
+        // by name, string representation and alias
+        private final Map<String, Enum<?>> constants = new HashMap<>();
+        // by upper case name, string representation and alias
+        private final Map<String, Enum<?>> constantsIgnoringCase = new HashMap<>();
+
+        EnumConstants(Class<?> enumType) {
+            Object[] enumConstants = enumType.getEnumConstants();
+            // names take precedence over string representations and aliases
+            for (Object constant : enumConstants) {
+                put(((Enum<?>) constant).name(), (Enum<?>) constant);
+            }
+            for (Object enumConstant : enumConstants) {
+                Enum<?> constant = (Enum<?>) enumConstant;
+                put(constant.toString(), constant);
+                PropertyAlias alias = getAlias(enumType, constant);
+                if (alias != null) {
+                    for (String value : alias.value()) {
+                        put(value, constant);
+                    }
+                }
+            }
+        }
+
+        private static PropertyAlias getAlias(Class<?> enumType, Enum<?> constant) {
+            try {
+                return enumType.getField(constant.name()).getAnnotation(PropertyAlias.class);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("no field for constant <" + constant.name() +
+                        "> of enum <" + enumType.getName() + ">",
+                        e);
+            }
+        }
+
+        private void put(String value, Enum<?> constant) {
+            if (value == null) {
+                return;
+            }
+            constants.putIfAbsent(value, constant);
+            constantsIgnoringCase.putIfAbsent(value.toUpperCase(Locale.ROOT), constant);
+        }
+
+        Enum<?> find(String value) {
+            Enum<?> constant = constants.get(value);
+            if (constant == null) {
+                constant = constantsIgnoringCase.get(value.toUpperCase(Locale.ROOT));
+            }
+            return constant;
+        }
+    }
 }
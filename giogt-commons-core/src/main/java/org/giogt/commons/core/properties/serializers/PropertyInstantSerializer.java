@@ -11,7 +11,7 @@ public class PropertyInstantSerializer implements PropertySerializer<Instant> {
 
     @Override
     public Class<? extends Instant> handledType() {
-        return null;
+        return Instant.class;
     }
 
     @Override
@@ -25,7 +25,8 @@ public class PropertyInstantSerializer implements PropertySerializer<Instant> {
         }
 
         try {
-            return Instant.parse(stringValue);
+            Instant value = TemporalFormats.parseInstant(stringValue);
+            return (value != null) ? value : Instant.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to instant",
@@ -1,14 +1,36 @@
 package org.giogt.commons.core.properties.serializers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 public class PropertyLocalDateSerializer implements PropertySerializer<LocalDate> {
 
+    // null for the ISO-8601 format
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Creates a serializer of local dates in the ISO-8601 format.
+     */
+    public PropertyLocalDateSerializer() {
+        this.formatter = null;
+    }
+
+    /**
+     * Creates a serializer of local dates in the format
+     * of {@code pattern} (see {@link DateTimeFormatter#ofPattern(String)}).
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public PropertyLocalDateSerializer(String pattern) {
+        this.formatter = TemporalFormats.formatter(Preconditions.notNull(pattern, "pattern"), null);
+    }
+
     @Override
     public Class<? extends LocalDate> handledType() {
         return LocalDate.class;
@@ -25,7 +47,12 @@ public class PropertyLocalDateSerializer implements PropertySerializer<LocalDate
         }
 
         try {
-            return LocalDate.parse(stringValue);
+            if (formatter != null) {
+                return LocalDate.parse(stringValue, formatter);
+            }
+
+            LocalDate value = TemporalFormats.parseLocalDate(stringValue);
+            return (value != null) ? value : LocalDate.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to local date",
@@ -43,6 +70,16 @@ public class PropertyLocalDateSerializer implements PropertySerializer<LocalDate
             return null;
         }
 
-        return value.toString();
+        if (formatter == null) {
+            return value.toString();
+        }
+
+        try {
+            return formatter.format(value);
+        } catch (DateTimeException e) {
+            throw new PropertySerializationException(
+                    "cannot format property value <" + value + "> with formatter <" + formatter + ">",
+                    e);
+        }
     }
 }
@@ -1,14 +1,36 @@
 package org.giogt.commons.core.properties.serializers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 public class PropertyLocalDateTimeSerializer implements PropertySerializer<LocalDateTime> {
 
+    // null for the ISO-8601 format
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Creates a serializer of local date times in the ISO-8601 format.
+     */
+    public PropertyLocalDateTimeSerializer() {
+        this.formatter = null;
+    }
+
+    /**
+     * Creates a serializer of local date times in the format
+     * of {@code pattern} (see {@link DateTimeFormatter#ofPattern(String)}).
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public PropertyLocalDateTimeSerializer(String pattern) {
+        this.formatter = TemporalFormats.formatter(Preconditions.notNull(pattern, "pattern"), null);
+    }
+
     @Override
     public Class<? extends LocalDateTime> handledType() {
         return LocalDateTime.class;
@@ -25,7 +47,12 @@ public class PropertyLocalDateTimeSerializer implements PropertySerializer<Local
         }
 
         try {
-            return LocalDateTime.parse(stringValue);
+            if (formatter != null) {
+                return LocalDateTime.parse(stringValue, formatter);
+            }
+
+            LocalDateTime value = TemporalFormats.parseLocalDateTime(stringValue);
+            return (value != null) ? value : LocalDateTime.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to local date time",
@@ -43,6 +70,16 @@ public class PropertyLocalDateTimeSerializer implements PropertySerializer<Local
             return null;
         }
 
-        return value.toString();
+        if (formatter == null) {
+            return value.toString();
+        }
+
+        try {
+            return formatter.format(value);
+        } catch (DateTimeException e) {
+            throw new PropertySerializationException(
+                    "cannot format property value <" + value + "> with formatter <" + formatter + ">",
+                    e);
+        }
     }
 }
@@ -1,14 +1,36 @@
 package org.giogt.commons.core.properties.serializers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
 import java.time.DateTimeException;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 
 public class PropertyLocalTimeSerializer implements PropertySerializer<LocalTime> {
 
+    // null for the ISO-8601 format
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Creates a serializer of local times in the ISO-8601 format.
+     */
+    public PropertyLocalTimeSerializer() {
+        this.formatter = null;
+    }
+
+    /**
+     * Creates a serializer of local times in the format
+     * of {@code pattern} (see {@link DateTimeFormatter#ofPattern(String)}).
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public PropertyLocalTimeSerializer(String pattern) {
+        this.formatter = TemporalFormats.formatter(Preconditions.notNull(pattern, "pattern"), null);
+    }
+
     @Override
     public Class<? extends LocalTime> handledType() {
         return LocalTime.class;
@@ -25,7 +47,12 @@ public class PropertyLocalTimeSerializer implements PropertySerializer<LocalTime
         }
 
         try {
-            return LocalTime.parse(stringValue);
+            if (formatter != null) {
+                return LocalTime.parse(stringValue, formatter);
+            }
+
+            LocalTime value = TemporalFormats.parseLocalTime(stringValue);
+            return (value != null) ? value : LocalTime.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to local time",
@@ -43,6 +70,16 @@ public class PropertyLocalTimeSerializer implements PropertySerializer<LocalTime
             return null;
         }
 
-        return value.toString();
+        if (formatter == null) {
+            return value.toString();
+        }
+
+        try {
+            return formatter.format(value);
+        } catch (DateTimeException e) {
+            throw new PropertySerializationException(
+                    "cannot format property value <" + value + "> with formatter <" + formatter + ">",
+                    e);
+        }
     }
 }
@@ -1,14 +1,41 @@
 package org.giogt.commons.core.properties.serializers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
 import java.time.DateTimeException;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 
 public class PropertyOffsetDateTimeSerializer implements PropertySerializer<OffsetDateTime> {
 
+    // null for the ISO-8601 format
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Creates a serializer of offset date times in the ISO-8601 format.
+     */
+    public PropertyOffsetDateTimeSerializer() {
+        this.formatter = null;
+    }
+
+    /**
+     * Creates a serializer of offset date times in the format
+     * of {@code pattern} (see {@link DateTimeFormatter#ofPattern(String)}),
+     * in {@code zone}: values are formatted in the zone, and parsed in the
+     * zone if the pattern has no zone nor offset. {@code zone} can be null if
+     * the pattern has a zone or an offset.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public PropertyOffsetDateTimeSerializer(String pattern, ZoneId zone) {
+        this.formatter = TemporalFormats.formatter(Preconditions.notNull(pattern, "pattern"), zone);
+    }
+
     @Override
     public Class<? extends OffsetDateTime> handledType() {
         return OffsetDateTime.class;
@@ -25,7 +52,12 @@ public class PropertyOffsetDateTimeSerializer implements PropertySerializer<Offs
         }
 
         try {
-            return OffsetDateTime.parse(stringValue);
+            if (formatter != null) {
+                return ZonedDateTime.parse(stringValue, formatter).toOffsetDateTime();
+            }
+
+            OffsetDateTime value = TemporalFormats.parseOffsetDateTime(stringValue);
+            return (value != null) ? value : OffsetDateTime.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to offset date time",
@@ -43,6 +75,16 @@ public class PropertyOffsetDateTimeSerializer implements PropertySerializer<Offs
             return null;
         }
 
-        return value.toString();
+        if (formatter == null) {
+            return value.toString();
+        }
+
+        try {
+            return formatter.format(value);
+        } catch (DateTimeException e) {
+            throw new PropertySerializationException(
+                    "cannot format property value <" + value + "> with formatter <" + formatter + ">",
+                    e);
+        }
     }
 }
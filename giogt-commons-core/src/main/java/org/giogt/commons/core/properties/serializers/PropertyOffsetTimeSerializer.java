@@ -25,7 +25,8 @@ public class PropertyOffsetTimeSerializer implements PropertySerializer<OffsetTi
         }
 
         try {
-            return OffsetTime.parse(stringValue);
+            OffsetTime value = TemporalFormats.parseOffsetTime(stringValue);
+            return (value != null) ? value : OffsetTime.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to offset time",
@@ -0,0 +1,216 @@
+package org.giogt.commons.core.properties.serializers;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertyHandle;
+import org.giogt.commons.core.properties.PropertySerializer;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Selects the {@link PropertySerializer} of a type, among a set of
+ * serializers indexed by their {@link PropertySerializer#handledType()}.
+ * <p>
+ * <p>The serializer of a type is the one that handles exactly the type (or
+ * its wrapper, for primitive types); otherwise, the one that handles its
+ * closest superclass, then the one that handles the closest of its
+ * interfaces, and finally the one that handles {@link Object}, if any. A
+ * serializer that handles a supertype is expected to handle the subtypes
+ * given by {@link MappingContext#getMappingType()}, as
+ * {@link PropertyEnumSerializer} does for the enums.
+ * <p>
+ * <p>The resolution of each type is computed once and cached, so looking up
+ * a serializer again is cheap.
+ * <p>
+ * <p>Instances are safe when used concurrently by multiple threads.
+ */
+public final class PropertySerializerRegistry {
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+
+    static {
+        PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+        PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+        PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+        PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+        PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+    }
+
+    private final Map<Class<?>, PropertySerializer<?>> serializers;
+
+    private final ClassValue<Optional<PropertySerializer<?>>> resolvedSerializers =
+            new ClassValue<Optional<PropertySerializer<?>>>() {
+                @Override
+                protected Optional<PropertySerializer<?>> computeValue(Class<?> type) {
+                    return Optional.ofNullable(resolveSerializer(type));
+                }
+            };
+
+    PropertySerializerRegistry(Map<Class<?>, PropertySerializer<?>> serializers) {
+        this.serializers = serializers;
+    }
+
+    /**
+     * Returns a registry of the built-in serializers, and of the serializers
+     * found by a {@link ServiceLoader} in the class loader of this class.
+     */
+    public static PropertySerializerRegistry defaultRegistry() {
+        return DefaultRegistryHolder.DEFAULT_REGISTRY;
+    }
+
+    /**
+     * Returns the serializer of {@code type}, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> PropertySerializer<T> getSerializer(Class<T> type) {
+        Preconditions.notNull(type, "type");
+        return (PropertySerializer<T>) resolvedSerializers.get(type).orElse(null);
+    }
+
+    /**
+     * Returns a handle of the property of {@code propertiesStore} with the
+     * specified key, that converts its value to {@code type} with the
+     * serializer of this registry, and caches the converted value while the
+     * property is unchanged.
+     *
+     * @throws IllegalArgumentException if there is no serializer for
+     *                                  {@code type}
+     */
+    public <T> PropertyHandle<T> handle(PropertiesStore propertiesStore, String key, Class<T> type) {
+        return handle(propertiesStore, key, type, null);
+    }
+
+    /**
+     * Returns a handle of the property with the specified key, whose value
+     * is {@code defaultValue} when the property is missing.
+     *
+     * @see #handle(PropertiesStore, String, Class)
+     */
+    public <T> PropertyHandle<T> handle(PropertiesStore propertiesStore, String key, Class<T> type, T defaultValue) {
+        PropertySerializer<T> serializer = getSerializer(type);
+        Preconditions.checkArgument(serializer != null, () -> "no property serializer for type <" + type.getName() + ">");
+        return PropertyHandle.of(propertiesStore, key, type, serializer, defaultValue);
+    }
+
+    /**
+     * Returns the serializers of this registry, by handled type.
+     */
+    public Map<Class<?>, PropertySerializer<?>> getSerializers() {
+        return Collections.unmodifiableMap(serializers);
+    }
+
+    private PropertySerializer<?> resolveSerializer(Class<?> type) {
+        Class<?> valueType = PRIMITIVE_WRAPPERS.getOrDefault(type, type);
+
+        // exact type and superclasses
+        for (Class<?> currentClass = valueType;
+             currentClass != null && currentClass != Object.class;
+             currentClass = currentClass.getSuperclass()) {
+
+            PropertySerializer<?> serializer = serializers.get(currentClass);
+            if (serializer != null) {
+                return serializer;
+            }
+        }
+
+        // interfaces, breadth first, starting from the ones of the type
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> currentClass = valueType; currentClass != null; currentClass = currentClass.getSuperclass()) {
+            Collections.addAll(interfaces, currentClass.getInterfaces());
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> currentInterface = interfaces.removeFirst();
+            if (visited.add(currentInterface)) {
+                PropertySerializer<?> serializer = serializers.get(currentInterface);
+                if (serializer != null) {
+                    return serializer;
+                }
+                Collections.addAll(interfaces, currentInterface.getInterfaces());
+            }
+        }
+
+        return serializers.get(Object.class);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        final Map<Class<?>, PropertySerializer<?>> serializers = new HashMap<>();
+
+        /**
+         * Adds the built-in serializers of this package.
+         */
+        public Builder withBuiltInSerializers() {
+            withSerializer(new PropertyBigDecimalSerializer());
+            withSerializer(new PropertyBigIntegerSerializer());
+            withSerializer(new PropertyBooleanSerializer());
+            withSerializer(new PropertyDateSerializer());
+            withSerializer(new PropertyDurationSerializer());
+            withSerializer(new PropertyEnumSerializer());
+            withSerializer(new PropertyInstantSerializer());
+            withSerializer(new PropertyIntegerSerializer());
+            withSerializer(new PropertyLocalDateSerializer());
+            withSerializer(new PropertyLocalDateTimeSerializer());
+            withSerializer(new PropertyLocalTimeSerializer());
+            withSerializer(new PropertyLongSerializer());
+            withSerializer(new PropertyOffsetDateTimeSerializer());
+            withSerializer(new PropertyOffsetTimeSerializer());
+            withSerializer(new PropertyPeriodSerializer());
+            withSerializer(new PropertyStringSerializer());
+            withSerializer(new PropertyZoneIdSerializer());
+            withSerializer(new PropertyZoneOffsetSerializer());
+            withSerializer(new PropertyZonedDateTimeSerializer());
+            return this;
+        }
+
+        /**
+         * Adds the serializers declared as {@link PropertySerializer}
+         * services in {@code classLoader}.
+         */
+        public Builder withServiceLoaderSerializers(ClassLoader classLoader) {
+            for (PropertySerializer<?> serializer : ServiceLoader.load(PropertySerializer.class, classLoader)) {
+                withSerializer(serializer);
+            }
+            return this;
+        }
+
+        /**
+         * Adds {@code serializer}, replacing the serializer previously added
+         * for the same handled type, if any.
+         */
+        public Builder withSerializer(PropertySerializer<?> serializer) {
+            Preconditions.notNull(serializer, "serializer");
+            Preconditions.notNull(serializer.handledType(), "serializer.handledType()");
+            serializers.put(serializer.handledType(), serializer);
+            return this;
+        }
+
+        public PropertySerializerRegistry build() {
+            return new PropertySerializerRegistry(new HashMap<>(serializers));
+        }
+    }
+
+    private static final class DefaultRegistryHolder {
+        static final PropertySerializerRegistry DEFAULT_REGISTRY = builder()
+                .withBuiltInSerializers()
+                .withServiceLoaderSerializers(PropertySerializerRegistry.class.getClassLoader())
+                .build();
+    }
+
+}
@@ -1,14 +1,40 @@
 package org.giogt.commons.core.properties.serializers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.properties.MappingContext;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.giogt.commons.core.properties.PropertySerializer;
 
 import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 
 public class PropertyZonedDateTimeSerializer implements PropertySerializer<ZonedDateTime> {
 
+    // null for the ISO-8601 format
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Creates a serializer of zoned date times in the ISO-8601 format.
+     */
+    public PropertyZonedDateTimeSerializer() {
+        this.formatter = null;
+    }
+
+    /**
+     * Creates a serializer of zoned date times in the format
+     * of {@code pattern} (see {@link DateTimeFormatter#ofPattern(String)}),
+     * in {@code zone}: values are formatted in the zone, and parsed in the
+     * zone if the pattern has no zone nor offset. {@code zone} can be null if
+     * the pattern has a zone or an offset.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public PropertyZonedDateTimeSerializer(String pattern, ZoneId zone) {
+        this.formatter = TemporalFormats.formatter(Preconditions.notNull(pattern, "pattern"), zone);
+    }
+
     @Override
     public Class<? extends ZonedDateTime> handledType() {
         return ZonedDateTime.class;
@@ -25,7 +51,12 @@ public class PropertyZonedDateTimeSerializer implements PropertySerializer<Zoned
         }
 
         try {
-            return ZonedDateTime.parse(stringValue);
+            if (formatter != null) {
+                return ZonedDateTime.parse(stringValue, formatter);
+            }
+
+            ZonedDateTime value = TemporalFormats.parseZonedDateTime(stringValue);
+            return (value != null) ? value : ZonedDateTime.parse(stringValue);
         } catch (DateTimeException e) {
             throw new PropertySerializationException(
                     "cannot parse property value <" + stringValue + "> to zoned date time",
@@ -43,6 +74,16 @@ public class PropertyZonedDateTimeSerializer implements PropertySerializer<Zoned
             return null;
         }
 
-        return value.toString();
+        if (formatter == null) {
+            return value.toString();
+        }
+
+        try {
+            return formatter.format(value);
+        } catch (DateTimeException e) {
+            throw new PropertySerializationException(
+                    "cannot format property value <" + value + "> with formatter <" + formatter + ">",
+                    e);
+        }
     }
 }
@@ -0,0 +1,256 @@
+package org.giogt.commons.core.properties.serializers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The formats of the temporal serializers: a cache of the formatters of
+ * custom patterns, and parsers of the canonical ISO-8601 layouts (e.g.
+ * {@code 2021-03-04T05:06:07.890+01:00}), much faster than the ISO formatters
+ * of {@link DateTimeFormatter}, that support many optional parts.
+ * <p>
+ * <p>The ISO parsers return null for the strings they don't handle, valid or
+ * not, that must be parsed by the ISO formatters: they only accept the
+ * strings that the ISO formatters parse to the same value.
+ */
+final class TemporalFormats {
+
+    private static final int[] NANOS_SCALES = {
+            100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    private static final ConcurrentMap<FormatterKey, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private TemporalFormats() {
+    }
+
+    /**
+     * Returns the formatter of {@code pattern} (see
+     * {@link DateTimeFormatter#ofPattern(String)}), with {@code zone} as
+     * override zone, if not null.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static DateTimeFormatter formatter(String pattern, ZoneId zone) {
+        return FORMATTERS.computeIfAbsent(new FormatterKey(pattern, zone), key -> {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(key.pattern);
+            return (key.zone != null) ? formatter.withZone(key.zone) : formatter;
+        });
+    }
+
+    /**
+     * Parses {@code uuuu-MM-dd}.
+     */
+    static LocalDate parseLocalDate(String text) {
+        return (text.length() == 10) ? localDate(text, 0) : null;
+    }
+
+    /**
+     * Parses {@code HH:mm[:ss[.SSSSSSSSS]]}.
+     */
+    static LocalTime parseLocalTime(String text) {
+        return localTime(text, 0, text.length(), false);
+    }
+
+    /**
+     * Parses {@code uuuu-MM-dd'T'HH:mm[:ss[.SSSSSSSSS]]}.
+     */
+    static LocalDateTime parseLocalDateTime(String text) {
+        return localDateTime(text, text.length(), false);
+    }
+
+    /**
+     * Parses {@code HH:mm[:ss[.SSSSSSSSS]]} followed by {@code Z} or
+     * {@code +HH:MM}.
+     */
+    static OffsetTime parseOffsetTime(String text) {
+        int offsetStart = offsetStart(text);
+        if (offsetStart < 0) {
+            return null;
+        }
+        LocalTime time = localTime(text, 0, offsetStart, false);
+        ZoneOffset offset = (time != null) ? offset(text, offsetStart) : null;
+        return (offset != null) ? OffsetTime.of(time, offset) : null;
+    }
+
+    /**
+     * Parses {@code uuuu-MM-dd'T'HH:mm[:ss[.SSSSSSSSS]]} followed by
+     * {@code Z} or {@code +HH:MM}.
+     */
+    static OffsetDateTime parseOffsetDateTime(String text) {
+        int offsetStart = offsetStart(text);
+        if (offsetStart < 0) {
+            return null;
+        }
+        LocalDateTime dateTime = localDateTime(text, offsetStart, false);
+        ZoneOffset offset = (dateTime != null) ? offset(text, offsetStart) : null;
+        return (offset != null) ? OffsetDateTime.of(dateTime, offset) : null;
+    }
+
+    /**
+     * Parses the layout of {@link #parseOffsetDateTime(String)}: zone ids
+     * other than offsets (e.g. {@code [Europe/Rome]}) are not supported.
+     */
+    static ZonedDateTime parseZonedDateTime(String text) {
+        OffsetDateTime dateTime = parseOffsetDateTime(text);
+        return (dateTime != null) ? dateTime.toZonedDateTime() : null;
+    }
+
+    /**
+     * Parses {@code uuuu-MM-dd'T'HH:mm:ss[.SSSSSSSSS]'Z'}.
+     */
+    static Instant parseInstant(String text) {
+        int end = text.length() - 1;
+        if (end < 0 || text.charAt(end) != 'Z') {
+            return null;
+        }
+        LocalDateTime dateTime = localDateTime(text, end, true);
+        return (dateTime != null) ? dateTime.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDateTime localDateTime(String text, int end, boolean secondsRequired) {
+        if (end < 16 || text.charAt(10) != 'T') {
+            return null;
+        }
+        LocalDate date = localDate(text, 0);
+        LocalTime time = (date != null) ? localTime(text, 11, end, secondsRequired) : null;
+        return (time != null) ? LocalDateTime.of(date, time) : null;
+    }
+
+    private static LocalDate localDate(String text, int start) {
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        if (year < 0 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' ||
+                month < 1 || month > 12 ||
+                day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalTime localTime(String text, int start, int end, boolean secondsRequired) {
+        if (end - start < 5) {
+            return null;
+        }
+        int hour = digits(text, start, 2);
+        int minute = digits(text, start + 3, 2);
+        if (hour < 0 || hour > 23 || text.charAt(start + 2) != ':' || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int position = start + 5;
+        if (position == end) {
+            return secondsRequired ? null : LocalTime.of(hour, minute);
+        }
+        if (end - position < 3 || text.charAt(position) != ':') {
+            return null;
+        }
+        int second = digits(text, position + 1, 2);
+        if (second < 0 || second > 59) {
+            return null;
+        }
+
+        position += 3;
+        if (position == end) {
+            return LocalTime.of(hour, minute, second);
+        }
+        int fractionDigits = end - position - 1;
+        if (text.charAt(position) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+            return null;
+        }
+        int fraction = digits(text, position + 1, fractionDigits);
+        if (fraction < 0) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, fraction * NANOS_SCALES[fractionDigits - 1]);
+    }
+
+    /**
+     * Returns the position of the offset that ends {@code text}, if it may
+     * be {@code Z} or {@code +HH:MM}, or -1.
+     */
+    private static int offsetStart(String text) {
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) == 'Z') {
+            return length - 1;
+        }
+        if (length > 6 && (text.charAt(length - 6) == '+' || text.charAt(length - 6) == '-')) {
+            return length - 6;
+        }
+        return -1;
+    }
+
+    private static ZoneOffset offset(String text, int start) {
+        if (text.charAt(start) == 'Z') {
+            return ZoneOffset.UTC;
+        }
+        int hours = digits(text, start + 1, 2);
+        int minutes = digits(text, start + 4, 2);
+        if (hours < 0 || hours > 17 || text.charAt(start + 3) != ':' || minutes < 0 || minutes > 59) {
+            return null;
+        }
+        return (text.charAt(start) == '+')
+                ? ZoneOffset.ofHoursMinutes(hours, minutes)
+                : ZoneOffset.ofHoursMinutes(-hours, -minutes);
+    }
+
+    /**
+     * Returns the value of the {@code count} ASCII digits at {@code start},
+     * or -1 if they aren't all digits.
+     */
+    private static int digits(String text, int start, int count) {
+        if (start + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static final class FormatterKey {
+        final String pattern;
+        final ZoneId zone;
+
+        FormatterKey(String pattern, ZoneId zone) {
+            this.pattern = pattern;
+            this.zone = zone;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FormatterKey)) {
+                return false;
+            }
+            FormatterKey that = (FormatterKey) o;
+            return pattern.equals(that.pattern) && Objects.equals(zone, that.zone);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * pattern.hashCode() + Objects.hashCode(zone);
+        }
+    }
+
+}
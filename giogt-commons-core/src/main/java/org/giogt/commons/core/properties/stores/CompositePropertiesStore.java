@@ -1,23 +1,74 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.giogt.commons.core.properties.PropertiesChangeListener;
 import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertiesSubscription;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * A read only store that combines a list of delegate stores: the value of a
+ * property is the value of the first delegate that has it.
+ * <p>
+ * <p>By default, lookups query the delegates in order. A store built with
+ * {@link Builder#withMergedIndex()} keeps instead an immutable index of the
+ * properties of all the delegates, already resolved by precedence: a lookup
+ * is then a single hash lookup, and {@link #getProperties()} returns the
+ * index itself, without copying it. The index is rebuilt by
+ * {@link #refresh()}, and updated on the changes notified by the delegates,
+ * so the delegates must notify their changes (as all the stores of this
+ * package do when refreshed) and their {@link PropertiesStore#getProperties()}
+ * must return the same keys accepted by {@link PropertiesStore#getProperty(String)}.
+ */
 public class CompositePropertiesStore extends ReadOnlyPropertiesStore {
 
     private final List<PropertiesStore> propertiesStores;
 
-    CompositePropertiesStore(List<PropertiesStore> propertiesStores) {
+    // the properties of the delegates resolved by precedence, if the store
+    // has a merged index, otherwise null
+    private volatile Map<String, String> index;
+    // the prefix index of a recent merged index, built on demand
+    private volatile PrefixIndex prefixIndex;
+
+    // the old values of the properties changed by the delegate stores during
+    // a refresh of this store, by store, to notify them as a single change
+    private final ThreadLocal<Map<PropertiesStore, Map<String, String>>> refreshChanges = new ThreadLocal<>();
+    // serializes the updates of the index and the changes queued for the
+    // subscribers, which are notified without it
+    private final Object changeLock = new Object();
+    private boolean subscribedToDelegates;
+
+    CompositePropertiesStore(List<PropertiesStore> propertiesStores, boolean mergedIndex) {
         this.propertiesStores = propertiesStores;
+
+        if (mergedIndex) {
+            synchronized (changeLock) {
+                subscribeToDelegates();
+                index = buildIndex();
+            }
+        }
     }
 
     @Override
     public String getProperty(String key) {
+        Map<String, String> index = this.index;
+        if (index != null) {
+            return index.get(key);
+        }
+        return resolveProperty(key);
+    }
+
+    private String resolveProperty(String key) {
         for (PropertiesStore propertiesStore : propertiesStores) {
             String value = propertiesStore.getProperty(key);
             if (value != null) {
@@ -29,19 +80,203 @@ public class CompositePropertiesStore extends ReadOnlyPropertiesStore {
 
     @Override
     public Map<String, String> getProperties() {
+        Map<String, String> index = this.index;
+        if (index != null) {
+            return index;
+        }
+        return mergeProperties();
+    }
+
+    @Override
+    public Map<String, String> getProperties(Collection<String> keys) {
+        Map<String, String> index = this.index;
+        if (index != null) {
+            return getProperties(index, keys);
+        }
+        return super.getProperties(keys);
+    }
+
+    /**
+     * Returns the properties whose key starts with {@code keyPrefix}: with a
+     * merged index, in key order, using an index of its sorted keys built on
+     * the first call after each change; otherwise, merging the properties
+     * with the prefix of each delegate.
+     */
+    @Override
+    public Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+
+        Map<String, String> index = this.index;
+        if (index != null) {
+            PrefixIndex prefixIndex = this.prefixIndex;
+            if (prefixIndex == null || !prefixIndex.isOf(index)) {
+                prefixIndex = PrefixIndex.of(index);
+                this.prefixIndex = prefixIndex;
+            }
+            return prefixIndex.getPropertiesWithPrefix(keyPrefix);
+        }
+
         Map<String, String> propertiesMap = new HashMap<>();
-        for (PropertiesStore propertiesStore : propertiesStores) {
-            Map<String, String> currentPropertiesMap = propertiesStore.getProperties();
-            propertiesMap.putAll(currentPropertiesMap);
+        for (int i = propertiesStores.size() - 1; i >= 0; i--) {
+            propertiesMap.putAll(propertiesStores.get(i).getPropertiesWithPrefix(keyPrefix));
         }
         return propertiesMap;
     }
 
+    /**
+     * Merges the properties of the delegates, so that the value of a property
+     * is the value of the first delegate that has it.
+     */
+    private Map<String, String> mergeProperties() {
+        Map<String, String> propertiesMap = new HashMap<>();
+        for (int i = propertiesStores.size() - 1; i >= 0; i--) {
+            propertiesMap.putAll(propertiesStores.get(i).getProperties());
+        }
+        return propertiesMap;
+    }
+
+    private Map<String, String> buildIndex() {
+        return Collections.unmodifiableMap(mergeProperties());
+    }
+
+    /**
+     * Refreshes the delegate stores (and rebuilds the merged index, if any),
+     * then notifies the subscribers of the properties whose value, as returned
+     * by {@link #getProperty(String)}, changed, in a single change.
+     */
     @Override
     public void refresh() {
+        Map<PropertiesStore, Map<String, String>> changes = new IdentityHashMap<>();
+        refreshChanges.set(changes);
+        try {
+            for (PropertiesStore propertiesStore : propertiesStores) {
+                propertiesStore.refresh();
+            }
+        } finally {
+            refreshChanges.remove();
+        }
+
+        if (index != null || !changes.isEmpty()) {
+            fireChange(changes, true);
+        }
+    }
+
+    /**
+     * Subscribes {@code listener} to the changes of the properties of this
+     * store, that is to the changes of the properties of the delegate stores
+     * that change the values returned by {@link #getProperty(String)}.
+     * Changes of the delegate stores are notified as they happen, or once per
+     * refresh of this store.
+     */
+    @Override
+    public PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        PropertiesSubscription subscription = super.subscribe(keyPrefix, listener);
+        synchronized (changeLock) {
+            subscribeToDelegates();
+        }
+        return subscription;
+    }
+
+    private void subscribeToDelegates() {
+        if (!subscribedToDelegates) {
+            for (PropertiesStore propertiesStore : propertiesStores) {
+                propertiesStore.subscribe(this::delegateChanged);
+            }
+            subscribedToDelegates = true;
+        }
+    }
+
+    private void delegateChanged(PropertiesChange change) {
+        Map<PropertiesStore, Map<String, String>> changes = refreshChanges.get();
+        boolean refreshing = (changes != null);
+        if (!refreshing) {
+            changes = new IdentityHashMap<>();
+        }
+
+        // a store may change more than once during a refresh (e.g. if it is
+        // a delegate more than once): keep the oldest values
+        Map<String, String> oldValues = changes.computeIfAbsent(change.getSource(), store -> new HashMap<>());
+        for (String key : change.getChangedKeys()) {
+            if (!oldValues.containsKey(key)) {
+                oldValues.put(key, change.getOldValue(key));
+            }
+        }
+
+        if (!refreshing) {
+            fireChange(changes, false);
+        }
+    }
+
+    /**
+     * Updates the merged index, if any, with {@code changes} of the delegates
+     * (or rebuilds it, if {@code refreshed}), and notifies the subscribers.
+     */
+    private void fireChange(Map<PropertiesStore, Map<String, String>> changes, boolean refreshed) {
+        Set<String> keys = new HashSet<>();
+        for (Map<String, String> oldValues : changes.values()) {
+            keys.addAll(oldValues.keySet());
+        }
+
+        synchronized (changeLock) {
+            PropertiesChange.Builder change = PropertiesChange.builder(this);
+            Map<String, String> oldIndex = index;
+            if (oldIndex != null) {
+                index = refreshed ? buildIndex() : updateIndex(oldIndex, keys);
+                if (refreshed) {
+                    // a change of a delegate may be notified on another
+                    // thread during the refresh: compare the whole indexes
+                    keys.addAll(oldIndex.keySet());
+                    keys.addAll(index.keySet());
+                }
+                for (String key : keys) {
+                    change.put(key, oldIndex.get(key), index.get(key));
+                }
+            } else {
+                for (String key : keys) {
+                    change.put(key, getOldProperty(key, changes), getProperty(key));
+                }
+            }
+
+            if (changeSupport.hasSubscriptions()) {
+                changeSupport.queue(change.build());
+            }
+        }
+
+        changeSupport.fireQueued();
+    }
+
+    /**
+     * Returns a copy of {@code oldIndex} with the values of {@code keys}
+     * resolved again from the delegates.
+     */
+    private Map<String, String> updateIndex(Map<String, String> oldIndex, Set<String> keys) {
+        Map<String, String> newIndex = new HashMap<>(oldIndex);
+        for (String key : keys) {
+            String value = resolveProperty(key);
+            if (value != null) {
+                newIndex.put(key, value);
+            } else {
+                newIndex.remove(key);
+            }
+        }
+        return Collections.unmodifiableMap(newIndex);
+    }
+
+    /**
+     * Returns the value that {@link #getProperty(String)} returned before
+     * {@code changes}.
+     */
+    private String getOldProperty(String key, Map<PropertiesStore, Map<String, String>> changes) {
         for (PropertiesStore propertiesStore : propertiesStores) {
-            propertiesStore.refresh();
+            Map<String, String> oldValues = changes.get(propertiesStore);
+            String value = (oldValues != null && oldValues.containsKey(key))
+                    ? oldValues.get(key)
+                    : propertiesStore.getProperty(key);
+            if (value != null) {
+                return value;
+            }
         }
+        return null;
     }
 
     public static Builder builder() {
@@ -52,6 +287,8 @@ public class CompositePropertiesStore extends ReadOnlyPropertiesStore {
 
         private final List<PropertiesStore> propertiesStores;
 
+        private boolean mergedIndex;
+
         public Builder() {
             propertiesStores = new ArrayList<>();
         }
@@ -68,8 +305,17 @@ public class CompositePropertiesStore extends ReadOnlyPropertiesStore {
             return this;
         }
 
+        /**
+         * Makes the store keep a merged index of the properties of the
+         * delegates, see {@link CompositePropertiesStore}.
+         */
+        public Builder withMergedIndex() {
+            this.mergedIndex = true;
+            return this;
+        }
+
         public CompositePropertiesStore build() {
-            return new CompositePropertiesStore(propertiesStores);
+            return new CompositePropertiesStore(new ArrayList<>(propertiesStores), mergedIndex);
         }
     }
 
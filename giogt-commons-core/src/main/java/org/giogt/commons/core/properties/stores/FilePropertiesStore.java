@@ -1,26 +1,30 @@
 package org.giogt.commons.core.properties.stores;
 
 import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChange;
 import org.giogt.commons.core.properties.Property;
 import org.giogt.commons.core.properties.exceptions.CannotCreatePropertiesFileException;
 import org.giogt.commons.core.properties.exceptions.CannotLoadPropertiesFileException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
-import java.io.Reader;
+import java.io.StringReader;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -29,14 +33,30 @@ public class FilePropertiesStore extends ReadOnlyPropertiesStore {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(FilePropertiesStore.class);
 
-    private Properties properties = new Properties();
+    // the resolution of file modification times on the file systems with the
+    // coarsest one: a file modified less than this before it was read may be
+    // modified again without its modification time changing
+    private static final long MODIFICATION_TIME_RESOLUTION_MILLIS = 2000;
+
+    // an immutable snapshot of the file properties, replaced as a whole on
+    // refresh: readers never block, not even while the file is being read
+    private volatile Map<String, String> properties = Collections.emptyMap();
+    // the prefix index of a recent snapshot, built on demand
+    private volatile PrefixIndex prefixIndex;
 
     private final File propertiesFile;
     private final Charset charset;
     private final Properties defaultProperties;
 
+    // serializes refreshes, so that a snapshot never replaces a newer one
     private final Object refreshLock = new Object();
 
+    // the state of the file when it was last read, guarded by refreshLock
+    private long lastModified;
+    private long length;
+    private long readTime;
+    private byte[] contentHash;
+
     FilePropertiesStore(
             File propertiesFile,
             Charset charset,
@@ -49,26 +69,54 @@ public class FilePropertiesStore extends ReadOnlyPropertiesStore {
         loadFromPropertiesFile();
     }
 
+    public File getPropertiesFile() {
+        return propertiesFile;
+    }
+
     @Override
     public String getProperty(String key) {
-        synchronized (refreshLock) {
-            return (String) properties.get(key);
-        }
+        return properties.get(key);
     }
 
+    /**
+     * Returns an unmodifiable snapshot of the properties: it is not copied,
+     * and it is not affected by later refreshes.
+     */
     @Override
     public Map<String, String> getProperties() {
-        synchronized (refreshLock) {
+        return properties;
+    }
 
-            Map<String, String> propertiesMap = new HashMap<>();
-            for (Map.Entry<Object, Object> prop : properties.entrySet()) {
-                propertiesMap.put((String) prop.getKey(), (String) prop.getValue());
-            }
-            return propertiesMap;
+    @Override
+    public Map<String, String> getProperties(Collection<String> keys) {
+        return getProperties(properties, keys);
+    }
 
+    /**
+     * Returns the properties whose key starts with {@code keyPrefix}, in key
+     * order, using an index of the sorted keys, built on the first call after
+     * each change of the properties.
+     */
+    @Override
+    public Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+
+        Map<String, String> snapshot = properties;
+        PrefixIndex prefixIndex = this.prefixIndex;
+        if (prefixIndex == null || !prefixIndex.isOf(snapshot)) {
+            prefixIndex = PrefixIndex.of(snapshot);
+            this.prefixIndex = prefixIndex;
         }
+        return prefixIndex.getPropertiesWithPrefix(keyPrefix);
     }
 
+    /**
+     * Reads the properties file again if it changed since it was last read,
+     * then notifies the subscribers of the properties that changed, if any.
+     * <p>
+     * <p>The file is not read if its modification time and size did not
+     * change, and it is not parsed if its content did not change.
+     */
     @Override
     public void refresh() {
         loadFromPropertiesFile();
@@ -78,23 +126,84 @@ public class FilePropertiesStore extends ReadOnlyPropertiesStore {
             throws CannotCreatePropertiesFileException, CannotLoadPropertiesFileException {
 
         synchronized (refreshLock) {
+            long modified = propertiesFile.lastModified();
+            long size = propertiesFile.length();
+            if (contentHash != null
+                    && modified == lastModified
+                    && size == length
+                    && modified + MODIFICATION_TIME_RESOLUTION_MILLIS < readTime) {
+                return;
+            }
 
-            // create file reader
-            try (Reader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(propertiesFile), charset))) {
-
-                properties = new Properties();
-                properties.load(fileReader);
-            } catch (FileNotFoundException e) {
-
+            Map<String, String> snapshot;
+            long now = System.currentTimeMillis();
+            byte[] content = readPropertiesFile();
+            if (content != null) {
+                byte[] hash = hash(content);
+                lastModified = modified;
+                length = size;
+                readTime = now;
+                if (Arrays.equals(hash, contentHash)) {
+                    return;
+                }
+                contentHash = hash;
+                snapshot = toSnapshot(parse(content));
+            } else {
                 // file not found => create a new properties file with default properties
                 createNewPropertiesFileWithDefaultProperties();
+                // the new file is read by the next refresh
+                contentHash = null;
+                snapshot = toSnapshot(defaultProperties);
+            }
 
-            } catch (IOException e) {
-                throw new CannotLoadPropertiesFileException("cannot load specified properties file <" +
-                        propertiesFile.getPath(),
-                        e);
+            Map<String, String> oldSnapshot = properties;
+            properties = snapshot;
+            // the change is computed once, for all the subscriptions
+            if (changeSupport.hasSubscriptions()) {
+                changeSupport.queue(PropertiesChange.between(this, oldSnapshot, snapshot));
             }
         }
+
+        // listeners are called without the refresh lock
+        changeSupport.fireQueued();
+    }
+
+    /**
+     * Returns the content of the properties file, or {@code null} if it does
+     * not exist.
+     */
+    byte[] readPropertiesFile() throws CannotLoadPropertiesFileException {
+        try {
+            return Files.readAllBytes(propertiesFile.toPath());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new CannotLoadPropertiesFileException("cannot load specified properties file <" +
+                    propertiesFile.getPath(),
+                    e);
+        }
+    }
+
+    private Properties parse(byte[] content) {
+        Properties fileProperties = new Properties();
+        try {
+            fileProperties.load(new StringReader(new String(content, charset)));
+        } catch (IOException e) {
+            // cannot happen when reading from a string
+            throw new CannotLoadPropertiesFileException("cannot load specified properties file <" +
+                    propertiesFile.getPath(),
+                    e);
+        }
+        return fileProperties;
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     void createNewPropertiesFileWithDefaultProperties() {
@@ -103,9 +212,7 @@ public class FilePropertiesStore extends ReadOnlyPropertiesStore {
             propertiesFile.createNewFile();
             LOGGER.info("properties file <" + propertiesFile.getPath() + "> successfully created");
 
-            // create empty properties
-            this.properties = this.defaultProperties;
-            this.properties.store(fileWriter, propertiesFile.getName());
+            this.defaultProperties.store(fileWriter, propertiesFile.getName());
 
         } catch (IOException propertiesFileCreationException) {
             throw new CannotCreatePropertiesFileException(
@@ -114,6 +221,14 @@ public class FilePropertiesStore extends ReadOnlyPropertiesStore {
         }
     }
 
+    private static Map<String, String> toSnapshot(Properties properties) {
+        Map<String, String> snapshot = new HashMap<>((int) (properties.size() / 0.75f) + 1);
+        for (Map.Entry<Object, Object> prop : properties.entrySet()) {
+            snapshot.put((String) prop.getKey(), (String) prop.getValue());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -1,5 +1,10 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.giogt.commons.core.properties.PropertiesChangeListener;
+import org.giogt.commons.core.properties.PropertiesSubscription;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -8,6 +13,10 @@ public class JavaPropertiesStore extends ReadOnlyPropertiesStore {
 
     private final String prefix;
 
+    // the (prefixed) system properties at the previous refresh, once
+    // subscribed to
+    private Map<String, String> lastProperties;
+
     JavaPropertiesStore(String prefix) {
         this.prefix = prefix;
     }
@@ -24,24 +33,70 @@ public class JavaPropertiesStore extends ReadOnlyPropertiesStore {
 
     @Override
     public Map<String, String> getProperties() {
+        return systemProperties("");
+    }
+
+    /**
+     * Returns the properties of {@link #getProperties()} whose key starts with
+     * {@code keyPrefix}. System properties are not indexed: they are all
+     * scanned.
+     */
+    @Override
+    public Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+        return systemProperties(keyPrefix);
+    }
+
+    /**
+     * Notifies the subscribers of the changes made to the system properties
+     * since the previous refresh. Keys are reported with their prefix, as
+     * returned by {@link #getProperties()}.
+     */
+    @Override
+    public void refresh() {
+        // java properties are always updated => no need to refresh them
+        if (!changeSupport.hasSubscriptions()) {
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, String> properties = systemProperties("");
+            PropertiesChange change = PropertiesChange.between(this, lastProperties, properties);
+            lastProperties = properties;
+            changeSupport.queue(change);
+        }
+
+        // listeners are called without the lock
+        changeSupport.fireQueued();
+    }
+
+    @Override
+    public PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        synchronized (this) {
+            if (lastProperties == null) {
+                lastProperties = systemProperties("");
+            }
+        }
+        return super.subscribe(keyPrefix, listener);
+    }
+
+    /**
+     * Returns the system properties whose key starts with the prefix of this
+     * store, if any, and with {@code keyPrefix}.
+     */
+    private Map<String, String> systemProperties(String keyPrefix) {
         Map<String, String> propertiesMap = new HashMap<>();
 
         Properties systemProperties = System.getProperties();
         for (String key : systemProperties.stringPropertyNames()) {
-            // if prefix is specified, consider only properties starting with prefix
-            if (prefix == null || key.startsWith(prefix)) {
-                propertiesMap.put(key, getProperty(key));
+            if ((prefix == null || key.startsWith(prefix)) && key.startsWith(keyPrefix)) {
+                propertiesMap.put(key, systemProperties.getProperty(key));
             }
         }
 
         return propertiesMap;
     }
 
-    @Override
-    public void refresh() {
-        // java properties are always updated => no need to refresh them
-    }
-
     String buildKeyWithPrefix(String key) {
         if (prefix != null) {
             key = prefix + key;
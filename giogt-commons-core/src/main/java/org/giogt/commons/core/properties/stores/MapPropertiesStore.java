@@ -1,15 +1,24 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.Preconditions;
+
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A read only store of in memory properties, that never change.
+ */
 public class MapPropertiesStore extends ReadOnlyPropertiesStore {
 
     private final Map<String, String> propertiesMap;
 
+    // built on demand
+    private volatile PrefixIndex prefixIndex;
+
     MapPropertiesStore(Map<String, String> propertiesMap) {
-        this.propertiesMap = propertiesMap;
+        this.propertiesMap = Collections.unmodifiableMap(propertiesMap);
     }
 
     @Override
@@ -19,12 +28,33 @@ public class MapPropertiesStore extends ReadOnlyPropertiesStore {
 
     @Override
     public Map<String, String> getProperties() {
-        return Collections.unmodifiableMap(propertiesMap);
+        return propertiesMap;
+    }
+
+    @Override
+    public Map<String, String> getProperties(Collection<String> keys) {
+        return getProperties(propertiesMap, keys);
+    }
+
+    /**
+     * Returns the properties whose key starts with {@code keyPrefix}, in key
+     * order, using an index of the sorted keys, built on the first call.
+     */
+    @Override
+    public Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+
+        PrefixIndex prefixIndex = this.prefixIndex;
+        if (prefixIndex == null) {
+            prefixIndex = PrefixIndex.of(propertiesMap);
+            this.prefixIndex = prefixIndex;
+        }
+        return prefixIndex.getPropertiesWithPrefix(keyPrefix);
     }
 
     @Override
     public void refresh() {
-        // in memory map properties are always updated => no need to refresh them
+        // in memory map properties never change => no need to refresh them
     }
 
     public static Builder builder() {
@@ -46,7 +76,7 @@ public class MapPropertiesStore extends ReadOnlyPropertiesStore {
         }
 
         public MapPropertiesStore build() {
-            return new MapPropertiesStore(map);
+            return new MapPropertiesStore(new HashMap<>(map));
         }
     }
 }
@@ -0,0 +1,164 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.giogt.commons.core.properties.exceptions.CannotLoadPropertiesFileException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A read only store of the properties of a {@code .properties} file, for very
+ * large files.
+ * <p>
+ * <p>Instead of loading the file in a {@link java.util.Properties} object,
+ * the store memory maps it and indexes the offsets of its keys and values,
+ * straight from the mapped bytes: values are decoded on first access, so
+ * the heap holds little more than the index and the values that were
+ * actually read. The file is parsed with the syntax of
+ * {@link java.util.Properties#load(java.io.Reader)}, in the store charset,
+ * that must be UTF-8 or an ASCII compatible single byte charset (e.g.
+ * ISO-8859-1).
+ * <p>
+ * <p>{@link #getProperties()} returns an unmodifiable view of the properties,
+ * not a copy. {@link #refresh()} maps and indexes the file again.
+ * <p>
+ * <p>The file stays mapped until the index that refers to it is garbage
+ * collected: it should be updated by replacing it (e.g. by moving a new file
+ * over it), since accessing the mapping of a file truncated in place fails
+ * with an unspecified error.
+ */
+public class MappedFilePropertiesStore extends ReadOnlyPropertiesStore {
+
+    private final File propertiesFile;
+    private final Charset charset;
+
+    private volatile MappedPropertiesIndex index;
+    // the prefix index of a recent index, built on demand
+    private volatile PrefixIndex prefixIndex;
+
+    // serializes refreshes, so that changes are computed between consecutive
+    // indexes
+    private final Object refreshLock = new Object();
+
+    MappedFilePropertiesStore(File propertiesFile, Charset charset) {
+        this.propertiesFile = propertiesFile;
+        this.charset = charset;
+
+        this.index = loadFromPropertiesFile();
+    }
+
+    @Override
+    public String getProperty(String key) {
+        Preconditions.notNull(key, "key");
+        return index.get(key);
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return index.asMap();
+    }
+
+    @Override
+    public Map<String, String> getProperties(Collection<String> keys) {
+        return getProperties(index.asMap(), keys);
+    }
+
+    /**
+     * Returns the properties whose key starts with {@code keyPrefix}, in key
+     * order, using an index of the sorted keys, built on the first call after
+     * each refresh: only the values of the returned properties are decoded.
+     */
+    @Override
+    public Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        Preconditions.notNull(keyPrefix, "keyPrefix");
+
+        MappedPropertiesIndex index = this.index;
+        PrefixIndex prefixIndex = this.prefixIndex;
+        if (prefixIndex == null || !prefixIndex.isOf(index)) {
+            prefixIndex = PrefixIndex.of(index, index.keys(), index.asMap());
+            this.prefixIndex = prefixIndex;
+        }
+        return prefixIndex.getPropertiesWithPrefix(keyPrefix);
+    }
+
+    /**
+     * Maps and indexes the file again. If there are subscribers, the whole
+     * file is decoded to find the properties that changed.
+     */
+    @Override
+    public void refresh() {
+        synchronized (refreshLock) {
+            MappedPropertiesIndex oldIndex = index;
+            index = loadFromPropertiesFile();
+            if (changeSupport.hasSubscriptions()) {
+                changeSupport.queue(PropertiesChange.between(this, oldIndex.asMap(), index.asMap()));
+            }
+        }
+
+        // listeners are called without the refresh lock
+        changeSupport.fireQueued();
+    }
+
+    MappedPropertiesIndex loadFromPropertiesFile() throws CannotLoadPropertiesFileException {
+        try (FileChannel channel = FileChannel.open(propertiesFile.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new CannotLoadPropertiesFileException("properties file <" + propertiesFile.getPath() +
+                        "> is too large to be mapped (" + size + " bytes)");
+            }
+
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return MappedPropertiesIndex.parse(bytes, charset);
+
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CannotLoadPropertiesFileException("cannot load specified properties file <" +
+                    propertiesFile.getPath() + ">",
+                    e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+        File propertiesFile;
+        Charset charset;
+
+        public Builder withPropertiesFile(File propertiesFile) {
+            this.propertiesFile = propertiesFile;
+            return this;
+        }
+
+        public Builder withCharset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        public Builder withCharset(String charsetName) {
+            this.charset = Charset.forName(charsetName);
+            return this;
+        }
+
+        public MappedFilePropertiesStore build() throws CannotLoadPropertiesFileException {
+            if (charset == null) {
+                charset = DEFAULT_CHARSET;
+            }
+
+            Preconditions.notNull(propertiesFile, "propertiesFile");
+            Preconditions.checkArgument(MappedPropertiesIndex.isSupported(charset),
+                    () -> "charset <" + charset + "> is not supported by memory mapped properties files");
+            return new MappedFilePropertiesStore(propertiesFile, charset);
+        }
+    }
+}
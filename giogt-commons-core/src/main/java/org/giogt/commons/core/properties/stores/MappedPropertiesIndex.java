@@ -0,0 +1,614 @@
+package org.giogt.commons.core.properties.stores;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * An immutable index of the properties in the bytes of a {@code .properties}
+ * file, usually a mapped one.
+ * <p>
+ * <p>The bytes are parsed once, with the syntax of
+ * {@link Properties#load(java.io.Reader)}, recording for each entry just the
+ * hash of its key and the offsets of its key and value: no string is created
+ * for keys and values that are plain ASCII, without escapes or line
+ * continuations. Entries are found through an open addressing table of entry
+ * numbers, and values are decoded on first access and then cached.
+ * <p>
+ * <p>Since the syntax is recognized on bytes, the charset of the file must
+ * encode ASCII characters as single ASCII bytes, and no other character as
+ * bytes in the ASCII range: UTF-8 and ASCII compatible single byte charsets
+ * (e.g. ISO-8859-1) do.
+ * <p>
+ * <p>Instances are safe when used concurrently by multiple threads.
+ */
+final class MappedPropertiesIndex {
+
+    // layout of an entry in the entries array
+    private static final int HASH = 0;
+    private static final int KEY_START = 1;
+    private static final int KEY_END = 2;
+    private static final int VALUE_START = 3;
+    private static final int VALUE_END = 4;
+    private static final int STRIDE = 5;
+
+    // set on the end offset of a key or a value that contains escapes, line
+    // continuations or non ASCII bytes, and so cannot be read byte by byte
+    private static final int COMPLEX = Integer.MIN_VALUE;
+
+    private static final String ASCII_SAMPLE = "\t\n\f\r !#:=\\u0123456789abcdefABCDEF";
+
+    private final ByteBuffer bytes;
+    private final Charset charset;
+    private final int[] entries;
+    // entry numbers + 1 (0 marks a free slot), by hash; linear probing
+    private final int[] table;
+    private final int size;
+    // decoded values, by entry number; racy writes are fine, since strings
+    // are immutable and a lost update just costs decoding the value again
+    private final String[] values;
+
+    private MappedPropertiesIndex(ByteBuffer bytes, Charset charset, int[] entries, int count) {
+        this.bytes = bytes;
+        this.charset = charset;
+        this.entries = entries;
+        this.values = new String[count];
+
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        int size = 0;
+        for (int entry = 0; entry < count; entry++) {
+            if (insert(entry)) {
+                size++;
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns whether {@code charset} can be used to read an index: see the
+     * class documentation.
+     */
+    static boolean isSupported(Charset charset) {
+        if (!charset.equals(StandardCharsets.UTF_8) && charset.newEncoder().maxBytesPerChar() != 1) {
+            return false;
+        }
+        return Arrays.equals(
+                ASCII_SAMPLE.getBytes(charset),
+                ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parses the remaining bytes of {@code bytes}, which must not change as
+     * long as the returned index is used.
+     *
+     * @throws IllegalArgumentException if the bytes contain a malformed
+     *                                  {@code \\uxxxx} escape
+     */
+    static MappedPropertiesIndex parse(ByteBuffer bytes, Charset charset) {
+        Parser parser = new Parser(bytes, charset);
+        parser.parse();
+        return new MappedPropertiesIndex(bytes, charset, parser.entries, parser.count);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String get(String key) {
+        int hash = key.hashCode();
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot] - 1;
+            if (entry < 0) {
+                return null;
+            }
+            if (entries[entry * STRIDE + HASH] == hash && keyEquals(entry, key)) {
+                return value(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of this index, decoded, in no particular order; values
+     * are not decoded.
+     */
+    String[] keys() {
+        String[] keys = new String[size];
+        int count = 0;
+        for (int slot : table) {
+            if (slot != 0) {
+                keys[count++] = key(slot - 1);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns an unmodifiable map view of this index. Keys are decoded as the
+     * map is iterated, values as they are accessed.
+     */
+    Map<String, String> asMap() {
+        return new MapView();
+    }
+
+    private boolean insert(int entry) {
+        int hash = entries[entry * STRIDE + HASH];
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int other = table[slot] - 1;
+            if (other < 0) {
+                table[slot] = entry + 1;
+                return true;
+            }
+            if (entries[other * STRIDE + HASH] == hash && keyEquals(entry, other)) {
+                // as for Properties.load, the last occurrence of a key wins
+                table[slot] = entry + 1;
+                return false;
+            }
+        }
+    }
+
+    private boolean keyEquals(int entry, String key) {
+        int start = entries[entry * STRIDE + KEY_START];
+        int end = entries[entry * STRIDE + KEY_END];
+        if ((end & COMPLEX) != 0) {
+            return key.equals(key(entry));
+        }
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != bytes.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean keyEquals(int entry, int other) {
+        int end = entries[entry * STRIDE + KEY_END];
+        int otherEnd = entries[other * STRIDE + KEY_END];
+        if (((end | otherEnd) & COMPLEX) != 0) {
+            return key(entry).equals(key(other));
+        }
+        int start = entries[entry * STRIDE + KEY_START];
+        int otherStart = entries[other * STRIDE + KEY_START];
+        if (end - start != otherEnd - otherStart) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (bytes.get(start + i) != bytes.get(otherStart + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(int entry) {
+        return decode(entries[entry * STRIDE + KEY_START], entries[entry * STRIDE + KEY_END]);
+    }
+
+    private String value(int entry) {
+        String value = values[entry];
+        if (value == null) {
+            value = decode(entries[entry * STRIDE + VALUE_START], entries[entry * STRIDE + VALUE_END]);
+            values[entry] = value;
+        }
+        return value;
+    }
+
+    private String decode(int start, int flaggedEnd) {
+        return decode(bytes, charset, start, flaggedEnd);
+    }
+
+    private static String decode(ByteBuffer bytes, Charset charset, int start, int flaggedEnd) {
+        int end = flaggedEnd & ~COMPLEX;
+        byte[] b = new byte[end - start];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = bytes.get(start + i);
+        }
+        String s = new String(b, charset);
+        return ((flaggedEnd & COMPLEX) != 0) ? unescape(joinLines(s)) : s;
+    }
+
+    private static int hash(ByteBuffer bytes, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + bytes.get(i);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Removes the line continuations from a key or a value, as
+     * {@code Properties} does when reading a logical line.
+     */
+    private static String joinLines(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (i + 1 == length) {
+                // a trailing backslash at the end of the file is dropped
+                break;
+            }
+            char next = s.charAt(++i);
+            if (next == '\r' || next == '\n') {
+                if (next == '\r' && i + 1 < length && s.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                while (i + 1 < length && isWhitespace(s.charAt(i + 1))) {
+                    i++;
+                }
+            } else {
+                // keep the escape sequence for unescape
+                sb.append(c).append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Replaces the escape sequences of a joined key or value, as
+     * {@code Properties} does.
+     */
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            c = s.charAt(++i);
+            switch (c) {
+                case 'u':
+                    if (i + 4 >= length) {
+                        throw malformedUnicodeEscape();
+                    }
+                    int code = 0;
+                    for (int j = 0; j < 4; j++) {
+                        int digit = Character.digit(s.charAt(++i), 16);
+                        if (digit < 0) {
+                            throw malformedUnicodeEscape();
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    sb.append((char) code);
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static IllegalArgumentException malformedUnicodeEscape() {
+        return new IllegalArgumentException("Malformed \\uxxxx encoding.");
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    private static boolean isLineTerminator(int c) {
+        return c == '\r' || c == '\n';
+    }
+
+    private static boolean isHexDigit(int c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * Finds the keys and values in the bytes, following the logical lines of
+     * {@code Properties.load} without joining them.
+     */
+    private static final class Parser {
+
+        private final ByteBuffer bytes;
+        private final Charset charset;
+        private final int limit;
+        private int position;
+
+        int[] entries = new int[STRIDE * 64];
+        int count;
+
+        // the state of the key or value being scanned
+        private boolean complex;
+        // whether anything other than line continuations was scanned
+        private boolean content;
+        // whether the input ends with a line continuation
+        private boolean continuedToEnd;
+        private boolean escaped;
+        private int pendingHexDigits;
+
+        Parser(ByteBuffer bytes, Charset charset) {
+            this.bytes = bytes;
+            this.charset = charset;
+            this.position = bytes.position();
+            this.limit = bytes.limit();
+        }
+
+        void parse() {
+            for (; ; ) {
+                // skip whitespace and blank lines
+                while (position < limit
+                        && (isWhitespace(bytes.get(position)) || isLineTerminator(bytes.get(position)))) {
+                    position++;
+                }
+                if (position == limit) {
+                    return;
+                }
+
+                byte b = bytes.get(position);
+                if (b == '#' || b == '!') {
+                    skipLine();
+                } else {
+                    parseEntry();
+                }
+            }
+        }
+
+        private void parseEntry() {
+            int keyStart = position;
+            boolean separator = false;
+            startScan();
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (!content && (b == '#' || b == '!')) {
+                    // line continuations with nothing before them leave the
+                    // logical line empty, so it can still be a comment
+                    skipLine();
+                    return;
+                }
+                if (scanned(b)) {
+                    continue;
+                }
+                if (b == '=' || b == ':') {
+                    separator = true;
+                    break;
+                }
+                if (isWhitespace(b) || isLineTerminator(b)) {
+                    break;
+                }
+                content = true;
+                position++;
+            }
+            int keyEnd = endScan();
+            if (!content && !continuedToEnd && (position == limit || isLineTerminator(bytes.get(position)))) {
+                // a line made of line continuations only is a blank line,
+                // unless it is the last one
+                return;
+            }
+            int hash = complex
+                    ? decode(bytes, charset, keyStart, keyEnd | COMPLEX).hashCode()
+                    : hash(bytes, keyStart, keyEnd);
+            int flaggedKeyEnd = complex ? keyEnd | COMPLEX : keyEnd;
+
+            // skip the whitespace and the separator between key and value
+            if (position < limit && !isLineTerminator(bytes.get(position))) {
+                position++;
+            }
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (b == '\\' && isContinuation(position)) {
+                    skipContinuation();
+                } else if (isWhitespace(b)) {
+                    position++;
+                } else if (!separator && (b == '=' || b == ':')) {
+                    separator = true;
+                    position++;
+                } else {
+                    break;
+                }
+            }
+
+            int valueStart = position;
+            startScan();
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (scanned(b)) {
+                    continue;
+                }
+                if (isLineTerminator(b)) {
+                    break;
+                }
+                position++;
+            }
+            int valueEnd = endScan();
+
+            add(hash, keyStart, flaggedKeyEnd, valueStart, complex ? valueEnd | COMPLEX : valueEnd);
+        }
+
+        /**
+         * Skips a comment line: comments end at the end of the line, even if
+         * it ends with a backslash.
+         */
+        private void skipLine() {
+            while (position < limit && !isLineTerminator(bytes.get(position))) {
+                position++;
+            }
+        }
+
+        private void startScan() {
+            complex = false;
+            content = false;
+            continuedToEnd = false;
+            escaped = false;
+            pendingHexDigits = 0;
+        }
+
+        /**
+         * Scans {@code b}, the byte at the current position, if it is part of
+         * a line continuation or an escape sequence, and returns whether it
+         * did so.
+         */
+        private boolean scanned(byte b) {
+            if (b == '\\' && !escaped && isContinuation(position)) {
+                complex = true;
+                skipContinuation();
+                return true;
+            }
+            if (pendingHexDigits > 0) {
+                if (!isHexDigit(b)) {
+                    throw malformedUnicodeEscape();
+                }
+                pendingHexDigits--;
+                content = true;
+                position++;
+                return true;
+            }
+            if (escaped) {
+                escaped = false;
+                if (b == 'u') {
+                    pendingHexDigits = 4;
+                }
+                content = true;
+                position++;
+                return true;
+            }
+            if (b == '\\') {
+                complex = true;
+                escaped = true;
+                content = true;
+                position++;
+                return true;
+            }
+            if (b < 0) {
+                complex = true;
+            }
+            return false;
+        }
+
+        private int endScan() {
+            if (pendingHexDigits > 0) {
+                throw malformedUnicodeEscape();
+            }
+            return position;
+        }
+
+        private boolean isContinuation(int backslashPosition) {
+            return backslashPosition + 1 == limit || isLineTerminator(bytes.get(backslashPosition + 1));
+        }
+
+        private void skipContinuation() {
+            position++;
+            if (position == limit) {
+                continuedToEnd = true;
+                return;
+            }
+            byte terminator = bytes.get(position++);
+            if (position == limit) {
+                continuedToEnd = true;
+                return;
+            }
+            if (terminator == '\r' && position < limit && bytes.get(position) == '\n') {
+                position++;
+            }
+            while (position < limit && isWhitespace(bytes.get(position))) {
+                position++;
+            }
+        }
+
+        private void add(int hash, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+            if ((count + 1) * STRIDE > entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            int offset = count * STRIDE;
+            entries[offset + HASH] = hash;
+            entries[offset + KEY_START] = keyStart;
+            entries[offset + KEY_END] = keyEnd;
+            entries[offset + VALUE_START] = valueStart;
+            entries[offset + VALUE_END] = valueEnd;
+            count++;
+        }
+    }
+
+    private final class MapView extends AbstractMap<String, String> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String get(Object key) {
+            return (key instanceof String) ? MappedPropertiesIndex.this.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int slot = nextSlot(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return slot < table.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int entry = table[slot] - 1;
+                            slot = nextSlot(slot + 1);
+                            return new SimpleImmutableEntry<>(key(entry), value(entry));
+                        }
+                    };
+                }
+            };
+        }
+
+        private int nextSlot(int slot) {
+            while (slot < table.length && table[slot] == 0) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+}
@@ -0,0 +1,548 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.giogt.commons.core.properties.exceptions.CannotLoadPropertiesFileException;
+import org.giogt.commons.core.properties.exceptions.CannotWritePropertiesFileException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A properties store backed by a file, that persists the properties set on
+ * it. Example:
+ * <pre>   {@code
+ * <p>
+ *   PersistentFilePropertiesStore store = PersistentFilePropertiesStore.builder()
+ *       .withPropertiesFile(file)
+ *       .withFlushDelay(1, TimeUnit.SECONDS)
+ *       .build();
+ *   store.setProperty("service.timeout", "PT5S");
+ *   ...
+ *   store.close();}</pre>
+ * <p>
+ * <p>Properties set on the store are visible at once, from an in-memory
+ * overlay of the properties of the file, and are written to the file in
+ * batches: after the flush delay from the first write of a batch, or as soon
+ * as the number of pending properties reaches the maximum. Writes of the same
+ * property before a flush are coalesced, so a property changed many times is
+ * written once.
+ * <p>
+ * <p>A flush writes all the properties to a temporary file in the directory of
+ * the properties file, forces it to the storage device, then moves it over
+ * the properties file atomically: after a crash the file holds either the
+ * properties before the flush or the properties after it, never part of them.
+ * The new file gets the POSIX permissions of the file it replaces, and its
+ * owner and group where the process is allowed to set them. Readers never
+ * block, not even while the file is written, and writers block
+ * only while a flush takes its batch.
+ */
+public class PersistentFilePropertiesStore extends ReadAndWritePropertiesStore implements Closeable {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(PersistentFilePropertiesStore.class);
+
+    private final File propertiesFile;
+    private final Charset charset;
+    private final long flushDelayNanos;
+    private final int maxPendingWrites;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownedScheduler;
+
+    // an immutable snapshot of the properties of the file, replaced as a
+    // whole by flushes and refreshes
+    private volatile Map<String, String> properties;
+    // the properties set since the last flush, empty if removed: they take
+    // precedence over the properties of the file
+    private final ConcurrentHashMap<String, Optional<String>> overlay = new ConcurrentHashMap<>();
+
+    // serializes writes, and the takes of the overlay by flushes
+    private final Object writeLock = new Object();
+    // serializes flushes and refreshes, so that a snapshot never replaces a
+    // newer one
+    private final Object flushLock = new Object();
+
+    // guarded by writeLock
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    PersistentFilePropertiesStore(
+            File propertiesFile,
+            Charset charset,
+            long flushDelayNanos,
+            int maxPendingWrites,
+            ScheduledExecutorService scheduler) {
+
+        this.propertiesFile = propertiesFile;
+        this.charset = charset;
+        this.flushDelayNanos = flushDelayNanos;
+        this.maxPendingWrites = maxPendingWrites;
+        this.ownedScheduler = (scheduler == null);
+        this.scheduler = ownedScheduler ? newScheduler() : scheduler;
+
+        this.properties = readPropertiesFile();
+    }
+
+    public File getPropertiesFile() {
+        return propertiesFile;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        if (!overlay.isEmpty()) {
+            Optional<String> value = overlay.get(key);
+            if (value != null) {
+                return value.orElse(null);
+            }
+        }
+        return properties.get(key);
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the properties: it is not copied if
+     * there are no pending writes, and it is not affected by later changes.
+     */
+    @Override
+    public Map<String, String> getProperties() {
+        while (true) {
+            Map<String, String> snapshot = properties;
+            Map<String, Optional<String>> writes = overlay.isEmpty() ? null : new HashMap<>(overlay);
+            // a flush publishes its snapshot before removing its writes from
+            // the overlay: if the snapshot is unchanged, the copy of the
+            // overlay has all the writes missing from it
+            if (properties != snapshot) {
+                continue;
+            }
+            if (writes == null) {
+                return snapshot;
+            }
+
+            Map<String, String> propertiesMap = new HashMap<>(snapshot);
+            apply(writes, propertiesMap);
+            return Collections.unmodifiableMap(propertiesMap);
+        }
+    }
+
+    /**
+     * Sets the value of a property, or removes the property if {@code value}
+     * is {@code null}. The new value is visible at once, and is written to the
+     * file by a later flush.
+     *
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public void setProperty(String key, String value) {
+        Preconditions.notNull(key, "key");
+
+        synchronized (writeLock) {
+            if (closed) {
+                throw new IllegalStateException("properties store <" + propertiesFile.getPath() + "> is closed");
+            }
+
+            String oldValue = getProperty(key);
+            if (value == null ? oldValue == null : value.equals(oldValue)) {
+                return;
+            }
+
+            overlay.put(key, Optional.ofNullable(value));
+            scheduleFlush();
+
+            if (changeSupport.hasSubscriptions()) {
+                changeSupport.queue(PropertiesChange.builder(this)
+                        .put(key, oldValue, value)
+                        .build());
+            }
+        }
+
+        // listeners are called without the write lock, so that they can
+        // flush the store or wait for threads that write it
+        changeSupport.fireQueued();
+    }
+
+    /**
+     * Reads the properties file again, to get the changes made to it by other
+     * processes, then notifies the subscribers of the properties that changed,
+     * if any. Pending writes take precedence over the properties of the file.
+     */
+    @Override
+    public void refresh() throws CannotLoadPropertiesFileException {
+        synchronized (flushLock) {
+            Map<String, String> snapshot = readPropertiesFile();
+
+            synchronized (writeLock) {
+                Map<String, String> oldSnapshot = properties;
+                properties = snapshot;
+
+                if (changeSupport.hasSubscriptions()) {
+                    Set<String> keys = new HashSet<>(oldSnapshot.keySet());
+                    keys.addAll(snapshot.keySet());
+                    keys.removeAll(overlay.keySet());
+
+                    PropertiesChange.Builder changeBuilder = PropertiesChange.builder(this);
+                    for (String key : keys) {
+                        changeBuilder.put(key, oldSnapshot.get(key), snapshot.get(key));
+                    }
+                    changeSupport.queue(changeBuilder.build());
+                }
+            }
+        }
+
+        // as for writes, without the locks
+        changeSupport.fireQueued();
+    }
+
+    /**
+     * Writes the pending writes to the properties file, if any.
+     *
+     * @throws CannotWritePropertiesFileException if the file cannot be
+     *                                            written: the writes remain
+     *                                            pending
+     */
+    public void flush() throws CannotWritePropertiesFileException {
+        synchronized (flushLock) {
+            Map<String, Optional<String>> batch;
+            synchronized (writeLock) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (overlay.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(overlay);
+            }
+
+            Map<String, String> snapshot = new HashMap<>(properties);
+            apply(batch, snapshot);
+            writePropertiesFile(snapshot);
+
+            // the new snapshot is published before the batch is removed from
+            // the overlay, so that readers never see the old values again;
+            // the properties written again since the batch was taken stay
+            properties = Collections.unmodifiableMap(snapshot);
+            for (Map.Entry<String, Optional<String>> write : batch.entrySet()) {
+                overlay.remove(write.getKey(), write.getValue());
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending writes, then stops the store: properties can no
+     * longer be set on it.
+     */
+    @Override
+    public void close() throws CannotWritePropertiesFileException {
+        synchronized (writeLock) {
+            closed = true;
+        }
+        try {
+            flush();
+        } finally {
+            if (ownedScheduler) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Schedules a flush after the flush delay, unless one is scheduled already,
+     * or right away if there are too many pending writes. Must be called
+     * holding the write lock.
+     */
+    private void scheduleFlush() {
+        if (overlay.size() >= maxPendingWrites) {
+            if (scheduledFlush == null || scheduledFlush.getDelay(TimeUnit.NANOSECONDS) > 0) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                scheduledFlush = scheduler.schedule(this::scheduledFlush, 0, TimeUnit.NANOSECONDS);
+            }
+        } else if (scheduledFlush == null) {
+            scheduledFlush = scheduler.schedule(this::scheduledFlush, flushDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.error("cannot flush properties store <" + propertiesFile.getPath() + ">: retrying later", e);
+            synchronized (writeLock) {
+                if (scheduledFlush == null && !closed) {
+                    scheduledFlush = scheduler.schedule(this::scheduledFlush, flushDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the properties of the file, or no properties if it does not
+     * exist.
+     */
+    private Map<String, String> readPropertiesFile() throws CannotLoadPropertiesFileException {
+        Properties fileProperties = new Properties();
+        try {
+            byte[] content = Files.readAllBytes(propertiesFile.toPath());
+            fileProperties.load(new StringReader(new String(content, charset)));
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            throw new CannotLoadPropertiesFileException("cannot load specified properties file <" +
+                    propertiesFile.getPath() + ">",
+                    e);
+        }
+
+        Map<String, String> snapshot = new HashMap<>((int) (fileProperties.size() / 0.75f) + 1);
+        for (String key : fileProperties.stringPropertyNames()) {
+            snapshot.put(key, fileProperties.getProperty(key));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Replaces the properties file with a file holding {@code snapshot}: the
+     * properties are written to a temporary file, that is forced to the
+     * storage device, gets the attributes of the properties file and is then
+     * moved over it.
+     */
+    private void writePropertiesFile(Map<String, String> snapshot) throws CannotWritePropertiesFileException {
+        Path file = propertiesFile.toPath().toAbsolutePath();
+        Path directory = file.getParent();
+
+        Path tempFile = null;
+        try {
+            byte[] content = serialize(snapshot);
+            // not Files.createTempFile: it restricts the permissions to the
+            // owner, the default permissions of a new properties file are kept
+            Path tempPath = directory.resolve(file.getFileName() + "." +
+                    Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try (FileChannel channel = FileChannel.open(
+                    tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                tempFile = tempPath;
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            copyAttributes(file, tempFile);
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+        } catch (IOException e) {
+            throw new CannotWritePropertiesFileException(
+                    "cannot write properties file <" + propertiesFile.getPath() + ">",
+                    e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    LOGGER.warn("cannot delete temporary properties file <" + tempFile + ">", e);
+                }
+            }
+        }
+
+        forceDirectory(directory);
+    }
+
+    /**
+     * Sets the POSIX permissions of {@code source} on {@code target}, and its
+     * owner and group if allowed, when {@code source} exists.
+     */
+    private static void copyAttributes(Path source, Path target) throws IOException {
+        PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null) {
+            // not a POSIX file system
+            return;
+        }
+
+        PosixFileAttributes attributes;
+        try {
+            attributes = sourceView.readAttributes();
+        } catch (NoSuchFileException e) {
+            return;
+        }
+
+        PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        targetView.setPermissions(attributes.permissions());
+        try {
+            targetView.setOwner(attributes.owner());
+            targetView.setGroup(attributes.group());
+        } catch (IOException e) {
+            // only privileged processes can give files away
+            LOGGER.debug("cannot set owner and group of <" + source + "> on the replacing file", e);
+        }
+    }
+
+    /**
+     * Returns the content of a properties file holding {@code snapshot}.
+     * Charsets that cannot encode every character get the characters other
+     * than ASCII as <tt>&#92;uXXXX</tt> escapes, written by
+     * {@link Properties#store(java.io.OutputStream, String)}, instead of
+     * replacement characters.
+     */
+    private byte[] serialize(Map<String, String> snapshot) throws IOException {
+        Properties fileProperties = new Properties();
+        fileProperties.putAll(snapshot);
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (charset.contains(StandardCharsets.UTF_8)) {
+            // malformed values (unpaired surrogates) fail the flush
+            CharsetEncoder encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            try (Writer writer = new OutputStreamWriter(content, encoder)) {
+                fileProperties.store(writer, null);
+            }
+            return content.toByteArray();
+        }
+
+        // pure ASCII, in any charset that is a superset of it
+        fileProperties.store(content, null);
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            return content.toByteArray();
+        }
+        return new String(content.toByteArray(), StandardCharsets.ISO_8859_1).getBytes(charset);
+    }
+
+    /**
+     * Forces the entry of the moved file to the storage device, where
+     * directories can be opened (not on Windows).
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported by the platform
+        }
+    }
+
+    private static void apply(Map<String, Optional<String>> writes, Map<String, String> propertiesMap) {
+        for (Map.Entry<String, Optional<String>> write : writes.entrySet()) {
+            if (write.getValue().isPresent()) {
+                propertiesMap.put(write.getKey(), write.getValue().get());
+            } else {
+                propertiesMap.remove(write.getKey());
+            }
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "persistent-properties-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+        public static final long DEFAULT_FLUSH_DELAY_MILLIS = 1000;
+        public static final int DEFAULT_MAX_PENDING_WRITES = 1024;
+
+        File propertiesFile;
+        Charset charset = DEFAULT_CHARSET;
+        long flushDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_DELAY_MILLIS);
+        int maxPendingWrites = DEFAULT_MAX_PENDING_WRITES;
+        ScheduledExecutorService scheduler;
+
+        public Builder withPropertiesFile(File propertiesFile) {
+            this.propertiesFile = propertiesFile;
+            return this;
+        }
+
+        public Builder withCharset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        public Builder withCharset(String charsetName) {
+            this.charset = Charset.forName(charsetName);
+            return this;
+        }
+
+        /**
+         * Sets the time after which pending writes are flushed (1 second by
+         * default).
+         */
+        public Builder withFlushDelay(long flushDelay, TimeUnit unit) {
+            Preconditions.checkArgument(flushDelay >= 0, "flushDelay must not be negative");
+            this.flushDelayNanos = Preconditions.notNull(unit, "unit").toNanos(flushDelay);
+            return this;
+        }
+
+        /**
+         * Sets the number of pending properties that causes a flush right away
+         * (1024 by default).
+         */
+        public Builder withMaxPendingWrites(int maxPendingWrites) {
+            Preconditions.checkArgument(maxPendingWrites > 0, "maxPendingWrites must be positive");
+            this.maxPendingWrites = maxPendingWrites;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler of the flushes. By default, the store has its own
+         * daemon thread, stopped when the store is closed.
+         */
+        public Builder withScheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public PersistentFilePropertiesStore build() throws CannotLoadPropertiesFileException {
+            Preconditions.notNull(propertiesFile, "propertiesFile");
+            Preconditions.notNull(charset, "charset");
+            return new PersistentFilePropertiesStore(
+                    propertiesFile,
+                    charset,
+                    flushDelayNanos,
+                    maxPendingWrites,
+                    scheduler);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.giogt.commons.core.properties.stores;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The sorted keys of an immutable snapshot of properties, to find the
+ * properties whose key starts with a prefix with a binary search, in
+ * {@code O(log(properties) + matches)}.
+ * <p>
+ * <p>Stores build it lazily from their current snapshot, and build it again
+ * when the snapshot is replaced, see {@link #isOf(Object)}.
+ */
+final class PrefixIndex {
+
+    private final Object snapshot;
+    private final String[] sortedKeys;
+    private final Map<String, String> properties;
+
+    private PrefixIndex(Object snapshot, String[] keys, Map<String, String> properties) {
+        Arrays.sort(keys);
+        this.snapshot = snapshot;
+        this.sortedKeys = keys;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the index of {@code properties}, an immutable map.
+     */
+    static PrefixIndex of(Map<String, String> properties) {
+        return new PrefixIndex(properties, properties.keySet().toArray(new String[0]), properties);
+    }
+
+    /**
+     * Returns the index of {@code properties}, an immutable map view of
+     * {@code snapshot} whose keys are {@code keys}.
+     */
+    static PrefixIndex of(Object snapshot, String[] keys, Map<String, String> properties) {
+        return new PrefixIndex(snapshot, keys, properties);
+    }
+
+    /**
+     * Returns whether this is the index of {@code snapshot}.
+     */
+    boolean isOf(Object snapshot) {
+        return this.snapshot == snapshot;
+    }
+
+    /**
+     * Returns the properties whose key starts with {@code keyPrefix}, in key
+     * order.
+     */
+    Map<String, String> getPropertiesWithPrefix(String keyPrefix) {
+        int from = Arrays.binarySearch(sortedKeys, keyPrefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        Map<String, String> propertiesMap = new LinkedHashMap<>();
+        for (int i = from; i < sortedKeys.length && sortedKeys[i].startsWith(keyPrefix); i++) {
+            propertiesMap.put(sortedKeys[i], properties.get(sortedKeys[i]));
+        }
+        return propertiesMap;
+    }
+
+}
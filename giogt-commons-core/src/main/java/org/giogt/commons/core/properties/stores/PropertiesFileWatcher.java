@@ -0,0 +1,300 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.exceptions.CannotWatchPropertiesFileException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes properties stores when the files they read change, instead of
+ * refreshing them periodically. Example:
+ * <pre>   {@code
+ * <p>
+ *   PropertiesFileWatcher watcher = PropertiesFileWatcher.builder().build();
+ *   FilePropertiesStore store = FilePropertiesStore.builder()
+ *       .withPropertiesFile(file)
+ *       .build();
+ *   store.subscribe("service.", change -> ...);
+ *   watcher.watch(store);}</pre>
+ * <p>
+ * <p>The directories of the watched files are registered with a single
+ * {@link WatchService}, polled by a daemon thread that also refreshes the
+ * stores. Editors and deployment tools often write a file in several steps
+ * (e.g. truncate then write, or write a temporary file then move it), so a
+ * store is refreshed once its file has not been touched for the debounce
+ * delay, and only if the file exists at that time: a store keeps its
+ * properties while its file is being replaced.
+ * <p>
+ * <p>A {@link FilePropertiesStore} re-reads its file only if its modification
+ * time or size changed, re-parses it only if its content changed, and
+ * notifies its subscribers of the changed properties only.
+ */
+public class PropertiesFileWatcher implements Closeable {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(PropertiesFileWatcher.class);
+
+    private final WatchService watchService;
+    private final long debounceDelayNanos;
+
+    // watched directories, by path; modified while holding the map lock
+    private final ConcurrentMap<Path, WatchedDirectory> directories = new ConcurrentHashMap<>();
+
+    // the times at which files will be refreshed, as System.nanoTime values;
+    // accessed by the watcher thread only
+    private final Map<Path, Long> deadlines = new HashMap<>();
+
+    private volatile boolean closed;
+
+    PropertiesFileWatcher(long debounceDelay, TimeUnit unit) throws CannotWatchPropertiesFileException {
+        this.debounceDelayNanos = unit.toNanos(debounceDelay);
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new CannotWatchPropertiesFileException("cannot create a watch service", e);
+        }
+
+        Thread thread = new Thread(this::run, "properties-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Refreshes {@code store} when its properties file changes.
+     */
+    public void watch(FilePropertiesStore store) throws CannotWatchPropertiesFileException {
+        Preconditions.notNull(store, "store");
+        watch(store.getPropertiesFile(), store);
+    }
+
+    /**
+     * Refreshes {@code store} when {@code file} changes. The directory of the
+     * file must exist, while the file itself may not exist yet.
+     *
+     * @throws CannotWatchPropertiesFileException if the directory of the file
+     *                                            cannot be watched
+     */
+    public void watch(File file, PropertiesStore store) throws CannotWatchPropertiesFileException {
+        Preconditions.notNull(file, "file");
+        Preconditions.notNull(store, "store");
+
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        synchronized (directories) {
+            if (closed) {
+                throw new IllegalStateException("watcher is closed");
+            }
+
+            WatchedDirectory watchedDirectory = directories.get(directory);
+            if (watchedDirectory == null) {
+                try {
+                    WatchKey key = directory.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirectory = new WatchedDirectory(key);
+                } catch (IOException e) {
+                    throw new CannotWatchPropertiesFileException(
+                            "cannot watch directory <" + directory + "> of properties file <" + file.getPath() + ">",
+                            e);
+                }
+                directories.put(directory, watchedDirectory);
+            }
+            watchedDirectory.stores
+                    .computeIfAbsent(path.getFileName(), name -> new CopyOnWriteArrayList<>())
+                    .add(store);
+        }
+    }
+
+    /**
+     * Stops refreshing {@code store} when {@code file} changes.
+     */
+    public void unwatch(File file, PropertiesStore store) {
+        Preconditions.notNull(file, "file");
+
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        synchronized (directories) {
+            WatchedDirectory watchedDirectory = directories.get(directory);
+            if (watchedDirectory == null) {
+                return;
+            }
+
+            List<PropertiesStore> stores = watchedDirectory.stores.get(path.getFileName());
+            if (stores != null && stores.remove(store) && stores.isEmpty()) {
+                watchedDirectory.stores.remove(path.getFileName());
+                if (watchedDirectory.stores.isEmpty()) {
+                    watchedDirectory.key.cancel();
+                    directories.remove(directory);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops refreshing {@code store} when its properties file changes.
+     */
+    public void unwatch(FilePropertiesStore store) {
+        Preconditions.notNull(store, "store");
+        unwatch(store.getPropertiesFile(), store);
+    }
+
+    /**
+     * Stops watching all files. Refreshes in progress are completed, pending
+     * ones are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (directories) {
+            closed = true;
+            directories.clear();
+        }
+        // wakes up the watcher thread
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                WatchKey key;
+                if (deadlines.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    long timeout = nextDeadline() - System.nanoTime();
+                    key = (timeout > 0) ? watchService.poll(timeout, TimeUnit.NANOSECONDS) : watchService.poll();
+                }
+                if (key != null) {
+                    processEvents(key);
+                }
+                refreshDueFiles();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed
+        }
+    }
+
+    private void processEvents(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        long deadline = System.nanoTime() + debounceDelayNanos;
+        WatchedDirectory watchedDirectory = directories.get(directory);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (watchedDirectory == null) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events were lost: any file may have changed
+                for (Path name : watchedDirectory.stores.keySet()) {
+                    deadlines.put(directory.resolve(name), deadline);
+                }
+            } else if (watchedDirectory.stores.containsKey((Path) event.context())) {
+                deadlines.put(directory.resolve((Path) event.context()), deadline);
+            }
+        }
+
+        if (!key.reset()) {
+            LOGGER.warn("directory <" + directory + "> is no longer watched: it may have been deleted");
+        }
+    }
+
+    private long nextDeadline() {
+        Iterator<Long> it = deadlines.values().iterator();
+        long next = it.next();
+        while (it.hasNext()) {
+            long deadline = it.next();
+            // nanoTime values must be compared by difference
+            if (deadline - next < 0) {
+                next = deadline;
+            }
+        }
+        return next;
+    }
+
+    private void refreshDueFiles() {
+        long now = System.nanoTime();
+        for (Iterator<Map.Entry<Path, Long>> it = deadlines.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Long> deadline = it.next();
+            if (deadline.getValue() - now <= 0) {
+                it.remove();
+                refresh(deadline.getKey());
+            }
+        }
+    }
+
+    private void refresh(Path file) {
+        WatchedDirectory watchedDirectory = directories.get(file.getParent());
+        List<PropertiesStore> stores = (watchedDirectory != null)
+                ? watchedDirectory.stores.get(file.getFileName())
+                : null;
+        if (stores == null || !Files.exists(file)) {
+            return;
+        }
+
+        for (PropertiesStore store : stores) {
+            try {
+                store.refresh();
+            } catch (RuntimeException e) {
+                LOGGER.warn("cannot refresh properties store <" + store + "> from properties file <" + file + ">", e);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final class WatchedDirectory {
+        final WatchKey key;
+        // stores, by file name
+        final ConcurrentMap<Path, List<PropertiesStore>> stores = new ConcurrentHashMap<>();
+
+        WatchedDirectory(WatchKey key) {
+            this.key = key;
+        }
+    }
+
+    public static class Builder {
+        public static final long DEFAULT_DEBOUNCE_DELAY_MILLIS = 200;
+
+        long debounceDelay = DEFAULT_DEBOUNCE_DELAY_MILLIS;
+        TimeUnit debounceDelayUnit = TimeUnit.MILLISECONDS;
+
+        /**
+         * Sets how long a file must be left untouched before its stores are
+         * refreshed.
+         */
+        public Builder withDebounceDelay(long debounceDelay, TimeUnit unit) {
+            Preconditions.checkArgument(debounceDelay >= 0, "debounceDelay cannot be negative");
+            this.debounceDelay = debounceDelay;
+            this.debounceDelayUnit = Preconditions.notNull(unit, "unit");
+            return this;
+        }
+
+        /**
+         * Returns a new watcher, whose thread is already started.
+         */
+        public PropertiesFileWatcher build() throws CannotWatchPropertiesFileException {
+            return new PropertiesFileWatcher(debounceDelay, debounceDelayUnit);
+        }
+    }
+}
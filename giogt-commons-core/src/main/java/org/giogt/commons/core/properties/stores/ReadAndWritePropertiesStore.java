@@ -1,9 +1,19 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.properties.PropertiesChangeListener;
+import org.giogt.commons.core.properties.PropertiesChangeSupport;
 import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertiesSubscription;
 
 public abstract class ReadAndWritePropertiesStore implements PropertiesStore {
 
+    protected final PropertiesChangeSupport changeSupport = new PropertiesChangeSupport();
+
+    @Override
+    public PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        return changeSupport.subscribe(keyPrefix, listener);
+    }
+
     @Override
     public boolean isReadOnly() {
         return false;
@@ -1,9 +1,24 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.properties.PropertiesChangeListener;
+import org.giogt.commons.core.properties.PropertiesChangeSupport;
 import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertiesSubscription;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class ReadOnlyPropertiesStore implements PropertiesStore {
 
+    protected final PropertiesChangeSupport changeSupport = new PropertiesChangeSupport();
+
+    @Override
+    public PropertiesSubscription subscribe(String keyPrefix, PropertiesChangeListener listener) {
+        return changeSupport.subscribe(keyPrefix, listener);
+    }
+
     @Override
     public void setProperty(String key, String value) {
         throw new UnsupportedOperationException(
@@ -15,4 +30,21 @@ public abstract class ReadOnlyPropertiesStore implements PropertiesStore {
         return true;
     }
 
+    /**
+     * Returns the properties of {@code snapshot} with the specified keys, see
+     * {@link PropertiesStore#getProperties(Collection)}.
+     */
+    static Map<String, String> getProperties(Map<String, String> snapshot, Collection<String> keys) {
+        Preconditions.notNull(keys, "keys");
+
+        Map<String, String> propertiesMap = new HashMap<>();
+        for (String key : keys) {
+            String value = snapshot.get(key);
+            if (value != null) {
+                propertiesMap.put(key, value);
+            }
+        }
+        return propertiesMap;
+    }
+
 }
@@ -3,6 +3,8 @@ package org.giogt.commons.core.text;
 import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.func.Predicate;
 
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -213,6 +215,11 @@ public abstract class CharMatcher implements Predicate<Character> {
         @Override
         protected void setBits(LookupTable table) {
         }
+
+        @Override
+        boolean hasCheapBits() {
+            return true;
+        }
     };
 
     /**
@@ -262,6 +269,11 @@ public abstract class CharMatcher implements Predicate<Character> {
                     // nicer way to do this?
                     throw new UnsupportedOperationException(); // COV_NF_LINE
                 }
+
+                @Override
+                boolean hasCheapBits() {
+                    return true;
+                }
             }.precomputed();
 
     /**
@@ -403,6 +415,11 @@ public abstract class CharMatcher implements Predicate<Character> {
             protected void setBits(LookupTable table) {
                 table.set(match);
             }
+
+            @Override
+            boolean hasCheapBits() {
+                return true;
+            }
         };
     }
 
@@ -433,6 +450,20 @@ public abstract class CharMatcher implements Predicate<Character> {
             public CharMatcher negate() {
                 return is(match);
             }
+
+            @Override
+            protected void setBits(LookupTable table) {
+                long[] data = table.data;
+                int matchIndex = match >> 6;
+                for (int i = 0; i < data.length; i++) {
+                    data[i] |= (i == matchIndex) ? ~(1L << match) : -1L;
+                }
+            }
+
+            @Override
+            boolean hasCheapBits() {
+                return true;
+            }
         };
     }
 
@@ -460,25 +491,26 @@ public abstract class CharMatcher implements Predicate<Character> {
                         table.set(match1);
                         table.set(match2);
                     }
+
+                    @Override
+                    boolean hasCheapBits() {
+                        return true;
+                    }
                 };
         }
 
-        final char[] chars = sequence.toString().toCharArray();
-        Arrays.sort(chars); // not worth collapsing duplicates
-
-        return new CharMatcher() {
-            @Override
-            public boolean matches(char c) {
-                return Arrays.binarySearch(chars, c) >= 0;
-            }
-
-            @Override
-            protected void setBits(LookupTable table) {
-                for (char c : chars) {
-                    table.set(c);
-                }
-            }
-        };
+        // a bit table is faster to query than a binary search over the chars,
+        // and it is usually small: it only spans up to the highest char
+        char highest = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            highest = (char) Math.max(highest, sequence.charAt(i));
+        }
+        long[] words = new long[(highest >> 6) + 1];
+        for (int i = 0; i < sequence.length(); i++) {
+            char c = sequence.charAt(i);
+            words[c >> 6] |= (1L << c);
+        }
+        return new TableMatcher(words, false);
     }
 
     /**
@@ -515,6 +547,11 @@ public abstract class CharMatcher implements Predicate<Character> {
                     }
                 }
             }
+
+            @Override
+            boolean hasCheapBits() {
+                return true;
+            }
         };
     }
 
@@ -553,8 +590,16 @@ public abstract class CharMatcher implements Predicate<Character> {
 
     /**
      * Returns a matcher that matches any character not matched by this matcher.
+     * <p>
+     * <p>If the characters matched by this matcher are cheaply enumerable (e.g.
+     * it is built from {@link #is}, {@link #anyOf}, {@link #inRange} and
+     * their combinations), the returned matcher is backed by a bit table.
      */
     public CharMatcher negate() {
+        if (hasCheapBits()) {
+            return TableMatcher.of(this).negate();
+        }
+
         final CharMatcher original = this;
         return new CharMatcher() {
             @Override
@@ -587,9 +632,12 @@ public abstract class CharMatcher implements Predicate<Character> {
     /**
      * Returns a matcher that matches any character matched by both this matcher
      * and {@code other}.
+     * <p>
+     * <p>If the characters matched by both matchers are cheaply enumerable, the
+     * returned matcher is backed by a bit table.
      */
     public CharMatcher and(CharMatcher other) {
-        return new And(Arrays.asList(this, Preconditions.notNull(other, "other")));
+        return compile(new And(Arrays.asList(this, Preconditions.notNull(other, "other"))));
     }
 
     private static class And extends CharMatcher {
@@ -613,16 +661,43 @@ public abstract class CharMatcher implements Predicate<Character> {
         public CharMatcher and(CharMatcher other) {
             List<CharMatcher> newComponents = new ArrayList<>(components);
             newComponents.add(Preconditions.notNull(other, "other"));
-            return new And(newComponents);
+            return compile(new And(newComponents));
+        }
+
+        @Override
+        protected void setBits(LookupTable table) {
+            LookupTable intersection = null;
+            for (CharMatcher matcher : components) {
+                LookupTable componentTable = new LookupTable();
+                matcher.setBits(componentTable);
+                if (intersection == null) {
+                    intersection = componentTable;
+                } else {
+                    for (int i = 0; i < intersection.data.length; i++) {
+                        intersection.data[i] &= componentTable.data[i];
+                    }
+                }
+            }
+            for (int i = 0; i < table.data.length; i++) {
+                table.data[i] |= intersection.data[i];
+            }
+        }
+
+        @Override
+        boolean hasCheapBits() {
+            return allHaveCheapBits(components);
         }
     }
 
     /**
      * Returns a matcher that matches any character matched by either this matcher
      * or {@code other}.
+     * <p>
+     * <p>If the characters matched by both matchers are cheaply enumerable, the
+     * returned matcher is backed by a bit table.
      */
     public CharMatcher or(CharMatcher other) {
-        return new Or(Arrays.asList(this, Preconditions.notNull(other, "other")));
+        return compile(new Or(Arrays.asList(this, Preconditions.notNull(other, "other"))));
     }
 
     private static class Or extends CharMatcher {
@@ -646,7 +721,7 @@ public abstract class CharMatcher implements Predicate<Character> {
         public CharMatcher or(CharMatcher other) {
             List<CharMatcher> newComponents = new ArrayList<>(components);
             newComponents.add(Preconditions.notNull(other, "other"));
-            return new Or(newComponents);
+            return compile(new Or(newComponents));
         }
 
         @Override
@@ -655,33 +730,26 @@ public abstract class CharMatcher implements Predicate<Character> {
                 matcher.setBits(table);
             }
         }
+
+        @Override
+        boolean hasCheapBits() {
+            return allHaveCheapBits(components);
+        }
     }
 
     /**
      * Returns a {@code char} matcher functionally equivalent to this one, but
-     * with its configuration cached in an eight-kilobyte bit array. In some
-     * situations this produces a matcher which is faster to query than the
-     * original; your mileage may vary.
+     * with its configuration cached in a bit array (at most eight kilobytes).
+     * In some situations this produces a matcher which is faster to query than
+     * the original; your mileage may vary.
      * <p>
      * <p>The default implementation creates a new bit array and passes it to
      * {@link #setBits(LookupTable)}.
      */
     public CharMatcher precomputed() {
-        final LookupTable table = new LookupTable();
+        LookupTable table = new LookupTable();
         setBits(table);
-
-        return new CharMatcher() {
-            @Override
-            public boolean matches(char c) {
-                return table.get(c);
-            }
-
-
-            @Override
-            public CharMatcher precomputed() {
-                return this;
-            }
-        };
+        return TableMatcher.of(table);
     }
 
     /**
@@ -704,6 +772,29 @@ public abstract class CharMatcher implements Predicate<Character> {
         }
     }
 
+    /**
+     * Returns {@code true} if {@link #setBits(LookupTable)} enumerates the
+     * matching characters directly, instead of invoking {@link #matches} for
+     * every possible character value. Combinations of such matchers are
+     * compiled to a bit table as soon as they are created.
+     */
+    boolean hasCheapBits() {
+        return false;
+    }
+
+    private static boolean allHaveCheapBits(List<CharMatcher> matchers) {
+        for (CharMatcher matcher : matchers) {
+            if (!matcher.hasCheapBits()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CharMatcher compile(CharMatcher matcher) {
+        return matcher.hasCheapBits() ? TableMatcher.of(matcher) : matcher;
+    }
+
     /**
      * A bit array with one bit per {@code char} value, used by {@link
      * CharMatcher#precomputed}.
@@ -722,6 +813,84 @@ public abstract class CharMatcher implements Predicate<Character> {
         }
     }
 
+    /**
+     * A matcher backed by a bit array, truncated after the last word that
+     * differs from the (all zeros or all ones) words that follow it: most
+     * tables only span the ASCII or Latin-1 ranges, and a few hundred bytes
+     * fit in the CPU cache much better than eight kilobytes.
+     */
+    private static final class TableMatcher extends CharMatcher {
+        private final long[] words;
+        // whether the chars beyond the end of words match
+        private final boolean matchesAbove;
+
+        private TableMatcher(long[] words, boolean matchesAbove) {
+            this.words = words;
+            this.matchesAbove = matchesAbove;
+        }
+
+        static TableMatcher of(CharMatcher matcher) {
+            if (matcher instanceof TableMatcher) {
+                return (TableMatcher) matcher;
+            }
+            LookupTable table = new LookupTable();
+            matcher.setBits(table);
+            return of(table);
+        }
+
+        static TableMatcher of(LookupTable table) {
+            long[] data = table.data;
+            long fill = data[data.length - 1];
+            if (fill != 0L && fill != -1L) {
+                return new TableMatcher(data, false);
+            }
+
+            int length = data.length;
+            while (length > 0 && data[length - 1] == fill) {
+                length--;
+            }
+            return new TableMatcher(Arrays.copyOf(data, length), fill == -1L);
+        }
+
+        @Override
+        public boolean matches(char c) {
+            int index = c >> 6;
+            return index < words.length
+                    ? (words[index] & (1L << c)) != 0
+                    : matchesAbove;
+        }
+
+        @Override
+        public CharMatcher negate() {
+            long[] negated = new long[words.length];
+            for (int i = 0; i < words.length; i++) {
+                negated[i] = ~words[i];
+            }
+            return new TableMatcher(negated, !matchesAbove);
+        }
+
+        @Override
+        public CharMatcher precomputed() {
+            return this;
+        }
+
+        @Override
+        protected void setBits(LookupTable table) {
+            long[] data = table.data;
+            for (int i = 0; i < words.length; i++) {
+                data[i] |= words[i];
+            }
+            if (matchesAbove) {
+                Arrays.fill(data, words.length, data.length, -1L);
+            }
+        }
+
+        @Override
+        boolean hasCheapBits() {
+            return true;
+        }
+    }
+
     // Text processing routines
 
     /**
@@ -1121,6 +1290,239 @@ public abstract class CharMatcher implements Predicate<Character> {
         return builder.toString();
     }
 
+    // In-place text processing routines
+
+    /**
+     * Removes all matching characters from a range of a char array, moving the
+     * non-matching ones (in order) to the beginning of the range. For example,
+     * given {@code chars = "bazaar".toCharArray()}: <pre>   {@code
+     * <p>
+     *   CharMatcher.is('a').removeFrom(chars, 0, chars.length)}</pre>
+     * <p>
+     * ... returns {@code 3}, and {@code chars} starts with {@code "bzr"}.
+     * <p>
+     * <p>The content of the array after the new end of the range is
+     * unspecified.
+     *
+     * @param chars the array containing the characters to process
+     * @param start the index of the first character of the range
+     * @param end   the index immediately after the last character of the range
+     * @return the new length of the range
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} are not
+     *                                   valid indexes of a range of {@code chars}
+     */
+    public int removeFrom(char[] chars, int start, int end) {
+        return filter(chars, start, end, false);
+    }
+
+    /**
+     * Removes all non-matching characters from a range of a char array, moving
+     * the matching ones (in order) to the beginning of the range, exactly as
+     * {@link #removeFrom(char[], int, int)} does for matching characters.
+     *
+     * @return the new length of the range
+     */
+    public int retainFrom(char[] chars, int start, int end) {
+        return filter(chars, start, end, true);
+    }
+
+    private int filter(char[] chars, int start, int end, boolean retain) {
+        checkRange(chars, start, end);
+
+        int pos = start;
+        while (pos < end && matches(chars[pos]) == retain) {
+            pos++;
+        }
+        int length = pos;
+        for (pos++; pos < end; pos++) {
+            char c = chars[pos];
+            if (matches(c) == retain) {
+                chars[length++] = c;
+            }
+        }
+        return length - start;
+    }
+
+    /**
+     * Removes the matching characters at the beginning and at the end of a
+     * range of a char array, moving the remaining ones to the beginning of the
+     * range, exactly as {@link #trimFrom(CharSequence)} does.
+     *
+     * @return the new length of the range
+     */
+    public int trimFrom(char[] chars, int start, int end) {
+        checkRange(chars, start, end);
+
+        int first;
+        int last;
+        for (first = start; first < end; first++) {
+            if (!matches(chars[first])) {
+                break;
+            }
+        }
+        for (last = end - 1; last > first; last--) {
+            if (!matches(chars[last])) {
+                break;
+            }
+        }
+
+        int length = Math.max(last + 1 - first, 0);
+        if (first > start) {
+            System.arraycopy(chars, first, chars, start, length);
+        }
+        return length;
+    }
+
+    /**
+     * Replaces each group of consecutive matching characters in a range of a
+     * char array with a single replacement character, moving the remaining
+     * characters to close the gaps, exactly as
+     * {@link #collapseFrom(CharSequence, char)} does.
+     *
+     * @return the new length of the range
+     */
+    public int collapseFrom(char[] chars, int start, int end, char replacement) {
+        checkRange(chars, start, end);
+
+        int length = start;
+        boolean in = false;
+        for (int pos = start; pos < end; pos++) {
+            char c = chars[pos];
+            if (matches(c)) {
+                if (!in) {
+                    chars[length++] = replacement;
+                    in = true;
+                }
+            } else {
+                chars[length++] = c;
+                in = false;
+            }
+        }
+        return length - start;
+    }
+
+    /**
+     * Collapses groups of matching characters in a range of a char array
+     * exactly as {@link #collapseFrom(char[], int, int, char)} does, except
+     * that groups of matching characters at the start or end of the range are
+     * removed without replacement.
+     *
+     * @return the new length of the range
+     */
+    public int trimAndCollapseFrom(char[] chars, int start, int end, char replacement) {
+        checkRange(chars, start, end);
+
+        int length = start;
+        boolean inMatchingGroup = false;
+        for (int pos = start; pos < end; pos++) {
+            char c = chars[pos];
+            if (matches(c)) {
+                inMatchingGroup = true;
+            } else {
+                if (inMatchingGroup && length > start) {
+                    chars[length++] = replacement;
+                }
+                inMatchingGroup = false;
+                chars[length++] = c;
+            }
+        }
+        return length - start;
+    }
+
+    /**
+     * Removes all matching characters between the position and the limit of a
+     * char buffer, as {@link #removeFrom(char[], int, int)} does, then sets the
+     * limit of the buffer to the new end of the text. The position of the
+     * buffer is not changed.
+     * <p>
+     * <p>Buffers backed by an accessible array are processed in place, other
+     * buffers (e.g. direct buffers) through a temporary copy.
+     *
+     * @return the new number of characters remaining in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     */
+    public int removeFrom(CharBuffer buffer) {
+        return process(buffer, (chars, start, end) -> removeFrom(chars, start, end));
+    }
+
+    /**
+     * Removes all non-matching characters between the position and the limit
+     * of a char buffer, as {@link #retainFrom(char[], int, int)} does; see
+     * {@link #removeFrom(CharBuffer)}.
+     *
+     * @return the new number of characters remaining in the buffer
+     */
+    public int retainFrom(CharBuffer buffer) {
+        return process(buffer, (chars, start, end) -> retainFrom(chars, start, end));
+    }
+
+    /**
+     * Trims the characters between the position and the limit of a char
+     * buffer, as {@link #trimFrom(char[], int, int)} does; see
+     * {@link #removeFrom(CharBuffer)}.
+     *
+     * @return the new number of characters remaining in the buffer
+     */
+    public int trimFrom(CharBuffer buffer) {
+        return process(buffer, (chars, start, end) -> trimFrom(chars, start, end));
+    }
+
+    /**
+     * Collapses the groups of matching characters between the position and the
+     * limit of a char buffer, as {@link #collapseFrom(char[], int, int, char)}
+     * does; see {@link #removeFrom(CharBuffer)}.
+     *
+     * @return the new number of characters remaining in the buffer
+     */
+    public int collapseFrom(CharBuffer buffer, char replacement) {
+        return process(buffer, (chars, start, end) -> collapseFrom(chars, start, end, replacement));
+    }
+
+    /**
+     * Trims and collapses the characters between the position and the limit
+     * of a char buffer, as
+     * {@link #trimAndCollapseFrom(char[], int, int, char)} does; see
+     * {@link #removeFrom(CharBuffer)}.
+     *
+     * @return the new number of characters remaining in the buffer
+     */
+    public int trimAndCollapseFrom(CharBuffer buffer, char replacement) {
+        return process(buffer, (chars, start, end) -> trimAndCollapseFrom(chars, start, end, replacement));
+    }
+
+    private interface RangeOperation {
+        int apply(char[] chars, int start, int end);
+    }
+
+    private static int process(CharBuffer buffer, RangeOperation operation) {
+        Preconditions.notNull(buffer, "buffer");
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+
+        int position = buffer.position();
+        int length;
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + position;
+            length = operation.apply(buffer.array(), start, start + buffer.remaining());
+        } else {
+            char[] chars = new char[buffer.remaining()];
+            buffer.get(chars);
+            length = operation.apply(chars, 0, chars.length);
+            buffer.position(position);
+            buffer.put(chars, 0, length);
+            buffer.position(position);
+        }
+        buffer.limit(position + length);
+        return length;
+    }
+
+    private static void checkRange(char[] chars, int start, int end) {
+        Preconditions.notNull(chars, "chars");
+        Preconditions.checkPositionIndex(end, chars.length, "end");
+        Preconditions.checkPositionIndex(start, end, "start");
+    }
+
     // Predicate interface
 
     /**
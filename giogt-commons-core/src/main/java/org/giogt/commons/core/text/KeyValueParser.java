@@ -0,0 +1,300 @@
+package org.giogt.commons.core.text;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.collections.MultivaluedMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single pass parser of delimited key/value strings, such as query strings
+ * ({@code k1=v1&k2=v2}) or header parameters ({@code a=1; b=2}). Example:
+ * <pre>   {@code
+ * <p>
+ *   KeyValueParser parser = KeyValueParser.on("&", "=").cacheKeys(64);
+ *    . . .
+ *   out.clear();
+ *   parser.parse(queryString, out);}</pre>
+ * <p>
+ * <p>The input is split into entries by the entry delimiter, then each entry
+ * is split into a key and a value by the first occurrence of the key
+ * delimiter. An entry that does not contain the key delimiter (or that
+ * starts with it) is a key with no value. This is the format understood by
+ * {@link Strings#toMultivaluedMap(String, String, String, boolean, boolean)}.
+ * <p>
+ * <p>The input is scanned once and nothing is copied out of it unless
+ * requested: {@link #parse(CharSequence, EntryHandler)} reports the offsets
+ * of each key and value, while {@link #parse(CharSequence, MultivaluedMap)}
+ * adds the entries to a map supplied by the caller, that can be cleared and
+ * reused across calls. Frequent keys can be {@linkplain #cacheKeys(int)
+ * cached}, so that the same key string is returned for every occurrence.
+ * <p>
+ * <p>Parser instances are immutable and safe when used concurrently by
+ * multiple threads; the configuration methods return new instances.
+ */
+public final class KeyValueParser {
+
+    /**
+     * Receives the entries found by
+     * {@link KeyValueParser#parse(CharSequence, EntryHandler)}, in the order
+     * in which they appear in the input.
+     */
+    public interface EntryHandler {
+
+        /**
+         * Handles an entry of the parsed input.
+         *
+         * @param in         the parsed input
+         * @param keyStart   the index of the first character of the key
+         * @param keyEnd     the index immediately after the last character of
+         *                   the key
+         * @param valueStart the index of the first character of the value, or
+         *                   {@code -1} if the entry has no value
+         * @param valueEnd   the index immediately after the last character of
+         *                   the value, or {@code -1} if the entry has no value
+         */
+        void entry(CharSequence in, int keyStart, int keyEnd, int valueStart, int valueEnd);
+    }
+
+    private final String entryDelimiter;
+    private final String keyDelimiter;
+    private final CharMatcher keyTrimmer;
+    private final CharMatcher valueTrimmer;
+    // null if keys are not cached, otherwise its length is a power of two
+    private final String[] keyCache;
+
+    private KeyValueParser(
+            String entryDelimiter,
+            String keyDelimiter,
+            CharMatcher keyTrimmer,
+            CharMatcher valueTrimmer,
+            String[] keyCache) {
+
+        this.entryDelimiter = entryDelimiter;
+        this.keyDelimiter = keyDelimiter;
+        this.keyTrimmer = keyTrimmer;
+        this.valueTrimmer = valueTrimmer;
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Returns a parser that splits entries on {@code entryDelimiter} and keys
+     * from values on {@code keyDelimiter}. If either delimiter is empty, the
+     * whole input is parsed as a single key with no value.
+     */
+    public static KeyValueParser on(String entryDelimiter, String keyDelimiter) {
+        return new KeyValueParser(
+                Preconditions.notNull(entryDelimiter, "entryDelimiter"),
+                Preconditions.notNull(keyDelimiter, "keyDelimiter"),
+                CharMatcher.NONE,
+                CharMatcher.NONE,
+                null);
+    }
+
+    /**
+     * Returns a parser that behaves equivalently to {@code this} parser, but
+     * removes leading and trailing
+     * {@linkplain CharMatcher#WHITESPACE whitespace} from keys.
+     */
+    public KeyValueParser trimKeys() {
+        return new KeyValueParser(entryDelimiter, keyDelimiter, CharMatcher.WHITESPACE, valueTrimmer, keyCache);
+    }
+
+    /**
+     * Returns a parser that behaves equivalently to {@code this} parser, but
+     * removes leading and trailing
+     * {@linkplain CharMatcher#WHITESPACE whitespace} from values.
+     */
+    public KeyValueParser trimValues() {
+        return new KeyValueParser(entryDelimiter, keyDelimiter, keyTrimmer, CharMatcher.WHITESPACE, keyCache);
+    }
+
+    /**
+     * Returns a parser that behaves equivalently to {@code this} parser, but
+     * caches up to (about) {@code cacheSize} keys: a key equal to a cached
+     * one is returned by {@link #key(CharSequence, int, int)} (and added to
+     * maps) as the cached string, without allocating a new one.
+     * <p>
+     * <p>The cache is direct mapped and shared by all the users of the
+     * returned parser; it is meant for the small set of keys that a service
+     * sees over and over (e.g. the parameter names of its own API), not as a
+     * general purpose string pool.
+     *
+     * @throws IllegalArgumentException if {@code cacheSize} is not positive
+     */
+    public KeyValueParser cacheKeys(int cacheSize) {
+        Preconditions.checkArgument(cacheSize > 0, "cacheSize must be positive");
+        int size = Integer.highestOneBit(cacheSize);
+        if (size < cacheSize) {
+            size <<= 1;
+        }
+        return new KeyValueParser(entryDelimiter, keyDelimiter, keyTrimmer, valueTrimmer, new String[size]);
+    }
+
+    /**
+     * Parses {@code in}, passing each entry to {@code handler}. Keys and
+     * values are trimmed, if so configured, before being passed to the
+     * handler. Nothing is reported for an empty input.
+     */
+    public void parse(CharSequence in, EntryHandler handler) {
+        Preconditions.notNull(in, "in");
+        Preconditions.notNull(handler, "handler");
+
+        int length = in.length();
+        if (length == 0) {
+            return;
+        }
+        if (entryDelimiter.isEmpty() || keyDelimiter.isEmpty()) {
+            entry(in, 0, -1, length, handler);
+            return;
+        }
+
+        char entryFirst = entryDelimiter.charAt(0);
+        char keyFirst = keyDelimiter.charAt(0);
+        int entryStart = 0;
+        // the position of the first key delimiter in the current entry, if any
+        int keyDelimiterPosition = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = in.charAt(i);
+            if (c == entryFirst && matchesAt(in, i, entryDelimiter)) {
+                entry(in, entryStart, keyDelimiterPosition, i, handler);
+                i += entryDelimiter.length() - 1;
+                entryStart = i + 1;
+                keyDelimiterPosition = -1;
+            } else if (c == keyFirst && keyDelimiterPosition == -1 && matchesAt(in, i, keyDelimiter)) {
+                // keep scanning from the next char: an entry delimiter may
+                // start inside the key delimiter
+                keyDelimiterPosition = i;
+            }
+        }
+        entry(in, entryStart, keyDelimiterPosition, length, handler);
+    }
+
+    /**
+     * Parses {@code in}, adding each entry to {@code out}: the value of an
+     * entry is added to the list of values of its key, while a key with no
+     * value replaces the values of the key with an empty list. The map is not
+     * cleared before parsing.
+     *
+     * @return {@code out}
+     */
+    public MultivaluedMap<String, String> parse(
+            CharSequence in,
+            final MultivaluedMap<String, String> out) {
+
+        Preconditions.notNull(out, "out");
+        parse(in, new EntryHandler() {
+            @Override
+            public void entry(CharSequence in, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+                String key = key(in, keyStart, keyEnd);
+                if (valueStart == -1) {
+                    out.put(key, new ArrayList<String>());
+                    return;
+                }
+
+                List<String> values = out.get(key);
+                if (values == null) {
+                    // most keys have a single value
+                    values = new ArrayList<>(1);
+                    out.put(key, values);
+                }
+                values.add(substring(in, valueStart, valueEnd));
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Returns the key between {@code start} and {@code end} in {@code in} as
+     * a string, taking it from the key cache if this parser has one.
+     */
+    public String key(CharSequence in, int start, int end) {
+        String[] cache = this.keyCache;
+        if (cache == null) {
+            return substring(in, start, end);
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + in.charAt(i);
+        }
+        // same spreading as HashMap, then direct mapping
+        int index = (hash ^ (hash >>> 16)) & (cache.length - 1);
+
+        String cached = cache[index];
+        if (cached != null && cached.hashCode() == hash && contentEquals(cached, in, start, end)) {
+            return cached;
+        }
+        String key = substring(in, start, end);
+        // a racy write is fine: strings are immutable, and a lost update
+        // just costs an allocation on the next lookup
+        cache[index] = key;
+        return key;
+    }
+
+    private void entry(CharSequence in, int start, int keyDelimiterPosition, int end, EntryHandler handler) {
+        int keyStart = start;
+        int keyEnd;
+        int valueStart;
+        int valueEnd;
+        if (keyDelimiterPosition > start && keyDelimiterPosition + keyDelimiter.length() <= end) {
+            keyEnd = keyDelimiterPosition;
+            valueStart = keyDelimiterPosition + keyDelimiter.length();
+            valueEnd = end;
+
+            while (valueStart < valueEnd && valueTrimmer.matches(in.charAt(valueStart))) {
+                valueStart++;
+            }
+            while (valueEnd > valueStart && valueTrimmer.matches(in.charAt(valueEnd - 1))) {
+                valueEnd--;
+            }
+        } else {
+            keyEnd = end;
+            valueStart = -1;
+            valueEnd = -1;
+        }
+
+        while (keyStart < keyEnd && keyTrimmer.matches(in.charAt(keyStart))) {
+            keyStart++;
+        }
+        while (keyEnd > keyStart && keyTrimmer.matches(in.charAt(keyEnd - 1))) {
+            keyEnd--;
+        }
+
+        handler.entry(in, keyStart, keyEnd, valueStart, valueEnd);
+    }
+
+    private static boolean matchesAt(CharSequence in, int index, String delimiter) {
+        int length = delimiter.length();
+        if (index + length > in.length()) {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            if (in.charAt(index + i) != delimiter.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contentEquals(String s, CharSequence in, int start, int end) {
+        if (s.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != in.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String substring(CharSequence in, int start, int end) {
+        if (in instanceof String) {
+            return ((String) in).substring(start, end);
+        }
+        return in.subSequence(start, end).toString();
+    }
+
+}
@@ -0,0 +1,422 @@
+package org.giogt.commons.core.text;
+
+import org.giogt.commons.core.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An object that divides a character sequence into substrings, using a
+ * separator that is either a literal string or any character matched by a
+ * {@link CharMatcher}. Example: <pre>   {@code
+ * <p>
+ *   Splitter splitter = Splitter.on(',').trimResults().omitEmptyStrings();
+ *    . . .
+ *   return splitter.splitToList("foo, bar,, qux");}</pre>
+ * <p>
+ * This returns a list containing {@code "foo"}, {@code "bar"} and
+ * {@code "qux"}.
+ * <p>
+ * <p>Splitting does not copy any character of the input sequence unless
+ * explicitly requested: {@link #split(CharSequence)} returns lazy views over
+ * the input and a {@link Cursor} only exposes the {@code (start, end)}
+ * offsets of each token, so that callers can parse tokens in place and only
+ * materialize as strings the ones they actually need.
+ * <p>
+ * <p>Splitter instances are immutable and safe when used concurrently by
+ * multiple threads; the configuration methods return new instances.
+ */
+public final class Splitter {
+
+    private final Strategy strategy;
+    private final boolean omitEmptyStrings;
+    private final CharMatcher trimmer;
+
+    private Splitter(Strategy strategy, boolean omitEmptyStrings, CharMatcher trimmer) {
+        this.strategy = strategy;
+        this.omitEmptyStrings = omitEmptyStrings;
+        this.trimmer = trimmer;
+    }
+
+    /**
+     * Returns a splitter that uses the given single character as a separator.
+     */
+    public static Splitter on(final char separator) {
+        return new Splitter(new Strategy() {
+            @Override
+            int separatorStart(CharSequence sequence, int start) {
+                if (sequence instanceof String) {
+                    return ((String) sequence).indexOf(separator, start);
+                }
+
+                int length = sequence.length();
+                for (int i = start; i < length; i++) {
+                    if (sequence.charAt(i) == separator) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            int separatorEnd(int separatorPosition) {
+                return separatorPosition + 1;
+            }
+        }, false, CharMatcher.NONE);
+    }
+
+    /**
+     * Returns a splitter that considers any single character matched by the
+     * given {@code CharMatcher} to be a separator. For example, {@code
+     * Splitter.on(CharMatcher.anyOf(";,"))} splits on both semicolons and
+     * commas.
+     */
+    public static Splitter on(final CharMatcher separatorMatcher) {
+        Preconditions.notNull(separatorMatcher, "separatorMatcher");
+        return new Splitter(new Strategy() {
+            @Override
+            int separatorStart(CharSequence sequence, int start) {
+                return separatorMatcher.indexIn(sequence, start);
+            }
+
+            @Override
+            int separatorEnd(int separatorPosition) {
+                return separatorPosition + 1;
+            }
+        }, false, CharMatcher.NONE);
+    }
+
+    /**
+     * Returns a splitter that uses the given literal string as a separator.
+     *
+     * @throws IllegalArgumentException if {@code separator} is empty
+     */
+    public static Splitter on(final String separator) {
+        Preconditions.notNull(separator, "separator");
+        Preconditions.checkArgument(separator.length() > 0, "separator must not be empty");
+        if (separator.length() == 1) {
+            return on(separator.charAt(0));
+        }
+
+        return new Splitter(new Strategy() {
+            @Override
+            int separatorStart(CharSequence sequence, int start) {
+                if (sequence instanceof String) {
+                    return ((String) sequence).indexOf(separator, start);
+                }
+
+                int last = sequence.length() - separator.length();
+                char first = separator.charAt(0);
+                OUT:
+                for (int i = start; i <= last; i++) {
+                    if (sequence.charAt(i) != first) {
+                        continue;
+                    }
+                    for (int j = 1; j < separator.length(); j++) {
+                        if (sequence.charAt(i + j) != separator.charAt(j)) {
+                            continue OUT;
+                        }
+                    }
+                    return i;
+                }
+                return -1;
+            }
+
+            @Override
+            int separatorEnd(int separatorPosition) {
+                return separatorPosition + separator.length();
+            }
+        }, false, CharMatcher.NONE);
+    }
+
+    /**
+     * Returns a splitter that behaves equivalently to {@code this} splitter,
+     * but automatically omits empty strings from the results (after trimming,
+     * if {@link #trimResults} is also used). For example, {@code
+     * Splitter.on(',').omitEmptyStrings().split(",a,,,b,c,,")} returns an
+     * iterable containing only {@code ["a", "b", "c"]}.
+     */
+    public Splitter omitEmptyStrings() {
+        return new Splitter(strategy, true, trimmer);
+    }
+
+    /**
+     * Returns a splitter that behaves equivalently to {@code this} splitter,
+     * but automatically removes leading and trailing
+     * {@linkplain CharMatcher#WHITESPACE whitespace} from each returned token.
+     */
+    public Splitter trimResults() {
+        return trimResults(CharMatcher.WHITESPACE);
+    }
+
+    /**
+     * Returns a splitter that behaves equivalently to {@code this} splitter,
+     * but removes all leading or trailing characters matching the given
+     * {@code CharMatcher} from each returned token.
+     */
+    public Splitter trimResults(CharMatcher trimmer) {
+        return new Splitter(strategy, omitEmptyStrings, Preconditions.notNull(trimmer, "trimmer"));
+    }
+
+    /**
+     * Splits {@code sequence} into tokens, returned as lazy views over the
+     * sequence: the characters of a token are not copied until its
+     * {@code toString()} method is invoked. The returned views reflect any
+     * later change to a mutable sequence.
+     */
+    public Iterable<CharSequence> split(final CharSequence sequence) {
+        Preconditions.notNull(sequence, "sequence");
+        return new Iterable<CharSequence>() {
+            @Override
+            public Iterator<CharSequence> iterator() {
+                final Cursor cursor = cursor(sequence);
+                return new Iterator<CharSequence>() {
+                    private boolean ready;
+                    private boolean done;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!ready && !done) {
+                            ready = cursor.next();
+                            done = !ready;
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public CharSequence next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ready = false;
+                        return cursor.token();
+                    }
+                };
+            }
+
+            @Override
+            public String toString() {
+                return splitToList(sequence).toString();
+            }
+        };
+    }
+
+    /**
+     * Splits {@code sequence} into tokens and returns them as a list of
+     * strings.
+     */
+    public List<String> splitToList(CharSequence sequence) {
+        List<String> tokens = new ArrayList<>();
+        Cursor cursor = cursor(sequence);
+        while (cursor.next()) {
+            tokens.add(cursor.tokenString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns a cursor positioned before the first token of {@code sequence}.
+     */
+    public Cursor cursor(CharSequence sequence) {
+        return new Cursor(this).reset(sequence);
+    }
+
+    /**
+     * Iterates over the tokens of a character sequence, exposing the offsets
+     * of the current token in the sequence. For example: <pre>   {@code
+     * <p>
+     *   Splitter.Cursor cursor = Splitter.on(',').cursor(csv);
+     *   while (cursor.next()) {
+     *     sum += parseInt(csv, cursor.start(), cursor.end());
+     *   }}</pre>
+     * <p>
+     * <p>A cursor does not allocate while iterating and can be {@linkplain
+     * #reset(CharSequence) reset} to iterate over another sequence. Cursors
+     * are not safe when used concurrently by multiple threads.
+     */
+    public static final class Cursor {
+        private final Splitter splitter;
+
+        private CharSequence sequence;
+        // the start of the next token, -1 when all the tokens have been returned
+        private int position;
+        private int start;
+        private int end;
+
+        private Cursor(Splitter splitter) {
+            this.splitter = splitter;
+        }
+
+        /**
+         * Positions this cursor before the first token of {@code sequence}.
+         *
+         * @return this cursor
+         */
+        public Cursor reset(CharSequence sequence) {
+            this.sequence = Preconditions.notNull(sequence, "sequence");
+            this.position = 0;
+            this.start = -1;
+            this.end = -1;
+            return this;
+        }
+
+        /**
+         * Moves this cursor to the next token.
+         *
+         * @return {@code true} if there is such a token, {@code false} if all
+         * the tokens have already been returned
+         */
+        public boolean next() {
+            CharSequence sequence = this.sequence;
+            while (position != -1) {
+                int start = position;
+                int end;
+
+                int separatorPosition = splitter.strategy.separatorStart(sequence, position);
+                if (separatorPosition == -1) {
+                    end = sequence.length();
+                    position = -1;
+                } else {
+                    end = separatorPosition;
+                    position = splitter.strategy.separatorEnd(separatorPosition);
+                }
+
+                CharMatcher trimmer = splitter.trimmer;
+                while (start < end && trimmer.matches(sequence.charAt(start))) {
+                    start++;
+                }
+                while (end > start && trimmer.matches(sequence.charAt(end - 1))) {
+                    end--;
+                }
+
+                if (splitter.omitEmptyStrings && start == end) {
+                    continue;
+                }
+
+                this.start = start;
+                this.end = end;
+                return true;
+            }
+
+            start = -1;
+            end = -1;
+            return false;
+        }
+
+        /**
+         * Returns the index in the sequence of the first character of the
+         * current token.
+         *
+         * @throws IllegalStateException if the cursor is not on a token
+         */
+        public int start() {
+            checkOnToken();
+            return start;
+        }
+
+        /**
+         * Returns the index in the sequence immediately after the last
+         * character of the current token.
+         *
+         * @throws IllegalStateException if the cursor is not on a token
+         */
+        public int end() {
+            checkOnToken();
+            return end;
+        }
+
+        /**
+         * Returns the current token as a view over the sequence, without
+         * copying its characters.
+         *
+         * @throws IllegalStateException if the cursor is not on a token
+         */
+        public CharSequence token() {
+            checkOnToken();
+            return new Slice(sequence, start, end);
+        }
+
+        /**
+         * Returns the current token as a string.
+         *
+         * @throws IllegalStateException if the cursor is not on a token
+         */
+        public String tokenString() {
+            checkOnToken();
+            return substring(sequence, start, end);
+        }
+
+        private void checkOnToken() {
+            if (start == -1) {
+                throw new IllegalStateException("cursor is not positioned on a token");
+            }
+        }
+    }
+
+    private static String substring(CharSequence sequence, int start, int end) {
+        if (sequence instanceof String) {
+            return ((String) sequence).substring(start, end);
+        }
+        return sequence.subSequence(start, end).toString();
+    }
+
+    private abstract static class Strategy {
+        /**
+         * Returns the index of the first separator starting at or after
+         * {@code start}, or -1 if there are no more separators.
+         */
+        abstract int separatorStart(CharSequence sequence, int start);
+
+        /**
+         * Returns the index immediately after the separator starting at
+         * {@code separatorPosition}.
+         */
+        abstract int separatorEnd(int separatorPosition);
+    }
+
+    /**
+     * A read-only view over a range of a character sequence.
+     */
+    private static final class Slice implements CharSequence {
+        private final CharSequence sequence;
+        private final int start;
+        private final int end;
+
+        Slice(CharSequence sequence, int start, int end) {
+            this.sequence = sequence;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException(
+                        "index <" + index + ">, length <" + (end - start) + ">");
+            }
+            return sequence.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end < start || end > this.end - this.start) {
+                throw new IndexOutOfBoundsException(
+                        "start <" + start + ">, end <" + end + ">, length <" + (this.end - this.start) + ">");
+            }
+            return new Slice(sequence, this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return substring(sequence, start, end);
+        }
+    }
+
+}
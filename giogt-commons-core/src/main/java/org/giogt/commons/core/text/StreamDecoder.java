@@ -0,0 +1,194 @@
+package org.giogt.commons.core.text;
+
+import org.giogt.commons.core.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads the whole content of a byte source as a string, with a single
+ * {@link CharsetDecoder}.
+ * <p>
+ * <p>Bytes are read into a per-thread buffer and decoded straight into the
+ * char array the string is eventually created from: the bytes of a
+ * character split between two reads are kept for the next decoding round,
+ * instead of being decoded on their own. When the length of the content is
+ * known in advance (e.g. from {@code FileChannel.size()} or from a
+ * {@code Content-Length} header) the char array is allocated once, with the
+ * right size; otherwise it grows as needed.
+ * <p>
+ * <p>Malformed input and unmappable characters are replaced with the charset
+ * default replacement, as {@link String#String(byte[], Charset)} does.
+ */
+final class StreamDecoder {
+
+    /**
+     * The size of the (per-thread) byte buffers.
+     */
+    static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MIN_CAPACITY = 64;
+    // a length hint is not trusted beyond this (e.g. a bogus Content-Length):
+    // larger contents grow the array as they are read
+    private static final int MAX_INITIAL_CAPACITY = 1 << 24;
+
+    // a one slot pool: the buffer is taken out while in use, so that a nested
+    // read (e.g. from an input stream that reads a string itself) gets a new one
+    private static final ThreadLocal<byte[]> BYTES_TL = new ThreadLocal<>();
+
+    private final CharsetDecoder decoder;
+    private char[] chars;
+    private int length;
+
+    private StreamDecoder(Charset charset, long expectedLength) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = new char[expectedLength > 0
+                ? (int) Math.min(MAX_INITIAL_CAPACITY, Math.ceil(expectedLength * (double) decoder.averageCharsPerByte()))
+                : MIN_CAPACITY];
+    }
+
+    /**
+     * Reads {@code is} until its end, or until {@code maxLength} bytes have
+     * been read, and returns the decoded content.
+     *
+     * @param maxLength      the maximum number of bytes to read, or -1 to
+     *                       read until the end of the stream
+     * @param expectedLength the expected number of bytes to read, or -1 if
+     *                       unknown
+     */
+    static String decode(InputStream is, long maxLength, long expectedLength, Charset charset)
+            throws IOException {
+
+        Preconditions.notNull(is, "is");
+        Preconditions.notNull(charset, "charset");
+
+        long remaining = (maxLength < 0) ? Long.MAX_VALUE : maxLength;
+        StreamDecoder decoder = new StreamDecoder(charset, Math.min(expectedLength, remaining));
+
+        byte[] bytes = acquireBytes();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            while (remaining > 0) {
+                int read = is.read(bytes, in.position(), (int) Math.min(in.remaining(), remaining));
+                if (read == -1) {
+                    break;
+                }
+                remaining -= read;
+                in.position(in.position() + read);
+                in.flip();
+                decoder.decode(in, false);
+                in.compact();
+            }
+            in.flip();
+            return decoder.finish(in);
+        } finally {
+            BYTES_TL.set(bytes);
+        }
+    }
+
+    /**
+     * Reads {@code channel} until its end, or until {@code maxLength} bytes
+     * have been read, and returns the decoded content. The channel must be in
+     * blocking mode.
+     *
+     * @param maxLength      the maximum number of bytes to read, or -1 to
+     *                       read until the end of the channel
+     * @param expectedLength the expected number of bytes to read, or -1 if
+     *                       unknown
+     */
+    static String decode(ReadableByteChannel channel, long maxLength, long expectedLength, Charset charset)
+            throws IOException {
+
+        Preconditions.notNull(channel, "channel");
+        Preconditions.notNull(charset, "charset");
+
+        long remaining = (maxLength < 0) ? Long.MAX_VALUE : maxLength;
+        StreamDecoder decoder = new StreamDecoder(charset, Math.min(expectedLength, remaining));
+
+        // a heap buffer: the JDK decoders have fast paths for array backed
+        // buffers only, which more than pay for the copy the channel may make
+        // through a temporary direct buffer
+        byte[] bytes = acquireBytes();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            while (remaining > 0) {
+                if (in.remaining() > remaining) {
+                    in.limit(in.position() + (int) remaining);
+                }
+                int read = channel.read(in);
+                if (read == -1) {
+                    break;
+                }
+                remaining -= read;
+                in.flip();
+                decoder.decode(in, false);
+                in.compact();
+            }
+            in.flip();
+            return decoder.finish(in);
+        } finally {
+            BYTES_TL.set(bytes);
+        }
+    }
+
+    private static byte[] acquireBytes() {
+        byte[] bytes = BYTES_TL.get();
+        if (bytes == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        BYTES_TL.set(null);
+        return bytes;
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) {
+        for (; ; ) {
+            CharBuffer out = CharBuffer.wrap(chars, length, chars.length - length);
+            CoderResult result = decoder.decode(in, out, endOfInput);
+            length = out.position();
+            if (!result.isOverflow()) {
+                return;
+            }
+            grow(in.remaining());
+        }
+    }
+
+    private String finish(ByteBuffer in) {
+        // decode the bytes of a truncated character, if any
+        decode(in, true);
+        for (; ; ) {
+            CharBuffer out = CharBuffer.wrap(chars, length, chars.length - length);
+            CoderResult result = decoder.flush(out);
+            length = out.position();
+            if (!result.isOverflow()) {
+                break;
+            }
+            grow(0);
+        }
+        return new String(chars, 0, length);
+    }
+
+    private void grow(int remainingBytes) {
+        long needed = length + (long) Math.ceil(remainingBytes * (double) decoder.averageCharsPerByte()) + MIN_CAPACITY;
+        long capacity = Math.max(2L * chars.length, needed);
+        if (capacity > MAX_ARRAY_SIZE) {
+            if (needed > MAX_ARRAY_SIZE) {
+                throw new OutOfMemoryError("content too large to fit in a string");
+            }
+            capacity = MAX_ARRAY_SIZE;
+        }
+        char[] grown = new char[(int) capacity];
+        System.arraycopy(chars, 0, grown, 0, length);
+        chars = grown;
+    }
+
+}
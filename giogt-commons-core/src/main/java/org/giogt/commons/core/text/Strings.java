@@ -12,6 +12,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,7 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Some common string manipulation utilities.
@@ -36,6 +38,14 @@ public class Strings {
     // \u202F is the narrow non-breaking space character (&#8239;)
     public static final String WHITE_SPACES = " \r\n\t\u3000\u00A0\u2007\u202F";
 
+    private static final Splitter COMMA_SPLITTER = Splitter.on(',').omitEmptyStrings();
+
+    // the splitters of the delimiters passed to split, which are usually a few
+    // constants: bounded, so that callers passing arbitrary delimiters only
+    // miss the cache
+    private static final int MAX_CACHED_SPLITTERS = 64;
+    private static final ConcurrentHashMap<String, Splitter> SPLITTERS = new ConcurrentHashMap<>();
+
     // prevent instantiation
     private Strings() {
     }
@@ -54,14 +64,15 @@ public class Strings {
      * @param trimTokens if true, then trim the tokens
      */
     public static String[] split(String str, String delims, boolean trimTokens) {
-        StringTokenizer tokenizer = new StringTokenizer(str, delims);
-        int n = tokenizer.countTokens();
-        String[] list = new String[n];
-        for (int i = 0; i < n; i++) {
+        Splitter.Cursor cursor = splitter(delims).cursor(str);
+        String[] list = new String[countTokens(cursor)];
+        cursor.reset(str);
+        for (int i = 0; i < list.length; i++) {
+            cursor.next();
             if (trimTokens) {
-                list[i] = tokenizer.nextToken().trim();
+                list[i] = cursor.tokenString().trim();
             } else {
-                list[i] = tokenizer.nextToken();
+                list[i] = cursor.tokenString();
             }
         }
         return list;
@@ -78,12 +89,12 @@ public class Strings {
      * Parse comma-separated list of ints and return as array.
      */
     public static int[] toIntArray(String str) throws IllegalArgumentException {
-        StringTokenizer tokenizer = new StringTokenizer(str, ",");
-        int n = tokenizer.countTokens();
-        int[] list = new int[n];
-        for (int i = 0; i < n; i++) {
-            String token = tokenizer.nextToken();
-            list[i] = Integer.parseInt(token);
+        Splitter.Cursor cursor = COMMA_SPLITTER.cursor(str);
+        int[] list = new int[countTokens(cursor)];
+        cursor.reset(str);
+        for (int i = 0; i < list.length; i++) {
+            cursor.next();
+            list[i] = Integer.parseInt(cursor.tokenString());
         }
         return list;
     }
@@ -92,16 +103,36 @@ public class Strings {
      * Parse comma-separated list of longs and return as array.
      */
     public static long[] toLongArray(String str) throws IllegalArgumentException {
-        StringTokenizer tokenizer = new StringTokenizer(str, ",");
-        int n = tokenizer.countTokens();
-        long[] list = new long[n];
-        for (int i = 0; i < n; i++) {
-            String token = tokenizer.nextToken();
-            list[i] = Long.parseLong(token);
+        Splitter.Cursor cursor = COMMA_SPLITTER.cursor(str);
+        long[] list = new long[countTokens(cursor)];
+        cursor.reset(str);
+        for (int i = 0; i < list.length; i++) {
+            cursor.next();
+            list[i] = Long.parseLong(cursor.tokenString());
         }
         return list;
     }
 
+    private static Splitter splitter(String delims) {
+        Splitter splitter = SPLITTERS.get(delims);
+        if (splitter == null) {
+            // runs of delimiters are collapsed, as StringTokenizer did
+            splitter = Splitter.on(CharMatcher.anyOf(delims)).omitEmptyStrings();
+            if (SPLITTERS.size() < MAX_CACHED_SPLITTERS) {
+                SPLITTERS.putIfAbsent(delims, splitter);
+            }
+        }
+        return splitter;
+    }
+
+    private static int countTokens(Splitter.Cursor cursor) {
+        int n = 0;
+        while (cursor.next()) {
+            n++;
+        }
+        return n;
+    }
+
     /**
      * Concatenates the given int[] array into one String, inserting a
      * delimiter between each pair of elements.
@@ -693,26 +724,13 @@ public class Strings {
             return collection;
         }
 
-        int fromIndex = 0;
-        int pos;
-        while ((pos = in.indexOf(delimiter, fromIndex)) >= 0) {
-            String interim = in.substring(fromIndex, pos);
-            if (trim) {
-                interim = trim(interim);
-            }
-            if (!trim || interim.length() > 0) {
-                collection.add(interim);
-            }
-
-            fromIndex = pos + delimiter.length();
-        }
-
-        String interim = in.substring(fromIndex);
+        Splitter splitter = Splitter.on(delimiter);
         if (trim) {
-            interim = trim(interim);
+            splitter = splitter.trimResults().omitEmptyStrings();
         }
-        if (!trim || interim.length() > 0) {
-            collection.add(interim);
+        Splitter.Cursor cursor = splitter.cursor(in);
+        while (cursor.next()) {
+            collection.add(cursor.tokenString());
         }
 
         return collection;
@@ -799,22 +817,31 @@ public class Strings {
             return out;
         }
 
-        List<String> list = toList(in, delimEntry, false);
+        // the entries are not materialized: keys and values are extracted
+        // straight from the input string
+        Splitter.Cursor cursor = Splitter.on(delimEntry).cursor(in);
         int len = delimKey.length();
-        for (String entry : list) {
-            int pos = entry.indexOf(delimKey);
-            if (pos > 0) {
-                String key = entry.substring(0, pos);
+        // the next key delimiter, looked up again only once it is behind us,
+        // so that entries without a key delimiter do not make this quadratic
+        int pos = in.indexOf(delimKey);
+        while (cursor.next()) {
+            int start = cursor.start();
+            int end = cursor.end();
+            if (pos != -1 && pos < start) {
+                pos = in.indexOf(delimKey, start);
+            }
+            if (pos > start && pos + len <= end) {
+                String key = in.substring(start, pos);
                 if (trimKeys) {
                     key = trim(key);
                 }
-                String value = entry.substring(pos + len);
+                String value = in.substring(pos + len, end);
                 if (trimEntries) {
                     value = trim(value);
                 }
                 out.put(key, value);
             } else {
-                String key = entry;
+                String key = in.substring(start, end);
                 if (trimKeys) {
                     key = trim(key);
                 }
@@ -842,6 +869,9 @@ public class Strings {
      * into entries using delimEntry. Then each entry is split into a key and a
      * value using delimKey. By default we trim the keys. Use doStripEntry to
      * strip also the entries
+     * <p>
+     * Use a {@link KeyValueParser} directly to parse into a reusable map, or
+     * to handle keys and values without creating strings for them.
      *
      * @param in          - the string to be processed
      * @param delimEntry  - delimiter for the entries
@@ -872,36 +902,14 @@ public class Strings {
             return out;
         }
 
-        List<String> list = toList(in, delimEntry, false);
-        int len = delimKey.length();
-        for (String entry : list) {
-            int pos = entry.indexOf(delimKey);
-            if (pos > 0) {
-                String key = entry.substring(0, pos);
-                if (trimKeys) {
-                    key = trim(key);
-                }
-                String value = entry.substring(pos + len);
-                if (trimEntries) {
-                    value = trim(value);
-                }
-
-                List<String> elems = out.get(key);
-                if (elems == null) {
-                    elems = new ArrayList<>();
-                    out.put(key, elems);
-                }
-                elems.add(value);
-            } else {
-                String key = entry;
-                if (trimKeys) {
-                    key = trim(key);
-                }
-                out.put(key, new ArrayList<String>());
-            }
+        KeyValueParser parser = KeyValueParser.on(delimEntry, delimKey);
+        if (trimKeys) {
+            parser = parser.trimKeys();
         }
-
-        return out;
+        if (trimEntries) {
+            parser = parser.trimValues();
+        }
+        return parser.parse(in, out);
     }
 
     /**
@@ -993,24 +1001,81 @@ public class Strings {
             String encoding)
             throws IOException {
 
-        byte[] buffer = new byte[4096];
-        StringWriter sw = new StringWriter();
-        int totalRead = 0;
-        int read = 0;
+        return StreamDecoder.decode(is, maxLength, available(is), toCharset(encoding));
+    }
 
-        do {
-            sw.write(new String(buffer, 0, read, encoding));
-            totalRead += read;
-            read = is.read(buffer, 0, buffer.length);
-        } while (((-1 == maxLength) || (totalRead < maxLength)) && (read != -1));
+    /**
+     * Read a String from an InputStream
+     *
+     * @param is      input stream
+     * @param charset the charset to use
+     * @return String read from "is"
+     */
+    public static String fromStream(InputStream is, Charset charset) throws IOException {
+        return StreamDecoder.decode(is, -1, available(is), charset);
+    }
 
-        return sw.toString();
+    /**
+     * Read a String from an InputStream whose length is known in advance
+     * (e.g. from a Content-Length header), so that the string content can be
+     * allocated once with the right size. The length is just a hint: the
+     * stream is read until its end anyway.
+     *
+     * @param is             input stream
+     * @param charset        the charset to use
+     * @param expectedLength the expected number of bytes in "is", or -1 if
+     *                       unknown
+     * @return String read from "is"
+     */
+    public static String fromStream(InputStream is, Charset charset, long expectedLength)
+            throws IOException {
+
+        return StreamDecoder.decode(is, -1, expectedLength, charset);
+    }
+
+    /**
+     * Read a String from a (blocking) channel. If the channel is a
+     * {@link FileChannel}, its remaining size is used to allocate the string
+     * content once with the right size.
+     *
+     * @param channel the channel to read from
+     * @param charset the charset to use
+     * @return String read from "channel"
+     */
+    public static String fromChannel(ReadableByteChannel channel, Charset charset)
+            throws IOException {
+
+        long expectedLength = -1;
+        if (channel instanceof FileChannel) {
+            FileChannel fileChannel = (FileChannel) channel;
+            expectedLength = fileChannel.size() - fileChannel.position();
+        }
+        return StreamDecoder.decode(channel, -1, expectedLength, charset);
+    }
+
+    /**
+     * Read a String from a (blocking) channel whose length is known in
+     * advance; see {@link #fromStream(InputStream, Charset, long)}.
+     *
+     * @param channel        the channel to read from
+     * @param charset        the charset to use
+     * @param expectedLength the expected number of bytes in "channel", or -1
+     *                       if unknown
+     * @return String read from "channel"
+     */
+    public static String fromChannel(
+            ReadableByteChannel channel,
+            Charset charset,
+            long expectedLength)
+            throws IOException {
+
+        return StreamDecoder.decode(channel, -1, expectedLength, charset);
     }
 
     public static String fromUTF8Stream(InputStream is)
             throws IOException {
 
-        return fromStream(is, "UTF-8");
+        return fromStream(is, Charsets.UTF_8);
     }
 
     public static String fromUTF8Stream(
@@ -1018,7 +1083,24 @@ public class Strings {
             int maxLength)
             throws IOException {
 
-        return fromStream(is, maxLength, "UTF-8");
+        return StreamDecoder.decode(is, maxLength, available(is), Charsets.UTF_8);
+    }
+
+    private static Charset toCharset(String encoding) throws UnsupportedEncodingException {
+        try {
+            return Charset.forName(Preconditions.notNull(encoding, "encoding"));
+        } catch (IllegalArgumentException e) {
+            // IllegalCharsetNameException or UnsupportedCharsetException
+            UnsupportedEncodingException uee = new UnsupportedEncodingException(encoding);
+            uee.initCause(e);
+            throw uee;
+        }
+    }
+
+    // the bytes that can be read without blocking: for files and in-memory
+    // streams, the exact length of the content
+    private static long available(InputStream is) throws IOException {
+        return Preconditions.notNull(is, "is").available();
     }
 
     /**
@@ -26,6 +26,12 @@ import java.io.IOException;
  * #escape(char)} method.
  */
 public abstract class CharEscaper implements Escaper {
+
+    /**
+     * Lazily created by {@link #safeCharScanner()}.
+     */
+    private SafeCharScanner safeCharScanner;
+
     /**
      * Returns the escaped form of a given literal string.
      *
@@ -35,14 +41,59 @@ public abstract class CharEscaper implements Escaper {
      */
     @Override
     public String escape(String string) {
-        // Inlineable fast-path loop which hands off to escapeSlow() only if needed
+        // Fast-path scan which hands off to escapeSlow() only if needed
         int length = string.length();
-        for (int index = 0; index < length; index++) {
-            if (escape(string.charAt(index)) != null) {
-                return escapeSlow(string, index);
+        int index = nextEscapeIndex(string, 0, length);
+        return index == length ? string : escapeSlow(string, index);
+    }
+
+    /**
+     * Scans a sub-sequence of characters from a given {@link CharSequence},
+     * returning the index of the next character that requires escaping.
+     * <p>
+     * <p>ASCII characters are checked one at a time in a tight loop, against
+     * a lookup table built the first time it is needed by invoking
+     * {@link #escape(char)} for every ASCII character; {@link #escape(char)} is
+     * only invoked for the non ASCII characters found while scanning.
+     *
+     * @param csq   a sequence of characters
+     * @param start the index of the first character to be scanned
+     * @param end   the index immediately after the last character to be scanned
+     * @return the index of the next character that requires escaping, or
+     * {@code end} if there is no such character
+     */
+    protected int nextEscapeIndex(CharSequence csq, int start, int end) {
+        SafeCharScanner scanner = safeCharScanner();
+        int index = start;
+        while ((index = scanner.scan(csq, index, end)) < end) {
+            char c = csq.charAt(index);
+            if (c < SafeCharScanner.ASCII_SIZE || escape(c) != null) {
+                break;
             }
+            index++;
         }
-        return string;
+        return index;
+    }
+
+    /**
+     * Returns the scanner used to skip runs of safe ASCII characters.
+     * <p>
+     * <p>Subclasses that know their safe characters in advance can override
+     * this method to return a scanner created eagerly.
+     */
+    SafeCharScanner safeCharScanner() {
+        // racy single-check: scanners are immutable, so at worst one is
+        // created more than once
+        SafeCharScanner scanner = this.safeCharScanner;
+        if (scanner == null) {
+            boolean[] safe = new boolean[SafeCharScanner.ASCII_SIZE];
+            for (int c = 0; c < safe.length; c++) {
+                safe[c] = escape((char) c) == null;
+            }
+            scanner = SafeCharScanner.of(safe);
+            this.safeCharScanner = scanner;
+        }
+        return scanner;
     }
 
     /**
@@ -84,15 +135,14 @@ public abstract class CharEscaper implements Escaper {
                 // "no escape" path (pushing the "escape" path into a separate method)
                 // to make this more "inlineable".
                 int unescapedChunkStart = start;
-                for (int i = start; i < end; i++) {
+                int i = start;
+                while ((i = nextEscapeIndex(csq, i, end)) < end) {
                     char[] escaped = escape(csq.charAt(i));
-                    if (escaped != null) {
-                        if (unescapedChunkStart < i) {
-                            out.append(csq, unescapedChunkStart, i);
-                        }
-                        outputChars(escaped);
-                        unescapedChunkStart = i + 1;
+                    if (unescapedChunkStart < i) {
+                        out.append(csq, unescapedChunkStart, i);
                     }
+                    outputChars(escaped);
+                    unescapedChunkStart = ++i;
                 }
                 if (unescapedChunkStart < end) {
                     out.append(csq, unescapedChunkStart, end);
@@ -140,16 +190,14 @@ public abstract class CharEscaper implements Escaper {
         int destIndex = 0;
         int lastEscape = 0;
 
-        // Loop through the rest of the string, replacing when needed into the
-        // destination buffer, which gets grown as needed as well.
-        for (; index < slen; index++) {
+        // Loop through the rest of the string, skipping runs of characters that
+        // need no replacement and replacing the others into the destination
+        // buffer, which gets grown as needed as well.
+        for (; (index = nextEscapeIndex(s, index, slen)) < slen; index++) {
 
             // Get a replacement for the current character.
             char[] r = escape(s.charAt(index));
 
-            // If no replacement is needed, just continue.
-            if (r == null) continue;
-
             int rlen = r.length;
             int charsSkipped = index - lastEscape;  // Characters we skipped over.
 
@@ -36,26 +36,35 @@ public class CharEscaperBuilder {
 
         private final char[][] replacements;
         private final int replaceLength;
+        private final SafeCharScanner safeCharScanner;
 
         public CharArrayDecorator(char[][] replacements) {
             this.replacements = replacements;
             this.replaceLength = replacements.length;
+            this.safeCharScanner = SafeCharScanner.of(
+                    replacements, Character.MIN_VALUE, Character.MAX_VALUE);
         }
 
         /*
-         * Overriding escape method to be slightly faster for this decorator.
-         * We test the replacements array directly, saving a method call.
+         * Overriding nextEscapeIndex method to be slightly faster for this
+         * decorator. We test the replacements array directly, saving a method
+         * call for non ASCII chars.
          */
         @Override
-        public String escape(String s) {
-            int slen = s.length();
-            for (int index = 0; index < slen; index++) {
-                char c = s.charAt(index);
-                if (c < replacements.length && replacements[c] != null) {
-                    return escapeSlow(s, index);
+        protected int nextEscapeIndex(CharSequence csq, int index, int end) {
+            while ((index = safeCharScanner.scan(csq, index, end)) < end) {
+                char c = csq.charAt(index);
+                if (c < SafeCharScanner.ASCII_SIZE || (c < replaceLength && replacements[c] != null)) {
+                    break;
                 }
+                index++;
             }
-            return s;
+            return index;
+        }
+
+        @Override
+        SafeCharScanner safeCharScanner() {
+            return safeCharScanner;
         }
 
         @Override
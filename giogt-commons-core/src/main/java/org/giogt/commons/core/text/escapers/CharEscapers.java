@@ -782,7 +782,7 @@ public final class CharEscapers {
 
     /**
      * A fast {@link CharEscaper} that uses an array of replacement characters and
-     * a range of safe characters. It overrides {@link #escape(String)} to improve
+     * a range of safe characters. It overrides {@link CharEscaper#nextEscapeIndex} to improve
      * performance. Rough benchmarking shows that this almost doubles the speed
      * when processing strings that do not require escaping (providing the escape
      * test itself is efficient).
@@ -793,28 +793,36 @@ public final class CharEscapers {
         protected final int replacementLength;
         protected final char safeMin;
         protected final char safeMax;
+        private final SafeCharScanner safeCharScanner;
 
         public FastCharEscaper(char[][] replacements, char safeMin, char safeMax) {
             this.replacements = replacements;
             this.replacementLength = replacements.length;
             this.safeMin = safeMin;
             this.safeMax = safeMax;
+            this.safeCharScanner = SafeCharScanner.of(replacements, safeMin, safeMax);
         }
 
         /**
          * Overridden for performance (see {@link FastCharEscaper}).
          */
         @Override
-        public String escape(String s) {
-            int slen = s.length();
-            for (int index = 0; index < slen; index++) {
-                char c = s.charAt(index);
-                if ((c < replacementLength && replacements[c] != null)
+        protected int nextEscapeIndex(CharSequence csq, int index, int end) {
+            while ((index = safeCharScanner.scan(csq, index, end)) < end) {
+                char c = csq.charAt(index);
+                if (c < SafeCharScanner.ASCII_SIZE
+                        || (c < replacementLength && replacements[c] != null)
                         || c < safeMin || c > safeMax) {
-                    return escapeSlow(s, index);
+                    break;
                 }
+                index++;
             }
-            return s;
+            return index;
+        }
+
+        @Override
+        SafeCharScanner safeCharScanner() {
+            return safeCharScanner;
         }
     }
 
@@ -0,0 +1,182 @@
+package org.giogt.commons.core.text.escapers;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.text.Escaper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An {@link OutputStream} that escapes the text written to it (as encoded
+ * bytes), using the specified {@link Escaper}, before passing the resulting
+ * text (encoded with the same charset) to an underlying output stream.
+ * <p>
+ * <p>This is meant for byte oriented pipelines (e.g. text produced by a
+ * template engine into a servlet output stream): bytes are decoded in chunks
+ * into a reusable char buffer, escaped by an {@link EscapingWriter} and
+ * encoded again by an {@link OutputStreamWriter}, so that the underlying
+ * output stream receives few, large writes. Multi-byte characters split
+ * between two writes are handled correctly, malformed input and unmappable
+ * characters are replaced with the charset default replacement.
+ */
+public class EscapingOutputStream extends OutputStream {
+
+    /**
+     * The default size (in chars) of the internal buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = EscapingWriter.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * The minimum size (in chars) of the decoding buffer: the decoder cannot
+     * make progress if a single decoded character (e.g. a surrogate pair)
+     * does not fit in it.
+     */
+    private static final int MIN_DECODED_SIZE = 16;
+
+    private final CharsetDecoder decoder;
+    private final EscapingWriter writer;
+
+    private final CharBuffer decoded;
+    // the bytes of an incomplete character, left over by the previous write
+    private ByteBuffer leftover;
+
+    private final byte[] singleByte = new byte[1];
+    private boolean closed;
+
+    /**
+     * Creates an escaping output stream with internal buffers of the default
+     * size.
+     *
+     * @param out     the underlying output stream to write escaped text to
+     * @param escaper the escaper to be used
+     * @param charset the charset used to decode the bytes written to this
+     *                stream, and to encode the escaped text
+     */
+    public EscapingOutputStream(OutputStream out, Escaper escaper, Charset charset) {
+        this(out, escaper, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an escaping output stream with internal buffers of the
+     * specified size.
+     *
+     * @param out        the underlying output stream to write escaped text to
+     * @param escaper    the escaper to be used
+     * @param charset    the charset used to decode the bytes written to this
+     *                   stream, and to encode the escaped text
+     * @param bufferSize the size (in chars) of the internal buffers
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     */
+    public EscapingOutputStream(
+            OutputStream out,
+            Escaper escaper,
+            Charset charset,
+            int bufferSize) {
+
+        Preconditions.notNull(out, "out");
+        Preconditions.notNull(charset, "charset");
+
+        this.writer = new EscapingWriter(new OutputStreamWriter(out, charset), escaper, bufferSize);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.decoded = CharBuffer.allocate(Math.max(bufferSize, MIN_DECODED_SIZE));
+        this.leftover = ByteBuffer.allocate(16);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Preconditions.notNull(b, "b");
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "off <" + off + ">, len <" + len + ">, length <" + b.length + ">");
+        }
+        ensureOpen();
+
+        ByteBuffer in = ByteBuffer.wrap(b, off, len);
+
+        // complete the character left over by the previous write, one byte at
+        // a time (there are just a few bytes)
+        while (leftover.position() > 0 && in.hasRemaining()) {
+            leftover.put(in.get());
+            leftover.flip();
+            decode(leftover, false);
+            leftover.compact();
+        }
+
+        decode(in, false);
+        if (in.hasRemaining()) {
+            if (in.remaining() > leftover.remaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(leftover.position() + in.remaining());
+                leftover.flip();
+                larger.put(leftover);
+                leftover = larger;
+            }
+            leftover.put(in);
+        }
+    }
+
+    /**
+     * Escapes and writes all the complete characters written so far, then
+     * flushes the underlying output stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            leftover.flip();
+            decode(leftover, true);
+            leftover.clear();
+            decoder.flush(decoded);
+            writeDecoded();
+        } finally {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) throws IOException {
+        for (; ; ) {
+            CoderResult result = decoder.decode(in, decoded, endOfInput);
+            writeDecoded();
+            if (result.isUnderflow()) {
+                return;
+            }
+        }
+    }
+
+    private void writeDecoded() throws IOException {
+        if (decoded.position() > 0) {
+            writer.write(decoded.array(), 0, decoded.position());
+            decoded.clear();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -0,0 +1,437 @@
+package org.giogt.commons.core.text.escapers;
+
+import org.giogt.commons.core.Preconditions;
+import org.giogt.commons.core.text.Escaper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link Writer} that escapes all the text written to it, using the
+ * specified {@link Escaper}, before passing the resulting text to an
+ * underlying writer.
+ * <p>
+ * <p>Unlike the {@code Appendable} returned by {@link Escaper#escape(Appendable)},
+ * which forwards every escaped character (or run of unescaped characters) to
+ * the underlying {@code Appendable} as soon as it is processed, this writer
+ * escapes each chunk of text directly into a fixed size internal buffer and
+ * only writes to the underlying writer when the buffer is full (or when it is
+ * flushed), so that the underlying writer receives few, large writes. Runs of
+ * unescaped characters that are larger than the buffer are written directly.
+ * This makes it suitable for escaping large documents (e.g. XML or HTML
+ * exports) straight to a file or to a socket.
+ * <p>
+ * <p>Any escaper can be used: the escapers extending {@link CharEscaper} or
+ * {@link UnicodeEscaper} (e.g. all the escapers provided by
+ * {@link CharEscapers}) are driven directly, any other escaper is invoked on
+ * chunks of text of (at most) the buffer size.
+ * <p>
+ * <p>Text can be written in arbitrary chunks, including chunks split over a
+ * surrogate pair: the pending high surrogate is processed when the
+ * corresponding low surrogate is written. For {@link UnicodeEscaper}s, a
+ * trailing high surrogate still pending when the writer is closed causes an
+ * {@link IllegalArgumentException}, as for {@link Escaper#escape(String)}.
+ */
+public class EscapingWriter extends Writer {
+
+    /**
+     * The default size (in chars) of the internal buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int NO_PENDING_HIGH_SURROGATE = -1;
+
+    private final Writer out;
+    private final Escaper escaper;
+    private final CharEscaper charEscaper;
+    private final UnicodeEscaper unicodeEscaper;
+
+    private final char[] buffer;
+    private int count;
+
+    private int pendingHighSurrogate = NO_PENDING_HIGH_SURROGATE;
+    private boolean closed;
+
+    // reused to access char arrays written to this writer as char sequences
+    private final CharArraySequence charArraySequence = new CharArraySequence();
+    private final char[] singleChar = new char[1];
+    private final char[] singleCodePoint = new char[2];
+
+    /**
+     * Creates an escaping writer with an internal buffer of the default size.
+     *
+     * @param out     the underlying writer to write escaped text to
+     * @param escaper the escaper to be used
+     */
+    public EscapingWriter(Writer out, Escaper escaper) {
+        this(out, escaper, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an escaping writer with an internal buffer of the specified
+     * size.
+     *
+     * @param out        the underlying writer to write escaped text to
+     * @param escaper    the escaper to be used
+     * @param bufferSize the size (in chars) of the internal buffer
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     */
+    public EscapingWriter(Writer out, Escaper escaper, int bufferSize) {
+        super(Preconditions.notNull(out, "out"));
+        Preconditions.notNull(escaper, "escaper");
+        Preconditions.checkArgument(
+                bufferSize > 0,
+                () -> "bufferSize must be positive (was <" + bufferSize + ">)");
+
+        this.out = out;
+        this.escaper = escaper;
+        this.charEscaper = (escaper instanceof CharEscaper)
+                ? (CharEscaper) escaper
+                : null;
+        this.unicodeEscaper = (escaper instanceof UnicodeEscaper)
+                ? (UnicodeEscaper) escaper
+                : null;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            singleChar[0] = (char) c;
+            write(singleChar, 0, 1);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        Preconditions.notNull(cbuf, "cbuf");
+        checkBounds(cbuf.length, off, len);
+
+        synchronized (lock) {
+            charArraySequence.array = cbuf;
+            try {
+                escape(charArraySequence, off, off + len);
+            } finally {
+                charArraySequence.array = null;
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        Preconditions.notNull(str, "str");
+        checkBounds(str.length(), off, len);
+
+        synchronized (lock) {
+            escape(str, off, off + len);
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        CharSequence sequence = (csq != null) ? csq : "null";
+        return append(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence sequence = (csq != null) ? csq : "null";
+        Preconditions.checkPositionIndex(end, sequence.length(), "end");
+        Preconditions.checkPositionIndex(start, end, "start");
+
+        synchronized (lock) {
+            escape(sequence, start, end);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the content of the internal buffer to the underlying writer and
+     * flushes it.
+     * <p>
+     * <p>A pending high surrogate (i.e. the first half of a surrogate pair
+     * split between two writes) is not flushed, as it cannot be escaped until
+     * the corresponding low surrogate is written.
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    /**
+     * Flushes and closes this writer, then closes the underlying writer.
+     *
+     * @throws IllegalArgumentException if the text written to this writer
+     *                                  ends with a high surrogate, and the
+     *                                  escaper is a {@link UnicodeEscaper}
+     *                                  (the preceding text is written anyway)
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            try {
+                boolean trailingHighSurrogate = false;
+                if (pendingHighSurrogate != NO_PENDING_HIGH_SURROGATE) {
+                    char c = (char) pendingHighSurrogate;
+                    pendingHighSurrogate = NO_PENDING_HIGH_SURROGATE;
+                    if (unicodeEscaper != null) {
+                        trailingHighSurrogate = true;
+                    } else {
+                        // other escapers can escape it on its own
+                        escapeChunk(String.valueOf(c));
+                    }
+                }
+                // the text escaped so far is written even if the input is invalid
+                flushBuffer();
+                if (trailingHighSurrogate) {
+                    throw new IllegalArgumentException(
+                            "Trailing high surrogate at end of input");
+                }
+            } finally {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+
+    private void escape(CharSequence csq, int index, int end) throws IOException {
+        ensureOpen();
+        if (index == end) {
+            return;
+        }
+
+        if (pendingHighSurrogate != NO_PENDING_HIGH_SURROGATE) {
+            index = escapePendingHighSurrogate(csq.charAt(index), index);
+        }
+
+        if (charEscaper != null) {
+            escapeChars(charEscaper, csq, index, end);
+        } else if (unicodeEscaper != null) {
+            escapeCodePoints(unicodeEscaper, csq, index, end);
+        } else {
+            escapeChunks(csq, index, end);
+        }
+    }
+
+    /**
+     * Escapes the pending high surrogate, together with the first char of the
+     * current write (if it is the matching low surrogate), returning the index
+     * to continue from. Char escapers never leave a pending high surrogate, as
+     * they escape chars independently.
+     */
+    private int escapePendingHighSurrogate(char c, int index) throws IOException {
+        char high = (char) pendingHighSurrogate;
+        pendingHighSurrogate = NO_PENDING_HIGH_SURROGATE;
+
+        if (unicodeEscaper != null) {
+            if (!Character.isLowSurrogate(c)) {
+                throw new IllegalArgumentException(
+                        "Expected low surrogate character but got " + c);
+            }
+            writeCodePoint(unicodeEscaper, Character.toCodePoint(high, c));
+            return index + 1;
+        }
+
+        if (Character.isLowSurrogate(c)) {
+            escapeChunk(new String(new char[]{high, c}));
+            return index + 1;
+        }
+        escapeChunk(String.valueOf(high));
+        return index;
+    }
+
+    private void escapeChars(CharEscaper escaper, CharSequence csq, int index, int end)
+            throws IOException {
+
+        while (index < end) {
+            int nextEscapeIndex = escaper.nextEscapeIndex(csq, index, end);
+            writeUnescaped(csq, index, nextEscapeIndex);
+            if (nextEscapeIndex == end) {
+                break;
+            }
+
+            char c = csq.charAt(nextEscapeIndex);
+            char[] escaped = escaper.escape(c);
+            if (escaped != null) {
+                writeEscaped(escaped);
+            } else {
+                // cope with false positives of nextEscapeIndex
+                writeUnescaped(csq, nextEscapeIndex, nextEscapeIndex + 1);
+            }
+            index = nextEscapeIndex + 1;
+        }
+    }
+
+    private void escapeCodePoints(UnicodeEscaper escaper, CharSequence csq, int index, int end)
+            throws IOException {
+
+        while (index < end) {
+            int nextEscapeIndex = escaper.nextEscapeIndex(csq, index, end);
+            writeUnescaped(csq, index, nextEscapeIndex);
+            if (nextEscapeIndex == end) {
+                break;
+            }
+
+            int cp = UnicodeEscaper.codePointAt(csq, nextEscapeIndex, end);
+            if (cp < 0) {
+                // this write ended half way through a surrogate pair
+                pendingHighSurrogate = -cp;
+                break;
+            }
+            writeCodePoint(escaper, cp);
+            index = nextEscapeIndex + Character.charCount(cp);
+        }
+    }
+
+    private void writeCodePoint(UnicodeEscaper escaper, int cp) throws IOException {
+        char[] escaped = escaper.escape(cp);
+        if (escaped != null) {
+            writeEscaped(escaped);
+        } else {
+            // cope with false positives of nextEscapeIndex
+            int len = Character.toChars(cp, singleCodePoint, 0);
+            writeEscaped(singleCodePoint, len);
+        }
+    }
+
+    /**
+     * Escapes text using an escaper that is neither a {@link CharEscaper} nor
+     * a {@link UnicodeEscaper}, in chunks of (at most) the buffer size, never
+     * splitting surrogate pairs between chunks.
+     */
+    private void escapeChunks(CharSequence csq, int index, int end) throws IOException {
+        if (Character.isHighSurrogate(csq.charAt(end - 1))) {
+            pendingHighSurrogate = csq.charAt(end - 1);
+            end--;
+        }
+
+        while (index < end) {
+            int chunkEnd = Math.min(end, index + buffer.length);
+            if (chunkEnd < end && Character.isHighSurrogate(csq.charAt(chunkEnd - 1))) {
+                chunkEnd++;
+            }
+            escapeChunk(csq.subSequence(index, chunkEnd).toString());
+            index = chunkEnd;
+        }
+    }
+
+    private void escapeChunk(String chunk) throws IOException {
+        String escaped = escaper.escape(chunk);
+        writeUnescaped(escaped, 0, escaped.length());
+    }
+
+    /**
+     * Writes chars that do not need to be escaped, copying them into the
+     * buffer or, if there are more than the buffer can hold, writing them
+     * directly to the underlying writer.
+     */
+    private void writeUnescaped(CharSequence csq, int start, int end) throws IOException {
+        int len = end - start;
+        if (len == 0) {
+            return;
+        }
+        if (len > buffer.length - count) {
+            flushBuffer();
+            if (len >= buffer.length) {
+                writeDirectly(csq, start, end);
+                return;
+            }
+        }
+
+        if (csq == charArraySequence) {
+            System.arraycopy(charArraySequence.array, start, buffer, count, len);
+        } else if (csq instanceof String) {
+            ((String) csq).getChars(start, end, buffer, count);
+        } else if (csq instanceof StringBuilder) {
+            ((StringBuilder) csq).getChars(start, end, buffer, count);
+        } else {
+            for (int i = start; i < end; i++) {
+                buffer[count + i - start] = csq.charAt(i);
+            }
+        }
+        count += len;
+    }
+
+    private void writeDirectly(CharSequence csq, int start, int end) throws IOException {
+        if (csq == charArraySequence) {
+            out.write(charArraySequence.array, start, end - start);
+        } else if (csq instanceof String) {
+            out.write((String) csq, start, end - start);
+        } else {
+            out.append(csq, start, end);
+        }
+    }
+
+    private void writeEscaped(char[] escaped) throws IOException {
+        writeEscaped(escaped, escaped.length);
+    }
+
+    private void writeEscaped(char[] escaped, int len) throws IOException {
+        if (len > buffer.length - count) {
+            flushBuffer();
+            if (len > buffer.length) {
+                out.write(escaped, 0, len);
+                return;
+            }
+        }
+        System.arraycopy(escaped, 0, buffer, count, len);
+        count += len;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+    }
+
+    private static void checkBounds(int length, int off, int len) {
+        if (off < 0 || len < 0 || off > length - len) {
+            throw new IndexOutOfBoundsException(
+                    "off <" + off + ">, len <" + len + ">, length <" + length + ">");
+        }
+    }
+
+    /**
+     * A mutable {@link CharSequence} view of a char array, so that arrays can
+     * be scanned by the escapers without being copied.
+     */
+    private static final class CharArraySequence implements CharSequence {
+
+        char[] array;
+
+        @Override
+        public int length() {
+            return array.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return array[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(array, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(array);
+        }
+    }
+
+}
@@ -1,7 +1,11 @@
 package org.giogt.commons.core.text.escapers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.text.Strings;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+
 /**
  * A {@code UnicodeEscaper} that escapes some set of Java characters using
  * the URI percent encoding scheme. The set of safe characters (those which
@@ -119,6 +123,16 @@ public class PercentEscaper extends UnicodeEscaper {
     private static final char[] UPPER_HEX_DIGITS =
             "0123456789ABCDEF".toCharArray();
 
+    private static final byte[] UPPER_HEX_DIGIT_BYTES = {
+            '0', '1', '2', '3', '4', '5', '6', '7',
+            '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    /**
+     * The size of the scratch buffer used when escaping into a direct
+     * {@link ByteBuffer}.
+     */
+    private static final int SCRATCH_SIZE = 1024;
+
     /**
      * If true we should convert space to the {@code +} character.
      */
@@ -223,6 +237,206 @@ public class PercentEscaper extends UnicodeEscaper {
         return s;
     }
 
+    /**
+     * Escapes a sub-sequence of characters directly into a byte array, as
+     * percent encoded UTF-8 (which is pure ASCII), without creating any
+     * intermediate {@code String} or {@code char[]}.
+     * <p>
+     * <p>Escaping starts from the index of the given {@code position} and
+     * stops either at {@code end} or when the next code point does not fit
+     * in the remaining space of {@code dest} (code points are never split).
+     * In both cases the index of {@code position} is updated to the first
+     * character that has not been escaped, so an overflow can be detected by
+     * comparing it with {@code end} and escaping can be resumed, using the
+     * same {@code position}, once the caller has drained {@code dest}.
+     *
+     * @param csq      the characters to be escaped
+     * @param position the index of the first character to be escaped, which
+     *                 is updated to the index of the first character that
+     *                 has not been escaped
+     * @param end      the index immediately after the last character to be
+     *                 escaped
+     * @param dest     the destination array
+     * @param offset   the index in {@code dest} of the first byte to write
+     * @param length   the maximum number of bytes to write
+     * @return the number of bytes written into {@code dest}
+     * @throws IllegalArgumentException if invalid surrogate characters are
+     *                                  encountered
+     */
+    public int escape(
+            CharSequence csq,
+            ParsePosition position,
+            int end,
+            byte[] dest,
+            int offset,
+            int length) {
+
+        Preconditions.notNull(csq, "csq");
+        Preconditions.notNull(position, "position");
+        Preconditions.notNull(dest, "dest");
+        Preconditions.checkPositionIndex(end, csq.length(), "end");
+        Preconditions.checkPositionIndex(position.getIndex(), end, "position");
+        Preconditions.checkPositionIndex(offset, dest.length, "offset");
+        Preconditions.checkPositionIndex(offset + length, dest.length, "offset + length");
+
+        boolean[] safeOctets = this.safeOctets;
+        int safeOctetsLength = safeOctets.length;
+
+        int index = position.getIndex();
+        int destIndex = offset;
+        int destEnd = offset + length;
+        while (index < end) {
+            // fast path: bulk copy of the run of safe chars (that are ASCII)
+            int runEnd = Math.min(end, index + (destEnd - destIndex));
+            char c;
+            while (index < runEnd &&
+                    (c = csq.charAt(index)) < safeOctetsLength && safeOctets[c]) {
+                dest[destIndex++] = (byte) c;
+                index++;
+            }
+            if (index == end || destIndex == destEnd) {
+                break;
+            }
+            if (index < runEnd) {
+                // an unsafe char (not a full destination)
+                int cp = codePointAt(csq, index, end);
+                if (cp < 0) {
+                    throw new IllegalArgumentException(
+                            "Trailing high surrogate at end of input");
+                }
+                int written = escapeBytes(cp, dest, destIndex, destEnd);
+                if (written < 0) {
+                    // overflow
+                    break;
+                }
+                destIndex += written;
+                index += Character.isSupplementaryCodePoint(cp) ? 2 : 1;
+            }
+        }
+
+        position.setIndex(index);
+        return destIndex - offset;
+    }
+
+    /**
+     * Escapes a sub-sequence of characters directly into a byte buffer, as
+     * percent encoded UTF-8 (which is pure ASCII), without creating any
+     * intermediate {@code String} or {@code char[]}.
+     * <p>
+     * <p>The semantics are the same of
+     * {@link #escape(CharSequence, ParsePosition, int, byte[], int, int)},
+     * with the bytes written starting at the position of {@code out}, which
+     * is advanced accordingly. When {@code out} is not backed by an
+     * accessible array (e.g. a direct buffer), bytes are first escaped into a
+     * thread-local scratch array and then copied in bulk.
+     *
+     * @param csq      the characters to be escaped
+     * @param position the index of the first character to be escaped, which
+     *                 is updated to the index of the first character that
+     *                 has not been escaped
+     * @param end      the index immediately after the last character to be
+     *                 escaped
+     * @param out      the destination buffer
+     * @return the number of bytes written into {@code out}
+     * @throws IllegalArgumentException if invalid surrogate characters are
+     *                                  encountered
+     */
+    public int escape(
+            CharSequence csq,
+            ParsePosition position,
+            int end,
+            ByteBuffer out) {
+
+        Preconditions.notNull(out, "out");
+
+        if (out.hasArray()) {
+            int written = escape(
+                    csq,
+                    position,
+                    end,
+                    out.array(),
+                    out.arrayOffset() + out.position(),
+                    out.remaining());
+            out.position(out.position() + written);
+            return written;
+        }
+
+        byte[] scratch = SCRATCH_TL.get();
+        int totalWritten = 0;
+        while (position.getIndex() < end && out.hasRemaining()) {
+            int written = escape(
+                    csq,
+                    position,
+                    end,
+                    scratch,
+                    0,
+                    Math.min(scratch.length, out.remaining()));
+            if (written == 0) {
+                // overflow: the next code point does not fit
+                break;
+            }
+            out.put(scratch, 0, written);
+            totalWritten += written;
+        }
+        return totalWritten;
+    }
+
+    /**
+     * Writes the escaped form of the given (unsafe) code point to
+     * {@code dest}, returning the number of bytes written, or {@code -1} if
+     * there is not enough space.
+     */
+    private int escapeBytes(int cp, byte[] dest, int destIndex, int destEnd) {
+        int available = destEnd - destIndex;
+        if (cp == ' ' && plusForSpace) {
+            if (available < 1) {
+                return -1;
+            }
+            dest[destIndex] = '+';
+            return 1;
+        } else if (cp <= 0x7F) {
+            if (available < 3) {
+                return -1;
+            }
+            writeEscapedByte(cp, dest, destIndex);
+            return 3;
+        } else if (cp <= 0x7FF) {
+            if (available < 6) {
+                return -1;
+            }
+            writeEscapedByte(0xC0 | (cp >>> 6), dest, destIndex);
+            writeEscapedByte(0x80 | (cp & 0x3F), dest, destIndex + 3);
+            return 6;
+        } else if (cp <= 0xFFFF) {
+            if (available < 9) {
+                return -1;
+            }
+            writeEscapedByte(0xE0 | (cp >>> 12), dest, destIndex);
+            writeEscapedByte(0x80 | ((cp >>> 6) & 0x3F), dest, destIndex + 3);
+            writeEscapedByte(0x80 | (cp & 0x3F), dest, destIndex + 6);
+            return 9;
+        } else if (cp <= 0x10FFFF) {
+            if (available < 12) {
+                return -1;
+            }
+            writeEscapedByte(0xF0 | (cp >>> 18), dest, destIndex);
+            writeEscapedByte(0x80 | ((cp >>> 12) & 0x3F), dest, destIndex + 3);
+            writeEscapedByte(0x80 | ((cp >>> 6) & 0x3F), dest, destIndex + 6);
+            writeEscapedByte(0x80 | (cp & 0x3F), dest, destIndex + 9);
+            return 12;
+        } else {
+            // If this ever happens it is due to bug in UnicodeEscaper, not bad input.
+            throw new IllegalArgumentException(
+                    "Invalid unicode character value " + cp);
+        }
+    }
+
+    private static void writeEscapedByte(int b, byte[] dest, int destIndex) {
+        dest[destIndex] = '%';
+        dest[destIndex + 1] = UPPER_HEX_DIGIT_BYTES[b >>> 4];
+        dest[destIndex + 2] = UPPER_HEX_DIGIT_BYTES[b & 0xF];
+    }
+
     /**
      * Escapes the given Unicode code point in UTF-8.
      */
@@ -303,4 +517,15 @@ public class PercentEscaper extends UnicodeEscaper {
                     "Invalid unicode character value " + cp);
         }
     }
+
+    /**
+     * A thread-local scratch buffer, used when escaping into a
+     * {@link ByteBuffer} that is not backed by an accessible array.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH_TL = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[SCRATCH_SIZE];
+        }
+    };
 }
@@ -0,0 +1,84 @@
+package org.giogt.commons.core.text.escapers;
+
+/**
+ * Scans character sequences for runs of ASCII characters that an escaper
+ * leaves unmodified ("safe" characters).
+ * <p>
+ * <p>This is the fast path shared by {@link CharEscaper},
+ * {@link UnicodeEscaper} and their optimized subclasses: instead of asking
+ * the escaper about every single character (a virtual call, that often
+ * allocates the replacement just to be discarded), each character is checked
+ * against a 128 entries lookup table, in a loop small enough to be inlined in
+ * the callers.
+ * <p>
+ * <p>The scanner stops at the first character that is either an unsafe ASCII
+ * character or a non ASCII character: the latter must be checked by the
+ * caller, that knows how to handle them (e.g. surrogate pairs).
+ * <p>
+ * <p>Instances are immutable and safe when used concurrently by multiple
+ * threads.
+ */
+final class SafeCharScanner {
+
+    /**
+     * The number of ASCII characters (i.e. the size of the lookup table).
+     */
+    static final int ASCII_SIZE = 128;
+
+    /**
+     * A lookup table where {@code safe[c]} is true if the ASCII character
+     * {@code c} does not need to be escaped.
+     */
+    private final boolean[] safe;
+
+    private SafeCharScanner(boolean[] safe) {
+        this.safe = safe;
+    }
+
+    /**
+     * Creates a scanner from an array of flags where, for any ASCII character
+     * {@code c}, {@code safe[c]} is true if {@code c} does not need to be
+     * escaped. ASCII characters beyond the length of the array are considered
+     * unsafe.
+     */
+    static SafeCharScanner of(boolean[] safe) {
+        boolean[] safeAscii = new boolean[ASCII_SIZE];
+        System.arraycopy(safe, 0, safeAscii, 0, Math.min(safe.length, ASCII_SIZE));
+        return new SafeCharScanner(safeAscii);
+    }
+
+    /**
+     * Creates a scanner for an escaper based on an array of replacements,
+     * where the ASCII characters that have a replacement or that are outside
+     * the range {@code [safeMin, safeMax]} are unsafe.
+     */
+    static SafeCharScanner of(char[][] replacements, char safeMin, char safeMax) {
+        boolean[] safe = new boolean[ASCII_SIZE];
+        for (int c = 0; c < ASCII_SIZE; c++) {
+            safe[c] = (c >= replacements.length || replacements[c] == null)
+                    && safeMin <= c && c <= safeMax;
+        }
+        return new SafeCharScanner(safe);
+    }
+
+    /**
+     * Returns the index of the first character in the specified range of
+     * {@code csq} that is either an unsafe ASCII character or a non ASCII
+     * character, or {@code end} if there is no such character.
+     *
+     * @param csq   a sequence of characters
+     * @param index the index of the first character to be scanned
+     * @param end   the index immediately after the last character to be scanned
+     */
+    int scan(CharSequence csq, int index, int end) {
+        boolean[] safe = this.safe;
+        for (; index < end; index++) {
+            char c = csq.charAt(index);
+            if (c >= ASCII_SIZE || !safe[c]) {
+                break;
+            }
+        }
+        return index;
+    }
+
+}
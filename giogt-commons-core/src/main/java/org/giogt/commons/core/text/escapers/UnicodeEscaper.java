@@ -40,6 +40,11 @@ public abstract class UnicodeEscaper implements Escaper {
      */
     private static final int DEST_PAD = 32;
 
+    /**
+     * Lazily created by {@link #safeCharScanner()}.
+     */
+    private SafeCharScanner safeCharScanner;
+
     /**
      * Returns the escaped form of the given Unicode code point, or {@code null}
      * if this code point does not need to be escaped. When called as part of an
@@ -70,7 +75,9 @@ public abstract class UnicodeEscaper implements Escaper {
      * returning the index of the next character that requires escaping.
      * <p>
      * <p><b>Note:</b> When implementing an escaper, it is a good idea to override
-     * this method for efficiency. The base class implementation determines
+     * this method for efficiency. The base class implementation skips runs of
+     * safe ASCII characters using a lookup table (built by invoking
+     * {@link #escape(int)} once for every ASCII code point), then determines
      * successive Unicode code points and invokes {@link #escape(int)} for each of
      * them. If the semantics of your escaper are such that code points in the
      * supplementary range are either all escaped or all unescaped, this method
@@ -90,8 +97,13 @@ public abstract class UnicodeEscaper implements Escaper {
      *                                  contains invalid surrogate pairs
      */
     protected int nextEscapeIndex(CharSequence csq, int start, int end) {
+        SafeCharScanner scanner = safeCharScanner();
         int index = start;
-        while (index < end) {
+        while ((index = scanner.scan(csq, index, end)) < end) {
+            if (csq.charAt(index) < SafeCharScanner.ASCII_SIZE) {
+                // an ASCII character that needs escaping
+                break;
+            }
             int cp = codePointAt(csq, index, end);
             if (cp < 0 || escape(cp) != null) {
                 break;
@@ -101,6 +113,31 @@ public abstract class UnicodeEscaper implements Escaper {
         return index;
     }
 
+    /**
+     * Returns the scanner used by {@link #nextEscapeIndex(CharSequence, int, int)}
+     * to skip runs of safe ASCII characters with one table lookup per
+     * character, without invoking {@link #escape(int)}.
+     * <p>
+     * <p>The default implementation builds it the first time it is needed, by
+     * invoking {@link #escape(int)} for every ASCII code point. Subclasses that
+     * know their safe characters in advance can override this method to
+     * return a scanner created eagerly.
+     */
+    SafeCharScanner safeCharScanner() {
+        // racy single-check: scanners are immutable, so at worst one is
+        // created more than once
+        SafeCharScanner scanner = this.safeCharScanner;
+        if (scanner == null) {
+            boolean[] safe = new boolean[SafeCharScanner.ASCII_SIZE];
+            for (int cp = 0; cp < safe.length; cp++) {
+                safe[cp] = escape(cp) == null;
+            }
+            scanner = SafeCharScanner.of(safe);
+            this.safeCharScanner = scanner;
+        }
+        return scanner;
+    }
+
     /**
      * Returns the escaped form of a given literal string.
      * <p>
@@ -1,78 +1,483 @@
 package org.giogt.commons.core.text.unescapers;
 
+import org.giogt.commons.core.Preconditions;
 import org.giogt.commons.core.text.Unescaper;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
 
+/**
+ * An {@link Unescaper} that decodes text escaped using the URI percent
+ * encoding scheme (see {@link org.giogt.commons.core.text.escapers.PercentEscaper}).
+ * <p>
+ * <p>Every run of consecutive "%XY" triples is decoded as a sequence of UTF-8
+ * bytes; all other characters are left unmodified. Malformed UTF-8 sequences
+ * are replaced by the Unicode replacement character {@code U+FFFD} (exactly
+ * like {@link String#String(byte[], java.nio.charset.Charset)} does), while
+ * illegal hex digits and incomplete trailing escape patterns are rejected
+ * with an {@link IllegalArgumentException}.
+ * <p>
+ * <p>Decoding is table driven and writes UTF-16 chars directly into a
+ * reusable destination buffer: no intermediate {@code String} or
+ * {@code byte[]} is created for the escaped bytes. Note that this escaper
+ * does <em>not</em> convert "+" to space.
+ * <p>
+ * <p>A {@code PercentUnescaper} instance is stateless, and safe when used
+ * concurrently by multiple threads.
+ */
 public class PercentUnescaper implements Unescaper {
 
+    private static final char ESCAPE_CHAR = '%';
+
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    private static final int INCOMPLETE_SEQUENCE = Integer.MIN_VALUE;
+
+    /**
+     * Lookup table from ASCII chars to their hex value, or {@code -1} for
+     * chars that are not hex digits.
+     */
+    private static final byte[] HEX_VALUES = createHexValues();
+
+    private static byte[] createHexValues() {
+        byte[] hexValues = new byte[128];
+        Arrays.fill(hexValues, (byte) -1);
+        for (int c = '0'; c <= '9'; c++) {
+            hexValues[c] = (byte) (c - '0');
+        }
+        for (int c = 'A'; c <= 'F'; c++) {
+            hexValues[c] = (byte) (c - 'A' + 10);
+        }
+        for (int c = 'a'; c <= 'f'; c++) {
+            hexValues[c] = (byte) (c - 'a' + 10);
+        }
+        return hexValues;
+    }
+
+    /**
+     * Returns the unescaped form of a given string.
+     * <p>
+     * <p>If the string does not contain any escape pattern, the string itself
+     * is returned.
+     *
+     * @param s the string to be unescaped
+     * @return the unescaped form of {@code s}
+     * @throws NullPointerException     if {@code s} is null
+     * @throws IllegalArgumentException if {@code s} contains illegal hex chars
+     *                                  or an incomplete trailing escape pattern
+     */
     @Override
     public String unescape(String s) {
-        Charset encoding = StandardCharsets.UTF_8;
-
-        boolean needToChange = false;
-        int numChars = s.length();
-        StringBuffer sb = new StringBuffer(numChars > 500 ? numChars / 2 : numChars);
-        int i = 0;
-
-        char c;
-        byte[] bytes = null;
-        while (i < numChars) {
-            c = s.charAt(i);
-            switch (c) {
-                case '%':
-                    /*
-                     * Starting with this instance of %, process all
-                     * consecutive substrings of the form %xy. Each
-                     * substring %xy will yield a byte. Convert all
-                     * consecutive  bytes obtained this way to whatever
-                     * character(s) they represent in the provided
-                     * encoding.
-                     */
-
-                    try {
-
-                        // (numChars-i)/3 is an upper bound for the number
-                        // of remaining bytes
-                        if (bytes == null)
-                            bytes = new byte[(numChars - i) / 3];
-                        int pos = 0;
-
-                        while (((i + 2) < numChars) &&
-                                (c == '%')) {
-                            int v = Integer.parseInt(s.substring(i + 1, i + 3), 16);
-                            if (v < 0)
-                                throw new IllegalArgumentException("Illegal hex characters in escape (%) pattern - negative value");
-                            bytes[pos++] = (byte) v;
-                            i += 3;
-                            if (i < numChars)
-                                c = s.charAt(i);
-                        }
-
-                        // A trailing, incomplete byte encoding such as
-                        // "%x" will cause an exception to be thrown
-
-                        if ((i < numChars) && (c == '%'))
-                            throw new IllegalArgumentException(
-                                    "Incomplete trailing escape (%) pattern");
-
-                        sb.append(new String(bytes, 0, pos, encoding));
-                    } catch (NumberFormatException e) {
-                        throw new IllegalArgumentException(
-                                "Illegal hex characters in escape (%) pattern - "
-                                        + e.getMessage());
+        int index = s.indexOf(ESCAPE_CHAR);
+        if (index < 0) {
+            return s;
+        }
+
+        // unescaped text is never longer than the escaped one
+        int slen = s.length();
+        char[] dest = DEST_TL.get();
+        if (dest.length < slen) {
+            dest = new char[slen];
+        }
+
+        s.getChars(0, index, dest, 0);
+        int destIndex = index;
+        while (index < slen) {
+            char c = s.charAt(index);
+            if (c != ESCAPE_CHAR) {
+                dest[destIndex++] = c;
+                index++;
+            } else {
+                int runEnd = escapeRunEnd(s, index, slen);
+                destIndex = decodeRun(s, index, runEnd, dest, destIndex);
+                index = runEnd;
+            }
+        }
+        return new String(dest, 0, destIndex);
+    }
+
+    /**
+     * Unescapes the sub-sequence {@code [start, end)} of a given char
+     * sequence, appending the result to the given {@code Appendable}.
+     * <p>
+     * <p>Unescaped chunks of the input are appended as sub-sequences, decoded
+     * runs are appended in bulk when {@code out} is a {@link StringBuilder}
+     * or a {@link Writer}.
+     *
+     * @param csq   the char sequence to be unescaped
+     * @param start the index of the first char to be unescaped
+     * @param end   the index immediately after the last char to be unescaped
+     * @param out   the {@code Appendable} to append the unescaped text to
+     * @return {@code out}
+     * @throws IOException              if {@code out} throws it
+     * @throws IllegalArgumentException if the sub-sequence contains illegal
+     *                                  hex chars or an incomplete trailing
+     *                                  escape pattern
+     */
+    public <A extends Appendable> A unescape(
+            CharSequence csq,
+            int start,
+            int end,
+            A out)
+            throws IOException {
+
+        Preconditions.notNull(csq, "csq");
+        Preconditions.notNull(out, "out");
+        Preconditions.checkPositionIndex(end, csq.length(), "end");
+        Preconditions.checkPositionIndex(start, end, "start");
+
+        int unescapedChunkStart = start;
+        int index = start;
+        while (index < end) {
+            if (csq.charAt(index) != ESCAPE_CHAR) {
+                index++;
+                continue;
+            }
+            if (index > unescapedChunkStart) {
+                out.append(csq, unescapedChunkStart, index);
+            }
+
+            // a run of n bytes never decodes to more than n chars
+            int runEnd = escapeRunEnd(csq, index, end);
+            char[] dest = DEST_TL.get();
+            int runLength = (runEnd - index) / 3;
+            if (dest.length < runLength) {
+                dest = new char[runLength];
+            }
+            int destLength = decodeRun(csq, index, runEnd, dest, 0);
+            appendChars(out, dest, destLength);
+
+            index = runEnd;
+            unescapedChunkStart = index;
+        }
+        if (unescapedChunkStart < end) {
+            out.append(csq, unescapedChunkStart, end);
+        }
+        return out;
+    }
+
+    /**
+     * Unescapes as many bytes as possible from the given input buffer,
+     * writing the result to the given output buffer.
+     * <p>
+     * <p>The input is expected to contain percent encoded text (which is pure
+     * ASCII): bytes other than escape patterns are converted to chars as
+     * ISO-8859-1, consistently with {@link #unescape(String)}.
+     * <p>
+     * <p>The buffers' positions are advanced past the consumed and produced
+     * data, following the same contract as
+     * {@link java.nio.charset.CharsetDecoder#decode(ByteBuffer, CharBuffer, boolean)}:
+     * <ul>
+     * <li>{@link CoderResult#UNDERFLOW} is returned when no more input can be
+     * consumed. Unless {@code endOfInput} is {@code true}, an incomplete
+     * escape pattern or an incomplete UTF-8 sequence at the end of the input
+     * is left in the input buffer, so that the caller can compact it, read
+     * more input and invoke this method again.
+     * <li>{@link CoderResult#OVERFLOW} is returned when the output buffer is
+     * full.
+     * </ul>
+     * <p>
+     * <p>When {@code endOfInput} is {@code true}, an incomplete trailing UTF-8
+     * sequence is replaced by the Unicode replacement character
+     * {@code U+FFFD}, and an incomplete trailing escape pattern is rejected,
+     * consistently with {@link #unescape(String)}.
+     *
+     * @param in         the percent encoded input
+     * @param out        the output buffer for the unescaped chars
+     * @param endOfInput {@code true} if, and only if, the invoker can provide
+     *                   no more input beyond what is in the input buffer
+     * @return the result of the operation
+     * @throws IllegalArgumentException if the input contains illegal hex
+     *                                  chars, or if {@code endOfInput} is
+     *                                  {@code true} and the input ends with an
+     *                                  incomplete escape pattern
+     */
+    public CoderResult unescape(ByteBuffer in, CharBuffer out, boolean endOfInput) {
+        Preconditions.notNull(in, "in");
+        Preconditions.notNull(out, "out");
+
+        int limit = in.limit();
+        while (in.hasRemaining()) {
+            int index = in.position();
+            int c = in.get(index) & 0xFF;
+            if (c != ESCAPE_CHAR) {
+                if (!out.hasRemaining()) {
+                    return CoderResult.OVERFLOW;
+                }
+                out.put((char) c);
+                in.position(index + 1);
+                continue;
+            }
+
+            // decode a single UTF-8 sequence
+            if (index + 3 > limit) {
+                if (endOfInput) {
+                    throw new IllegalArgumentException(
+                            "Incomplete trailing escape (%) pattern");
+                }
+                return CoderResult.UNDERFLOW;
+            }
+            int b0 = escapedByteAt(in, index);
+            int b1 = -1;
+            int b2 = -1;
+            int b3 = -1;
+            int available = 1;
+            boolean runMayContinue = false;
+            if (b0 >= 0x80) {
+                int next = index + 3;
+                while (available < 4) {
+                    if (next + 3 > limit) {
+                        // the escape run may continue in the next input chunk
+                        runMayContinue = !endOfInput &&
+                                (next >= limit || (in.get(next) & 0xFF) == ESCAPE_CHAR);
+                        break;
+                    }
+                    if ((in.get(next) & 0xFF) != ESCAPE_CHAR) {
+                        break;
                     }
-                    needToChange = true;
-                    break;
-                default:
-                    sb.append(c);
-                    i++;
-                    break;
+                    int b = escapedByteAt(in, next);
+                    if (available == 1) {
+                        b1 = b;
+                    } else if (available == 2) {
+                        b2 = b;
+                    } else {
+                        b3 = b;
+                    }
+                    available++;
+                    next += 3;
+                }
+            }
+
+            int result = decodeSequence(b0, b1, b2, b3, available);
+            if (result == INCOMPLETE_SEQUENCE && runMayContinue) {
+                return CoderResult.UNDERFLOW;
             }
+            int chars = result >= Character.MIN_SUPPLEMENTARY_CODE_POINT ? 2 : 1;
+            if (out.remaining() < chars) {
+                return CoderResult.OVERFLOW;
+            }
+            in.position(index + 3 * putDecoded(result, available, out));
         }
+        return CoderResult.UNDERFLOW;
+    }
 
-        return (needToChange ? sb.toString() : s);
+    /**
+     * Returns the index immediately after the run of consecutive escape
+     * patterns starting at the given index, validating all their hex digits.
+     */
+    private static int escapeRunEnd(CharSequence csq, int index, int end) {
+        while (index < end && csq.charAt(index) == ESCAPE_CHAR) {
+            if (index + 2 >= end) {
+                throw new IllegalArgumentException(
+                        "Incomplete trailing escape (%) pattern");
+            }
+            checkHexDigit(csq, index + 1);
+            checkHexDigit(csq, index + 2);
+            index += 3;
+        }
+        return index;
     }
 
+    private static void checkHexDigit(CharSequence csq, int index) {
+        char c = csq.charAt(index);
+        if (c >= HEX_VALUES.length || HEX_VALUES[c] < 0) {
+            throw new IllegalArgumentException(
+                    "Illegal hex characters in escape (%) pattern - char '" + c +
+                            "' at index " + index);
+        }
+    }
+
+    /**
+     * Decodes the (already validated) run of escape patterns
+     * {@code [start, runEnd)} as UTF-8 bytes into {@code dest}, returning the
+     * updated destination index.
+     */
+    private static int decodeRun(
+            CharSequence csq,
+            int start,
+            int runEnd,
+            char[] dest,
+            int destIndex) {
+
+        int index = start;
+        while (index < runEnd) {
+            int b0 = escapedByteAt(csq, index);
+            if (b0 < 0x80) {
+                // fast path for ASCII
+                dest[destIndex++] = (char) b0;
+                index += 3;
+                continue;
+            }
+
+            int available = Math.min((runEnd - index) / 3, 4);
+            int b1 = available > 1 ? escapedByteAt(csq, index + 3) : -1;
+            int b2 = available > 2 ? escapedByteAt(csq, index + 6) : -1;
+            int b3 = available > 3 ? escapedByteAt(csq, index + 9) : -1;
+
+            int result = decodeSequence(b0, b1, b2, b3, available);
+            int consumed;
+            if (result < 0) {
+                dest[destIndex++] = REPLACEMENT_CHAR;
+                consumed = result == INCOMPLETE_SEQUENCE ? available : -result;
+            } else if (result < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                dest[destIndex++] = (char) result;
+                consumed = sequenceLength(result);
+            } else {
+                dest[destIndex++] = Character.highSurrogate(result);
+                dest[destIndex++] = Character.lowSurrogate(result);
+                consumed = 4;
+            }
+            index += 3 * consumed;
+        }
+        return destIndex;
+    }
+
+    /**
+     * Writes the result of {@link #decodeSequence} to {@code out}, returning
+     * the number of consumed bytes.
+     */
+    private static int putDecoded(int result, int available, CharBuffer out) {
+        if (result < 0) {
+            out.put(REPLACEMENT_CHAR);
+            return result == INCOMPLETE_SEQUENCE ? available : -result;
+        } else if (result < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out.put((char) result);
+            return sequenceLength(result);
+        } else {
+            out.put(Character.highSurrogate(result));
+            out.put(Character.lowSurrogate(result));
+            return 4;
+        }
+    }
+
+    private static int escapedByteAt(CharSequence csq, int index) {
+        return (HEX_VALUES[csq.charAt(index + 1)] << 4) | HEX_VALUES[csq.charAt(index + 2)];
+    }
+
+    private static int escapedByteAt(ByteBuffer in, int index) {
+        int hi = in.get(index + 1) & 0xFF;
+        int lo = in.get(index + 2) & 0xFF;
+        if (hi >= HEX_VALUES.length || lo >= HEX_VALUES.length ||
+                HEX_VALUES[hi] < 0 || HEX_VALUES[lo] < 0) {
+            throw new IllegalArgumentException(
+                    "Illegal hex characters in escape (%) pattern - bytes <" +
+                            hi + ", " + lo + "> at index " + index);
+        }
+        return (HEX_VALUES[hi] << 4) | HEX_VALUES[lo];
+    }
+
+    /**
+     * Decodes the UTF-8 sequence starting with byte {@code b0}, given the
+     * {@code available} (1 to 4) bytes of the escape run starting from it
+     * (unavailable bytes are passed as {@code -1}).
+     * <p>
+     * <p>Malformed input is detected with the same rules as the JDK UTF-8
+     * decoder, so that the same number of replacement chars is produced.
+     *
+     * @return the decoded code point, or the negated length of the malformed
+     * input, or {@link #INCOMPLETE_SEQUENCE} if the available bytes are a
+     * valid but incomplete sequence
+     */
+    private static int decodeSequence(int b0, int b1, int b2, int b3, int available) {
+        if (b0 < 0x80) {
+            return b0;
+        } else if (b0 >= 0xC2 && b0 <= 0xDF) {
+            if (available < 2) {
+                return INCOMPLETE_SEQUENCE;
+            }
+            if (!isContinuation(b1)) {
+                return -1;
+            }
+            return ((b0 & 0x1F) << 6) | (b1 & 0x3F);
+        } else if ((b0 & 0xF0) == 0xE0) {
+            if (available > 1 && isMalformed3(b0, b1)) {
+                return -1;
+            }
+            if (available < 3) {
+                return INCOMPLETE_SEQUENCE;
+            }
+            if (!isContinuation(b2)) {
+                return -2;
+            }
+            int cp = ((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+            return Character.isSurrogate((char) cp) ? -3 : cp;
+        } else if ((b0 & 0xF8) == 0xF0) {
+            if (b0 > 0xF4 || (available > 1 && isMalformed4(b0, b1))) {
+                return -1;
+            }
+            if (available > 2 && !isContinuation(b2)) {
+                return -2;
+            }
+            if (available < 4) {
+                return INCOMPLETE_SEQUENCE;
+            }
+            if (!isContinuation(b3)) {
+                return -3;
+            }
+            return ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the UTF-8 encoded length of a valid code point.
+     */
+    private static int sequenceLength(int cp) {
+        if (cp < 0x80) {
+            return 1;
+        } else if (cp < 0x800) {
+            return 2;
+        } else if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static boolean isContinuation(int b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    // checks the second byte of a 3 bytes sequence (rejecting overlong encodings)
+    private static boolean isMalformed3(int b0, int b1) {
+        return (b0 == 0xE0 && (b1 & 0xE0) == 0x80) || !isContinuation(b1);
+    }
+
+    // checks the second byte of a 4 bytes sequence (rejecting overlong
+    // encodings and code points above U+10FFFF)
+    private static boolean isMalformed4(int b0, int b1) {
+        return (b0 == 0xF0 && (b1 < 0x90 || b1 > 0xBF)) ||
+                (b0 == 0xF4 && (b1 & 0xF0) != 0x80) ||
+                !isContinuation(b1);
+    }
+
+    private static void appendChars(Appendable out, char[] chars, int length)
+            throws IOException {
+
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, 0, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, 0, length);
+        } else {
+            for (int n = 0; n < length; n++) {
+                out.append(chars[n]);
+            }
+        }
+    }
+
+    /**
+     * A thread-local destination buffer to keep us from creating new buffers.
+     * The starting size is 1024 characters.  If we grow past this we don't
+     * put it back in the threadlocal, we just keep going and grow as needed.
+     */
+    private static final ThreadLocal<char[]> DEST_TL = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[1024];
+        }
+    };
+
 }
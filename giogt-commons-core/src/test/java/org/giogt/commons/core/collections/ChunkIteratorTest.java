@@ -2,12 +2,16 @@ package org.giogt.commons.core.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -268,6 +272,75 @@ public class ChunkIteratorTest {
         assertThat(iut.hasNext(), is(false));
     }
 
+    @Test
+    public void next_withViews_mustReturnViewsOfTheList() {
+        List<String> list = new ArrayList<>(Arrays.asList("1", "2", "3", "4", "5"));
+
+        ChunkIterator<String> iut = new ChunkIterator<>(list, 2, false, true, false);
+        Chunk<String> first = iut.next();
+        list.set(1, "20");
+
+        assertThat(first.getChunk(), is(Arrays.asList("1", "20")));
+        assertThat(iut.next().getChunk(), is(Arrays.asList("3", "4")));
+    }
+
+    @Test
+    public void next_withViewsOfListWithoutRandomAccess_mustReturnCopies() {
+        List<String> list = new LinkedList<>(Arrays.asList("1", "2", "3", "4", "5"));
+
+        ChunkIterator<String> iut = new ChunkIterator<>(list, 2, false, true, false);
+        Chunk<String> first = iut.next();
+        list.set(1, "20");
+
+        assertThat(first.getChunk(), is(Arrays.asList("1", "2")));
+        assertThat(iut.next().getChunk(), is(Arrays.asList("3", "4")));
+    }
+
+    @Test
+    public void next_withReusedChunk_mustReturnTheSameChunkUpdated() {
+        List<String> list = Arrays.asList("1", "2", "3", "4", "5");
+
+        ChunkIterator<String> iut = new ChunkIterator<>(list, 2, false, true, true);
+        Chunk<String> first = iut.next();
+        Chunk<String> second = iut.next();
+        Chunk<String> third = iut.next();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(third, is(sameInstance(first)));
+        assertThat(third, is(Chunk.<String>builder()
+                .withMinIndex(4)
+                .withMaxIndex(4)
+                .withMinValue("5")
+                .withMaxValue("5")
+                .withChunk(Collections.singletonList("5"))
+                .build()));
+        assertThat(iut.hasNext(), is(false));
+    }
+
+    @Test
+    public void next_withLinkedList_mustReturnTheChunksOfTheArrayList() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            List<String> arrayList = new ArrayList<>();
+            int size = random.nextInt(50);
+            for (int i = 0; i < size; i++) {
+                arrayList.add(Integer.toString(random.nextInt(100)));
+            }
+            List<String> linkedList = new LinkedList<>(arrayList);
+            int chunkSize = 1 + random.nextInt(10);
+            boolean onlyMinAndMax = random.nextBoolean();
+            boolean views = random.nextBoolean();
+
+            ChunkIterator<String> expected = new ChunkIterator<>(arrayList, chunkSize, onlyMinAndMax, views, false);
+            ChunkIterator<String> iut = new ChunkIterator<>(linkedList, chunkSize, onlyMinAndMax, views, true);
+            while (expected.hasNext()) {
+                assertThat(iut.hasNext(), is(true));
+                assertThat(iut.next(), is(expected.next()));
+            }
+            assertThat(iut.hasNext(), is(false));
+        }
+    }
+
     private ChunkIterator<String> buildChunkIterator(List<String> list, int chunkSize) {
         return new ChunkIterator<>(list, chunkSize);
     }
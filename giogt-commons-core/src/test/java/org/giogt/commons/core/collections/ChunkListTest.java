@@ -0,0 +1,174 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChunkListTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void spliterator_mustSplitOnChunkBoundaries() {
+        ChunkList<Integer> iut = new ChunkList<>(range(10), 3);
+
+        Spliterator<Chunk<Integer>> suffix = iut.spliterator();
+        assertThat(suffix.hasCharacteristics(
+                Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), is(true));
+        assertThat(suffix.getExactSizeIfKnown(), is(4L));
+
+        Spliterator<Chunk<Integer>> prefix = suffix.trySplit();
+        assertThat(prefix, is(notNullValue()));
+        assertThat(prefix.getExactSizeIfKnown(), is(2L));
+        assertThat(suffix.getExactSizeIfKnown(), is(2L));
+
+        List<Chunk<Integer>> chunks = new ArrayList<>();
+        prefix.forEachRemaining(chunks::add);
+        suffix.forEachRemaining(chunks::add);
+        assertThat(chunks, is(toList(iut)));
+    }
+
+    @Test
+    public void stream_mustReturnTheChunksOfTheIterator() {
+        for (List<Integer> list : lists(1000)) {
+            ChunkList<Integer> iut = new ChunkList<>(list, 7);
+
+            assertThat(iut.stream().collect(Collectors.toList()), is(toList(iut)));
+            assertThat(iut.parallelStream().collect(Collectors.toList()), is(toList(iut)));
+        }
+    }
+
+    @Test
+    public void parallelStream_withReusedChunkViews_mustProcessEveryElement() {
+        ChunkList<Integer> iut = ChunkList.<Integer>builder()
+                .withList(range(10_000))
+                .withChunkSize(100)
+                .withViews()
+                .withReusedChunk()
+                .build();
+
+        long sum = iut.parallelStream()
+                .mapToLong(chunk -> chunk.getChunk().stream().mapToLong(Integer::longValue).sum())
+                .sum();
+
+        assertThat(sum, is(10_000L * 9_999 / 2));
+    }
+
+    @Test
+    public void forEachChunkParallel_mustProcessEveryChunkWithBoundedParallelism() throws InterruptedException {
+        for (List<Integer> list : lists(1000)) {
+            ChunkList<Integer> iut = new ChunkList<>(list, 10);
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            List<Integer> elements = Collections.synchronizedList(new ArrayList<>());
+
+            iut.forEachChunkParallel(executor, 2, chunk -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                elements.addAll(chunk.getChunk());
+                inFlight.decrementAndGet();
+            });
+
+            Collections.sort(elements);
+            assertThat(elements, is(range(1000)));
+            assertThat(maxInFlight.get(), is(lessThanOrEqualTo(2)));
+        }
+    }
+
+    @Test
+    public void forEachChunkParallel_whenConsumerFails_mustThrowItsException() {
+        ChunkList<Integer> iut = new ChunkList<>(range(100), 10);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                iut.forEachChunkParallel(executor, 3, chunk -> {
+                    if (chunk.getMinIndex() == 50) {
+                        throw new IllegalStateException("chunk 5");
+                    }
+                }));
+        assertThat(e.getMessage(), is("chunk 5"));
+    }
+
+    @Test
+    public void forEachChunkParallel_whenConsumerThrowsAnError_mustThrowIt() {
+        ChunkList<Integer> iut = new ChunkList<>(range(100), 10);
+
+        AssertionError e = assertThrows(AssertionError.class, () ->
+                iut.forEachChunkParallel(executor, 3, chunk -> {
+                    if (chunk.getMinIndex() == 50) {
+                        throw new AssertionError("chunk 5");
+                    }
+                }));
+        assertThat(e.getMessage(), is("chunk 5"));
+    }
+
+    @Test
+    public void mapChunksParallel_mustConsumeTheResultsInChunkOrder() throws InterruptedException {
+        for (List<Integer> list : lists(1000)) {
+            ChunkList<Integer> iut = new ChunkList<>(list, 10);
+            List<Integer> minValues = new ArrayList<>();
+
+            iut.mapChunksParallel(executor, 3, Chunk::getMinValue, minValues::add);
+
+            assertThat(minValues, is(IntStream.range(0, 100)
+                    .map(i -> i * 10)
+                    .boxed()
+                    .collect(Collectors.toList())));
+        }
+    }
+
+    @Test
+    public void mapChunksParallel_whenMapperFails_mustThrowTheExceptionOfTheFirstFailedChunk() {
+        ChunkList<Integer> iut = new ChunkList<>(range(100), 10);
+        List<Integer> minValues = new ArrayList<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                iut.mapChunksParallel(executor, 4, chunk -> {
+                    if (chunk.getMinIndex() >= 30) {
+                        throw new IllegalStateException("chunk " + chunk.getMinIndex() / 10);
+                    }
+                    return chunk.getMinValue();
+                }, minValues::add));
+        assertThat(e.getMessage(), is("chunk 3"));
+        assertThat(minValues.size(), is(3));
+    }
+
+    private static List<Chunk<Integer>> toList(ChunkList<Integer> chunkList) {
+        List<Chunk<Integer>> chunks = new ArrayList<>();
+        for (Chunk<Integer> chunk : chunkList) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static List<List<Integer>> lists(int size) {
+        List<List<Integer>> lists = new ArrayList<>();
+        lists.add(range(size));
+        lists.add(new LinkedList<>(range(size)));
+        return lists;
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,273 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChunkPipelineTest {
+
+    private final ExecutorService prepareExecutor = Executors.newFixedThreadPool(2);
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void afterEach() {
+        prepareExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+    }
+
+    @Test
+    public void run_mustWriteEveryChunkInOrderWithBoundedInFlightChunks() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(new ChunkList<>(range(1000), 10))
+                .withPreparer(chunk -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return chunk.getChunk();
+                })
+                .withWriter(elements -> {
+                    written.addAll(elements);
+                    inFlight.decrementAndGet();
+                })
+                .withMaxInFlightChunks(3)
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        iut.run().join();
+
+        assertThat(written, is(range(1000)));
+        assertThat(maxInFlight.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test
+    public void run_withExecutorsRunningOnTheCallingThread_mustWriteEveryChunk() {
+        AtomicInteger written = new AtomicInteger();
+
+        ChunkPipeline<Integer, Chunk<Integer>> iut = ChunkPipeline.<Integer, Chunk<Integer>>builder()
+                .withChunks(new ChunkList<>(range(100_000), 1))
+                .withPreparer(chunk -> chunk)
+                .withWriter(chunk -> written.incrementAndGet())
+                .withPrepareExecutor(Runnable::run)
+                .withWriteExecutor(Runnable::run)
+                .build();
+
+        iut.run().join();
+
+        assertThat(written.get(), is(100_000));
+    }
+
+    @Test
+    public void run_mustPrepareTheNextChunkWhileAChunkIsWritten() throws InterruptedException {
+        CountDownLatch nextChunkPrepared = new CountDownLatch(1);
+        List<Boolean> preparedWhileWriting = new ArrayList<>();
+
+        ChunkPipeline<Integer, Chunk<Integer>> iut = ChunkPipeline.<Integer, Chunk<Integer>>builder()
+                .withChunks(new ChunkList<>(range(2), 1))
+                .withPreparer(chunk -> {
+                    if (chunk.getMinIndex() == 1) {
+                        nextChunkPrepared.countDown();
+                    }
+                    return chunk;
+                })
+                .withWriter(chunk -> {
+                    if (chunk.getMinIndex() == 0) {
+                        try {
+                            preparedWhileWriting.add(nextChunkPrepared.await(10, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                })
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        iut.run().join();
+
+        assertThat(preparedWhileWriting, is(Collections.singletonList(true)));
+    }
+
+    @Test
+    public void run_whenFailureHandlerRetriesOrSkips_mustWriteTheOtherChunks() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger writeAttempts = new AtomicInteger();
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(new ChunkList<>(range(10), 2))
+                .withPreparer(chunk -> {
+                    if (chunk.getMinIndex() == 4) {
+                        throw new IllegalArgumentException("cannot prepare chunk 2");
+                    }
+                    return chunk.getChunk();
+                })
+                .withWriter(elements -> {
+                    if (elements.get(0) == 6 && writeAttempts.incrementAndGet() < 3) {
+                        throw new IllegalStateException("cannot write chunk 3");
+                    }
+                    written.addAll(elements);
+                })
+                .withFailureHandler((chunk, failure, attempt) ->
+                        (failure instanceof IllegalStateException) ? ChunkFailureAction.RETRY : ChunkFailureAction.SKIP)
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        iut.run().join();
+
+        assertThat(written, is(Arrays.asList(0, 1, 2, 3, 6, 7, 8, 9)));
+        assertThat(writeAttempts.get(), is(3));
+    }
+
+    @Test
+    public void run_whenWriteFails_mustCompleteExceptionallyAndStopWriting() throws InterruptedException {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(new ChunkList<>(range(100), 10))
+                .withPreparer(Chunk::getChunk)
+                .withWriter(elements -> {
+                    if (elements.get(0) == 30) {
+                        throw new IllegalStateException("cannot write chunk 3");
+                    }
+                    written.addAll(elements);
+                })
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        CompletableFuture<Void> completion = iut.run();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> completion.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        Thread.sleep(100);
+        assertThat(written, is(range(30)));
+        assertThrows(IllegalStateException.class, iut::run);
+    }
+
+    @Test
+    public void run_withChunkListReusingItsChunk_mustWriteEveryChunk() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(ChunkList.<Integer>builder()
+                        .withList(range(10))
+                        .withChunkSize(2)
+                        .withReusedChunk()
+                        .build())
+                .withPreparer(chunk -> {
+                    // the following chunks are read meanwhile
+                    sleep(20);
+                    return new ArrayList<>(chunk.getChunk());
+                })
+                .withWriter(written::addAll)
+                .withMaxInFlightChunks(3)
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        iut.run().join();
+
+        assertThat(written, is(range(10)));
+    }
+
+    @Test
+    public void run_whenIteratorReusesItsChunk_mustCompleteExceptionally() {
+        Iterator<Chunk<Integer>> chunks = ChunkList.<Integer>builder()
+                .withList(range(10))
+                .withChunkSize(2)
+                .withReusedChunk()
+                .build()
+                .iterator();
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(chunks)
+                .withPreparer(chunk -> new ArrayList<>(chunk.getChunk()))
+                .withWriter(elements -> {
+                })
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> iut.run().get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+    }
+
+    @Test
+    public void run_whenChunksCannotBeRead_mustCompleteExceptionallyAndWriteNoChunkInFlight()
+            throws InterruptedException {
+
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        Iterator<Chunk<Integer>> chunkList = new ChunkList<>(range(100), 10).iterator();
+        AtomicInteger reads = new AtomicInteger();
+        Iterator<Chunk<Integer>> chunks = new Iterator<Chunk<Integer>>() {
+            @Override
+            public boolean hasNext() {
+                return chunkList.hasNext();
+            }
+
+            @Override
+            public Chunk<Integer> next() {
+                if (reads.incrementAndGet() == 3) {
+                    throw new IllegalStateException("cannot read chunk 3");
+                }
+                return chunkList.next();
+            }
+        };
+
+        ChunkPipeline<Integer, List<Integer>> iut = ChunkPipeline.<Integer, List<Integer>>builder()
+                .withChunks(chunks)
+                .withPreparer(chunk -> {
+                    sleep(50);
+                    return chunk.getChunk();
+                })
+                .withWriter(written::addAll)
+                .withMaxInFlightChunks(3)
+                .withPrepareExecutor(prepareExecutor)
+                .withWriteExecutor(writeExecutor)
+                .build();
+
+        CompletableFuture<Void> completion = iut.run();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> completion.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        Thread.sleep(200);
+        assertThat(written, is(Collections.emptyList()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChunkingIteratorTest {
+
+    @Test
+    public void builder_withoutLimits_mustFail() {
+        assertThrows(IllegalArgumentException.class, () ->
+                ChunkingIterator.<String>builder()
+                        .withSource(Collections.<String>emptyIterator())
+                        .build());
+    }
+
+    @Test
+    public void next_whenSourceIsEmpty_mustThrowNoSuchElementException() {
+        ChunkingIterator<String> iut = ChunkingIterator.<String>builder()
+                .withSource(Collections.<String>emptyIterator())
+                .withMaxChunkSize(3)
+                .build();
+
+        assertThat(iut.hasNext(), is(false));
+        assertThrows(NoSuchElementException.class, iut::next);
+    }
+
+    @Test
+    public void next_withMaxChunkSize_mustReturnTheChunksOfTheChunkIterator() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            List<String> list = new ArrayList<>();
+            int size = random.nextInt(50);
+            for (int i = 0; i < size; i++) {
+                list.add(Integer.toString(random.nextInt(100)));
+            }
+            int chunkSize = 1 + random.nextInt(10);
+
+            ChunkIterator<String> expected = new ChunkIterator<>(list, chunkSize);
+            ChunkingIterator<String> iut = ChunkingIterator.<String>builder()
+                    .withSource(list.iterator())
+                    .withMaxChunkSize(chunkSize)
+                    .build();
+            while (expected.hasNext()) {
+                assertThat(iut.hasNext(), is(true));
+                assertThat(iut.next(), is(expected.next()));
+            }
+            assertThat(iut.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void next_withMaxChunkWeight_mustNotExceedTheWeightUnlessAnElementDoes() {
+        Stream<String> source = Stream.of("aa", "bbb", "c", "dddddd", "ee", "f", "g");
+
+        List<List<String>> chunks = ChunkingIterator.<String>builder()
+                .withSource(source)
+                .withMaxChunkSize(3)
+                .withMaxChunkWeight(5, String::length)
+                .build()
+                .stream()
+                .map(Chunk::getChunk)
+                .collect(Collectors.toList());
+
+        assertThat(chunks, is(Arrays.asList(
+                Arrays.asList("aa", "bbb"),
+                Arrays.asList("c"),
+                Arrays.asList("dddddd"),
+                Arrays.asList("ee", "f", "g"))));
+    }
+
+    @Test
+    public void next_withMaxChunkDelay_mustEndTheChunkWhenTheDelayElapsed() {
+        AtomicLong nanoTime = new AtomicLong();
+        Stream<Integer> source = Stream.of(1, 2, 3, 4, 5, 6)
+                .peek(element -> nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(element == 3 ? 100 : 1)));
+
+        ChunkingIterator<Integer> iut = ChunkingIterator.<Integer>builder()
+                .withSource(source)
+                .withMaxChunkSize(10)
+                .withMaxChunkDelay(50, TimeUnit.MILLISECONDS)
+                .withNanoClock(nanoTime::get)
+                .build();
+
+        Chunk<Integer> first = iut.next();
+        assertThat(first.getChunk(), is(Arrays.asList(1, 2, 3)));
+        Chunk<Integer> second = iut.next();
+        assertThat(second.getChunk(), is(Arrays.asList(4, 5, 6)));
+        assertThat(second.getMinIndex(), is(3));
+        assertThat(second.getMaxIndex(), is(5));
+        assertThat(second.getMinValue(), is(4));
+        assertThat(second.getMaxValue(), is(6));
+        assertThat(iut.hasNext(), is(false));
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class DoubleChunkListTest {
+
+    @Test
+    public void iterator_mustComputeTheMinAndMaxOfEveryChunk() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            double[] array = random.doubles(random.nextInt(100), -1000, 1000).toArray();
+            int chunkSize = 1 + random.nextInt(20);
+
+            int offset = 0;
+            for (DoubleChunk chunk : new DoubleChunkList(array, chunkSize)) {
+                double[] elements = Arrays.copyOfRange(array, offset, Math.min(offset + chunkSize, array.length));
+                assertThat(chunk.getOffset(), is(offset));
+                assertThat(chunk.toArray(), is(elements));
+                assertThat(chunk.getMinValue(), is(Arrays.stream(elements).min().getAsDouble()));
+                assertThat(chunk.getMaxValue(), is(Arrays.stream(elements).max().getAsDouble()));
+                offset += chunkSize;
+            }
+            assertThat(offset >= array.length, is(true));
+        }
+    }
+
+    @Test
+    public void iterator_whenChunkHasNaN_mustReturnNaNMinAndMax() {
+        Iterator<DoubleChunk> iut = new DoubleChunkList(new double[]{1.5, Double.NaN, -2, 3, 4}, 3).iterator();
+
+        DoubleChunk first = iut.next();
+        assertThat(Double.isNaN(first.getMinValue()), is(true));
+        assertThat(Double.isNaN(first.getMaxValue()), is(true));
+
+        DoubleChunk second = iut.next();
+        assertThat(second.getMinValue(), is(3.0));
+        assertThat(second.getMaxValue(), is(4.0));
+        assertThat(iut.hasNext(), is(false));
+    }
+
+}
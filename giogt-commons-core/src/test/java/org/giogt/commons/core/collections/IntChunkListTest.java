@@ -0,0 +1,107 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IntChunkListTest {
+
+    @Test
+    public void intChunkList_whenArrayIsNull_mustThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new IntChunkList(null, 1));
+    }
+
+    @Test
+    public void intChunkList_whenRangeIsOutOfTheArray_mustThrowIndexOutOfBoundsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntChunkList(new int[4], 2, 3, 1));
+    }
+
+    @Test
+    public void iterator_mustReturnViewsOfTheRangeOfTheArray() {
+        int[] array = {9, 1, 5, 3, 8, 2, 7, 4};
+        IntChunkList iut = new IntChunkList(array, 1, 6, 4);
+
+        List<IntChunk> chunks = toList(iut);
+
+        assertThat(iut.size(), is(2));
+        assertThat(chunks.size(), is(2));
+        assertThat(chunks.get(0).getOffset(), is(1));
+        assertThat(chunks.get(0).getLength(), is(4));
+        assertThat(chunks.get(0).toArray(), is(new int[]{1, 5, 3, 8}));
+        assertThat(chunks.get(0).getMinValue(), is(1));
+        assertThat(chunks.get(0).getMaxValue(), is(8));
+        assertThat(chunks.get(1).toArray(), is(new int[]{2, 7}));
+        assertThat(chunks.get(1).getMinValue(), is(2));
+        assertThat(chunks.get(1).getMaxValue(), is(7));
+        assertThat(chunks.get(1).get(1), is(7));
+        assertThat(chunks.get(1).asBuffer().get(0), is(2));
+        assertThat(chunks.get(1).stream().sum(), is(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> chunks.get(1).get(2));
+
+        array[2] = 50;
+        assertThat(chunks.get(0).get(1), is(50));
+    }
+
+    @Test
+    public void equals_mustCompareThePositionAndTheElementsOfTheChunks() {
+        List<IntChunk> chunks = toList(new IntChunkList(new int[]{1, 2, 1, 2}, 2));
+        List<IntChunk> sameChunks = toList(new IntChunkList(new int[]{1, 2, 1, 2}, 2));
+
+        assertThat(chunks.get(0).equals(sameChunks.get(0)), is(true));
+        assertThat(chunks.get(0).hashCode(), is(sameChunks.get(0).hashCode()));
+        // same elements at another offset
+        assertThat(chunks.get(0).equals(chunks.get(1)), is(false));
+    }
+
+    @Test
+    public void iterator_mustComputeTheMinAndMaxOfEveryChunk() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            int[] array = random.ints(random.nextInt(100)).toArray();
+            int chunkSize = 1 + random.nextInt(20);
+
+            int offset = 0;
+            for (IntChunk chunk : new IntChunkList(array, chunkSize)) {
+                int[] elements = Arrays.copyOfRange(array, offset, Math.min(offset + chunkSize, array.length));
+                assertThat(chunk.getOffset(), is(offset));
+                assertThat(chunk.toArray(), is(elements));
+                assertThat(chunk.getMinValue(), is(Arrays.stream(elements).min().getAsInt()));
+                assertThat(chunk.getMaxValue(), is(Arrays.stream(elements).max().getAsInt()));
+                offset += chunkSize;
+            }
+            assertThat(offset >= array.length, is(true));
+        }
+    }
+
+    @Test
+    public void of_mustChunkTheRemainingElementsOfTheBuffer() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{1, 2, 3, 4, 5, 6});
+        buffer.position(2);
+
+        List<IntChunk> chunks = toList(IntChunkList.of(buffer.slice(), 3));
+
+        assertThat(chunks.size(), is(2));
+        assertThat(chunks.get(0).toArray(), is(new int[]{3, 4, 5}));
+        assertThat(chunks.get(1).toArray(), is(new int[]{6}));
+        assertThrows(IllegalArgumentException.class, () ->
+                IntChunkList.of(ByteBuffer.allocateDirect(16).asIntBuffer(), 3));
+    }
+
+    private static List<IntChunk> toList(IntChunkList chunkList) {
+        List<IntChunk> chunks = new ArrayList<>();
+        for (IntChunk chunk : chunkList) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+}
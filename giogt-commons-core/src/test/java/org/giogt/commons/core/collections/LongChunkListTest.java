@@ -0,0 +1,33 @@
+package org.giogt.commons.core.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class LongChunkListTest {
+
+    @Test
+    public void iterator_mustComputeTheMinAndMaxOfEveryChunk() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            long[] array = random.longs(random.nextInt(100)).toArray();
+            int chunkSize = 1 + random.nextInt(20);
+
+            int offset = 0;
+            for (LongChunk chunk : new LongChunkList(array, chunkSize)) {
+                long[] elements = Arrays.copyOfRange(array, offset, Math.min(offset + chunkSize, array.length));
+                assertThat(chunk.getOffset(), is(offset));
+                assertThat(chunk.toArray(), is(elements));
+                assertThat(chunk.getMinValue(), is(Arrays.stream(elements).min().getAsLong()));
+                assertThat(chunk.getMaxValue(), is(Arrays.stream(elements).max().getAsLong()));
+                offset += chunkSize;
+            }
+            assertThat(offset >= array.length, is(true));
+        }
+    }
+
+}
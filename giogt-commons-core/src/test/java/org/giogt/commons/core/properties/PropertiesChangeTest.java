@@ -0,0 +1,62 @@
+package org.giogt.commons.core.properties;
+
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class PropertiesChangeTest {
+
+    private final PropertiesStore source = MapPropertiesStore.builder().build();
+
+    @Test
+    public void between_mustContainTheAddedRemovedAndModifiedPropertiesOnly() {
+        PropertiesChange change = PropertiesChange.between(
+                source,
+                map("a.same", "1", "a.modified", "2", "b.removed", "3"),
+                map("a.same", "1", "a.modified", "20", "b.added", "4"));
+
+        assertThat(change.getChangedKeys(), is(new HashSet<>(Arrays.asList("a.modified", "b.removed", "b.added"))));
+        assertThat(change.getModifiedKeys(), is(Collections.singleton("a.modified")));
+        assertThat(change.getRemovedKeys(), is(Collections.singleton("b.removed")));
+        assertThat(change.getAddedKeys(), is(Collections.singleton("b.added")));
+        assertThat(change.getOldValue("a.modified"), is("2"));
+        assertThat(change.getNewValue("a.modified"), is("20"));
+        assertThat(change.getNewValue("b.removed"), is(nullValue()));
+        assertThat(change.getOldValue("b.added"), is(nullValue()));
+        assertThat(change.getSource(), is(sameInstance(source)));
+    }
+
+    @Test
+    public void withKeyPrefix_mustKeepThePropertiesWithPrefixOnly() {
+        PropertiesChange change = PropertiesChange.between(
+                source,
+                map("a.modified", "2", "b.removed", "3"),
+                map("a.modified", "20", "b.added", "4"));
+
+        PropertiesChange filtered = change.withKeyPrefix("b.");
+
+        assertThat(filtered.getChangedKeys(), is(new HashSet<>(Arrays.asList("b.removed", "b.added"))));
+        assertThat(filtered.getRemovedKeys(), is(Collections.singleton("b.removed")));
+        assertThat(filtered.withKeyPrefix("b."), is(sameInstance(filtered)));
+        assertThat(change.withKeyPrefix("c.").isEmpty(), is(true));
+    }
+
+    private static Map<String, String> map(String... keysAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.giogt.commons.core.properties;
+
+import org.giogt.commons.core.properties.serializers.PropertySerializerRegistry;
+import org.giogt.commons.core.properties.stores.FilePropertiesStore;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertyHandleTest {
+
+    private static final PropertySerializerRegistry REGISTRY = PropertySerializerRegistry.defaultRegistry();
+
+    @Test
+    public void get_whenPropertyIsUnchanged_mustReturnTheCachedValue() {
+        PropertiesStore store = MapPropertiesStore.builder().addProperty("limit", "12.50").build();
+        PropertyHandle<BigDecimal> iut = REGISTRY.handle(store, "limit", BigDecimal.class);
+
+        BigDecimal value = iut.get();
+
+        assertThat(value, is(new BigDecimal("12.50")));
+        assertThat(iut.get(), is(sameInstance(value)));
+    }
+
+    @Test
+    public void get_whenPropertyIsChangedByARefresh_mustReturnTheNewValue(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("handle.properties");
+        Files.write(file, "timeout=PT5S\n".getBytes(StandardCharsets.UTF_8));
+        FilePropertiesStore store = FilePropertiesStore.builder().withPropertiesFile(file.toFile()).build();
+        PropertyHandle<Duration> iut = REGISTRY.handle(store, "timeout", Duration.class);
+        assertThat(iut.get(), is(Duration.ofSeconds(5)));
+
+        Files.write(file, "timeout=PT10S\n".getBytes(StandardCharsets.UTF_8));
+        store.refresh();
+
+        assertThat(iut.get(), is(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void get_whenPropertyIsMissing_mustReturnTheDefaultValue() {
+        PropertiesStore store = MapPropertiesStore.builder().build();
+
+        assertThat(REGISTRY.handle(store, "timeout", Duration.class, Duration.ofSeconds(1)).get(),
+                is(Duration.ofSeconds(1)));
+        assertThat(REGISTRY.handle(store, "timeout", Duration.class).get(), is(nullValue()));
+    }
+
+    @Test
+    public void get_whenValueCannotBeConverted_mustThrowSerializationException() {
+        PropertiesStore store = MapPropertiesStore.builder().addProperty("port", "http").build();
+        PropertyHandle<Integer> iut = REGISTRY.handle(store, "port", int.class);
+
+        assertThrows(PropertySerializationException.class, iut::get);
+    }
+
+}
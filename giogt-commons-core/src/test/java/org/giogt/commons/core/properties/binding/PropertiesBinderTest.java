@@ -0,0 +1,97 @@
+package org.giogt.commons.core.properties.binding;
+
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.Property;
+import org.giogt.commons.core.properties.PropertySerializationException;
+import org.giogt.commons.core.properties.exceptions.CannotBindPropertiesException;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertiesBinderTest {
+
+    private final PropertiesBinder iut = PropertiesBinder.builder().build();
+
+    @Test
+    public void bind_mustSetTheAnnotatedFieldsOfTheBeanAndOfItsSuperclasses() {
+        PropertiesStore store = MapPropertiesStore.builder()
+                .addProperty("service.name", "orders")
+                .addProperty("service.port", "8080")
+                .addProperty("enabled", "true")
+                .addProperty("unit", "SECONDS")
+                .build();
+
+        ServiceConfig config = iut.bind(store, ServiceConfig.class);
+
+        assertThat(((BaseConfig) config).name, is("orders"));
+        assertThat(config.port, is(8080));
+        assertThat(config.enabled, is(true));
+        assertThat(config.unit, is(TimeUnit.SECONDS));
+        assertThat(config.timeout, is(Duration.ofSeconds(30)));
+        assertThat(config.retries, is(3L));
+        assertThat(config.notAProperty, is(nullValue()));
+    }
+
+    @Test
+    public void bindTo_mustBindTheChangedPropertiesAgain() {
+        ServiceConfig config = iut.bind(MapPropertiesStore.builder().addProperty("service.port", "8080").build(),
+                ServiceConfig.class);
+
+        iut.bindTo(MapPropertiesStore.builder().addProperty("service.port", "9090").build(), config);
+
+        assertThat(config.port, is(9090));
+    }
+
+    @Test
+    public void bind_whenValueCannotBeParsed_mustThrowException() {
+        PropertiesStore store = MapPropertiesStore.builder().addProperty("service.port", "http").build();
+
+        CannotBindPropertiesException e = assertThrows(CannotBindPropertiesException.class,
+                () -> iut.bind(store, ServiceConfig.class));
+        assertThat(e.getCause(), is(instanceOf(PropertySerializationException.class)));
+    }
+
+    @Test
+    public void bind_whenFieldTypeIsNotSupported_mustThrowException() {
+        assertThrows(CannotBindPropertiesException.class,
+                () -> iut.bind(MapPropertiesStore.builder().build(), UnsupportedConfig.class));
+    }
+
+    static class BaseConfig {
+        @Property(key = "service.name")
+        private String name;
+
+        @Property(key = "service.timeout", defaultValue = "PT30S")
+        Duration timeout;
+    }
+
+    static class ServiceConfig extends BaseConfig {
+        @Property(key = "service.port")
+        private int port;
+
+        @Property
+        boolean enabled;
+
+        @Property
+        TimeUnit unit;
+
+        @Property(key = "service.retries")
+        long retries = 3;
+
+        String notAProperty;
+    }
+
+    static class UnsupportedConfig {
+        @Property
+        Object value;
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.giogt.commons.core.properties.serializers;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertySerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PropertyDateSerializerTest {
+
+    @Test
+    public void fromString_whenPropertyValueIsNull_mustReturnNull() {
+        String propertyValue = null;
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        Date result = iut.fromString(context, propertyValue);
+
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void fromString_whenPropertyValueIsAValidDateStringRepresentation_mustReturnTheDate() {
+        String propertyValue = "2000-07-22T10:11:12Z";
+        Date expected = new Date(964260672000L);
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        Date result = iut.fromString(context, propertyValue);
+
+        assertThat(result, is(expected));
+    }
+
+    @Test
+    public void fromString_whenPropertyValueIsANonValidDateStringRepresentation_mustThrowSerializationException() {
+        String propertyValue = "!?2000-07-22T10:11:12Z?!";
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        assertThrows(PropertySerializationException.class, () ->
+                iut.fromString(context, propertyValue)
+        );
+    }
+
+
+    @Test
+    public void fromString_whenPropertyValueIsOutOfTheRangeOfDates_mustThrowSerializationException() {
+        String propertyValue = "+1000000000-01-01T00:00:00Z";
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        assertThrows(PropertySerializationException.class, () ->
+                iut.fromString(context, propertyValue)
+        );
+    }
+
+    @Test
+    public void toString_whenValueIsNull_mustReturnNull() {
+        Date value = null;
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        String result = iut.toString(context, value);
+
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void toString_whenValueIsAValidDate_mustReturnTheDateStringRepresentation() {
+        Date value = new Date(964260672000L);
+        String expected = "2000-07-22T10:11:12Z";
+
+        PropertyDateSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+        String result = iut.toString(context, value);
+
+        assertThat(result, is(expected));
+    }
+
+    PropertyDateSerializer createSerializer() {
+        return new PropertyDateSerializer();
+    }
+
+    MappingContext createMappingContext() {
+        MappingContext context = new MappingContext();
+        context.setMappingType(Date.class);
+        return context;
+    }
+
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.giogt.commons.core.properties.serializers;
 
 import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertyAlias;
 import org.giogt.commons.core.properties.PropertySerializationException;
 import org.junit.jupiter.api.Test;
 
@@ -13,7 +14,14 @@ public class PropertyEnumSerializerTest {
 
     enum TestEnum {
         FOO,
-        BAR
+        @PropertyAlias({"baz", "qux"})
+        BAR,
+        FOO_BAR {
+            @Override
+            public String toString() {
+                return "foo-bar";
+            }
+        }
     }
 
     @Test
@@ -51,6 +59,43 @@ public class PropertyEnumSerializerTest {
     }
 
 
+    @Test
+    public void fromString_whenPropertyValueDiffersOnlyInCase_mustReturnTheEnum() {
+        PropertyEnumSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+
+        assertThat(iut.fromString(context, "foo"), is(TestEnum.FOO));
+        assertThat(iut.fromString(context, "Foo-Bar"), is(TestEnum.FOO_BAR));
+        assertThat(iut.fromString(context, "QUX"), is(TestEnum.BAR));
+    }
+
+    @Test
+    public void fromString_whenPropertyValueIsAnAliasOrTheStringRepresentation_mustReturnTheEnum() {
+        PropertyEnumSerializer iut = createSerializer();
+        MappingContext context = createMappingContext();
+
+        assertThat(iut.fromString(context, "baz"), is(TestEnum.BAR));
+        assertThat(iut.fromString(context, "foo-bar"), is(TestEnum.FOO_BAR));
+        assertThat(iut.fromString(context, iut.toString(context, TestEnum.FOO_BAR)), is(TestEnum.FOO_BAR));
+    }
+
+    @Test
+    public void fromString_whenMappingTypeIsTheClassOfAConstantWithABody_mustReturnTheEnum() {
+        PropertyEnumSerializer iut = createSerializer();
+        MappingContext context = new MappingContext();
+        context.setMappingType(TestEnum.FOO_BAR.getClass());
+
+        assertThat(iut.fromString(context, "FOO"), is(TestEnum.FOO));
+    }
+
+    @Test
+    public void find_whenNoConstantMatches_mustReturnNull() {
+        PropertyEnumSerializer iut = createSerializer();
+
+        assertThat(iut.find(TestEnum.class, "NON_VALID_ENUM_STRING_REPRESENTATION"), is(nullValue()));
+        assertThat(iut.find(TestEnum.class, "bar"), is(TestEnum.BAR));
+    }
+
     @Test
     public void toString_whenValueIsNull_mustReturnNull() {
         TestEnum value = null;
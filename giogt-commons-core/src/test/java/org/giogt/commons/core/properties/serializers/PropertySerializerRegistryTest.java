@@ -0,0 +1,122 @@
+package org.giogt.commons.core.properties.serializers;
+
+import org.giogt.commons.core.properties.MappingContext;
+import org.giogt.commons.core.properties.PropertiesStore;
+import org.giogt.commons.core.properties.PropertySerializationException;
+import org.giogt.commons.core.properties.PropertySerializer;
+import org.giogt.commons.core.properties.stores.MapPropertiesStore;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertySerializerRegistryTest {
+
+    @Test
+    public void getSerializer_whenTypeIsHandled_mustReturnItsSerializer() {
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder().withBuiltInSerializers().build();
+
+        assertThat(iut.getSerializer(Integer.class), is(instanceOf(PropertyIntegerSerializer.class)));
+        assertThat(iut.getSerializer(int.class), is(instanceOf(PropertyIntegerSerializer.class)));
+        assertThat(iut.getSerializer(ZoneOffset.class), is(instanceOf(PropertyZoneOffsetSerializer.class)));
+        assertThat(iut.getSerializer(Integer.class), is(sameInstance(iut.getSerializer(int.class))));
+    }
+
+    @Test
+    public void getSerializer_whenOnlyASupertypeIsHandled_mustReturnTheSerializerOfTheSupertype() {
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder().withBuiltInSerializers().build();
+
+        assertThat(iut.getSerializer(TimeUnit.class), is(instanceOf(PropertyEnumSerializer.class)));
+        // ZoneRegion, the type of ZoneId.of("Europe/Rome"), is not public
+        assertThat(iut.getSerializer(ZoneId.of("Europe/Rome").getClass()),
+                is(instanceOf(PropertyZoneIdSerializer.class)));
+    }
+
+    @Test
+    public void getSerializer_whenAnInterfaceIsHandled_mustReturnItsSerializer() {
+        PropertySerializer<CharSequence> charSequenceSerializer = new CharSequenceSerializer();
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder()
+                .withSerializer(charSequenceSerializer)
+                .build();
+
+        assertThat(iut.getSerializer(StringBuilder.class), is(sameInstance(charSequenceSerializer)));
+    }
+
+    @Test
+    public void getSerializer_whenTypeIsNotHandled_mustReturnNull() {
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder().withBuiltInSerializers().build();
+
+        assertThat(iut.getSerializer(Thread.class), is(nullValue()));
+    }
+
+    @Test
+    public void defaultRegistry_mustIncludeTheServiceLoaderSerializers() {
+        PropertySerializerRegistry iut = PropertySerializerRegistry.defaultRegistry();
+
+        assertThat(iut.getSerializer(URI.class), is(instanceOf(UriSerializer.class)));
+        assertThat(iut.getSerializer(String.class), is(instanceOf(PropertyStringSerializer.class)));
+    }
+
+    @Test
+    public void handle_mustConvertTheValueWithTheSerializerOfTheRegistry() {
+        PropertiesStore store = MapPropertiesStore.builder().addProperty("name", "giogt").build();
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder()
+                .withSerializer(new CharSequenceSerializer())
+                .build();
+
+        assertThat(iut.handle(store, "name", CharSequence.class).get(), is("giogt"));
+        assertThat(iut.handle(store, "missing", CharSequence.class, "none").get(), is("none"));
+    }
+
+    @Test
+    public void handle_whenTypeIsNotHandled_mustThrowException() {
+        PropertiesStore store = MapPropertiesStore.builder().build();
+        PropertySerializerRegistry iut = PropertySerializerRegistry.builder().withBuiltInSerializers().build();
+
+        assertThrows(IllegalArgumentException.class, () -> iut.handle(store, "thread", Thread.class));
+    }
+
+    public static class UriSerializer implements PropertySerializer<URI> {
+        @Override
+        public Class<? extends URI> handledType() {
+            return URI.class;
+        }
+
+        @Override
+        public URI fromString(MappingContext context, String stringValue) throws PropertySerializationException {
+            return stringValue == null ? null : URI.create(stringValue);
+        }
+
+        @Override
+        public String toString(MappingContext context, URI value) throws PropertySerializationException {
+            return value == null ? null : value.toString();
+        }
+    }
+
+    static class CharSequenceSerializer implements PropertySerializer<CharSequence> {
+        @Override
+        public Class<? extends CharSequence> handledType() {
+            return CharSequence.class;
+        }
+
+        @Override
+        public CharSequence fromString(MappingContext context, String stringValue) {
+            return stringValue;
+        }
+
+        @Override
+        public String toString(MappingContext context, CharSequence value) {
+            return value == null ? null : value.toString();
+        }
+    }
+
+}
@@ -80,6 +80,22 @@ class PropertyZonedDateTimeSerializerTest {
     }
 
 
+    @Test
+    public void fromString_withPatternAndZone_mustParseThePropertyValueInTheZone() {
+        String propertyValue = "22/07/2000 10:11";
+        ZonedDateTime expected = ZonedDateTime.of(
+                LocalDateTime.of(2000, Month.JULY, 22, 10, 11),
+                ZoneId.of("Europe/Rome"));
+
+        PropertyZonedDateTimeSerializer iut = new PropertyZonedDateTimeSerializer(
+                "dd/MM/yyyy HH:mm", ZoneId.of("Europe/Rome"));
+        MappingContext context = createMappingContext();
+        ZonedDateTime result = iut.fromString(context, propertyValue);
+
+        assertThat(result, is(expected));
+        assertThat(iut.toString(context, result), is(propertyValue));
+    }
+
     @Test
     public void toString_whenValueIsNull_mustReturnNull() {
         ZonedDateTime value = null;
@@ -0,0 +1,103 @@
+package org.giogt.commons.core.properties.serializers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class TemporalFormatsTest {
+
+    private static final String[] DATES = {"2021-03-04", "2020-02-29", "2021-02-29", "0000-01-01", "9999-12-31", "2021-13-01", "2021-04-31", "+12021-03-04"};
+    private static final String[] TIMES = {"05:06", "05:06:07", "23:59:59.999999999", "00:00:00.1", "05:06:07.1234567890", "24:00", "23:60", "23:59:60", "05:06:07.", "5:06"};
+    private static final String[] OFFSETS = {"Z", "+01:00", "-05:30", "-00:00", "+18:00", "+17:59", "+01", "+0100", "+01:00:30", "z", "[Europe/Rome]", "+01:00[Europe/Rome]"};
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void parsers_mustParseTheCanonicalLayouts() {
+        assertThat(TemporalFormats.parseLocalDate("2021-03-04"), is(LocalDate.of(2021, 3, 4)));
+        assertThat(TemporalFormats.parseLocalTime("05:06:07.89"), is(LocalTime.of(5, 6, 7, 890_000_000)));
+        assertThat(TemporalFormats.parseLocalDateTime("2021-03-04T05:06"), is(LocalDateTime.parse("2021-03-04T05:06")));
+        assertThat(TemporalFormats.parseOffsetTime("05:06:07Z"), is(OffsetTime.parse("05:06:07Z")));
+        assertThat(TemporalFormats.parseOffsetDateTime("2021-03-04T05:06:07-05:30"),
+                is(OffsetDateTime.parse("2021-03-04T05:06:07-05:30")));
+        assertThat(TemporalFormats.parseZonedDateTime("2021-03-04T05:06:07.123+01:00"),
+                is(ZonedDateTime.parse("2021-03-04T05:06:07.123+01:00")));
+        assertThat(TemporalFormats.parseInstant("2021-03-04T05:06:07.123456Z"),
+                is(Instant.parse("2021-03-04T05:06:07.123456Z")));
+    }
+
+    @Test
+    public void parsers_mustAgreeWithTheIsoFormatters() {
+        for (int i = 0; i < 20_000; i++) {
+            String date = mutate(pick(DATES));
+            String time = mutate(pick(TIMES));
+            String offset = mutate(pick(OFFSETS));
+            String dateTime = date + "T" + time;
+
+            assertAgrees(date, TemporalFormats::parseLocalDate, LocalDate::parse);
+            assertAgrees(time, TemporalFormats::parseLocalTime, LocalTime::parse);
+            assertAgrees(dateTime, TemporalFormats::parseLocalDateTime, LocalDateTime::parse);
+            assertAgrees(time + offset, TemporalFormats::parseOffsetTime, OffsetTime::parse);
+            assertAgrees(dateTime + offset, TemporalFormats::parseOffsetDateTime, OffsetDateTime::parse);
+            assertAgrees(dateTime + offset, TemporalFormats::parseZonedDateTime, ZonedDateTime::parse);
+            assertAgrees(dateTime + offset, TemporalFormats::parseInstant, Instant::parse);
+        }
+    }
+
+    @Test
+    public void formatter_mustBeCachedByPatternAndZone() {
+        DateTimeFormatter formatter = TemporalFormats.formatter("dd/MM/yyyy HH:mm", ZoneId.of("Europe/Rome"));
+
+        assertThat(TemporalFormats.formatter("dd/MM/yyyy HH:mm", ZoneId.of("Europe/Rome")), is(sameInstance(formatter)));
+        assertThat(TemporalFormats.formatter("dd/MM/yyyy HH:mm", null).getZone(), is((ZoneId) null));
+    }
+
+    private <T> void assertAgrees(String text, Function<String, T> parser, Function<String, T> isoParser) {
+        T value = parser.apply(text);
+        if (value != null) {
+            T expected;
+            try {
+                expected = isoParser.apply(text);
+            } catch (DateTimeException e) {
+                throw new AssertionError("<" + text + "> was parsed to <" + value + "> but is invalid", e);
+            }
+            assertThat(text, value, is(expected));
+        }
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // replaces a random character with a digit, a separator or nothing, once in a while
+    private String mutate(String value) {
+        if (value.isEmpty() || random.nextInt(4) != 0) {
+            return value;
+        }
+        StringBuilder mutated = new StringBuilder(value);
+        int index = random.nextInt(value.length());
+        String replacements = "0123456789:-+.TZ";
+        if (random.nextBoolean()) {
+            mutated.setCharAt(index, replacements.charAt(random.nextInt(replacements.length())));
+        } else {
+            mutated.deleteCharAt(index);
+        }
+        return mutated.toString();
+    }
+
+}
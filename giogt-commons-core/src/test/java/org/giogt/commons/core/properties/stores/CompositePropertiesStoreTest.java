@@ -0,0 +1,216 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CompositePropertiesStoreTest {
+
+    @Test
+    public void refresh_mustNotifyASingleChangeOfTheResolvedProperties(@TempDir Path tempDir) throws IOException {
+        Path highFile = tempDir.resolve("high.properties");
+        Path lowFile = tempDir.resolve("low.properties");
+        write(highFile, "service.shadowed=high\n");
+        write(lowFile, "service.shadowed=low\nservice.port=80\n");
+        CompositePropertiesStore iut = CompositePropertiesStore.builder()
+                .addPropertiesStore(FilePropertiesStore.builder().withPropertiesFile(highFile.toFile()).build())
+                .addPropertiesStore(FilePropertiesStore.builder().withPropertiesFile(lowFile.toFile()).build())
+                .build();
+        List<PropertiesChange> changes = new ArrayList<>();
+        iut.subscribe("service.", changes::add);
+
+        write(highFile, "service.shadowed=high\nservice.host=localhost\n");
+        write(lowFile, "service.shadowed=other\nservice.port=8080\n");
+        iut.refresh();
+
+        assertThat(changes.size(), is(1));
+        PropertiesChange change = changes.get(0);
+        assertThat(change.getSource(), is(iut));
+        assertThat(change.getChangedKeys(), is(new HashSet<>(Arrays.asList("service.host", "service.port"))));
+        assertThat(change.getOldValue("service.port"), is("80"));
+        assertThat(change.getNewValue("service.port"), is("8080"));
+        assertThat(change.getOldValue("service.host"), is(nullValue()));
+    }
+
+    @Test
+    public void delegateRefresh_whenShadowedPropertyIsRemoved_mustNotifyTheNewResolvedValue(@TempDir Path tempDir)
+            throws IOException {
+
+        Path highFile = tempDir.resolve("high.properties");
+        Path lowFile = tempDir.resolve("low.properties");
+        write(highFile, "a=high\nb=1\n");
+        write(lowFile, "a=low\n");
+        FilePropertiesStore high = FilePropertiesStore.builder().withPropertiesFile(highFile.toFile()).build();
+        CompositePropertiesStore iut = CompositePropertiesStore.builder()
+                .addPropertiesStore(high)
+                .addPropertiesStore(FilePropertiesStore.builder().withPropertiesFile(lowFile.toFile()).build())
+                .build();
+        List<PropertiesChange> changes = new ArrayList<>();
+        iut.subscribe("a", changes::add);
+
+        write(highFile, "b=2\n");
+        high.refresh();
+
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).getModifiedKeys(), is(Collections.singleton("a")));
+        assertThat(changes.get(0).getOldValue("a"), is("high"));
+        assertThat(changes.get(0).getNewValue("a"), is("low"));
+    }
+
+    @Test
+    public void delegateRefresh_whenListenerWaitsForAnotherRefresh_mustNotDeadlock(@TempDir Path tempDir)
+            throws Exception {
+
+        Path highFile = tempDir.resolve("high.properties");
+        Path lowFile = tempDir.resolve("low.properties");
+        write(highFile, "a=1\n");
+        write(lowFile, "b=1\n");
+        FilePropertiesStore high = FilePropertiesStore.builder().withPropertiesFile(highFile.toFile()).build();
+        FilePropertiesStore low = FilePropertiesStore.builder().withPropertiesFile(lowFile.toFile()).build();
+        CompositePropertiesStore iut = CompositePropertiesStore.builder()
+                .addPropertiesStore(high)
+                .addPropertiesStore(low)
+                .withMergedIndex()
+                .build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<String> changedKeys = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean lowRefreshed = new AtomicBoolean();
+        iut.subscribe("", change -> {
+            changedKeys.addAll(change.getChangedKeys());
+            if (change.getChangedKeys().contains("a")) {
+                try {
+                    executor.submit(low::refresh).get(10, TimeUnit.SECONDS);
+                    lowRefreshed.set(true);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        try {
+            write(highFile, "a=2\n");
+            write(lowFile, "b=2\n");
+            high.refresh();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(lowRefreshed.get(), is(true));
+        assertThat(changedKeys, is(Arrays.asList("a", "b")));
+        assertThat(iut.getProperty("b"), is("2"));
+    }
+
+    @Test
+    public void getProperties_mustResolveTheValuesOfTheFirstStores() {
+        for (boolean mergedIndex : new boolean[]{false, true}) {
+            CompositePropertiesStore.Builder builder = CompositePropertiesStore.builder()
+                    .addPropertiesStore(MapPropertiesStore.builder().addProperty("a", "high").build())
+                    .addPropertiesStore(MapPropertiesStore.builder().addProperty("a", "low").addProperty("b", "low").build());
+            CompositePropertiesStore iut = (mergedIndex ? builder.withMergedIndex() : builder).build();
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put("a", "high");
+            expected.put("b", "low");
+            assertThat(iut.getProperties(), is(expected));
+            assertThat(iut.getProperty("a"), is("high"));
+            assertThat(iut.getProperty("c"), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void delegateRefresh_withMergedIndex_mustUpdateTheIndex(@TempDir Path tempDir) throws IOException {
+        Path highFile = tempDir.resolve("high.properties");
+        Path lowFile = tempDir.resolve("low.properties");
+        write(highFile, "a=high\nb=1\n");
+        write(lowFile, "a=low\nc=3\n");
+        FilePropertiesStore high = FilePropertiesStore.builder().withPropertiesFile(highFile.toFile()).build();
+        FilePropertiesStore low = FilePropertiesStore.builder().withPropertiesFile(lowFile.toFile()).build();
+        CompositePropertiesStore iut = CompositePropertiesStore.builder()
+                .addPropertiesStore(high)
+                .addPropertiesStore(low)
+                .withMergedIndex()
+                .build();
+        Map<String, String> properties = iut.getProperties();
+        assertThat(iut.getProperties(), is(sameInstance(properties)));
+        List<PropertiesChange> changes = new ArrayList<>();
+        iut.subscribe(changes::add);
+
+        write(highFile, "b=2\n");
+        high.refresh();
+
+        assertThat(iut.getProperty("a"), is("low"));
+        assertThat(iut.getProperty("b"), is("2"));
+        assertThat(iut.getProperty("c"), is("3"));
+        assertThat(properties.get("a"), is("high"));
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).getChangedKeys(), is(new HashSet<>(Arrays.asList("a", "b"))));
+
+        write(lowFile, "d=4\n");
+        iut.refresh();
+
+        assertThat(iut.getProperty("a"), is(nullValue()));
+        assertThat(iut.getProperty("d"), is("4"));
+        assertThat(iut.getProperties().size(), is(2));
+        assertThat(changes.size(), is(2));
+        assertThat(changes.get(1).getChangedKeys(), is(new HashSet<>(Arrays.asList("a", "c", "d"))));
+    }
+
+    @Test
+    public void getProperties_withMergedIndex_mustNotBeModifiable() {
+        CompositePropertiesStore iut = CompositePropertiesStore.builder()
+                .addPropertiesStore(MapPropertiesStore.builder().addProperty("a", "1").build())
+                .withMergedIndex()
+                .build();
+
+        assertThrows(UnsupportedOperationException.class, () -> iut.getProperties().put("b", "2"));
+    }
+
+    @Test
+    public void getPropertiesWithPrefix_mustResolveTheValuesOfTheFirstStores() {
+        for (boolean mergedIndex : new boolean[]{false, true}) {
+            CompositePropertiesStore.Builder builder = CompositePropertiesStore.builder()
+                    .addPropertiesStore(MapPropertiesStore.builder()
+                            .addProperty("db.pool.size", "high")
+                            .build())
+                    .addPropertiesStore(MapPropertiesStore.builder()
+                            .addProperty("db.pool.size", "low")
+                            .addProperty("db.pool.timeout", "low")
+                            .addProperty("db.url", "low")
+                            .build());
+            CompositePropertiesStore iut = (mergedIndex ? builder.withMergedIndex() : builder).build();
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put("db.pool.size", "high");
+            expected.put("db.pool.timeout", "low");
+            assertThat(iut.getPropertiesWithPrefix("db.pool."), is(expected));
+            assertThat(iut.getProperties(Arrays.asList("db.pool.size", "db.url", "missing")).size(), is(2));
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
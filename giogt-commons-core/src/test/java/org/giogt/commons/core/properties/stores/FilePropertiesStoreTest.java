@@ -1,5 +1,6 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.properties.PropertiesChange;
 import org.giogt.commons.core.properties.Property;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +11,19 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -106,6 +115,75 @@ public class FilePropertiesStoreTest {
         assertTestBeanPropertiesMap(filePropertiesStore.getProperties());
     }
 
+    @Test
+    public void refresh_mustReplaceTheSnapshotReturnedByGetProperties() throws IOException {
+        File propertiesFile = new File(TARGET_TEST_FILE);
+        Files.write(propertiesFile.toPath(), "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+
+        FilePropertiesStore filePropertiesStore = FilePropertiesStore.builder()
+                .withPropertiesFile(propertiesFile)
+                .build();
+        Map<String, String> snapshot = filePropertiesStore.getProperties();
+
+        Files.write(propertiesFile.toPath(), "a=3\n".getBytes(StandardCharsets.UTF_8));
+        filePropertiesStore.refresh();
+
+        assertThat(filePropertiesStore.getProperty("a"), is(equalTo("3")));
+        assertThat(filePropertiesStore.getProperty("b"), is(nullValue()));
+        assertThat(filePropertiesStore.getProperties().size(), is(1));
+        assertThat(snapshot.get("a"), is(equalTo("1")));
+        assertThat(snapshot.get("b"), is(equalTo("2")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("c", "4"));
+    }
+
+    @Test
+    public void refresh_mustNotifyTheListenersOfTheChangedPropertiesOnly() throws IOException {
+        File propertiesFile = new File(TARGET_TEST_FILE);
+        Files.write(propertiesFile.toPath(), "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+
+        FilePropertiesStore filePropertiesStore = FilePropertiesStore.builder()
+                .withPropertiesFile(propertiesFile)
+                .build();
+        List<PropertiesChange> changes = new ArrayList<>();
+        filePropertiesStore.subscribe(changes::add);
+
+        filePropertiesStore.refresh();
+        Files.write(propertiesFile.toPath(), "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+        filePropertiesStore.refresh();
+        assertThat(changes.size(), is(0));
+
+        Files.write(propertiesFile.toPath(), "a=1\nb=3\n".getBytes(StandardCharsets.UTF_8));
+        filePropertiesStore.refresh();
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).getChangedKeys(), is(Collections.singleton("b")));
+        assertThat(changes.get(0).getOldValue("b"), is(equalTo("2")));
+        assertThat(changes.get(0).getNewValue("b"), is(equalTo("3")));
+    }
+
+    @Test
+    public void getPropertiesWithPrefix_mustReturnThePropertiesWithPrefixOfTheCurrentSnapshot() throws IOException {
+        File propertiesFile = new File(TARGET_TEST_FILE);
+        Files.write(propertiesFile.toPath(),
+                "db.pool.size=10\ndb.pool.timeout=PT5S\ndb.url=jdbc:h2:mem\ndbx=1\n".getBytes(StandardCharsets.UTF_8));
+
+        FilePropertiesStore filePropertiesStore = FilePropertiesStore.builder()
+                .withPropertiesFile(propertiesFile)
+                .build();
+
+        assertThat(new ArrayList<>(filePropertiesStore.getPropertiesWithPrefix("db.pool.").keySet()),
+                is(Arrays.asList("db.pool.size", "db.pool.timeout")));
+        assertThat(filePropertiesStore.getPropertiesWithPrefix("db.").size(), is(3));
+        assertThat(filePropertiesStore.getPropertiesWithPrefix("cache.").size(), is(0));
+        assertThat(filePropertiesStore.getProperties(Arrays.asList("db.url", "dbx", "missing")).keySet(),
+                is(new HashSet<>(Arrays.asList("db.url", "dbx"))));
+
+        Files.write(propertiesFile.toPath(), "db.pool.size=20\n".getBytes(StandardCharsets.UTF_8));
+        filePropertiesStore.refresh();
+
+        assertThat(filePropertiesStore.getPropertiesWithPrefix("db.pool."),
+                is(Collections.singletonMap("db.pool.size", "20")));
+    }
+
     private void assertTestBeanPropertiesMap(Map<String, String> propertiesMap) {
         java.util.Properties properties = new java.util.Properties();
         for (Map.Entry<String, String> propertiesMapEntry : propertiesMap.entrySet()) {
@@ -1,7 +1,14 @@
 package org.giogt.commons.core.properties.stores;
 
+import org.giogt.commons.core.properties.PropertiesChange;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
@@ -30,6 +37,54 @@ public class JavaPropertiesStoreTest {
         assertThat(result, is(expected));
     }
 
+    @Test
+    public void refresh_whenSystemPropertiesChanged_mustNotifyTheChangedPropertiesWithPrefix() {
+        String prefix = "javaPropertiesStoreTest.";
+        System.setProperty(prefix + "changed", "1");
+        System.setProperty(prefix + "removed", "2");
+        try {
+            JavaPropertiesStore iut = createInstanceWithPrefix(prefix);
+            List<PropertiesChange> changes = new ArrayList<>();
+            iut.subscribe(changes::add);
+
+            System.setProperty(prefix + "changed", "10");
+            System.clearProperty(prefix + "removed");
+            System.setProperty(prefix + "added", "3");
+            System.setProperty("javaPropertiesStoreTestWithoutPrefix", "4");
+            iut.refresh();
+            iut.refresh();
+
+            assertThat(changes.size(), is(1));
+            assertThat(changes.get(0).getModifiedKeys(), is(Collections.singleton(prefix + "changed")));
+            assertThat(changes.get(0).getRemovedKeys(), is(Collections.singleton(prefix + "removed")));
+            assertThat(changes.get(0).getAddedKeys(), is(Collections.singleton(prefix + "added")));
+        } finally {
+            System.clearProperty(prefix + "changed");
+            System.clearProperty(prefix + "added");
+            System.clearProperty("javaPropertiesStoreTestWithoutPrefix");
+        }
+    }
+
+    @Test
+    public void getProperties_whenPrefixIsPresent_mustReturnTheValuesOfThePrefixedSystemProperties() {
+        String prefix = "javaPropertiesStoreTest.";
+        System.setProperty(prefix + "pool.size", "10");
+        System.setProperty(prefix + "url", "jdbc:h2:mem");
+        try {
+            JavaPropertiesStore iut = createInstanceWithPrefix(prefix);
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put(prefix + "pool.size", "10");
+            expected.put(prefix + "url", "jdbc:h2:mem");
+            assertThat(iut.getProperties(), is(expected));
+            assertThat(iut.getPropertiesWithPrefix(prefix + "pool."),
+                    is(Collections.singletonMap(prefix + "pool.size", "10")));
+        } finally {
+            System.clearProperty(prefix + "pool.size");
+            System.clearProperty(prefix + "url");
+        }
+    }
+
     private JavaPropertiesStore createInstanceWithoutPrefix() {
         return new JavaPropertiesStore(null);
     }
@@ -0,0 +1,148 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.properties.exceptions.CannotLoadPropertiesFileException;
+import org.giogt.commons.core.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedFilePropertiesStoreTest {
+
+    private static final String ALPHABET = "ab =:\\\\\\\n\r\t\f#!utn0Aé中";
+
+    @Test
+    public void getProperties_withRandomFiles_mustReturnTheSamePropertiesAsPropertiesLoad(@TempDir Path tempDir)
+            throws IOException {
+
+        Random random = new Random(42);
+        Path file = tempDir.resolve("random.properties");
+
+        for (int n = 0; n < 2000; n++) {
+            Charset charset = random.nextBoolean() ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+            byte[] bytes = RandomStrings.of(random, ALPHABET, random.nextInt(60)).getBytes(charset);
+            String content = new String(bytes, charset);
+            Files.write(file, bytes);
+
+            Map<String, String> expected;
+            try {
+                expected = load(content);
+            } catch (IllegalArgumentException e) {
+                assertThrows(CannotLoadPropertiesFileException.class, () -> createStore(file, charset));
+                continue;
+            }
+
+            MappedFilePropertiesStore store = createStore(file, charset);
+            assertThat(content, store.getProperties(), is(expected));
+            for (Map.Entry<String, String> entry : expected.entrySet()) {
+                assertThat(content, store.getProperty(entry.getKey()), is(entry.getValue()));
+            }
+            for (String prefix : new String[]{"", "a", "ab", "b"}) {
+                assertThat(content, store.getPropertiesWithPrefix(prefix), is(withPrefix(expected, prefix)));
+            }
+        }
+    }
+
+    @Test
+    public void getProperty_withStoredProperties_mustReturnTheStoredValues(@TempDir Path tempDir)
+            throws IOException {
+
+        Properties properties = new Properties();
+        for (int i = 0; i < 10000; i++) {
+            properties.setProperty("key." + i, "value " + i);
+        }
+        properties.setProperty("key with = and : ", " leading space, trailing backslash \\");
+        properties.setProperty("unicode.€", "中文\n😀");
+        File file = tempDir.resolve("stored.properties").toFile();
+        try (java.io.Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, "test");
+        }
+
+        MappedFilePropertiesStore store = MappedFilePropertiesStore.builder()
+                .withPropertiesFile(file)
+                .build();
+
+        assertThat(store.getProperties().size(), is(properties.size()));
+        for (String key : properties.stringPropertyNames()) {
+            assertThat(store.getProperty(key), is(properties.getProperty(key)));
+        }
+        assertThat(store.getProperty("key.10000"), is(nullValue()));
+    }
+
+    @Test
+    public void refresh_withReplacedFile_mustReturnTheNewProperties(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("replaced.properties");
+        Files.write(file, "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+        MappedFilePropertiesStore store = createStore(file, StandardCharsets.UTF_8);
+        Map<String, String> before = store.getProperties();
+
+        Path newFile = tempDir.resolve("new.properties");
+        Files.write(newFile, "a=3\nc=4\n".getBytes(StandardCharsets.UTF_8));
+        Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING);
+        store.refresh();
+
+        assertThat(store.getProperty("a"), is("3"));
+        assertThat(store.getProperty("b"), is(nullValue()));
+        assertThat(store.getProperty("c"), is("4"));
+        assertThat(before.get("b"), is("2"));
+    }
+
+    @Test
+    public void builder_withMissingFile_mustFail(@TempDir Path tempDir) {
+        assertThrows(CannotLoadPropertiesFileException.class,
+                () -> createStore(tempDir.resolve("missing.properties"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void builder_withUnsupportedCharset_mustFail(@TempDir Path tempDir) {
+        assertThrows(IllegalArgumentException.class, () -> MappedFilePropertiesStore.builder()
+                .withPropertiesFile(tempDir.resolve("any.properties").toFile())
+                .withCharset(StandardCharsets.UTF_16)
+                .build());
+    }
+
+    private static MappedFilePropertiesStore createStore(Path file, Charset charset) {
+        return MappedFilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .withCharset(charset)
+                .build();
+    }
+
+    private static Map<String, String> load(String content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(content));
+
+        Map<String, String> map = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+        return map;
+    }
+
+    private static Map<String, String> withPrefix(Map<String, String> properties, String prefix) {
+        Map<String, String> propertiesWithPrefix = new HashMap<>();
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                propertiesWithPrefix.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return propertiesWithPrefix;
+    }
+
+}
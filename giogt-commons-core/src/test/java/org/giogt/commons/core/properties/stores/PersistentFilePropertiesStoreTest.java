@@ -0,0 +1,266 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.giogt.commons.core.properties.exceptions.CannotWritePropertiesFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PersistentFilePropertiesStoreTest {
+
+    @Test
+    public void setProperty_mustBeVisibleAtOnceAndWrittenByTheNextFlush(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("store.properties");
+        write(file, "a=1\nb=2\n");
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 1024)) {
+            iut.setProperty("a", "10");
+            iut.setProperty("b", null);
+            iut.setProperty("c", "3");
+
+            assertThat(iut.getProperty("a"), is("10"));
+            assertThat(iut.getProperty("b"), is(nullValue()));
+            assertThat(iut.getProperty("c"), is("3"));
+            assertThat(iut.getProperties().size(), is(2));
+            assertThat(read(file).getProperty("a"), is("1"));
+
+            iut.flush();
+
+            Properties fileProperties = read(file);
+            assertThat(fileProperties.size(), is(2));
+            assertThat(fileProperties.getProperty("a"), is("10"));
+            assertThat(fileProperties.getProperty("c"), is("3"));
+            assertThat(iut.getProperty("a"), is("10"));
+            assertThat(iut.getProperty("b"), is(nullValue()));
+            assertThat(temporaryFiles(tempDir), is(0L));
+        }
+    }
+
+    @Test
+    public void flush_mustKeepThePermissionsOfTheFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("store.properties");
+        write(file, "a=1\n");
+        assumeTrue(Files.getFileAttributeView(file, PosixFileAttributeView.class) != null);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 1024)) {
+            iut.setProperty("a", "2");
+            iut.flush();
+
+            assertThat(read(file).getProperty("a"), is("2"));
+            assertThat(Files.getPosixFilePermissions(file), is(permissions));
+        }
+    }
+
+    @Test
+    public void flush_withCharsetNotEncodingEveryChar_mustEscapeTheOtherChars(@TempDir Path tempDir)
+            throws IOException {
+
+        Path file = tempDir.resolve("store.properties");
+        PersistentFilePropertiesStore.Builder builder = PersistentFilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .withCharset(StandardCharsets.ISO_8859_1)
+                .withFlushDelay(1, TimeUnit.HOURS);
+
+        try (PersistentFilePropertiesStore iut = builder.build()) {
+            iut.setProperty("price", "10 \u20AC, caf\u00E9");
+        }
+
+        Properties fileProperties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            fileProperties.load(in);
+        }
+        assertThat(fileProperties.getProperty("price"), is("10 \u20AC, caf\u00E9"));
+        try (PersistentFilePropertiesStore reopened = builder.build()) {
+            assertThat(reopened.getProperty("price"), is("10 \u20AC, caf\u00E9"));
+        }
+    }
+
+    @Test
+    public void setProperty_whenPendingWritesReachTheMaximum_mustFlushThem(@TempDir Path tempDir)
+            throws IOException, InterruptedException {
+
+        Path file = tempDir.resolve("store.properties");
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 3)) {
+            // writes of the same property are coalesced
+            iut.setProperty("a", "1");
+            iut.setProperty("a", "2");
+            iut.setProperty("b", "1");
+
+            Thread.sleep(200);
+            assertThat(Files.exists(file), is(false));
+
+            iut.setProperty("c", "1");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!Files.exists(file) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Properties fileProperties = read(file);
+            assertThat(fileProperties.getProperty("a"), is("2"));
+            assertThat(fileProperties.getProperty("b"), is("1"));
+            assertThat(fileProperties.getProperty("c"), is("1"));
+        }
+    }
+
+    @Test
+    public void getProperties_whileWritesAreFlushed_mustReturnTheLastWrites(@TempDir Path tempDir) {
+        Path file = tempDir.resolve("store.properties");
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 1)) {
+            // every write is flushed at once, concurrently with the reads
+            int staleReads = 0;
+            for (int i = 0; i < 20000; i++) {
+                iut.setProperty("a", Integer.toString(i));
+                if (!Integer.toString(i).equals(iut.getProperties().get("a"))) {
+                    staleReads++;
+                }
+            }
+
+            assertThat(staleReads, is(0));
+        }
+    }
+
+    @Test
+    public void close_mustFlushThePendingWritesAndRejectNewOnes(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("store.properties");
+
+        PersistentFilePropertiesStore iut = createInstance(file, 1024);
+        iut.setProperty("a", "1");
+        iut.close();
+
+        assertThat(read(file).getProperty("a"), is("1"));
+        assertThrows(IllegalStateException.class, () -> iut.setProperty("a", "2"));
+
+        PersistentFilePropertiesStore reopened = createInstance(file, 1024);
+        assertThat(reopened.getProperty("a"), is("1"));
+        reopened.close();
+    }
+
+    @Test
+    public void refresh_mustReadTheChangesOfTheFileAndKeepThePendingWrites(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("store.properties");
+        write(file, "a=1\nb=2\n");
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 1024)) {
+            List<PropertiesChange> changes = new ArrayList<>();
+            iut.subscribe(changes::add);
+
+            iut.setProperty("a", "10");
+            assertThat(changes.size(), is(1));
+            assertThat(changes.get(0).getOldValue("a"), is("1"));
+            assertThat(changes.get(0).getNewValue("a"), is("10"));
+
+            write(file, "a=100\nb=20\n");
+            iut.refresh();
+
+            assertThat(changes.size(), is(2));
+            assertThat(changes.get(1).getChangedKeys(), is(Collections.singleton("b")));
+            assertThat(iut.getProperty("a"), is("10"));
+            assertThat(iut.getProperty("b"), is("20"));
+
+            iut.flush();
+            assertThat(read(file).getProperty("a"), is("10"));
+            assertThat(read(file).getProperty("b"), is("20"));
+        }
+    }
+
+    @Test
+    public void setProperty_mustNotifyTheListenersWithoutTheWriteLock(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("store.properties");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (PersistentFilePropertiesStore iut = createInstance(file, 1024)) {
+            List<Boolean> written = new ArrayList<>();
+            // the listener waits for a write and a flush of another thread
+            iut.subscribe("a", change -> {
+                try {
+                    written.add(executor.submit(() -> {
+                        iut.setProperty("b", "2");
+                        iut.flush();
+                        return true;
+                    }).get(10, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    written.add(false);
+                }
+            });
+
+            iut.setProperty("a", "1");
+
+            assertThat(written, is(Collections.singletonList(true)));
+            assertThat(read(file).getProperty("b"), is("2"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void flush_whenFileCannotBeWritten_mustFailAndKeepThePendingWrites(@TempDir Path tempDir)
+            throws IOException {
+
+        Path file = tempDir.resolve("missing").resolve("store.properties");
+
+        PersistentFilePropertiesStore iut = createInstance(file, 1024);
+        iut.setProperty("a", "1");
+
+        assertThrows(CannotWritePropertiesFileException.class, iut::flush);
+        assertThat(iut.getProperty("a"), is("1"));
+
+        Files.createDirectory(file.getParent());
+        iut.close();
+        assertThat(read(file).getProperty("a"), is("1"));
+    }
+
+    private static PersistentFilePropertiesStore createInstance(Path file, int maxPendingWrites) {
+        return PersistentFilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .withFlushDelay(1, TimeUnit.HOURS)
+                .withMaxPendingWrites(maxPendingWrites)
+                .build();
+    }
+
+    private static long temporaryFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".tmp")).count();
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
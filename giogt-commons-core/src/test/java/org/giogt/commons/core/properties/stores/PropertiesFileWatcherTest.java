@@ -0,0 +1,103 @@
+package org.giogt.commons.core.properties.stores;
+
+import org.giogt.commons.core.properties.PropertiesChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+public class PropertiesFileWatcherTest {
+
+    private final PropertiesFileWatcher watcher = PropertiesFileWatcher.builder()
+            .withDebounceDelay(300, TimeUnit.MILLISECONDS)
+            .build();
+
+    @AfterEach
+    public void afterEach() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    public void watch_whenFileIsReplaced_mustRefreshTheStoreWithTheChangedKeysOnly(@TempDir Path tempDir)
+            throws IOException, InterruptedException {
+
+        Path file = tempDir.resolve("watched.properties");
+        write(file, "a=1\nb=2\nc=3\n");
+        BlockingQueue<PropertiesChange> changes = watch(file);
+
+        Path newFile = tempDir.resolve("watched.properties.tmp");
+        write(newFile, "a=1\nb=20\nd=4\n");
+        Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+        PropertiesChange change = changes.poll(10, TimeUnit.SECONDS);
+        assertThat(change, is(notNullValue()));
+        assertThat(change.getChangedKeys(), is(new HashSet<>(Arrays.asList("b", "c", "d"))));
+        assertThat(change.getOldValue("b"), is("2"));
+        assertThat(change.getNewValue("b"), is("20"));
+        assertThat(change.getNewValue("c"), is(nullValue()));
+        assertThat(change.getOldValue("d"), is(nullValue()));
+        assertThat(change.getSource().getProperty("d"), is("4"));
+    }
+
+    @Test
+    public void watch_withBurstOfWrites_mustRefreshTheStoreOnce(@TempDir Path tempDir)
+            throws IOException, InterruptedException {
+
+        Path file = tempDir.resolve("watched.properties");
+        write(file, "a=0\n");
+        BlockingQueue<PropertiesChange> changes = watch(file);
+
+        for (int i = 1; i <= 5; i++) {
+            write(file, "a=" + i + "\n");
+        }
+
+        PropertiesChange change = changes.poll(10, TimeUnit.SECONDS);
+        assertThat(change, is(notNullValue()));
+        assertThat(change.getNewValue("a"), is("5"));
+        assertThat(changes.poll(1, TimeUnit.SECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void watch_whenFileIsRewrittenWithTheSameContent_mustNotNotifyTheListeners(@TempDir Path tempDir)
+            throws IOException, InterruptedException {
+
+        Path file = tempDir.resolve("watched.properties");
+        write(file, "a=1\n");
+        BlockingQueue<PropertiesChange> changes = watch(file);
+
+        write(file, "a=1\n");
+        write(tempDir.resolve("other.properties"), "a=2\n");
+
+        assertThat(changes.poll(1, TimeUnit.SECONDS), is(nullValue()));
+    }
+
+    private BlockingQueue<PropertiesChange> watch(Path file) {
+        FilePropertiesStore store = FilePropertiesStore.builder()
+                .withPropertiesFile(file.toFile())
+                .build();
+        BlockingQueue<PropertiesChange> changes = new LinkedBlockingQueue<>();
+        store.subscribe(changes::add);
+        watcher.watch(store);
+        return changes;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,130 @@
+package org.giogt.commons.core.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CharMatcherTest {
+
+    private static final String ALPHABET = "abcxyz ABC\t\n_-.0123  　￿";
+
+    @Test
+    public void matches_withCompiledMatchers_mustMatchTheSameCharsAsTheirDefinition() {
+        CharMatcher vowels = CharMatcher.anyOf("aeiou");
+        CharMatcher lower = CharMatcher.inRange('a', 'z');
+        CharMatcher high = CharMatcher.inRange('＀', '￿');
+
+        assertMatchesExactly(vowels, c -> "aeiou".indexOf(c) >= 0);
+        assertMatchesExactly(CharMatcher.anyOf(Strings.WHITE_SPACES), c -> Strings.WHITE_SPACES.indexOf(c) >= 0);
+        assertMatchesExactly(CharMatcher.anyOf("a\u00FF\uFFFF"), c -> c == 'a' || c == '\u00FF' || c == '\uFFFF');
+        assertMatchesExactly(lower.and(vowels.negate()), c -> 'a' <= c && c <= 'z' && "aeiou".indexOf(c) < 0);
+        assertMatchesExactly(vowels.or(high).negate(), c -> "aeiou".indexOf(c) < 0 && c < '＀');
+        assertMatchesExactly(CharMatcher.isNot('x').and(lower), c -> 'a' <= c && c <= 'z' && c != 'x');
+        assertMatchesExactly(CharMatcher.noneOf("abc").or(CharMatcher.is('a')), c -> c != 'b' && c != 'c');
+        assertMatchesExactly(lower.and(CharMatcher.JAVA_LOWER_CASE), c -> 'a' <= c && c <= 'z');
+        assertMatchesExactly(CharMatcher.WHITESPACE.or(CharMatcher.JAVA_DIGIT).negate(),
+                c -> !CharMatcher.WHITESPACE.matches(c) && !Character.isDigit(c));
+    }
+
+    @Test
+    public void inPlaceMethods_withRandomText_mustReturnTheSameTextAsStringMethods() {
+        List<CharMatcher> matchers = Arrays.asList(
+                CharMatcher.WHITESPACE,
+                CharMatcher.anyOf("abc_"),
+                CharMatcher.JAVA_DIGIT,
+                CharMatcher.ANY,
+                CharMatcher.NONE);
+        Random random = new Random(42);
+
+        for (int n = 0; n < 300; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(40));
+            for (CharMatcher matcher : matchers) {
+                assertInPlace(s, matcher.removeFrom(s), (c, start, end) -> matcher.removeFrom(c, start, end));
+                assertInPlace(s, matcher.retainFrom(s), (c, start, end) -> matcher.retainFrom(c, start, end));
+                assertInPlace(s, matcher.trimFrom(s), (c, start, end) -> matcher.trimFrom(c, start, end));
+                assertInPlace(s, matcher.collapseFrom(s, '~'),
+                        (c, start, end) -> matcher.collapseFrom(c, start, end, '~'));
+                assertInPlace(s, matcher.trimAndCollapseFrom(s, '~'),
+                        (c, start, end) -> matcher.trimAndCollapseFrom(c, start, end, '~'));
+            }
+        }
+    }
+
+    @Test
+    public void collapseFrom_withHeapCharBuffer_mustUpdateTheLimit() {
+        CharBuffer buffer = CharBuffer.wrap("##a  b   c##".toCharArray());
+        buffer.position(2).limit(10);
+
+        int length = CharMatcher.is(' ').collapseFrom(buffer, '-');
+
+        assertThat(length, is(5));
+        assertThat(buffer.position(), is(2));
+        assertThat(buffer.toString(), is("a-b-c"));
+    }
+
+    @Test
+    public void trimFrom_withDirectCharBuffer_mustUpdateTheLimit() {
+        CharBuffer buffer = ByteBuffer.allocateDirect(32).asCharBuffer();
+        buffer.put("  a b  ").flip();
+
+        int length = CharMatcher.WHITESPACE.trimFrom(buffer);
+
+        assertThat(length, is(3));
+        assertThat(buffer.toString(), is("a b"));
+    }
+
+    @Test
+    public void removeFrom_withReadOnlyCharBuffer_mustThrowReadOnlyBufferException() {
+        CharBuffer buffer = CharBuffer.wrap("a b");
+
+        assertThrows(ReadOnlyBufferException.class, () -> CharMatcher.WHITESPACE.removeFrom(buffer));
+    }
+
+    @Test
+    public void removeFrom_withInvalidRange_mustThrowIndexOutOfBoundsException() {
+        char[] chars = "abc".toCharArray();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> CharMatcher.WHITESPACE.removeFrom(chars, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> CharMatcher.WHITESPACE.removeFrom(chars, 0, 4));
+    }
+
+    private static void assertMatchesExactly(CharMatcher matcher, CharPredicate expected) {
+        CharMatcher precomputed = matcher.precomputed();
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            boolean matches = expected.test((char) c);
+            if (matcher.matches((char) c) != matches || precomputed.matches((char) c) != matches) {
+                assertThat("char " + c, matcher.matches((char) c), is(matches));
+                assertThat("char " + c, precomputed.matches((char) c), is(matches));
+            }
+        }
+    }
+
+    private static void assertInPlace(String s, String expected, RangeOperation operation) {
+        // surround the range with chars that must not be touched
+        char[] chars = ("<<" + s + ">").toCharArray();
+
+        int length = operation.apply(chars, 2, 2 + s.length());
+
+        assertThat(new String(chars, 2, length), is(expected));
+        assertThat(new String(chars, 0, 2), is("<<"));
+        assertThat(chars[chars.length - 1], is('>'));
+    }
+
+    private interface CharPredicate {
+        boolean test(char c);
+    }
+
+    private interface RangeOperation {
+        int apply(char[] chars, int start, int end);
+    }
+
+}
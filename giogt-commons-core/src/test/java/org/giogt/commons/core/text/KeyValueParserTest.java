@@ -0,0 +1,113 @@
+package org.giogt.commons.core.text;
+
+import org.giogt.commons.core.collections.MultivaluedHashMap;
+import org.giogt.commons.core.collections.MultivaluedMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class KeyValueParserTest {
+
+    private static final String ALPHABET = "ab =&;";
+
+    @Test
+    public void parse_withRandomStrings_mustReturnTheSameMapAsSplittingEachEntry() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 1000; n++) {
+            String s = RandomStrings.of(random, ALPHABET, 1 + random.nextInt(30));
+            for (List<String> delimiters : Arrays.asList(
+                    Arrays.asList("&", "="),
+                    Arrays.asList("&;", "="),
+                    Arrays.asList("&", "=="),
+                    Arrays.asList("=&", "&="))) {
+
+                String delimEntry = delimiters.get(0);
+                String delimKey = delimiters.get(1);
+                boolean trim = random.nextBoolean();
+
+                assertThat(
+                        Strings.toMultivaluedMap(s, delimEntry, delimKey, trim, trim),
+                        is(toMultivaluedMapBySplittingEachEntry(s, delimEntry, delimKey, trim)));
+            }
+        }
+    }
+
+    @Test
+    public void parse_withHandler_mustReportTheOffsetsOfKeysAndValues() {
+        List<String> entries = new ArrayList<>();
+
+        KeyValueParser.on(";", "=").trimKeys().trimValues().parse(
+                " a = 1 ;b;=c; d=",
+                (in, keyStart, keyEnd, valueStart, valueEnd) ->
+                        entries.add(keyStart + "-" + keyEnd + ":" + valueStart + "-" + valueEnd));
+
+        assertThat(entries, is(Arrays.asList("1-2:5-6", "8-9:-1--1", "10-12:-1--1", "14-15:16-16")));
+    }
+
+    @Test
+    public void parse_withReusedMap_mustAddToTheExistingValues() {
+        KeyValueParser parser = KeyValueParser.on("&", "=");
+        MultivaluedMap<String, String> out = new MultivaluedHashMap<>();
+
+        parser.parse("a=1&b=2", out);
+        parser.parse("a=3", out);
+        assertThat(out.get("a"), is(Arrays.asList("1", "3")));
+
+        out.clear();
+        parser.parse("c=4", out);
+        assertThat(out.keySet(), is(Collections.singleton("c")));
+    }
+
+    @Test
+    public void parse_withCachedKeys_mustReturnTheSameKeyInstances() {
+        KeyValueParser parser = KeyValueParser.on("&", "=").cacheKeys(16);
+
+        MultivaluedMap<String, String> first = parser.parse("name=a&id=1", new MultivaluedHashMap<>());
+        MultivaluedMap<String, String> second = parser.parse(new StringBuilder("id=2&name=b"), new MultivaluedHashMap<>());
+
+        assertThat(keyInstance(second, "name"), is(sameInstance(keyInstance(first, "name"))));
+        assertThat(keyInstance(second, "id"), is(sameInstance(keyInstance(first, "id"))));
+        assertThat(second.getFirst("name"), is("b"));
+    }
+
+    private static String keyInstance(MultivaluedMap<String, String> map, String key) {
+        for (String k : map.keySet()) {
+            if (k.equals(key)) {
+                return k;
+            }
+        }
+        return null;
+    }
+
+    private static MultivaluedMap<String, String> toMultivaluedMapBySplittingEachEntry(
+            String s, String delimEntry, String delimKey, boolean trim) {
+
+        MultivaluedMap<String, String> out = new MultivaluedHashMap<>();
+        for (String entry : Strings.toList(s, delimEntry, false)) {
+            int pos = entry.indexOf(delimKey);
+            if (pos > 0) {
+                String key = entry.substring(0, pos);
+                String value = entry.substring(pos + delimKey.length());
+                List<String> values = out.get(trim ? Strings.trim(key) : key);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    out.put(trim ? Strings.trim(key) : key, values);
+                }
+                values.add(trim ? Strings.trim(value) : value);
+            } else {
+                out.put(trim ? Strings.trim(entry) : entry, new ArrayList<>());
+            }
+        }
+        return out;
+    }
+
+}
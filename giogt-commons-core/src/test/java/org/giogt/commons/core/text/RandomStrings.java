@@ -0,0 +1,30 @@
+package org.giogt.commons.core.text;
+
+import java.util.Random;
+
+/**
+ * Creates random strings for the tests that compare an implementation with
+ * a simpler reference one on many inputs.
+ */
+public final class RandomStrings {
+
+    // prevent instantiation
+    private RandomStrings() {
+    }
+
+    /**
+     * Returns a string of {@code length} code points, each chosen at random
+     * among the code points of {@code alphabet}: supplementary characters of
+     * the alphabet are never split. Characters that appear more than once in
+     * the alphabet are chosen more often.
+     */
+    public static String of(Random random, String alphabet, int length) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return sb.toString();
+    }
+
+}
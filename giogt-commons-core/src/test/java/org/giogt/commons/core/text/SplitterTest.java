@@ -0,0 +1,94 @@
+package org.giogt.commons.core.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SplitterTest {
+
+    @Test
+    public void splitToList_withChar_mustKeepEmptyTokens() {
+        List<String> tokens = Splitter.on(',').splitToList(",a,,b,");
+
+        assertThat(tokens, is(Arrays.asList("", "a", "", "b", "")));
+    }
+
+    @Test
+    public void splitToList_withString_mustSplitOnTheWholeSeparator() {
+        Splitter splitter = Splitter.on("::");
+
+        assertThat(splitter.splitToList("a::b:c::::d"), is(Arrays.asList("a", "b:c", "", "d")));
+        assertThat(splitter.splitToList(new StringBuilder("a::b:c::")), is(Arrays.asList("a", "b:c", "")));
+    }
+
+    @Test
+    public void splitToList_withCharMatcher_mustSplitOnAnyMatchingChar() {
+        List<String> tokens = Splitter.on(CharMatcher.anyOf(",;")).splitToList("a,b;c");
+
+        assertThat(tokens, is(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void splitToList_withTrimResultsAndOmitEmptyStrings_mustReturnTrimmedNonEmptyTokens() {
+        List<String> tokens = Splitter.on(',')
+                .trimResults()
+                .omitEmptyStrings()
+                .splitToList(" foo , bar,,  , qux ");
+
+        assertThat(tokens, is(Arrays.asList("foo", "bar", "qux")));
+    }
+
+    @Test
+    public void splitToList_withEmptyString_mustReturnOneEmptyToken() {
+        assertThat(Splitter.on(',').splitToList(""), is(Collections.singletonList("")));
+        assertThat(Splitter.on(',').omitEmptyStrings().splitToList(""), is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void split_mustReturnViewsOverTheSequence() {
+        StringBuilder sb = new StringBuilder("ab,cd");
+        Iterator<CharSequence> tokens = Splitter.on(',').split(sb).iterator();
+
+        CharSequence first = tokens.next();
+        CharSequence second = tokens.next();
+        sb.setCharAt(1, 'x');
+
+        assertThat(first.toString(), is("ax"));
+        assertThat(first.length(), is(2));
+        assertThat(second.subSequence(1, 2).toString(), is("d"));
+        assertThat(tokens.hasNext(), is(false));
+        assertThrows(NoSuchElementException.class, tokens::next);
+        assertThrows(IndexOutOfBoundsException.class, () -> first.charAt(2));
+    }
+
+    @Test
+    public void cursor_mustExposeTheOffsetsOfEachToken() {
+        Splitter.Cursor cursor = Splitter.on(',').trimResults().cursor("a, bc ,d");
+        List<String> offsets = new ArrayList<>();
+        while (cursor.next()) {
+            offsets.add(cursor.start() + "-" + cursor.end());
+        }
+
+        assertThat(offsets, is(Arrays.asList("0-1", "3-5", "7-8")));
+        assertThrows(IllegalStateException.class, cursor::start);
+
+        cursor.reset("x");
+        assertThat(cursor.next(), is(true));
+        assertThat(cursor.tokenString(), is("x"));
+    }
+
+    @Test
+    public void on_withEmptyString_mustThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> Splitter.on(""));
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.giogt.commons.core.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringTokenizer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StringsTest {
+
+    private static final String ALPHABET = "ab ,;=&";
+
+    @Test
+    public void split_withRandomStrings_mustReturnTheSameTokensAsStringTokenizer() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 500; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(30));
+            for (String delims : Arrays.asList(",", ",;", "")) {
+                StringTokenizer tokenizer = new StringTokenizer(s, delims);
+                String[] expected = new String[tokenizer.countTokens()];
+                for (int i = 0; i < expected.length; i++) {
+                    expected[i] = tokenizer.nextToken().trim();
+                }
+
+                assertThat(Strings.split(s, delims, true), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void toList_withTrim_mustOmitEmptyTokens() {
+        assertThat(Strings.toList(" a ,, b ,  ", ","), is(Arrays.asList("a", "b")));
+        assertThat(Strings.toList(" a ,, b ", ",", false), is(Arrays.asList(" a ", "", " b ")));
+    }
+
+    @Test
+    public void toIntArray_mustSkipEmptyTokens() {
+        assertThat(Strings.toIntArray("1,,2,3,"), is(new int[]{1, 2, 3}));
+        assertThat(Strings.toLongArray(",4,5"), is(new long[]{4L, 5L}));
+    }
+
+    @Test
+    public void toMap_withRandomStrings_mustReturnTheSameMapAsSplittingEachEntry() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 500; n++) {
+            String s = RandomStrings.of(random, ALPHABET, 1 + random.nextInt(30));
+            for (String delimKey : Arrays.asList("=", "==")) {
+                assertThat(Strings.toMap(s, "&", delimKey, true, false), is(toMapBySplittingEachEntry(s, delimKey)));
+            }
+        }
+    }
+
+    @Test
+    public void fromStream_withOneByteReads_mustDecodeCharactersSplitBetweenReads() throws IOException {
+        String s = createLongText();
+        InputStream is = new FilterInputStream(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+
+        assertThat(Strings.fromStream(is, "UTF-8"), is(s));
+    }
+
+    @Test
+    public void fromStream_withMaxLength_mustReadUpToMaxLengthBytes() throws IOException {
+        byte[] bytes = createLongText().getBytes(StandardCharsets.UTF_8);
+
+        String s = Strings.fromUTF8Stream(new ByteArrayInputStream(bytes), 10000);
+
+        assertThat(s, is(new String(bytes, 0, 10000, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void fromStream_withTruncatedCharacter_mustReplaceIt() throws IOException {
+        byte[] bytes = {'a', (byte) 0xE2, (byte) 0x82};
+
+        assertThat(Strings.fromStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, 2), is("a\uFFFD"));
+    }
+
+    @Test
+    public void fromStream_withUnsupportedEncoding_mustThrowUnsupportedEncodingException() {
+        assertThrows(UnsupportedEncodingException.class,
+                () -> Strings.fromStream(new ByteArrayInputStream(new byte[0]), "NO-SUCH-CHARSET"));
+    }
+
+    @Test
+    public void fromChannel_withFileChannel_mustReadTheRemainingContent(@TempDir Path tempDir)
+            throws IOException {
+
+        String s = createLongText();
+        Path file = tempDir.resolve("text.txt");
+        Files.write(file, ("skip" + s).getBytes(StandardCharsets.UTF_8));
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            channel.position(4);
+            assertThat(Strings.fromChannel(channel, StandardCharsets.UTF_8), is(s));
+        }
+        try (ReadableByteChannel channel = Channels.newChannel(Files.newInputStream(file))) {
+            assertThat(Strings.fromChannel(channel, StandardCharsets.UTF_8), is("skip" + s));
+        }
+    }
+
+    private static Map<String, String> toMapBySplittingEachEntry(String s, String delimKey) {
+        Map<String, String> out = new HashMap<>();
+        for (String entry : Strings.toList(s, "&", false)) {
+            int pos = entry.indexOf(delimKey);
+            if (pos > 0) {
+                out.put(Strings.trim(entry.substring(0, pos)), entry.substring(pos + delimKey.length()));
+            } else {
+                out.put(Strings.trim(entry), "");
+            }
+        }
+        return out;
+    }
+
+    private static String createLongText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("a€中😀");
+        }
+        return sb.toString();
+    }
+
+}
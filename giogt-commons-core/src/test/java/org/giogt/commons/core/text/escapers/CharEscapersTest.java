@@ -0,0 +1,125 @@
+package org.giogt.commons.core.text.escapers;
+
+import org.giogt.commons.core.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CharEscapersTest {
+
+    private static final String LOWER_CASE_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    // mostly lower case letters, for long runs of safe chars
+    private static final String ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789" +
+                    " -_.~/:;,!*'()<>&\"%=?#\\\n\t\u0000\u007Fàé€中😀" +
+                    LOWER_CASE_LETTERS + LOWER_CASE_LETTERS + LOWER_CASE_LETTERS + LOWER_CASE_LETTERS;
+
+    @Test
+    public void escape_withRandomStrings_mustMatchCharByCharEscaping() throws IOException {
+        List<CharEscaper> escapers = Arrays.asList(
+                CharEscapers.xmlEscaper(),
+                CharEscapers.xmlContentEscaper(),
+                CharEscapers.htmlEscaper(),
+                CharEscapers.asciiHtmlEscaper(),
+                CharEscapers.javaStringEscaper(),
+                CharEscapers.javaCharEscaper(),
+                CharEscapers.javaStringUnicodeEscaper(),
+                CharEscapers.pythonEscaper(),
+                CharEscapers.javascriptEscaper());
+        Random random = new Random(42);
+
+        for (int n = 0; n < 500; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(40));
+            for (CharEscaper escaper : escapers) {
+                String expected = escapeCharByChar(escaper, s);
+
+                assertThat(escaper.escape(s), is(expected));
+                StringBuilder sb = new StringBuilder();
+                escaper.escape(sb).append(s);
+                assertThat(sb.toString(), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void escape_withRandomStrings_mustMatchCodePointByCodePointEscaping() {
+        List<UnicodeEscaper> escapers = Arrays.asList(
+                (UnicodeEscaper) CharEscapers.uriEscaper(),
+                (UnicodeEscaper) CharEscapers.uriPathEscaper(),
+                (UnicodeEscaper) CharEscapers.uriQueryStringParameterEscaper(),
+                new UnicodeEscaper() {
+                    // relies on the default (lazily created) safe char scanner
+                    @Override
+                    protected char[] escape(int cp) {
+                        if (cp == '<') {
+                            return "&lt;".toCharArray();
+                        } else if (cp == '\n' || cp == 'é') {
+                            return new char[0];
+                        } else if (Character.isSupplementaryCodePoint(cp)) {
+                            return "[?]".toCharArray();
+                        }
+                        return null;
+                    }
+                });
+        Random random = new Random(42);
+
+        for (int n = 0; n < 500; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(40));
+            for (UnicodeEscaper escaper : escapers) {
+                assertThat(escaper.escape(s), is(escapeCodePointByCodePoint(escaper, s)));
+            }
+        }
+    }
+
+    @Test
+    public void escape_whenNothingNeedsEscaping_mustReturnTheSameString() {
+        String s = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+        assertThat(CharEscapers.xmlEscaper().escape(s), is(sameInstance(s)));
+        assertThat(CharEscapers.javaStringEscaper().escape(s), is(sameInstance(s)));
+        assertThat(CharEscapers.uriEscaper().escape(s), is(sameInstance(s)));
+    }
+
+    @Test
+    public void escape_withTrailingHighSurrogateAfterSafeRun_mustThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CharEscapers.uriEscaper().escape("abcdefghijklmnop\uD83D"));
+    }
+
+    private static String escapeCharByChar(CharEscaper escaper, String s) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            char[] escaped = escaper.escape(s.charAt(i));
+            if (escaped == null) {
+                sb.append(s.charAt(i));
+            } else {
+                sb.append(escaped);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escapeCodePointByCodePoint(UnicodeEscaper escaper, String s) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            char[] escaped = escaper.escape(cp);
+            if (escaped == null) {
+                sb.appendCodePoint(cp);
+            } else {
+                sb.append(escaped);
+            }
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+}
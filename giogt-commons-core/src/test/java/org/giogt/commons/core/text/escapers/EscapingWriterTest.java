@@ -0,0 +1,194 @@
+package org.giogt.commons.core.text.escapers;
+
+import org.giogt.commons.core.text.Escaper;
+import org.giogt.commons.core.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EscapingWriterTest {
+
+    private static final String ALPHABET = "abcdefghij <>&\"'%=/?\n€中😀";
+
+    @Test
+    public void write_withRandomChunks_mustWriteTheSameTextAsEscape() throws IOException {
+        List<Escaper> escapers = Arrays.asList(
+                CharEscapers.xmlEscaper(),
+                CharEscapers.htmlEscaper(),
+                CharEscapers.javaStringUnicodeEscaper(),
+                CharEscapers.uriEscaper(),
+                CharEscapers.uriPathEscaper(),
+                createGenericEscaper(CharEscapers.uriEscaper()));
+        Random random = new Random(42);
+
+        for (int n = 0; n < 300; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(200));
+            for (Escaper escaper : escapers) {
+                StringWriter result = new StringWriter();
+                try (Writer writer = new EscapingWriter(result, escaper, 1 + random.nextInt(32))) {
+                    writeInRandomChunks(writer, s, random);
+                }
+
+                assertThat(result.toString(), is(escaper.escape(s)));
+            }
+        }
+    }
+
+    @Test
+    public void write_whenRunIsLargerThanTheBuffer_mustWriteItDirectly() throws IOException {
+        String s = "abcdefghijklmnopqrstuvwxyz<abcdefghijklmnopqrstuvwxyz";
+        CountingWriter result = new CountingWriter();
+
+        try (Writer writer = new EscapingWriter(result, CharEscapers.xmlEscaper(), 8)) {
+            writer.write(s);
+        }
+
+        assertThat(result.toString(), is(CharEscapers.xmlEscaper().escape(s)));
+        assertThat(result.writes, is(3));
+    }
+
+    @Test
+    public void flush_mustWriteTheBufferedText() throws IOException {
+        StringWriter result = new StringWriter();
+        Writer writer = new EscapingWriter(result, CharEscapers.xmlEscaper());
+
+        writer.write("<a>");
+        assertThat(result.toString(), is(""));
+        writer.flush();
+
+        assertThat(result.toString(), is("&lt;a&gt;"));
+    }
+
+    @Test
+    public void close_withTrailingHighSurrogateAndUnicodeEscaper_mustWriteTheBufferedTextAndThrowIllegalArgumentException()
+            throws IOException {
+
+        StringWriter result = new StringWriter();
+        Writer writer = new EscapingWriter(result, CharEscapers.uriEscaper());
+        writer.write("a b\uD83D");
+
+        assertThrows(IllegalArgumentException.class, writer::close);
+        assertThat(result.toString(), is("a+b"));
+    }
+
+    @Test
+    public void write_withUnpairedLowSurrogateAfterHighSurrogate_mustThrowIllegalArgumentException()
+            throws IOException {
+
+        Writer writer = new EscapingWriter(new StringWriter(), CharEscapers.uriEscaper());
+        writer.write("a\uD83D");
+
+        assertThrows(IllegalArgumentException.class, () -> writer.write("b"));
+    }
+
+    @Test
+    public void write_whenClosed_mustThrowIOException() throws IOException {
+        Writer writer = new EscapingWriter(new StringWriter(), CharEscapers.xmlEscaper());
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.write("a"));
+    }
+
+    @Test
+    public void outputStream_withRandomChunks_mustWriteTheSameTextAsEscape() throws IOException {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 300; n++) {
+            String s = RandomStrings.of(random, ALPHABET, random.nextInt(200));
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            try (EscapingOutputStream out = new EscapingOutputStream(
+                    result, CharEscapers.xmlEscaper(), StandardCharsets.UTF_8, 1 + random.nextInt(32))) {
+                int index = 0;
+                while (index < bytes.length) {
+                    int len = Math.min(bytes.length - index, random.nextInt(8));
+                    out.write(bytes, index, len);
+                    index += len;
+                }
+            }
+
+            assertThat(
+                    new String(result.toByteArray(), StandardCharsets.UTF_8),
+                    is(CharEscapers.xmlEscaper().escape(s)));
+        }
+    }
+
+    @Test
+    public void outputStream_withTruncatedCharacter_mustReplaceIt() throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+
+        try (EscapingOutputStream out = new EscapingOutputStream(
+                result, CharEscapers.xmlEscaper(), StandardCharsets.UTF_8)) {
+            out.write(new byte[]{'<', (byte) 0xE2, (byte) 0x82});
+        }
+
+        assertThat(new String(result.toByteArray(), StandardCharsets.UTF_8), is("&lt;�"));
+    }
+
+    private static void writeInRandomChunks(Writer writer, String s, Random random)
+            throws IOException {
+
+        int index = 0;
+        while (index < s.length()) {
+            int len = Math.min(s.length() - index, random.nextInt(40));
+            switch (random.nextInt(4)) {
+                case 0:
+                    writer.write(s, index, len);
+                    break;
+                case 1:
+                    writer.write(s.toCharArray(), index, len);
+                    break;
+                case 2:
+                    writer.append(new StringBuilder(s), index, index + len);
+                    break;
+                default:
+                    for (int i = index; i < index + len; i++) {
+                        writer.write(s.charAt(i));
+                    }
+            }
+            index += len;
+        }
+    }
+
+    private static Escaper createGenericEscaper(Escaper delegate) {
+        return new Escaper() {
+            @Override
+            public String escape(String string) {
+                return delegate.escape(string);
+            }
+
+            @Override
+            public Appendable escape(Appendable out) {
+                return delegate.escape(out);
+            }
+        };
+    }
+
+    private static class CountingWriter extends StringWriter {
+        int writes;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            writes++;
+            super.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            writes++;
+            super.write(str, off, len);
+        }
+    }
+
+}
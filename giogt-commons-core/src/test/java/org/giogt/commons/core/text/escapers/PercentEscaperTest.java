@@ -0,0 +1,136 @@
+package org.giogt.commons.core.text.escapers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PercentEscaperTest {
+
+    private static final String SAMPLE = "a b/c=d&café €😀~";
+
+    @Test
+    public void escapeToBytes_withEnoughSpace_mustWriteTheSameCharsAsEscape() {
+        PercentEscaper iut = createEscaper();
+        byte[] dest = new byte[128];
+        ParsePosition position = new ParsePosition(0);
+
+        int written = iut.escape(SAMPLE, position, SAMPLE.length(), dest, 0, dest.length);
+
+        assertThat(new String(dest, 0, written, StandardCharsets.US_ASCII), is(iut.escape(SAMPLE)));
+        assertThat(position.getIndex(), is(SAMPLE.length()));
+    }
+
+    @Test
+    public void escapeToBytes_withRange_mustOnlyEscapeTheRange() {
+        PercentEscaper iut = createEscaper();
+        byte[] dest = new byte[16];
+        ParsePosition position = new ParsePosition(2);
+
+        int written = iut.escape("a b/c", position, 4, dest, 3, 10);
+
+        assertThat(new String(dest, 3, written, StandardCharsets.US_ASCII), is("b%2F"));
+        assertThat(position.getIndex(), is(4));
+    }
+
+    @Test
+    public void escapeToBytes_whenDestIsTooSmall_mustStopAtCodePointBoundaryAndResume() {
+        PercentEscaper iut = createEscaper();
+        String expected = iut.escape(SAMPLE);
+
+        for (int size = 12; size < 20; size++) {
+            byte[] dest = new byte[size];
+            ParsePosition position = new ParsePosition(0);
+            StringBuilder result = new StringBuilder();
+            while (position.getIndex() < SAMPLE.length()) {
+                int written = iut.escape(SAMPLE, position, SAMPLE.length(), dest, 0, dest.length);
+                result.append(new String(dest, 0, written, StandardCharsets.US_ASCII));
+            }
+
+            assertThat(result.toString(), is(expected));
+        }
+    }
+
+    @Test
+    public void escapeToBytes_whenNextCodePointDoesNotFit_mustWriteNothing() {
+        PercentEscaper iut = createEscaper();
+        byte[] dest = new byte[11];
+        ParsePosition position = new ParsePosition(0);
+
+        int written = iut.escape("😀", position, 2, dest, 0, dest.length);
+
+        assertThat(written, is(0));
+        assertThat(position.getIndex(), is(0));
+    }
+
+    @Test
+    public void escapeToBytes_withTrailingHighSurrogate_mustThrowIllegalArgumentException() {
+        PercentEscaper iut = createEscaper();
+
+        assertThrows(IllegalArgumentException.class, () -> iut.escape(
+                "a\uD83D", new ParsePosition(0), 2, new byte[16], 0, 16));
+    }
+
+    @Test
+    public void escapeToByteBuffer_withRandomInput_mustWriteTheSameCharsAsEscape() {
+        PercentEscaper iut = createEscaper();
+        Random random = new Random(42);
+        String alphabet = "aZ09-_. /?&=%é€😀";
+
+        for (int n = 0; n < 500; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(32);
+            for (int i = 0; i < length; i++) {
+                int c = random.nextInt(alphabet.length() - 1);
+                sb.append(alphabet.charAt(c));
+                if (Character.isHighSurrogate(alphabet.charAt(c))) {
+                    sb.append(alphabet.charAt(c + 1));
+                }
+            }
+            String s = sb.toString();
+
+            ByteBuffer heap = ByteBuffer.allocate(12 + random.nextInt(16));
+            ByteBuffer direct = ByteBuffer.allocateDirect(heap.capacity());
+            assertThat(escapeInChunks(iut, s, heap), is(iut.escape(s)));
+            assertThat(escapeInChunks(iut, s, direct), is(iut.escape(s)));
+        }
+    }
+
+    private String escapeInChunks(PercentEscaper iut, String s, ByteBuffer out) {
+        StringBuilder result = new StringBuilder();
+        ParsePosition position = new ParsePosition(0);
+        while (position.getIndex() < s.length()) {
+            out.clear();
+            int written = iut.escape(s, position, s.length(), out);
+            out.flip();
+            assertThat(out.remaining(), is(written));
+
+            byte[] bytes = new byte[written];
+            out.get(bytes);
+            result.append(new String(bytes, StandardCharsets.US_ASCII));
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void escapeToBytes_withPlusForSpace_mustWritePlus() {
+        PercentEscaper iut = new PercentEscaper("-_.*", true);
+        byte[] dest = new byte[8];
+
+        int written = iut.escape("a b", new ParsePosition(0), 3, dest, 0, dest.length);
+
+        assertThat(Arrays.copyOf(dest, written), is("a+b".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    PercentEscaper createEscaper() {
+        return new PercentEscaper("-_.~", false);
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.giogt.commons.core.text.unescapers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PercentUnescaperTest {
+
+    @Test
+    public void unescape_whenStringHasNoEscapes_mustReturnTheSameString() {
+        String s = "foo+bar/baz";
+
+        String result = createUnescaper().unescape(s);
+
+        assertThat(result, is(sameInstance(s)));
+    }
+
+    @Test
+    public void unescape_withAsciiEscapes_mustDecodeThem() {
+        String result = createUnescaper().unescape("a%20b%2Fc%3d");
+
+        assertThat(result, is("a b/c="));
+    }
+
+    @Test
+    public void unescape_withMultiByteEscapes_mustDecodeThemAsUTF8() {
+        String result = createUnescaper().unescape("caf%C3%A9%20%E2%82%AC%F0%9F%98%80");
+
+        assertThat(result, is("café €😀"));
+    }
+
+    @Test
+    public void unescape_withMalformedUTF8_mustReplaceItLikeTheJdkDecoder() {
+        String result = createUnescaper().unescape("a%C3b%E2%82%FF%ED%A0%80");
+
+        assertThat(result, is(decodeLikeJdk("a%C3b%E2%82%FF%ED%A0%80")));
+        assertThat(result, is("a\uFFFDb\uFFFD\uFFFD\uFFFD"));
+    }
+
+    @Test
+    public void unescape_withRandomEscapedBytes_mustMatchTheJdkDecoder() {
+        Random random = new Random(42);
+        PercentUnescaper iut = createUnescaper();
+
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(6) == 0) {
+                    sb.append((char) ('a' + random.nextInt(26)));
+                } else {
+                    sb.append(String.format("%%%02X", random.nextInt(256)));
+                }
+            }
+            String s = sb.toString();
+
+            assertThat(s, iut.unescape(s), is(decodeLikeJdk(s)));
+        }
+    }
+
+    @Test
+    public void unescape_withIncompleteTrailingEscape_mustThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                createUnescaper().unescape("foo%4")
+        );
+    }
+
+    @Test
+    public void unescape_withIllegalHexChars_mustThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                createUnescaper().unescape("foo%4G")
+        );
+    }
+
+    @Test
+    public void unescapeToAppendable_mustUnescapeOnlyTheSpecifiedRange()
+            throws IOException {
+
+        StringBuilder sb = new StringBuilder();
+        createUnescaper().unescape("xx%41b%C3%A9c%yy", 2, 13, sb);
+
+        assertThat(sb.toString(), is("Abéc"));
+    }
+
+    @Test
+    public void unescapeToAppendable_withWriter_mustUnescapeTheWholeRange()
+            throws IOException {
+
+        StringWriter writer = new StringWriter();
+        createUnescaper().unescape("%E2%82%AC1", 0, 10, writer);
+
+        assertThat(writer.toString(), is("€1"));
+    }
+
+    @Test
+    public void unescapeByteBuffer_mustDecodeInputSplitAtAnyPosition() {
+        String escaped = "caf%C3%A9%20%E2%82%AC%F0%9F%98%80!";
+        String expected = "café €😀!";
+        byte[] bytes = escaped.getBytes(StandardCharsets.US_ASCII);
+        PercentUnescaper iut = createUnescaper();
+
+        for (int split = 0; split <= bytes.length; split++) {
+            ByteBuffer in = ByteBuffer.allocate(bytes.length);
+            CharBuffer out = CharBuffer.allocate(expected.length());
+
+            in.put(bytes, 0, split).flip();
+            assertThat(iut.unescape(in, out, false), is(CoderResult.UNDERFLOW));
+            in.compact();
+            in.put(bytes, split, bytes.length - split).flip();
+            assertThat(iut.unescape(in, out, true), is(CoderResult.UNDERFLOW));
+
+            assertThat(in.remaining(), is(0));
+            assertThat(out.flip().toString(), is(expected));
+        }
+    }
+
+    @Test
+    public void unescapeByteBuffer_whenOutputIsFull_mustReturnOverflow() {
+        ByteBuffer in = ByteBuffer.wrap("a%F0%9F%98%80".getBytes(StandardCharsets.US_ASCII));
+        CharBuffer out = CharBuffer.allocate(2);
+
+        CoderResult result = createUnescaper().unescape(in, out, true);
+
+        assertThat(result, is(CoderResult.OVERFLOW));
+        assertThat(in.position(), is(1));
+        assertThat(out.position(), is(1));
+    }
+
+    @Test
+    public void unescapeByteBuffer_whenEndOfInput_mustReplaceIncompleteTrailingSequence() {
+        PercentUnescaper iut = createUnescaper();
+        ByteBuffer in = ByteBuffer.wrap("caf%C3".getBytes(StandardCharsets.US_ASCII));
+        CharBuffer out = CharBuffer.allocate(8);
+
+        assertThat(iut.unescape(in, out, false), is(CoderResult.UNDERFLOW));
+        assertThat(in.remaining(), is(3));
+
+        assertThat(iut.unescape(in, out, true), is(CoderResult.UNDERFLOW));
+        assertThat(in.remaining(), is(0));
+        assertThat(out.flip().toString(), is("caf\uFFFD"));
+    }
+
+    @Test
+    public void unescapeByteBuffer_whenEndOfInputWithIncompleteEscape_mustThrowIllegalArgumentException() {
+        ByteBuffer in = ByteBuffer.wrap("a%C".getBytes(StandardCharsets.US_ASCII));
+        CharBuffer out = CharBuffer.allocate(8);
+
+        assertThrows(IllegalArgumentException.class, () -> createUnescaper().unescape(in, out, true));
+    }
+
+    PercentUnescaper createUnescaper() {
+        return new PercentUnescaper();
+    }
+
+    /**
+     * Reference implementation: decodes every run of escaped bytes with the
+     * JDK UTF-8 decoder.
+     */
+    private static String decodeLikeJdk(String s) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < s.length()) {
+            if (s.charAt(i) != '%') {
+                sb.append(s.charAt(i++));
+                continue;
+            }
+            byte[] bytes = new byte[s.length() / 3];
+            int n = 0;
+            while (i < s.length() && s.charAt(i) == '%') {
+                bytes[n++] = (byte) Integer.parseInt(s.substring(i + 1, i + 3), 16);
+                i += 3;
+            }
+            sb.append(new String(bytes, 0, n, StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+}
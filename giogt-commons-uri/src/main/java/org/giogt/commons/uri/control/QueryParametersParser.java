@@ -2,11 +2,11 @@ package org.giogt.commons.uri.control;
 
 import org.giogt.commons.core.collections.MultivaluedHashMap;
 import org.giogt.commons.core.collections.MultivaluedMap;
-import org.giogt.commons.core.text.Strings;
-import org.giogt.commons.core.text.unescapers.CharUnescapers;
+import org.giogt.commons.core.text.KeyValueParser;
 import org.giogt.commons.uri.entity.QueryParameter;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +15,11 @@ public class QueryParametersParser {
     public static final String ENTRY_DELIMITER = "&";
     public static final String KEY_VALUE_DELIMITER = "=";
 
+    // parameter names repeat across requests: cache them
+    private static final KeyValueParser PARSER = KeyValueParser
+            .on(ENTRY_DELIMITER, KEY_VALUE_DELIMITER)
+            .cacheKeys(256);
+
     private final String queryString;
 
     private final List<QueryParameter> queryParameters;
@@ -36,29 +41,26 @@ public class QueryParametersParser {
             List<QueryParameter> queryParameters,
             MultivaluedMap<String, String> queryParametersMultiMap) {
 
-        MultivaluedMap<String, String> encodedQueryParametersMultiMap = Strings.toMultivaluedMap(
-                queryString, ENTRY_DELIMITER, KEY_VALUE_DELIMITER, false, false);
+        if (queryString == null) {
+            return;
+        }
 
-        /*
-         * Populate the query parameters list and the query parameters multi
-         * map unescaping values, since they are percent encoded at this stage.
-         */
+        // values are kept percent encoded, as they are in the query string
+        PARSER.parse(queryString, queryParametersMultiMap);
 
-        for (Map.Entry<String, List<String>> entry : encodedQueryParametersMultiMap.entrySet()) {
+        Iterator<Map.Entry<String, List<String>>> entries = queryParametersMultiMap.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, List<String>> entry = entries.next();
             String name = entry.getKey();
             List<String> values = entry.getValue();
 
+            // parameters without a value (e.g. "flag" in "flag&a=1") are ignored
+            if (values.isEmpty()) {
+                entries.remove();
+                continue;
+            }
             for (String escapedValue : values) {
-                String value = CharUnescapers.uriUnescaper().unescape(escapedValue);
-
                 queryParameters.add(new QueryParameter(name, escapedValue));
-
-                List<String> multiMapValues = queryParametersMultiMap.get(name);
-                if (multiMapValues == null) {
-                    multiMapValues = new ArrayList<>();
-                    queryParametersMultiMap.put(name, multiMapValues);
-                }
-                multiMapValues.add(escapedValue);
             }
         }
     }
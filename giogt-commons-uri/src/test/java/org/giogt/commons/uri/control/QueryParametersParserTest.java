@@ -4,6 +4,8 @@ import org.giogt.commons.core.collections.MultivaluedMap;
 import org.giogt.commons.uri.entity.QueryParameter;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -44,4 +46,35 @@ public class QueryParametersParserTest {
         assertThat(queryParametersMultiMap.size(), is(0));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void parser_forQueryStringWithRepeatedNames_mustParseAllTheValues() {
+        String queryString = "a=1&b=x%20y&a=2";
+
+        QueryParametersParser parser = new QueryParametersParser(queryString);
+
+        List<QueryParameter> queryParameters = parser.getQueryParameters();
+        MultivaluedMap<String, String> queryParametersMultiMap = parser.getQueryParametersMultiMap();
+
+        assertThat(queryParameters.size(), is(3));
+
+        assertThat(queryParametersMultiMap.size(), is(2));
+        assertThat(queryParametersMultiMap.get("a"), is(Arrays.asList("1", "2")));
+        assertThat(queryParametersMultiMap.get("b"), is(Collections.singletonList("x%20y")));
+    }
+
+    @Test
+    public void parser_forQueryStringWithValuelessParameters_mustIgnoreThem() {
+        String queryString = "flag&a=1";
+
+        QueryParametersParser parser = new QueryParametersParser(queryString);
+
+        List<QueryParameter> queryParameters = parser.getQueryParameters();
+        MultivaluedMap<String, String> queryParametersMultiMap = parser.getQueryParametersMultiMap();
+
+        assertThat(queryParameters.size(), is(1));
+
+        assertThat(queryParametersMultiMap.size(), is(1));
+        assertThat(queryParametersMultiMap.get("a"), is(Collections.singletonList("1")));
+    }
+
+}